@@ -0,0 +1,52 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import com.fasterxml.jackson.databind.PropertyNamingStrategy.SnakeCaseStrategy;
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Datapoints of the same time packed into a single message. Metric names and tag sets are stored once, in the
+ * metrics and tags dictionaries, and each datapoint refers to them by index.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+@JsonNaming(value = SnakeCaseStrategy.class)
+public class DatapointBatch extends InfoData {
+    long time;
+    List<String> metrics;
+    List<Map<String, String>> tags;
+    int[] metricIds;
+    int[] tagIds;
+    List<Number> values;
+
+    /**
+     * Unpacks the datapoints.
+     */
+    public List<Datapoint> toDatapoints() {
+        List<Datapoint> datapoints = new ArrayList<>(values.size());
+        for (int i = 0; i < values.size(); i++) {
+            datapoints.add(new Datapoint(metrics.get(metricIds[i]), time, tags.get(tagIds[i]), values.get(i)));
+        }
+        return datapoints;
+    }
+}
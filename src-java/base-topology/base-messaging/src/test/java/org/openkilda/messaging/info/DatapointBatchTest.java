@@ -0,0 +1,59 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.messaging.Utils;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+public class DatapointBatchTest {
+    private static final long TIME = 1_600_000_000_000L;
+
+    private final Map<String, String> firstTags = ImmutableMap.of("switchid", "00_00_00_00_00_00_00_01", "port", "1");
+    private final Map<String, String> secondTags = ImmutableMap.of("switchid", "00_00_00_00_00_00_00_01", "port", "2");
+
+    @Test
+    public void shouldUnpackDatapoints() {
+        DatapointBatch batch = new DatapointBatch(TIME,
+                Arrays.asList("switch.rx-packets", "switch.tx-bits"), Arrays.asList(firstTags, secondTags),
+                new int[] {0, 1, 0}, new int[] {0, 0, 1}, Arrays.asList(10, 4294967296L, 0.5));
+
+        assertEquals(Arrays.asList(
+                new Datapoint("switch.rx-packets", TIME, firstTags, 10),
+                new Datapoint("switch.tx-bits", TIME, firstTags, 4294967296L),
+                new Datapoint("switch.rx-packets", TIME, secondTags, 0.5)),
+                batch.toDatapoints());
+    }
+
+    @Test
+    public void serializeLoop() throws Exception {
+        DatapointBatch origin = new DatapointBatch(TIME,
+                Arrays.asList("switch.rx-packets", "switch.tx-bits"), Arrays.asList(firstTags, secondTags),
+                new int[] {0, 1, 1}, new int[] {1, 0, 1}, Arrays.asList(10, 4294967296L, 0.5));
+
+        String json = Utils.MAPPER.writeValueAsString(origin);
+        InfoData reconstruct = Utils.MAPPER.readValue(json, InfoData.class);
+
+        assertEquals(origin, reconstruct);
+        assertEquals(origin.toDatapoints(), ((DatapointBatch) reconstruct).toDatapoints());
+    }
+}
@@ -18,7 +18,6 @@ package org.openkilda.wfm.kafka;
 import static java.lang.String.format;
 
 import org.openkilda.messaging.AbstractMessage;
-import org.openkilda.wfm.topology.utils.SerializationUtils;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.SerializationException;
@@ -29,9 +28,11 @@ import java.util.Map;
 
 @Slf4j
 public class AbstractMessageSerializer implements Serializer<AbstractMessage> {
+    private MessageFormat format = MessageFormat.JSON;
+
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // nothing to do
+        format = MessageFormat.fromProducerProperties(configs);
     }
 
     @Override
@@ -39,7 +40,7 @@ public class AbstractMessageSerializer implements Serializer<AbstractMessage> {
         try {
             byte[] result = null;
             if (message != null) {
-                result = SerializationUtils.MAPPER.writeValueAsBytes(message);
+                result = format.getMapper().writeValueAsBytes(message);
             }
             return result;
         } catch (IOException e) {
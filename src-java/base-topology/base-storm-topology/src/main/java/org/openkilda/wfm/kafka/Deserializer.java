@@ -17,6 +17,7 @@ package org.openkilda.wfm.kafka;
 
 import static java.lang.String.format;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.kafka.common.errors.SerializationException;
@@ -37,7 +38,7 @@ public abstract class Deserializer<T> implements SerializableDeserializer<T> {
     @Override
     public T deserialize(String topic, byte[] data) {
         try {
-            return jsonDecode(data);
+            return decode(MessageFormat.detect(data).getMapper(), data);
         } catch (IOException e) {
             log.error(format("Failed to deserialize data: %s from topic %s",
                     StringUtils.toEncodedString(data, Charset.defaultCharset()), topic), e);
@@ -45,7 +46,7 @@ public abstract class Deserializer<T> implements SerializableDeserializer<T> {
         }
     }
 
-    protected abstract T jsonDecode(byte[] data) throws IOException;
+    protected abstract T decode(ObjectMapper mapper, byte[] data) throws IOException;
 
     @Override
     public void close() {
@@ -16,8 +16,8 @@
 package org.openkilda.wfm.kafka;
 
 import org.openkilda.messaging.info.InfoData;
-import org.openkilda.wfm.topology.utils.SerializationUtils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
@@ -26,7 +26,7 @@ import java.io.IOException;
 public class InfoDataDeserializer extends Deserializer<InfoData> {
 
     @Override
-    protected InfoData jsonDecode(byte[] data) throws IOException {
-        return SerializationUtils.MAPPER.readValue(data, InfoData.class);
+    protected InfoData decode(ObjectMapper mapper, byte[] data) throws IOException {
+        return mapper.readValue(data, InfoData.class);
     }
 }
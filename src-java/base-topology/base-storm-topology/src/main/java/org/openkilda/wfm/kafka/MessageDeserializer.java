@@ -16,8 +16,8 @@
 package org.openkilda.wfm.kafka;
 
 import org.openkilda.messaging.Message;
-import org.openkilda.wfm.topology.utils.SerializationUtils;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
@@ -26,7 +26,7 @@ import java.io.IOException;
 public class MessageDeserializer extends Deserializer<Message> {
 
     @Override
-    protected Message jsonDecode(byte[] data) throws IOException {
-        return SerializationUtils.MAPPER.readValue(data, Message.class);
+    protected Message decode(ObjectMapper mapper, byte[] data) throws IOException {
+        return mapper.readValue(data, Message.class);
     }
 }
@@ -0,0 +1,69 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import org.openkilda.wfm.topology.utils.SerializationUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+
+import java.util.Map;
+
+/**
+ * Format of Kafka message values. The deserializers recognize every format by the leading bytes of a value, so
+ * producers of a topic can be switched to another format while consumers of old and new versions are running.
+ */
+public enum MessageFormat {
+    JSON,
+
+    /**
+     * Binary JSON. Each value starts with the Smile header ":)\n", which never starts a JSON document.
+     */
+    SMILE;
+
+    /**
+     * The producer property with the name of the format used by the serializers.
+     */
+    public static final String PRODUCER_PROPERTY = "kilda.value.format";
+
+    /**
+     * Returns the mapper which reads and writes values in this format.
+     */
+    public ObjectMapper getMapper() {
+        return this == SMILE ? SerializationUtils.SMILE_MAPPER : SerializationUtils.MAPPER;
+    }
+
+    /**
+     * Detects the format of a serialized value.
+     */
+    public static MessageFormat detect(byte[] data) {
+        if (data != null && data.length >= 3
+                && data[0] == SmileConstants.HEADER_BYTE_1
+                && data[1] == SmileConstants.HEADER_BYTE_2
+                && data[2] == SmileConstants.HEADER_BYTE_3) {
+            return SMILE;
+        }
+        return JSON;
+    }
+
+    /**
+     * Gets the format from the producer properties passed to a serializer, JSON if it is not set.
+     */
+    public static MessageFormat fromProducerProperties(Map<String, ?> configs) {
+        Object value = configs.get(PRODUCER_PROPERTY);
+        return value != null ? valueOf(value.toString()) : JSON;
+    }
+}
@@ -18,7 +18,6 @@ package org.openkilda.wfm.kafka;
 import static java.lang.String.format;
 
 import org.openkilda.messaging.Message;
-import org.openkilda.wfm.topology.utils.SerializationUtils;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.common.errors.SerializationException;
@@ -29,10 +28,11 @@ import java.util.Map;
 
 @Slf4j
 public class MessageSerializer implements Serializer<Message> {
+    private MessageFormat format = MessageFormat.JSON;
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // No-op
+        format = MessageFormat.fromProducerProperties(configs);
     }
 
     @Override
@@ -40,7 +40,7 @@ public class MessageSerializer implements Serializer<Message> {
         try {
             byte[] result = null;
             if (data != null) {
-                result = SerializationUtils.MAPPER.writeValueAsBytes(data);
+                result = format.getMapper().writeValueAsBytes(data);
             }
             return result;
         } catch (IOException e) {
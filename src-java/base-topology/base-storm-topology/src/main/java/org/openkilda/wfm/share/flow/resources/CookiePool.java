@@ -15,6 +15,8 @@
 
 package org.openkilda.wfm.share.flow.resources;
 
+import static java.lang.String.format;
+
 import org.openkilda.model.FlowCookie;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
@@ -23,6 +25,10 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 /**
  * The resource pool is responsible for cookie de-/allocation.
  */
@@ -33,6 +39,7 @@ public class CookiePool {
 
     private final long minCookie;
     private final long maxCookie;
+    private final ResourceIdBitmap assignedCookies;
 
     public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie) {
         transactionManager = persistenceManager.getTransactionManager();
@@ -41,6 +48,8 @@ public class CookiePool {
 
         this.minCookie = minCookie;
         this.maxCookie = maxCookie;
+        assignedCookies = new ResourceIdBitmap(minCookie, maxCookie,
+                flowCookieRepository::findAssignedCookies);
     }
 
     /**
@@ -51,12 +60,8 @@ public class CookiePool {
     public long allocate(String flowId) {
         return transactionManager.doInTransaction(() -> {
             long startCookie = ResourceUtils.computeStartValue(minCookie, maxCookie);
-            long availableCookie = flowCookieRepository.findUnassignedCookie(startCookie, maxCookie)
-                    .orElse(flowCookieRepository.findUnassignedCookie(minCookie, maxCookie)
-                            .orElseThrow(() -> new ResourceNotAvailableException("No cookie available")));
-            if (availableCookie > maxCookie) {
-                throw new ResourceNotAvailableException("No cookie available");
-            }
+            long availableCookie = assignedCookies.allocate(startCookie)
+                    .orElseThrow(() -> new ResourceNotAvailableException("No cookie available"));
 
             FlowCookie flowCookie = FlowCookie.builder()
                     .unmaskedCookie(availableCookie)
@@ -68,13 +73,59 @@ public class CookiePool {
         });
     }
 
+    /**
+     * Allocates cookies for the flows in a single pass over the pool. The cookies are stored by a single request.
+     *
+     * @return unmasked allocated cookies in the order of the flows.
+     */
+    public List<Long> allocate(List<String> flowIds) {
+        return transactionManager.doInTransaction(() -> {
+            long startCookie = ResourceUtils.computeStartValue(minCookie, maxCookie);
+            long[] availableCookies = assignedCookies.allocate(startCookie, flowIds.size())
+                    .orElseThrow(() -> new ResourceNotAvailableException(
+                            format("No %d cookies available", flowIds.size())));
+
+            List<FlowCookie> flowCookies = new ArrayList<>(flowIds.size());
+            List<Long> result = new ArrayList<>(flowIds.size());
+            for (int i = 0; i < flowIds.size(); i++) {
+                flowCookies.add(FlowCookie.builder()
+                        .unmaskedCookie(availableCookies[i])
+                        .flowId(flowIds.get(i))
+                        .build());
+                result.add(availableCookies[i]);
+            }
+            flowCookieRepository.createOrUpdateAll(flowCookies);
+            return result;
+        });
+    }
+
     /**
      * Deallocates a cookie.
      */
     public void deallocate(long unmaskedCookie) {
         transactionManager.doInTransaction(() ->
                 flowCookieRepository.findByCookie(unmaskedCookie)
-                        .ifPresent(flowCookieRepository::delete)
+                        .ifPresent(flowCookie -> {
+                            flowCookieRepository.delete(flowCookie);
+                            transactionManager.doAfterCommit(() -> assignedCookies.release(unmaskedCookie));
+                        })
         );
     }
+
+    /**
+     * Deallocates cookies in a single query.
+     */
+    public void deallocate(Collection<Long> unmaskedCookies) {
+        transactionManager.doInTransaction(() -> {
+            Collection<Long> deletedCookies = flowCookieRepository.deleteByCookies(unmaskedCookies);
+            transactionManager.doAfterCommit(() -> deletedCookies.forEach(assignedCookies::release));
+        });
+    }
+
+    /**
+     * Drops the cached assigned cookies, so they are reloaded from the database on the next allocation.
+     */
+    public void resync() {
+        assignedCookies.invalidate();
+    }
 }
@@ -18,6 +18,7 @@ package org.openkilda.wfm.share.flow.resources;
 import org.openkilda.model.Flow;
 import org.openkilda.model.PathId;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface EncapsulationResourcesProvider<T extends EncapsulationResources> {
@@ -28,11 +29,24 @@ public interface EncapsulationResourcesProvider<T extends EncapsulationResources
      */
     T allocate(Flow flow, PathId pathId, PathId oppositePathId) throws ResourceNotAvailableException;
 
+    /**
+     * Allocates flow encapsulation resources for new paths of the flows in a single pass over the pool. As with
+     * {@link #allocate(Flow, PathId, PathId)}, the resources of a path are shared with its opposite path.
+     *
+     * @return allocated resources in the order of the flows.
+     */
+    List<T> allocate(List<Flow> flows, List<PathId> pathIds) throws ResourceNotAvailableException;
+
     /**
      * Deallocates flow encapsulation resources of the path.
      */
     void deallocate(PathId pathId);
 
+    /**
+     * Drops the cached state of the pool, so it is reloaded from the database on the next allocation.
+     */
+    void resync();
+
     /**
      * Get allocated encapsulation resources of the flow path.
      */
@@ -16,11 +16,14 @@
 package org.openkilda.wfm.share.flow.resources;
 
 import static java.lang.String.format;
+import static java.util.stream.Collectors.toList;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.ConstraintViolationException;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
@@ -35,6 +38,12 @@ import lombok.extern.slf4j.Slf4j;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.RetryPolicy;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -81,7 +90,11 @@ public class FlowResourcesManager {
 
         try {
             return allocateResources(flow, forwardPathId, reversePathId);
-        } catch (ConstraintViolationException | ResourceNotAvailableException ex) {
+        } catch (ConstraintViolationException ex) {
+            // The transaction is rolled back on a constraint violation, so the retry is up to the caller.
+            resyncPools();
+            throw new ResourceAllocationException("Unable to allocate resources", ex);
+        } catch (ResourceNotAvailableException ex) {
             throw new ResourceAllocationException("Unable to allocate resources", ex);
         }
     }
@@ -103,6 +116,7 @@ public class FlowResourcesManager {
                     .retryOn(ConstraintViolationException.class)
                     .retryOn(ResourceNotAvailableException.class)
                     .withMaxRetries(MAX_ALLOCATION_ATTEMPTS))
+                    .onFailedAttempt(this::onFailedAllocation)
                     .onRetry(e -> log.info("Retrying resource allocation transaction finished with exception", e))
                     .get(() -> transactionManager.doInTransaction(
                             () -> allocateResources(flow, forwardPathId, reversePathId)));
@@ -142,6 +156,110 @@ public class FlowResourcesManager {
                 .build();
     }
 
+    /**
+     * Allocate resources for the paths of the flows in a single transaction. Performs retries on internal
+     * transaction.
+     * <p/>
+     * Each resource pool is passed once for the whole batch. A flow listed twice gets two independent sets
+     * of resources, e.g. for the primary and protected paths.
+     *
+     * @return allocated resources in the order of the flows.
+     */
+    public List<FlowResources> allocateBulkFlowResources(List<Flow> flows) throws ResourceAllocationException {
+        log.debug("Allocate flow resources for {} flows.", flows.size());
+
+        List<PathId> forwardPathIds = flows.stream().map(flow -> generatePathId(flow.getFlowId())).collect(toList());
+        List<PathId> reversePathIds = flows.stream().map(flow -> generatePathId(flow.getFlowId())).collect(toList());
+
+        try {
+            return Failsafe.with(new RetryPolicy()
+                    .retryOn(ConstraintViolationException.class)
+                    .retryOn(ResourceNotAvailableException.class)
+                    .withMaxRetries(MAX_ALLOCATION_ATTEMPTS))
+                    .onFailedAttempt(this::onFailedAllocation)
+                    .onRetry(e -> log.info("Retrying resource allocation transaction finished with exception", e))
+                    .get(() -> transactionManager.doInTransaction(
+                            () -> allocateBulkResources(flows, forwardPathIds, reversePathIds)));
+        } catch (ConstraintViolationException | ResourceNotAvailableException ex) {
+            throw new ResourceAllocationException("Unable to allocate resources", ex);
+        }
+    }
+
+    @VisibleForTesting
+    List<FlowResources> allocateBulkResources(List<Flow> flows, List<PathId> forwardPathIds,
+                                              List<PathId> reversePathIds) {
+        List<Long> cookies = cookiePool.allocate(flows.stream().map(Flow::getFlowId).collect(toList()));
+
+        Map<SwitchId, Switch> meterSwitches = new HashMap<>();
+        Map<SwitchId, Map<PathId, String>> meterRequests = new LinkedHashMap<>();
+        Map<FlowEncapsulationType, List<Integer>> encapsulationRequests = new EnumMap<>(FlowEncapsulationType.class);
+        for (int i = 0; i < flows.size(); i++) {
+            Flow flow = flows.get(i);
+            if (flow.getBandwidth() > 0L) {
+                addMeterRequest(meterSwitches, meterRequests, flow.getSrcSwitch(), flow, forwardPathIds.get(i));
+                addMeterRequest(meterSwitches, meterRequests, flow.getDestSwitch(), flow, reversePathIds.get(i));
+            }
+            if (!flow.isOneSwitchFlow()) {
+                encapsulationRequests.computeIfAbsent(flow.getEncapsulationType(), type -> new ArrayList<>()).add(i);
+            }
+        }
+
+        Map<PathId, MeterId> meters = new HashMap<>();
+        meterRequests.forEach((switchId, pathFlowIds) ->
+                meters.putAll(meterPool.allocate(meterSwitches.get(switchId), pathFlowIds)));
+
+        EncapsulationResources[] encapsulations = new EncapsulationResources[flows.size()];
+        encapsulationRequests.forEach((encapsulationType, indexes) -> {
+            List<?> allocated = getEncapsulationResourcesProvider(encapsulationType).allocate(
+                    indexes.stream().map(flows::get).collect(toList()),
+                    indexes.stream().map(forwardPathIds::get).collect(toList()));
+            for (int i = 0; i < indexes.size(); i++) {
+                encapsulations[indexes.get(i)] = (EncapsulationResources) allocated.get(i);
+            }
+        });
+
+        List<FlowResources> result = new ArrayList<>(flows.size());
+        for (int i = 0; i < flows.size(); i++) {
+            PathId forwardPathId = forwardPathIds.get(i);
+            PathId reversePathId = reversePathIds.get(i);
+            result.add(FlowResources.builder()
+                    .unmaskedCookie(cookies.get(i))
+                    .forward(PathResources.builder()
+                            .pathId(forwardPathId)
+                            .meterId(meters.get(forwardPathId))
+                            .encapsulationResources(encapsulations[i])
+                            .build())
+                    .reverse(PathResources.builder()
+                            .pathId(reversePathId)
+                            .meterId(meters.get(reversePathId))
+                            .encapsulationResources(encapsulations[i])
+                            .build())
+                    .build());
+        }
+        return result;
+    }
+
+    private void onFailedAllocation(Throwable ex) {
+        if (ex instanceof ConstraintViolationException) {
+            resyncPools();
+        }
+    }
+
+    private void resyncPools() {
+        log.info("Resource allocation conflicted with another one, resyncing resource pools");
+        cookiePool.resync();
+        meterPool.resync();
+        encapsulationResourcesProviders.values().forEach(EncapsulationResourcesProvider::resync);
+    }
+
+    private void addMeterRequest(Map<SwitchId, Switch> meterSwitches,
+                                 Map<SwitchId, Map<PathId, String>> meterRequests,
+                                 Switch theSwitch, Flow flow, PathId pathId) {
+        meterSwitches.putIfAbsent(theSwitch.getSwitchId(), theSwitch);
+        meterRequests.computeIfAbsent(theSwitch.getSwitchId(), switchId -> new LinkedHashMap<>())
+                .put(pathId, flow.getFlowId());
+    }
+
     private EncapsulationResourcesProvider getEncapsulationResourcesProvider(FlowEncapsulationType type) {
         EncapsulationResourcesProvider provider = encapsulationResourcesProviders.get(type);
         if (provider == null) {
@@ -197,6 +315,34 @@ public class FlowResourcesManager {
         });
     }
 
+    /**
+     * Deallocate resources of the flow paths in a single transaction.
+     * <p/>
+     * Shared resources are to be deallocated with no usage checks.
+     */
+    public void deallocateBulkPathResources(Collection<FlowResources> resources) {
+        log.debug("Deallocate flow resources {}.", resources);
+
+        transactionManager.doInTransaction(() -> {
+            cookiePool.deallocate(resources.stream().map(FlowResources::getUnmaskedCookie).collect(toList()));
+
+            meterPool.deallocate(resources.stream()
+                    .flatMap(flowResources -> Stream.of(flowResources.getForward(), flowResources.getReverse()))
+                    .map(PathResources::getPathId)
+                    .toArray(PathId[]::new));
+
+            resources.stream()
+                    .flatMap(flowResources -> Stream.of(flowResources.getForward(), flowResources.getReverse()))
+                    .forEach(path -> {
+                        EncapsulationResources encapsulationResources = path.getEncapsulationResources();
+                        if (encapsulationResources != null) {
+                            getEncapsulationResourcesProvider(encapsulationResources.getEncapsulationType())
+                                    .deallocate(path.getPathId());
+                        }
+                    });
+        });
+    }
+
     /**
      * Get allocated encapsulation resources of the flow path.
      */
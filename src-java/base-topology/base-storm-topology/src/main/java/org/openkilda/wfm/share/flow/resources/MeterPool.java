@@ -31,8 +31,12 @@ import org.openkilda.persistence.repositories.SwitchRepository;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -46,6 +50,7 @@ public class MeterPool {
 
     private final MeterId minMeterId;
     private final MeterId maxMeterId;
+    private final Map<SwitchId, ResourceIdBitmap> assignedMeterIds = new HashMap<>();
 
     public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId) {
         transactionManager = persistenceManager.getTransactionManager();
@@ -76,15 +81,10 @@ public class MeterPool {
         return transactionManager.doInTransaction(() -> {
             String noMetersErrorMessage = format("No meter available for switch %s", theSwitch);
 
-            MeterId startMeterId = new MeterId(
-                    ResourceUtils.computeStartValue(minMeterId.getValue(), maxMeterId.getValue()));
-            SwitchId switchId = theSwitch.getSwitchId();
-            MeterId availableMeterId = flowMeterRepository.findUnassignedMeterId(switchId, startMeterId, maxMeterId)
-                    .orElse(flowMeterRepository.findUnassignedMeterId(switchId, minMeterId, maxMeterId)
-                            .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage)));
-            if (availableMeterId.compareTo(maxMeterId) > 0) {
-                throw new ResourceNotAvailableException(noMetersErrorMessage);
-            }
+            long startMeterId = ResourceUtils.computeStartValue(minMeterId.getValue(), maxMeterId.getValue());
+            MeterId availableMeterId = new MeterId(getAssignedMeterIds(theSwitch.getSwitchId())
+                    .allocate(startMeterId)
+                    .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage)));
 
             FlowMeter flowMeter = FlowMeter.builder()
                     .meterId(availableMeterId)
@@ -98,6 +98,41 @@ public class MeterPool {
         });
     }
 
+    /**
+     * Allocates meters on the switch for the flow paths in a single pass over the switch meters. The meters are stored
+     * by a single request.
+     *
+     * @param pathFlowIds the flow id of each path.
+     * @return allocated meters per path.
+     */
+    public Map<PathId, MeterId> allocate(Switch theSwitch, Map<PathId, String> pathFlowIds) {
+        return transactionManager.doInTransaction(() -> {
+            String noMetersErrorMessage = format("No %d meters available for switch %s",
+                    pathFlowIds.size(), theSwitch);
+
+            long startMeterId = ResourceUtils.computeStartValue(minMeterId.getValue(), maxMeterId.getValue());
+            long[] availableMeterIds = getAssignedMeterIds(theSwitch.getSwitchId())
+                    .allocate(startMeterId, pathFlowIds.size())
+                    .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage));
+
+            List<FlowMeter> flowMeters = new ArrayList<>(pathFlowIds.size());
+            Map<PathId, MeterId> result = new LinkedHashMap<>();
+            int i = 0;
+            for (Map.Entry<PathId, String> entry : pathFlowIds.entrySet()) {
+                FlowMeter flowMeter = FlowMeter.builder()
+                        .meterId(new MeterId(availableMeterIds[i++]))
+                        .switchId(theSwitch.getSwitchId())
+                        .flowId(entry.getValue())
+                        .pathId(entry.getKey())
+                        .build();
+                flowMeters.add(flowMeter);
+                result.put(entry.getKey(), flowMeter.getMeterId());
+            }
+            flowMeterRepository.createOrUpdateAll(flowMeters);
+            return result;
+        });
+    }
+
     /**
      * Deallocates a meter(s) of the flow path(s).
      */
@@ -109,7 +144,27 @@ public class MeterPool {
                     .map(Optional::get)
                     .collect(toList());
 
-            meters.forEach(flowMeterRepository::delete);
+            meters.forEach(meter -> {
+                flowMeterRepository.delete(meter);
+                ResourceIdBitmap switchMeterIds = getAssignedMeterIds(meter.getSwitchId());
+                transactionManager.doAfterCommit(() -> switchMeterIds.release(meter.getMeterId().getValue()));
+            });
         });
     }
+
+    /**
+     * Drops the cached assigned meter ids, so they are reloaded from the database on the next allocation.
+     */
+    public void resync() {
+        assignedMeterIds.clear();
+    }
+
+    private ResourceIdBitmap getAssignedMeterIds(SwitchId switchId) {
+        return assignedMeterIds.computeIfAbsent(switchId, id ->
+                new ResourceIdBitmap(minMeterId.getValue(), maxMeterId.getValue(),
+                        (min, max) -> flowMeterRepository.findAssignedMeterIds(id, new MeterId(min), new MeterId(max))
+                                .stream()
+                                .map(MeterId::getValue)
+                                .collect(toList())));
+    }
 }
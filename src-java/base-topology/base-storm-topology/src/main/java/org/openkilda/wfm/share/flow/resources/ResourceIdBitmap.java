@@ -0,0 +1,207 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static java.lang.String.format;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Keeps assigned ids of a resource pool as a bitmap, so a free id is found by a scan over the bitmap words instead of
+ * a "find first gap" query over all resource entities.
+ * <p/>
+ * The bitmap is loaded from the repository on the first allocation. The database remains the source of truth:
+ * each picked id is checked against the repository, and if another instance has already taken it, the bitmap is
+ * reloaded and the pick is repeated. The caller persists each allocated id, so an allocation of the same id
+ * by another instance in between is still rejected by the unique constraints; the caller is expected to
+ * {@link #invalidate()} the bitmap then. Ids of rolled back allocations and ids released by other instances are picked
+ * up when the bitmap is reloaded.
+ * <p/>
+ * Not thread-safe.
+ */
+@Slf4j
+public class ResourceIdBitmap {
+    private static final int MAX_SYNC_ATTEMPTS = 3;
+
+    private final long minId;
+    private final long maxId;
+    private final AssignedIdsLoader assignedIdsLoader;
+    private final BitSet assigned;
+    private boolean loaded;
+
+    public ResourceIdBitmap(long minId, long maxId, AssignedIdsLoader assignedIdsLoader) {
+        if (minId > maxId || maxId - minId >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid resource id range [%d, %d]", minId, maxId));
+        }
+        this.minId = minId;
+        this.maxId = maxId;
+        this.assignedIdsLoader = assignedIdsLoader;
+        this.assigned = new BitSet(size());
+    }
+
+    /**
+     * Finds a free id starting from startId and wrapping around to minId, and marks it as assigned.
+     *
+     * @return the id, or empty if all ids are assigned.
+     */
+    public OptionalLong allocate(long startId) {
+        if (!loaded) {
+            load();
+        }
+        for (int attempt = 1; ; attempt++) {
+            OptionalLong id = findFreeId(startId);
+            if (!id.isPresent()) {
+                log.debug("No free id in [{}, {}], reloading assigned ids", minId, maxId);
+                load();
+                id = findFreeId(startId);
+            }
+            if (!id.isPresent()) {
+                return id;
+            }
+
+            markAssigned(id.getAsLong());
+            if (attempt == MAX_SYNC_ATTEMPTS || !isAnyTaken(new long[] {id.getAsLong()})) {
+                return id;
+            }
+            log.info("Id {} in [{}, {}] is already taken, reloading assigned ids", id.getAsLong(), minId, maxId);
+            load();
+        }
+    }
+
+    /**
+     * Finds count free ids in a single scan starting from startId and wrapping around to minId, and marks them as
+     * assigned. Either all requested ids are allocated or none.
+     *
+     * @return the ids in the scan order, or empty if less than count ids are free.
+     */
+    public Optional<long[]> allocate(long startId, int count) {
+        if (!loaded) {
+            load();
+        }
+        for (int attempt = 1; ; attempt++) {
+            if (freeCount() < count) {
+                log.debug("Less than {} free ids in [{}, {}], reloading assigned ids", count, minId, maxId);
+                load();
+                if (freeCount() < count) {
+                    return Optional.empty();
+                }
+            }
+
+            long[] ids = findFreeIds(startId, count);
+            for (long id : ids) {
+                markAssigned(id);
+            }
+            if (attempt == MAX_SYNC_ATTEMPTS || !isAnyTaken(ids)) {
+                return Optional.of(ids);
+            }
+            log.info("Some of {} ids in [{}, {}] are already taken, reloading assigned ids", count, minId, maxId);
+            load();
+        }
+    }
+
+    /**
+     * Marks the id as assigned. Ids out of the range are ignored.
+     */
+    public void markAssigned(long id) {
+        if (id >= minId && id <= maxId) {
+            assigned.set((int) (id - minId));
+        }
+    }
+
+    /**
+     * Marks the id as free. Ids out of the range are ignored.
+     * <p/>
+     * Must be called only once the release is committed, otherwise a rolled back release makes the id available
+     * for a second allocation.
+     */
+    public void release(long id) {
+        if (id >= minId && id <= maxId) {
+            assigned.clear((int) (id - minId));
+        }
+    }
+
+    /**
+     * Drops the loaded ids, so the bitmap is reloaded from the repository on the next allocation.
+     */
+    public void invalidate() {
+        loaded = false;
+    }
+
+    private void load() {
+        assigned.clear();
+        assignedIdsLoader.load(minId, maxId).forEach(id -> markAssigned(id.longValue()));
+        loaded = true;
+    }
+
+    private boolean isAnyTaken(long[] ids) {
+        if (ids.length == 0) {
+            return false;
+        }
+        long[] sortedIds = ids.clone();
+        Arrays.sort(sortedIds);
+        return assignedIdsLoader.load(sortedIds[0], sortedIds[sortedIds.length - 1]).stream()
+                .anyMatch(id -> Arrays.binarySearch(sortedIds, id.longValue()) >= 0);
+    }
+
+    private long[] findFreeIds(long startId, int count) {
+        long[] ids = new long[count];
+        int start = toIndex(startId);
+        int found = 0;
+        for (int index = assigned.nextClearBit(start); found < count && index < size();
+                index = assigned.nextClearBit(index + 1)) {
+            ids[found++] = minId + index;
+        }
+        for (int index = assigned.nextClearBit(0); found < count && index < start;
+                index = assigned.nextClearBit(index + 1)) {
+            ids[found++] = minId + index;
+        }
+        return ids;
+    }
+
+    private OptionalLong findFreeId(long startId) {
+        int index = assigned.nextClearBit(toIndex(startId));
+        if (index >= size()) {
+            index = assigned.nextClearBit(0);
+        }
+        return index < size() ? OptionalLong.of(minId + index) : OptionalLong.empty();
+    }
+
+    private int toIndex(long startId) {
+        return (int) (Math.max(minId, Math.min(startId, maxId)) - minId);
+    }
+
+    private int freeCount() {
+        return size() - assigned.cardinality();
+    }
+
+    private int size() {
+        return (int) (maxId - minId + 1);
+    }
+
+    /**
+     * Loads ids assigned in the repository within [minId, maxId].
+     */
+    @FunctionalInterface
+    public interface AssignedIdsLoader {
+        Collection<? extends Number> load(long minId, long maxId);
+    }
+}
@@ -15,6 +15,8 @@
 
 package org.openkilda.wfm.share.flow.resources.transitvlan;
 
+import static java.lang.String.format;
+
 import org.openkilda.model.Flow;
 import org.openkilda.model.PathId;
 import org.openkilda.model.TransitVlan;
@@ -23,12 +25,15 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.TransitVlanRepository;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.ResourceIdBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 import org.openkilda.wfm.share.flow.resources.ResourceUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -41,6 +46,7 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
 
     private final int minTransitVlan;
     private final int maxTransitVlan;
+    private final ResourceIdBitmap assignedVlans;
 
     public TransitVlanPool(PersistenceManager persistenceManager, int minTransitVlan, int maxTransitVlan) {
         transactionManager = persistenceManager.getTransactionManager();
@@ -49,6 +55,8 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
 
         this.minTransitVlan = minTransitVlan;
         this.maxTransitVlan = maxTransitVlan;
+        assignedVlans = new ResourceIdBitmap(minTransitVlan, maxTransitVlan,
+                (min, max) -> transitVlanRepository.findAssignedTransitVlans((int) min, (int) max));
     }
 
     /**
@@ -63,12 +71,8 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
     private TransitVlanEncapsulation allocate(Flow flow, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
             int startValue = ResourceUtils.computeStartValue(minTransitVlan, maxTransitVlan);
-            int availableVlan = transitVlanRepository.findUnassignedTransitVlan(startValue, maxTransitVlan)
-                    .orElse(transitVlanRepository.findUnassignedTransitVlan(minTransitVlan, maxTransitVlan)
-                            .orElseThrow(() -> new ResourceNotAvailableException("No vlan available")));
-            if (availableVlan > maxTransitVlan) {
-                throw new ResourceNotAvailableException("No vlan available");
-            }
+            int availableVlan = (int) assignedVlans.allocate(startValue)
+                    .orElseThrow(() -> new ResourceNotAvailableException("No vlan available"));
 
             TransitVlan transitVlan = TransitVlan.builder()
                     .vlan(availableVlan)
@@ -83,6 +87,36 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
         });
     }
 
+    /**
+     * Allocates vlans for new paths of the flows.
+     */
+    @Override
+    public List<TransitVlanEncapsulation> allocate(List<Flow> flows, List<PathId> pathIds) {
+        return transactionManager.doInTransaction(() -> {
+            int startValue = ResourceUtils.computeStartValue(minTransitVlan, maxTransitVlan);
+            long[] available = assignedVlans.allocate(startValue, flows.size())
+                    .orElseThrow(() -> new ResourceNotAvailableException(
+                            format("No %d vlans available", flows.size())));
+
+            List<TransitVlan> transitVlans = new ArrayList<>(flows.size());
+            List<TransitVlanEncapsulation> result = new ArrayList<>(flows.size());
+            for (int i = 0; i < flows.size(); i++) {
+                TransitVlan transitVlan = TransitVlan.builder()
+                        .vlan((int) available[i])
+                        .flowId(flows.get(i).getFlowId())
+                        .pathId(pathIds.get(i))
+                        .build();
+                transitVlans.add(transitVlan);
+
+                result.add(TransitVlanEncapsulation.builder()
+                        .transitVlan(transitVlan)
+                        .build());
+            }
+            transitVlanRepository.createOrUpdateAll(transitVlans);
+            return result;
+        });
+    }
+
     /**
      * Deallocates a vlan of the path.
      */
@@ -90,7 +124,18 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
     public void deallocate(PathId pathId) {
         transactionManager.doInTransaction(() ->
                 transitVlanRepository.findByPathId(pathId, null)
-                        .forEach(transitVlanRepository::delete));
+                        .forEach(transitVlan -> {
+                            transitVlanRepository.delete(transitVlan);
+                            transactionManager.doAfterCommit(() -> assignedVlans.release(transitVlan.getVlan()));
+                        }));
+    }
+
+    /**
+     * Drops the cached assigned vlans, so they are reloaded from the database on the next allocation.
+     */
+    @Override
+    public void resync() {
+        assignedVlans.invalidate();
     }
 
     /**
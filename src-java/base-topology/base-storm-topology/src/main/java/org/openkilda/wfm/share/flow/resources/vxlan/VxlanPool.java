@@ -15,6 +15,8 @@
 
 package org.openkilda.wfm.share.flow.resources.vxlan;
 
+import static java.lang.String.format;
+
 import org.openkilda.model.Flow;
 import org.openkilda.model.PathId;
 import org.openkilda.model.Vxlan;
@@ -23,12 +25,15 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.VxlanRepository;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.ResourceIdBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
 import org.openkilda.wfm.share.flow.resources.ResourceUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -41,6 +46,7 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
 
     private final int minVxlan;
     private final int maxVxlan;
+    private final ResourceIdBitmap assignedVxlans;
 
     public VxlanPool(PersistenceManager persistenceManager, int minVxlan, int maxVxlan) {
         transactionManager = persistenceManager.getTransactionManager();
@@ -49,6 +55,8 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
 
         this.minVxlan = minVxlan;
         this.maxVxlan = maxVxlan;
+        assignedVxlans = new ResourceIdBitmap(minVxlan, maxVxlan,
+                (min, max) -> vxlanRepository.findAssignedVxlans((int) min, (int) max));
     }
 
     /**
@@ -63,12 +71,8 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
     private VxlanEncapsulation allocate(Flow flow, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
             int startValue = ResourceUtils.computeStartValue(minVxlan, maxVxlan);
-            int availableVxlan = vxlanRepository.findUnassignedVxlan(startValue, maxVxlan)
-                    .orElse(vxlanRepository.findUnassignedVxlan(minVxlan, maxVxlan)
-                            .orElseThrow(() -> new ResourceNotAvailableException("No vxlan available")));
-            if (availableVxlan > maxVxlan) {
-                throw new ResourceNotAvailableException("No vxlan available");
-            }
+            int availableVxlan = (int) assignedVxlans.allocate(startValue)
+                    .orElseThrow(() -> new ResourceNotAvailableException("No vxlan available"));
 
             Vxlan vxlan = Vxlan.builder()
                     .vni(availableVxlan)
@@ -83,6 +87,36 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
         });
     }
 
+    /**
+     * Allocates vxlans for new paths of the flows.
+     */
+    @Override
+    public List<VxlanEncapsulation> allocate(List<Flow> flows, List<PathId> pathIds) {
+        return transactionManager.doInTransaction(() -> {
+            int startValue = ResourceUtils.computeStartValue(minVxlan, maxVxlan);
+            long[] available = assignedVxlans.allocate(startValue, flows.size())
+                    .orElseThrow(() -> new ResourceNotAvailableException(
+                            format("No %d vxlans available", flows.size())));
+
+            List<Vxlan> vxlans = new ArrayList<>(flows.size());
+            List<VxlanEncapsulation> result = new ArrayList<>(flows.size());
+            for (int i = 0; i < flows.size(); i++) {
+                Vxlan vxlan = Vxlan.builder()
+                        .vni((int) available[i])
+                        .flowId(flows.get(i).getFlowId())
+                        .pathId(pathIds.get(i))
+                        .build();
+                vxlans.add(vxlan);
+
+                result.add(VxlanEncapsulation.builder()
+                        .vxlan(vxlan)
+                        .build());
+            }
+            vxlanRepository.createOrUpdateAll(vxlans);
+            return result;
+        });
+    }
+
     /**
      * Deallocates a vxlan of the path.
      */
@@ -90,7 +124,18 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
     public void deallocate(PathId pathId) {
         transactionManager.doInTransaction(() ->
                 vxlanRepository.findByPathId(pathId, null)
-                        .forEach(vxlanRepository::delete));
+                        .forEach(vxlan -> {
+                            vxlanRepository.delete(vxlan);
+                            transactionManager.doAfterCommit(() -> assignedVxlans.release(vxlan.getVni()));
+                        }));
+    }
+
+    /**
+     * Drops the cached assigned vnis, so they are reloaded from the database on the next allocation.
+     */
+    @Override
+    public void resync() {
+        assignedVxlans.invalidate();
     }
 
     /**
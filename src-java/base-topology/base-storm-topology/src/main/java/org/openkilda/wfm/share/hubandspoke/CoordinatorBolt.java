@@ -20,23 +20,20 @@ import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.COMMAND_FIELD;
 import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.TIMEOUT_FIELD;
 
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.share.utils.TimerWheel;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
  * Storm bolt that keeps track of duration of operation's execution and then sends callback to the requester.
@@ -46,8 +43,23 @@ public final class CoordinatorBolt extends AbstractBolt {
     public static final String ID = "coordinator.bolt";
     public static final String INCOME_STREAM = "coordinator.command";
 
-    private Map<String, Callback> callbacks = new HashMap<>();
-    private SortedMap<Long, Set<String>> timeouts = new TreeMap<>();
+    private static final long TIMER_RESOLUTION_MS = 10;
+    private static final int TIMER_WHEEL_SIZE = 4096;
+
+    private transient TimerWheel<String, Callback> callbacks;
+
+    @Override
+    protected void init() {
+        super.init();
+
+        callbacks = new TimerWheel<>(TIMER_RESOLUTION_MS, TIMER_WHEEL_SIZE);
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+        callbacks.registerMetrics(context, "coordinator.callbacks");
+    }
 
     @Override
     protected void handleInput(Tuple input) {
@@ -82,16 +94,14 @@ public final class CoordinatorBolt extends AbstractBolt {
     void registerCallback(String key, Object context, int timeout, int taskId) {
         log.trace("Adding callback for {} with timeout {}", key, timeout);
         long triggerTime = System.currentTimeMillis() + timeout;
-        timeouts.computeIfAbsent(triggerTime, mappingFunction -> new HashSet<>())
-                .add(key);
 
         Values value = new Values(key, context);
-        callbacks.put(key, Callback.of(taskId, value));
+        callbacks.schedule(key, Callback.of(taskId, value), triggerTime);
     }
 
     @VisibleForTesting
     void cancelCallback(String key) {
-        if (callbacks.remove(key) == null) {
+        if (callbacks.cancel(key) == null) {
             log.warn("{} is already cancelled", key);
         } else {
             log.debug("Request processing of {} is finished", key);
@@ -103,15 +113,9 @@ public final class CoordinatorBolt extends AbstractBolt {
      */
     @VisibleForTesting
     void tick(Long currentTime) {
-        SortedMap<Long, Set<String>> outdatedCallbacks = timeouts.headMap(currentTime);
-        for (Set<String> callbacks : outdatedCallbacks.values()) {
-            callbacks.stream()
-                    .map(this.callbacks::remove)
-                    .filter(Objects::nonNull)
-                    .forEach(callback -> getOutput().emitDirect(callback.taskId, callback.context));
+        for (Callback callback : callbacks.advance(currentTime - 1)) {
+            getOutput().emitDirect(callback.taskId, callback.context);
         }
-
-        outdatedCallbacks.clear();
     }
 
     @Override
@@ -121,15 +125,10 @@ public final class CoordinatorBolt extends AbstractBolt {
     }
 
     @VisibleForTesting
-    Map<String, Callback> getCallbacks() {
+    TimerWheel<String, Callback> getCallbacks() {
         return callbacks;
     }
 
-    @VisibleForTesting
-    SortedMap<Long, Set<String>> getTimeouts() {
-        return timeouts;
-    }
-
     public enum CoordinatorCommand {
         REQUEST_CALLBACK,
         CANCEL_CALLBACK
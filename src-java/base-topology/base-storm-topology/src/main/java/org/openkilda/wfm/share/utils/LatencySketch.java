@@ -0,0 +1,162 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable latency quantile sketch: a log-linear histogram in the spirit of HdrHistogram, plus min, max and
+ * jitter of the recorded values.
+ * <p/>
+ * Each power of two range is split into {@value #SUB_BUCKET_HALF} linear buckets, so a reported quantile differs
+ * from the exact one by less than 2%. The bucket array grows up to the highest recorded value and never exceeds
+ * 2K buckets, whatever the values are. Jitter is the mean absolute difference between consecutive values.
+ * <p/>
+ * Values are expected to be non-negative, negative values are ignored. Not thread-safe.
+ */
+public class LatencySketch {
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT / 2;
+
+    private int[] counts = new int[SUB_BUCKET_COUNT];
+    private long count;
+    private long min;
+    private long max;
+
+    private long jitterSum;
+    private long jitterCount;
+    private boolean hasLastValue;
+    private long lastValue;
+
+    public LatencySketch() {
+        reset();
+    }
+
+    /**
+     * Records the value.
+     */
+    public void record(long value) {
+        if (value < 0) {
+            return;
+        }
+
+        int index = indexOf(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, index + SUB_BUCKET_HALF - index % SUB_BUCKET_HALF);
+        }
+        counts[index]++;
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+
+        if (hasLastValue) {
+            jitterSum += Math.abs(value - lastValue);
+            jitterCount++;
+        }
+        hasLastValue = true;
+        lastValue = value;
+    }
+
+    /**
+     * Adds values recorded by the other sketch to this one.
+     */
+    public void merge(LatencySketch other) {
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        jitterSum += other.jitterSum;
+        jitterCount += other.jitterCount;
+    }
+
+    /**
+     * Returns the value below which the given percentage of recorded values fall, or 0 if there are no values.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, medianValueAt(i)));
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public long getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    /**
+     * Returns the mean absolute difference between consecutive values, or 0 if there are less than 2 values.
+     */
+    public long getJitter() {
+        return jitterCount == 0 ? 0 : jitterSum / jitterCount;
+    }
+
+    /**
+     * Removes recorded values. The last value is kept, so the jitter of the next value is calculated against it.
+     */
+    public void reset() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+        jitterSum = 0;
+        jitterCount = 0;
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        // the shift leaves SUB_BUCKET_BITS significant bits: value >> shift is in [SUB_BUCKET_HALF, SUB_BUCKET_COUNT)
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF + (int) (value >> shift) - SUB_BUCKET_HALF;
+    }
+
+    private static long medianValueAt(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF + 1;
+        long lowest = (long) ((index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF + SUB_BUCKET_HALF) << shift;
+        return lowest + (1L << (shift - 1));
+    }
+}
@@ -0,0 +1,206 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static java.lang.String.format;
+
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.TopologyContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashed timing wheel driven by explicit time ticks.
+ * <p/>
+ * Timers are spread over a ring of buckets by their deadline, each bucket is a doubly linked list, so scheduling and
+ * cancellation are O(1) and a cancelled timer is removed immediately. On each tick only the buckets passed since the
+ * previous tick are scanned. Timers with a deadline beyond one revolution of the wheel stay in their bucket until
+ * the deadline is reached.
+ * <p/>
+ * Time units are defined by the caller, the resolution must be in the same units as deadlines and ticks.
+ * Not thread-safe.
+ */
+public class TimerWheel<K, V> {
+    public static final int DEFAULT_SIZE = 512;
+
+    private static final int METRICS_BUCKET_SECONDS = 60;
+
+    private final long resolution;
+    private final Timer<K, V>[] buckets;
+    private final Map<K, Timer<K, V>> timers = new HashMap<>();
+
+    private boolean started = false;
+    private long currentTick;
+    private long maxLag = 0;
+
+    public TimerWheel(long resolution) {
+        this(resolution, DEFAULT_SIZE);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long resolution, int size) {
+        if (resolution <= 0 || size <= 0) {
+            throw new IllegalArgumentException(format(
+                    "Invalid timer wheel resolution %d or size %d", resolution, size));
+        }
+        this.resolution = resolution;
+        this.buckets = new Timer[size];
+    }
+
+    /**
+     * Schedules a timer, the existing timer with the same key is replaced.
+     */
+    public void schedule(K key, V value, long deadline) {
+        cancel(key);
+
+        long tick = Math.floorDiv(deadline, resolution);
+        if (started && tick < currentTick) {
+            tick = currentTick;
+        }
+        Timer<K, V> timer = new Timer<>(key, value, deadline, bucketIndex(tick));
+        link(timer);
+        timers.put(key, timer);
+    }
+
+    /**
+     * Removes the timer.
+     *
+     * @return the value of the removed timer or null if there is no such timer.
+     */
+    public V cancel(K key) {
+        Timer<K, V> timer = timers.remove(key);
+        if (timer == null) {
+            return null;
+        }
+        unlink(timer);
+        return timer.value;
+    }
+
+    public boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    public V get(K key) {
+        Timer<K, V> timer = timers.get(key);
+        return timer == null ? null : timer.value;
+    }
+
+    /**
+     * Removes all timers with deadline not after now.
+     *
+     * @return values of the expired timers.
+     */
+    public List<V> advance(long now) {
+        long tick = Math.floorDiv(now, resolution);
+        long firstTick = started ? Math.min(currentTick, tick) : tick - buckets.length + 1;
+        firstTick = Math.max(firstTick, tick - buckets.length + 1);
+        started = true;
+        // The bucket of the current tick is scanned again on the next advance, it may have timers with deadline
+        // after now but within the current tick.
+        currentTick = tick;
+
+        List<V> expired = new ArrayList<>();
+        for (long i = firstTick; i <= tick; i++) {
+            expireBucket(bucketIndex(i), now, expired);
+        }
+        return expired;
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    public boolean isEmpty() {
+        return timers.isEmpty();
+    }
+
+    /**
+     * Returns the maximum delay of timer expiration since the last call and resets it.
+     */
+    public long getAndResetMaxLag() {
+        long lag = maxLag;
+        maxLag = 0;
+        return lag;
+    }
+
+    /**
+     * Registers storm metrics of pending timers and maximum expiration lag (in the time units of the wheel).
+     */
+    public void registerMetrics(TopologyContext context, String prefix) {
+        context.registerMetric(prefix + ".pending", (IMetric) this::size, METRICS_BUCKET_SECONDS);
+        context.registerMetric(prefix + ".lag", (IMetric) this::getAndResetMaxLag, METRICS_BUCKET_SECONDS);
+    }
+
+    private void expireBucket(int index, long now, List<V> expired) {
+        Timer<K, V> timer = buckets[index];
+        while (timer != null) {
+            Timer<K, V> next = timer.next;
+            if (timer.deadline <= now) {
+                unlink(timer);
+                timers.remove(timer.key);
+                maxLag = Math.max(maxLag, now - timer.deadline);
+                expired.add(timer.value);
+            }
+            timer = next;
+        }
+    }
+
+    private void link(Timer<K, V> timer) {
+        Timer<K, V> head = buckets[timer.bucket];
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        buckets[timer.bucket] = timer;
+    }
+
+    private void unlink(Timer<K, V> timer) {
+        if (timer.prev == null) {
+            buckets[timer.bucket] = timer.next;
+        } else {
+            timer.prev.next = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+    }
+
+    private int bucketIndex(long tick) {
+        return (int) Math.floorMod(tick, (long) buckets.length);
+    }
+
+    private static final class Timer<K, V> {
+        private final K key;
+        private final V value;
+        private final long deadline;
+        private final int bucket;
+
+        private Timer<K, V> prev;
+        private Timer<K, V> next;
+
+        private Timer(K key, V value, long deadline, int bucket) {
+            this.key = key;
+            this.value = value;
+            this.deadline = deadline;
+            this.bucket = bucket;
+        }
+    }
+}
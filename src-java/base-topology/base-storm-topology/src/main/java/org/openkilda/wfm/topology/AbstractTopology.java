@@ -30,6 +30,7 @@ import org.openkilda.wfm.kafka.AbstractMessageDeserializer;
 import org.openkilda.wfm.kafka.AbstractMessageSerializer;
 import org.openkilda.wfm.kafka.CustomNamedSubscription;
 import org.openkilda.wfm.kafka.MessageDeserializer;
+import org.openkilda.wfm.kafka.MessageFormat;
 import org.openkilda.wfm.kafka.MessageSerializer;
 import org.openkilda.wfm.topology.utils.AbstractMessageTranslator;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
@@ -58,6 +59,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
 
 /**
  * Represents abstract topology.
@@ -280,6 +282,7 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
     protected KafkaBolt<String, Message> buildKafkaBolt(final String topic) {
         Properties properties = getKafkaProducerProperties();
         properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MessageSerializer.class.getName());
+        properties.setProperty(MessageFormat.PRODUCER_PROPERTY, getKafkaMessageFormat(topic).name());
 
         return new KafkaBolt<String, Message>()
                 .withProducerProperties(properties)
@@ -296,6 +299,7 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
     protected KafkaBolt<String, T> buildKafkaBoltWithAbstractMessageSupport(final String topic) {
         Properties properties = getKafkaProducerProperties();
         properties.setProperty(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, AbstractMessageSerializer.class.getName());
+        properties.setProperty(MessageFormat.PRODUCER_PROPERTY, getKafkaMessageFormat(topic).name());
 
         return new KafkaBolt<String, T>()
                 .withProducerProperties(properties)
@@ -303,6 +307,11 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
                 .withTupleToKafkaMapper(new FieldNameBasedTupleToKafkaMapper<>());
     }
 
+    private MessageFormat getKafkaMessageFormat(String topic) {
+        Set<String> binaryTopics = topologyConfig.getKafkaBinaryTopics();
+        return binaryTopics != null && binaryTopics.contains(topic) ? MessageFormat.SMILE : MessageFormat.JSON;
+    }
+
     protected KafkaSpoutConfig.Builder<String, Message> getKafkaSpoutConfigBuilder(String topic, String spoutId) {
         return getKafkaSpoutConfigBuilder(Collections.singletonList(topic), spoutId);
     }
@@ -17,12 +17,15 @@ package org.openkilda.wfm.topology;
 
 import org.openkilda.config.KafkaTopicsConfig;
 import org.openkilda.wfm.config.SecondsToMilisConverter;
+import org.openkilda.wfm.config.StringToSetConverter;
 
 import com.sabre.oss.conf4j.annotation.AbstractConfiguration;
 import com.sabre.oss.conf4j.annotation.Converter;
 import com.sabre.oss.conf4j.annotation.IgnoreKey;
 import com.sabre.oss.conf4j.annotation.Key;
 
+import java.util.Set;
+
 @AbstractConfiguration
 public interface AbstractTopologyConfig {
     @Key("cli.local")
@@ -50,6 +53,14 @@ public interface AbstractTopologyConfig {
     @Key("spout.wait.sleep.time")
     Integer getSpoutWaitSleepTime();
 
+    /**
+     * Topics written in the binary {@link org.openkilda.wfm.kafka.MessageFormat#SMILE} format. All consumers of such
+     * topics must decode values with the deserializers from {@link org.openkilda.wfm.kafka}.
+     */
+    @Key("kafka.binary.topics")
+    @Converter(StringToSetConverter.class)
+    Set<String> getKafkaBinaryTopics();
+
     @IgnoreKey
     KafkaTopicsConfig getKafkaTopics();
 
@@ -0,0 +1,144 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static java.lang.String.format;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.MessageData;
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.info.InfoData;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.event.PortChangeType;
+import org.openkilda.messaging.info.event.PortInfoData;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.utils.SerializationUtils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.ScanResult;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class MessageFormatTest {
+    private static final String TOPIC = "kilda.test";
+
+    @Test
+    public void shouldDetectFormat() {
+        Message message = new InfoMessage(new PortInfoData(new SwitchId(1), 2, PortChangeType.UP), 0, "detect");
+
+        assertEquals(MessageFormat.JSON, MessageFormat.detect(makeSerializer(MessageFormat.JSON).serialize(
+                TOPIC, message)));
+        assertEquals(MessageFormat.SMILE, MessageFormat.detect(makeSerializer(MessageFormat.SMILE).serialize(
+                TOPIC, message)));
+        assertEquals(MessageFormat.JSON, MessageFormat.detect(new byte[0]));
+    }
+
+    @Test
+    public void shouldUseJsonByDefault() {
+        MessageSerializer serializer = new MessageSerializer();
+        serializer.configure(Collections.emptyMap(), false);
+        Message message = new InfoMessage(new PortInfoData(new SwitchId(1), 2, PortChangeType.UP), 0, "default");
+
+        assertEquals(MessageFormat.JSON, MessageFormat.detect(serializer.serialize(TOPIC, message)));
+    }
+
+    @Test
+    public void shouldDecodeBothFormats() {
+        PathNode source = new PathNode(new SwitchId(1), 1, 0);
+        PathNode destination = new PathNode(new SwitchId(2), 2, 1);
+        Message message = new InfoMessage(IslInfoData.builder()
+                .latency(100)
+                .source(source)
+                .destination(destination)
+                .speed(10000000)
+                .availableBandwidth(9000000)
+                .maxBandwidth(10000000)
+                .state(IslChangeType.DISCOVERED)
+                .build(), 0, "both-formats");
+
+        for (MessageFormat format : MessageFormat.values()) {
+            assertRoundTrip(format, message);
+        }
+    }
+
+    @Test
+    public void shouldRoundTripAllInfoAndCommandDataSubtypes() throws Exception {
+        List<String> failures = new ArrayList<>();
+        int subtypes = 0;
+        try (ScanResult scan = new ClassGraph().enableClassInfo().whitelistPackages("org.openkilda").scan()) {
+            SampleFactory samples = new SampleFactory(scan);
+            for (Class<?> baseType : Arrays.asList(InfoData.class, CommandData.class)) {
+                for (ClassInfo classInfo : scan.getSubclasses(baseType.getName()).filter(this::isConcrete)) {
+                    subtypes++;
+                    try {
+                        ObjectMapper mapper = SerializationUtils.MAPPER;
+                        MessageData data = mapper.treeToValue(
+                                samples.make(mapper.constructType(classInfo.loadClass())), MessageData.class);
+                        Message message = data instanceof InfoData
+                                ? new InfoMessage((InfoData) data, 0, classInfo.getName())
+                                : new CommandMessage((CommandData) data, 0, classInfo.getName());
+                        assertPopulated(data);
+                        assertRoundTrip(MessageFormat.SMILE, message);
+                    } catch (Exception | AssertionError e) {
+                        failures.add(format("%s: %s", classInfo.getName(), e));
+                    }
+                }
+            }
+        }
+
+        assertTrue("No subtypes found", subtypes > 0);
+        assertTrue(format("%d of %d subtypes failed:%n%s", failures.size(), subtypes, String.join("\n", failures)),
+                failures.isEmpty());
+    }
+
+    private boolean isConcrete(ClassInfo classInfo) {
+        return !classInfo.isAbstract() && !classInfo.isInterface();
+    }
+
+    private void assertPopulated(MessageData data) {
+        JsonNode tree = SerializationUtils.MAPPER.valueToTree(data);
+        tree.fields().forEachRemaining(field -> assertFalse(
+                format("Property \"%s\" is not populated", field.getKey()), field.getValue().isNull()));
+    }
+
+    private void assertRoundTrip(MessageFormat format, Message message) {
+        byte[] encoded = makeSerializer(format).serialize(TOPIC, message);
+        Message decoded = new MessageDeserializer().deserialize(TOPIC, encoded);
+
+        assertEquals(message.getCorrelationId(), SerializationUtils.MAPPER.valueToTree(message),
+                SerializationUtils.MAPPER.valueToTree(decoded));
+    }
+
+    private MessageSerializer makeSerializer(MessageFormat format) {
+        MessageSerializer serializer = new MessageSerializer();
+        serializer.configure(Collections.singletonMap(MessageFormat.PRODUCER_PROPERTY, format.name()), false);
+        return serializer;
+    }
+}
@@ -0,0 +1,169 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import org.openkilda.model.OutputVlanType;
+import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.utils.SerializationUtils;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.classgraph.ClassInfoList;
+import io.github.classgraph.ScanResult;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds JSON values with every property populated for a given type. Abstract types are replaced with their first
+ * concrete subtype on the classpath.
+ */
+class SampleFactory {
+    private static final int MAX_DEPTH = 6;
+
+    private final ObjectMapper mapper = SerializationUtils.MAPPER;
+    private final JsonNodeFactory nodes = JsonNodeFactory.instance;
+    private final ScanResult scan;
+    private final Map<Class<?>, Object> values = new HashMap<>();
+    private final Map<String, Object> properties = new HashMap<>();
+
+    SampleFactory(ScanResult scan) throws UnknownHostException {
+        this.scan = scan;
+
+        InetAddress address = InetAddress.getByAddress(new byte[]{127, 0, 0, 1});
+        values.put(InetAddress.class, address);
+        values.put(InetSocketAddress.class, new InetSocketAddress(address, 6653));
+
+        values.put(SwitchId.class, new SwitchId(1));
+        values.put(String.class, "sample");
+        values.put(Object.class, "sample");
+        values.put(UUID.class, new UUID(1, 1));
+        values.put(Instant.class, Instant.ofEpochSecond(1));
+        values.put(LocalDateTime.class, LocalDateTime.of(2020, 1, 1, 0, 0));
+        values.put(Duration.class, Duration.ofSeconds(1));
+
+        // must be consistent with the (populated) input and output vlan ids
+        properties.put("output_vlan_type", OutputVlanType.REPLACE);
+    }
+
+    JsonNode make(JavaType type) {
+        return make(type, 0);
+    }
+
+    private JsonNode make(JavaType type, int depth) {
+        Class<?> raw = type.getRawClass();
+        if (values.containsKey(raw)) {
+            return mapper.valueToTree(values.get(raw));
+        }
+        if (raw == boolean.class || raw == Boolean.class) {
+            return nodes.booleanNode(true);
+        }
+        if (raw.isPrimitive() || Number.class.isAssignableFrom(raw)) {
+            return nodes.numberNode(1);
+        }
+        if (raw == char.class || raw == Character.class) {
+            return nodes.textNode("c");
+        }
+        if (raw.isEnum()) {
+            return mapper.valueToTree(raw.getEnumConstants()[0]);
+        }
+        if (type.isArrayType() || type.isCollectionLikeType()) {
+            ArrayNode array = nodes.arrayNode();
+            if (depth < MAX_DEPTH) {
+                array.add(make(type.getContentType(), depth + 1));
+            }
+            return array;
+        }
+        if (type.isMapLikeType()) {
+            ObjectNode map = nodes.objectNode();
+            if (depth < MAX_DEPTH) {
+                map.set(make(type.getKeyType(), depth + 1).asText(), make(type.getContentType(), depth + 1));
+            }
+            return map;
+        }
+        if (type.isReferenceType()) {
+            return make(type.getContentType(), depth);
+        }
+        return makeBean(type, depth);
+    }
+
+    private JsonNode makeBean(JavaType type, int depth) {
+        DeserializationConfig config = mapper.getDeserializationConfig();
+        JavaType concrete = type.isAbstract() ? config.constructType(findConcrete(type.getRawClass())) : type;
+
+        ObjectNode bean = nodes.objectNode();
+        if (depth > MAX_DEPTH) {
+            return bean;
+        }
+
+        BeanDescription description = config.introspect(concrete);
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (properties.containsKey(property.getName())) {
+                bean.set(property.getName(), mapper.valueToTree(properties.get(property.getName())));
+            } else if (property.couldDeserialize()) {
+                bean.set(property.getName(), make(property.getPrimaryType(), depth + 1));
+            }
+        }
+
+        TypeDeserializer typeDeserializer = findTypeDeserializer(type);
+        if (typeDeserializer != null) {
+            if (typeDeserializer.getTypeInclusion() != JsonTypeInfo.As.PROPERTY
+                    && typeDeserializer.getTypeInclusion() != JsonTypeInfo.As.EXISTING_PROPERTY) {
+                throw new IllegalStateException(String.format(
+                        "Unsupported type info inclusion %s for %s", typeDeserializer.getTypeInclusion(), type));
+            }
+            bean.put(typeDeserializer.getPropertyName(),
+                    typeDeserializer.getTypeIdResolver().idFromValueAndType(null, concrete.getRawClass()));
+        }
+        return bean;
+    }
+
+    private TypeDeserializer findTypeDeserializer(JavaType type) {
+        try {
+            return mapper.getDeserializationConfig().findTypeDeserializer(type);
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Class<?> findConcrete(Class<?> abstractType) {
+        ClassInfoList candidates = abstractType.isInterface()
+                ? scan.getClassesImplementing(abstractType.getName())
+                : scan.getSubclasses(abstractType.getName());
+        return candidates.filter(info -> !info.isAbstract() && !info.isInterface())
+                .getNames().stream().sorted().findFirst()
+                .map(name -> scan.getClassInfo(name).loadClass())
+                .orElseThrow(() -> new IllegalStateException(String.format(
+                        "There is no concrete implementation of %s", abstractType.getName())));
+    }
+}
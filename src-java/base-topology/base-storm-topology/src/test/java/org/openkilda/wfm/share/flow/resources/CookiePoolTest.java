@@ -20,6 +20,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import org.openkilda.model.FlowCookie;
 import org.openkilda.persistence.Neo4jBasedTest;
@@ -28,8 +29,11 @@ import org.openkilda.persistence.repositories.FlowCookieRepository;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -63,6 +67,77 @@ public class CookiePoolTest extends Neo4jBasedTest {
         }
     }
 
+    @Test
+    public void shouldReuseCookieReleasedByAnotherPool() {
+        for (long i = MIN_COOKIE; i <= MAX_COOKIE; i++) {
+            cookiePool.allocate(format("flow_%d", i));
+        }
+
+        CookiePool anotherPool = new CookiePool(persistenceManager, MIN_COOKIE, MAX_COOKIE);
+        anotherPool.deallocate(MIN_COOKIE + 1);
+
+        assertEquals(MIN_COOKIE + 1, cookiePool.allocate("flow_new"));
+    }
+
+    @Test(expected = ResourceNotAvailableException.class)
+    public void shouldNotAllocateCookieTakenByAnotherPool() {
+        cookiePool.allocate("flow_1");
+
+        CookiePool anotherPool = new CookiePool(persistenceManager, MIN_COOKIE, MAX_COOKIE);
+        for (long i = MIN_COOKIE + 1; i <= MAX_COOKIE; i++) {
+            anotherPool.allocate(format("flow_%d", i));
+        }
+
+        cookiePool.allocate("flow_new");
+    }
+
+    @Test(expected = ResourceNotAvailableException.class)
+    public void shouldNotReuseCookieOfRolledBackDeallocation() {
+        for (long i = MIN_COOKIE; i <= MAX_COOKIE; i++) {
+            cookiePool.allocate(format("flow_%d", i));
+        }
+
+        try {
+            persistenceManager.getTransactionManager().doInTransaction(() -> {
+                cookiePool.deallocate(MIN_COOKIE + 1);
+                throw new IllegalStateException("rollback");
+            });
+            fail();
+        } catch (IllegalStateException ex) {
+            assertTrue(flowCookieRepository.findByCookie(MIN_COOKIE + 1).isPresent());
+        }
+
+        cookiePool.allocate("flow_new");
+    }
+
+    @Test
+    public void shouldAllocateCookiesInBulk() {
+        List<Long> cookies = cookiePool.allocate(Arrays.asList("flow_1", "flow_2", "flow_1"));
+
+        assertEquals(3, new HashSet<>(cookies).size());
+        assertEquals("flow_2", flowCookieRepository.findByCookie(cookies.get(1)).get().getFlowId());
+
+        cookiePool.deallocate(cookies);
+        assertTrue(flowCookieRepository.findAll().isEmpty());
+    }
+
+    @Test(expected = ResourceNotAvailableException.class)
+    public void shouldNotAllocateCookiesInBulkIfPoolIsFull() {
+        cookiePool.allocate(Collections.nCopies((int) (MAX_COOKIE - MIN_COOKIE + 2), "flow_1"));
+    }
+
+    @Test
+    public void shouldDeallocateCookiesInBulk() {
+        List<Long> cookies = Arrays.asList(cookiePool.allocate("flow_1"), cookiePool.allocate("flow_2"));
+        long remainingCookie = cookiePool.allocate("flow_3");
+
+        cookiePool.deallocate(cookies);
+
+        Collection<FlowCookie> flowCookies = flowCookieRepository.findAll();
+        assertEquals(1, flowCookies.size());
+        assertEquals(remainingCookie, flowCookies.iterator().next().getUnmaskedCookie());
+    }
+
     @Test
     public void cookieLldp() {
         // checks that we able to create two cookies for one flow
@@ -17,6 +17,8 @@ package org.openkilda.wfm.share.flow.resources;
 
 import static java.lang.String.format;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 
@@ -43,6 +45,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.Properties;
 import java.util.stream.Stream;
 
@@ -220,6 +224,35 @@ public class FlowResourcesManagerTest extends Neo4jBasedTest {
         verifyResourcesDeallocation();
     }
 
+    @Test
+    public void shouldAllocateInBulk() throws ResourceAllocationException {
+        Flow flow = convertFlow(firstFlow);
+        List<FlowResources> resources = resourcesManager.allocateBulkFlowResources(
+                Arrays.asList(flow, convertFlow(secondFlow), convertFlow(thirdFlow), convertFlow(fourthFlow), flow));
+
+        assertEquals(5, resources.size());
+        verifyAllocation(resources.get(0));
+        verifyAllocation(resources.get(1));
+        assertNull(resources.get(2).getForward().getMeterId());
+        assertNull(resources.get(2).getForward().getEncapsulationResources());
+        verifyMeterLessAllocation(resources.get(3));
+        verifyAllocation(resources.get(4));
+
+        assertEquals(5, resources.stream().map(FlowResources::getUnmaskedCookie).distinct().count());
+        assertNotEquals(resources.get(0).getForward().getEncapsulationResources().getTransitEncapsulationId(),
+                resources.get(4).getForward().getEncapsulationResources().getTransitEncapsulationId());
+        assertEquals(6, flowMeterRepository.findAll().size());
+    }
+
+    @Test
+    public void deallocateBulkPathResourcesTest() throws Exception {
+        List<FlowResources> resources = resourcesManager.allocateBulkFlowResources(
+                Arrays.asList(convertFlow(firstFlow), convertFlow(secondFlow)));
+        resourcesManager.deallocateBulkPathResources(resources);
+
+        verifyResourcesDeallocation();
+    }
+
     @Test(expected = ResourceAllocationException.class)
     public void shouldThrowExceptionOnAllocationFailed() throws ResourceAllocationException {
         FlowResourcesManager spy = Mockito.spy(resourcesManager);
@@ -0,0 +1,133 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.stream.Collectors;
+
+public class ResourceIdBitmapTest {
+    private final List<Long> assignedIds = new ArrayList<>();
+    private int loadCount;
+
+    private final ResourceIdBitmap bitmap = new ResourceIdBitmap(10, 14, (minId, maxId) -> {
+        if (minId == 10 && maxId == 14) {
+            loadCount++;
+        }
+        return assignedIds.stream()
+                .filter(id -> id >= minId && id <= maxId)
+                .collect(Collectors.toList());
+    });
+
+    @Test
+    public void shouldSkipAssignedIds() {
+        assignedIds.addAll(Arrays.asList(11L, 12L));
+
+        assertEquals(OptionalLong.of(13), bitmap.allocate(11));
+        assertEquals(OptionalLong.of(14), bitmap.allocate(11));
+        assertEquals(1, loadCount);
+    }
+
+    @Test
+    public void shouldWrapAroundToMinId() {
+        assignedIds.add(14L);
+
+        assertEquals(OptionalLong.of(10), bitmap.allocate(14));
+        assertEquals(OptionalLong.of(11), bitmap.allocate(100));
+    }
+
+    @Test
+    public void shouldReuseReleasedId() {
+        for (int i = 0; i < 5; i++) {
+            bitmap.allocate(10);
+        }
+        bitmap.release(12);
+
+        assertEquals(OptionalLong.of(12), bitmap.allocate(10));
+    }
+
+    @Test
+    public void shouldReloadWhenExhausted() {
+        for (int i = 0; i < 5; i++) {
+            bitmap.allocate(10);
+        }
+        assignedIds.addAll(Arrays.asList(10L, 11L, 13L, 14L));
+
+        assertEquals(OptionalLong.of(12), bitmap.allocate(10));
+        assertEquals(2, loadCount);
+        assignedIds.add(12L);
+
+        assertFalse(bitmap.allocate(10).isPresent());
+        assertEquals(3, loadCount);
+    }
+
+    @Test
+    public void shouldAllocateSeveralIdsInSingleScan() {
+        assignedIds.addAll(Arrays.asList(10L, 13L));
+
+        assertArrayEquals(new long[] {14, 11, 12}, bitmap.allocate(14, 3).get());
+        assertEquals(1, loadCount);
+    }
+
+    @Test
+    public void shouldAllocateNothingIfNotEnoughIds() {
+        assignedIds.addAll(Arrays.asList(10L, 13L));
+
+        assertFalse(bitmap.allocate(10, 4).isPresent());
+        assertEquals(2, loadCount);
+        assertArrayEquals(new long[] {11, 12, 14}, bitmap.allocate(10, 3).get());
+    }
+
+    @Test
+    public void shouldReloadWhenPickedIdIsTaken() {
+        assertEquals(OptionalLong.of(10), bitmap.allocate(10));
+        assignedIds.addAll(Arrays.asList(10L, 11L));
+
+        assertEquals(OptionalLong.of(12), bitmap.allocate(10));
+        assertEquals(2, loadCount);
+    }
+
+    @Test
+    public void shouldReloadWhenSomeOfPickedIdsAreTaken() {
+        assertEquals(OptionalLong.of(10), bitmap.allocate(10));
+        assignedIds.addAll(Arrays.asList(10L, 12L));
+
+        assertArrayEquals(new long[] {11, 13}, bitmap.allocate(10, 2).get());
+        assertEquals(2, loadCount);
+    }
+
+    @Test
+    public void shouldReloadAfterInvalidate() {
+        assertEquals(OptionalLong.of(10), bitmap.allocate(10));
+        bitmap.invalidate();
+
+        assertEquals(OptionalLong.of(10), bitmap.allocate(10));
+        assertEquals(2, loadCount);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnInvalidRange() {
+        new ResourceIdBitmap(10, 9, (minId, maxId) -> new ArrayList<>());
+    }
+}
@@ -18,23 +18,23 @@ package org.openkilda.wfm.share.hubandspoke;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
+import org.apache.storm.topology.TopologyBuilder;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.Set;
-import java.util.stream.Collectors;
-
 @RunWith(MockitoJUnitRunner.class)
 public class CoordinatorBoltTest {
 
@@ -64,10 +64,12 @@ public class CoordinatorBoltTest {
         target.registerCallback(key, context, timeout, taskId);
 
         assertThat(target.getCallbacks().size(), is(1));
-        assertThat(target.getTimeouts().size(), is(1));
 
         target.cancelCallback(key);
         assertTrue(target.getCallbacks().isEmpty());
+
+        target.tick(System.currentTimeMillis() + timeout + 1L);
+        verify(collector, never()).emitDirect(anyInt(), anyList());
     }
 
     @Test
@@ -81,17 +83,21 @@ public class CoordinatorBoltTest {
 
         assertThat(target.getCallbacks().size(), is(2));
 
-        // check that we have stored timeouts for out tasks
-        Set<String> tasks = target.getTimeouts()
-                .values()
-                .stream()
-                .flatMap(Set::stream)
-                .collect(Collectors.toSet());
-        assertThat(tasks.size(), is(2));
-
         long afterTimeout = System.currentTimeMillis() + timeout + 1L;
         target.tick(afterTimeout);
         verify(collector).emitDirect(eq(firstTask), anyList());
         verify(collector).emitDirect(eq(secondTask), anyList());
+        assertTrue(target.getCallbacks().isEmpty());
+    }
+
+    @Test
+    public void shouldBeSerializableInTopology() {
+        TopologyBuilder builder = new TopologyBuilder();
+        builder.setSpout(CoordinatorSpout.ID, new CoordinatorSpout());
+        builder.setBolt(CoordinatorBolt.ID, new CoordinatorBolt())
+                .allGrouping(CoordinatorSpout.ID);
+
+        // bolts are java-serialized into the topology, as on the topology submit
+        builder.createTopology();
     }
 }
@@ -0,0 +1,114 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class LatencySketchTest {
+    @Test
+    public void shouldKeepSmallValuesExact() {
+        LatencySketch sketch = new LatencySketch();
+        for (int value = 1; value <= 50; value++) {
+            sketch.record(value);
+        }
+
+        assertEquals(50, sketch.getCount());
+        assertEquals(25, sketch.getValueAtPercentile(50));
+        assertEquals(45, sketch.getValueAtPercentile(90));
+        assertEquals(50, sketch.getValueAtPercentile(100));
+        assertEquals(1, sketch.getMin());
+        assertEquals(50, sketch.getMax());
+        assertEquals(1, sketch.getJitter());
+    }
+
+    @Test
+    public void shouldReportLargeValuesWithinRelativeError() {
+        LatencySketch sketch = new LatencySketch();
+        long[] values = new long[10_000];
+        Random random = new Random(42);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 100_000 + random.nextInt(50_000_000);
+            sketch.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[] {50, 90, 99}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long actual = sketch.getValueAtPercentile(percentile);
+            assertTrue(String.format("p%s: %d vs %d", percentile, actual, exact),
+                    Math.abs(actual - exact) <= exact / 50);
+        }
+        assertEquals(values[values.length - 1], sketch.getMax());
+    }
+
+    @Test
+    public void shouldMergeValues() {
+        LatencySketch first = new LatencySketch();
+        LatencySketch second = new LatencySketch();
+        for (int value = 1; value <= 10; value++) {
+            first.record(value);
+            second.record(value * 1_000_000L);
+        }
+
+        first.merge(second);
+
+        assertEquals(20, first.getCount());
+        assertEquals(1, first.getMin());
+        assertEquals(10_000_000, first.getMax());
+        assertEquals(10, first.getValueAtPercentile(50));
+        long p90 = first.getValueAtPercentile(90);
+        assertTrue(Math.abs(p90 - 8_000_000) <= 8_000_000 / 50);
+    }
+
+    @Test
+    public void shouldCalculateJitterOfConsecutiveValues() {
+        LatencySketch sketch = new LatencySketch();
+        sketch.record(10);
+        sketch.record(20);
+        sketch.record(10);
+        sketch.record(40);
+
+        assertEquals((10 + 10 + 30) / 3, sketch.getJitter());
+
+        sketch.reset();
+        sketch.record(50);
+        assertEquals(10, sketch.getJitter());
+    }
+
+    @Test
+    public void shouldHandleEmptyAndResetSketch() {
+        LatencySketch sketch = new LatencySketch();
+        assertTrue(sketch.isEmpty());
+        assertEquals(0, sketch.getValueAtPercentile(99));
+        assertEquals(0, sketch.getMax());
+        assertEquals(0, sketch.getJitter());
+
+        sketch.record(Long.MAX_VALUE);
+        sketch.record(-1);
+        assertEquals(1, sketch.getCount());
+        assertEquals(Long.MAX_VALUE, sketch.getValueAtPercentile(50));
+
+        sketch.reset();
+        assertTrue(sketch.isEmpty());
+        assertEquals(0, sketch.getMin());
+    }
+}
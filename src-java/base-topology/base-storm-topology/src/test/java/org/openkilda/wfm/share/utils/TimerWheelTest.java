@@ -0,0 +1,133 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class TimerWheelTest {
+    @Test
+    public void shouldExpireTimersByDeadline() {
+        TimerWheel<String, String> wheel = new TimerWheel<>(10, 8);
+        wheel.schedule("a", "a", 15);
+        wheel.schedule("b", "b", 17);
+        wheel.schedule("c", "c", 40);
+
+        assertEquals(Collections.emptyList(), wheel.advance(14));
+        assertEquals(Collections.singletonList("a"), wheel.advance(15));
+        assertEquals(Collections.singletonList("b"), wheel.advance(19));
+        assertEquals(Collections.emptyList(), wheel.advance(39));
+        assertEquals(Collections.singletonList("c"), wheel.advance(100));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void shouldKeepTimersBeyondOneRevolution() {
+        TimerWheel<String, String> wheel = new TimerWheel<>(1, 4);
+        wheel.advance(0);
+        wheel.schedule("far", "far", 10);
+        wheel.schedule("near", "near", 2);
+
+        List<String> expired = new ArrayList<>();
+        for (long now = 1; now < 10; now++) {
+            expired.addAll(wheel.advance(now));
+        }
+        assertEquals(Collections.singletonList("near"), expired);
+        assertEquals(Collections.singletonList("far"), wheel.advance(10));
+    }
+
+    @Test
+    public void shouldRemoveCancelledTimer() {
+        TimerWheel<String, String> wheel = new TimerWheel<>(10);
+        wheel.schedule("a", "value-a", 10);
+        wheel.schedule("b", "value-b", 10);
+        wheel.schedule("c", "value-c", 10);
+
+        assertEquals("value-b", wheel.cancel("b"));
+        assertNull(wheel.cancel("b"));
+        assertFalse(wheel.contains("b"));
+        assertEquals(2, wheel.size());
+        assertEquals(Arrays.asList("value-c", "value-a"), wheel.advance(10));
+    }
+
+    @Test
+    public void shouldReplaceTimerWithSameKey() {
+        TimerWheel<String, String> wheel = new TimerWheel<>(10);
+        wheel.schedule("a", "first", 10);
+        wheel.schedule("a", "second", 100);
+
+        assertEquals(1, wheel.size());
+        assertEquals(Collections.emptyList(), wheel.advance(50));
+        assertEquals(Collections.singletonList("second"), wheel.advance(100));
+    }
+
+    @Test
+    public void shouldExpireOverdueTimerOnNextAdvance() {
+        TimerWheel<String, String> wheel = new TimerWheel<>(10, 8);
+        wheel.advance(1000);
+        wheel.schedule("a", "a", 500);
+
+        assertEquals(Collections.singletonList("a"), wheel.advance(1001));
+        assertEquals(501, wheel.getAndResetMaxLag());
+        assertEquals(0, wheel.getAndResetMaxLag());
+    }
+
+    @Test
+    public void shouldMatchSortedTimeouts() {
+        Random random = new Random(42);
+        TimerWheel<Integer, Integer> wheel = new TimerWheel<>(7, 16);
+        long[] deadlines = new long[1000];
+        List<Integer> expired = new ArrayList<>();
+        long now = -500;
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = now + random.nextInt(2000);
+            wheel.schedule(i, i, deadlines[i]);
+            if (i % 3 == 0) {
+                now += random.nextInt(20);
+                for (int key : wheel.advance(now)) {
+                    assertTrue(deadlines[key] <= now);
+                    expired.add(key);
+                }
+            }
+        }
+        for (int i = 0; i < deadlines.length; i += 5) {
+            if (wheel.cancel(i) != null) {
+                deadlines[i] = Long.MAX_VALUE;
+            }
+        }
+        while (!wheel.isEmpty()) {
+            now += random.nextInt(100);
+            for (int key : wheel.advance(now)) {
+                assertTrue(deadlines[key] <= now);
+                expired.add(key);
+            }
+        }
+
+        for (int i = 0; i < deadlines.length; i++) {
+            assertEquals(deadlines[i] != Long.MAX_VALUE, expired.contains(i));
+        }
+    }
+}
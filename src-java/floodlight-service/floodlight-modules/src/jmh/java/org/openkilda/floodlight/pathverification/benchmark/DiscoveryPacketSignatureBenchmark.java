@@ -0,0 +1,105 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification.benchmark;
+
+import org.openkilda.floodlight.pathverification.DiscoveryPacketMac;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of signing and verifying discovery packets with JWT and with the binary MAC. Both sign the
+ * same fields the way PathVerificationService does, including encoding the token into the TLV bytes.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DiscoveryPacketSignatureBenchmark {
+    private static final String SECRET = "secret";
+    private static final long DPID = 0x0000_0000_0000_0001L;
+    private static final int PORT = 7;
+    private static final long PACKET_ID = 42L;
+
+    private Algorithm algorithm;
+    private JWTVerifier verifier;
+    private DiscoveryPacketMac mac;
+
+    private long timestamp;
+    private byte[] token;
+    private byte[] signature;
+
+    /**
+     * Creates the signers and signs a packet for the verify benchmarks.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        algorithm = Algorithm.HMAC256(SECRET);
+        verifier = JWT.require(algorithm).build();
+        mac = new DiscoveryPacketMac(SECRET);
+
+        timestamp = System.currentTimeMillis();
+        token = signJwt();
+        signature = signBinary();
+    }
+
+    /**
+     * Builds the token with the same claims as PathVerificationService.
+     */
+    @Benchmark
+    public byte[] signJwt() {
+        return JWT.create()
+                .withClaim("dpid", DPID)
+                .withClaim("ts", timestamp)
+                .withClaim("id", PACKET_ID)
+                .sign(algorithm)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Long verifyJwt() {
+        DecodedJWT jwt = verifier.verify(new String(token, StandardCharsets.UTF_8));
+        return jwt.getClaim("id").asLong();
+    }
+
+    @Benchmark
+    public byte[] signBinary() {
+        return mac.sign(DPID, PORT, timestamp, PACKET_ID);
+    }
+
+    @Benchmark
+    public boolean verifyBinary() {
+        return mac.verify(DPID, PORT, timestamp, PACKET_ID, signature, 0);
+    }
+}
@@ -21,7 +21,11 @@ import org.openkilda.config.mapping.Mapping;
 import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
 import javax.validation.constraints.Min;
 
 public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
@@ -41,6 +45,26 @@ public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
     @Key("floodlight-region")
     String getFloodlightRegion();
 
+    /**
+     * Comma separated topics (full names, including region suffix) written in the binary Smile format.
+     */
+    @Key("binary-topics")
+    String getBinaryTopics();
+
+    /**
+     * Returns the set of topics written in the binary Smile format.
+     */
+    default Set<String> binaryTopics() {
+        String topics = getBinaryTopics();
+        if (topics == null || topics.trim().isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(topics.split(","))
+                .map(String::trim)
+                .filter(topic -> !topic.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
     /**
      * Returns Kafka properties built with the configuration data for Consumer.
      */
@@ -72,7 +96,7 @@ public interface KafkaChannelConfig extends KafkaConsumerGroupConfig {
         properties.put("linger.ms", 10);
 
         properties.put("key.serializer", "org.apache.kafka.common.serialization.StringSerializer");
-        properties.put("value.serializer", "org.apache.kafka.common.serialization.StringSerializer");
+        properties.put("value.serializer", "org.apache.kafka.common.serialization.ByteArraySerializer");
 
         return properties;
     }
@@ -75,6 +75,7 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.MessageContext;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
@@ -159,6 +160,7 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -210,6 +212,8 @@ class RecordHandler implements Runnable {
 
         if (data instanceof DiscoverIslCommandData) {
             doDiscoverIslCommand(message);
+        } else if (data instanceof DiscoverIslBatchCommandData) {
+            doDiscoverIslBatchCommand(message);
         } else if (data instanceof DiscoverPathCommandData) {
             doDiscoverPathCommand(data);
         } else if (data instanceof InstallIngressFlow) {
@@ -339,6 +343,31 @@ class RecordHandler implements Runnable {
                         context.getRegion()));
     }
 
+    private void doDiscoverIslBatchCommand(CommandMessage message) {
+        DiscoverIslBatchCommandData batch = (DiscoverIslBatchCommandData) message.getData();
+        DatapathId dpId = DatapathId.of(batch.getSwitchId().toLong());
+
+        Map<OFPort, Long> packetIds = new LinkedHashMap<>();
+        for (DiscoverIslCommandData command : batch.getCommands()) {
+            OFPort port = OFPort.of(command.getPortNumber());
+            if (packetIds.containsKey(port)) {
+                // only one packet per port can be sent in a batch
+                context.getPathVerificationService().sendDiscoveryMessage(dpId, port, command.getPacketId());
+            } else {
+                packetIds.put(port, command.getPacketId());
+            }
+        }
+        context.getPathVerificationService().sendDiscoveryMessages(dpId, packetIds);
+
+        for (DiscoverIslCommandData command : batch.getCommands()) {
+            DiscoPacketSendingConfirmation confirmation = new DiscoPacketSendingConfirmation(
+                    new NetworkEndpoint(command.getSwitchId(), command.getPortNumber()), command.getPacketId());
+            getKafkaProducer().sendMessageAndTrack(context.getKafkaTopoDiscoTopic(),
+                    command.getSwitchId().toString(), new InfoMessage(confirmation, System.currentTimeMillis(),
+                            message.getCorrelationId(), context.getRegion()));
+        }
+    }
+
     private void doDiscoverPathCommand(CommandData data) {
         DiscoverPathCommandData command = (DiscoverPathCommandData) data;
         logger.warn("NOT IMPLEMENTED: sending discover Path to {}", command);
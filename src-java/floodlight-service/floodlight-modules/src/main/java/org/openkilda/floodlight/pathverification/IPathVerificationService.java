@@ -19,9 +19,18 @@ import net.floodlightcontroller.core.module.IFloodlightService;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 
+import java.util.Map;
+
 public interface IPathVerificationService extends IFloodlightService {
 
     boolean sendDiscoveryMessage(DatapathId srcSwId, OFPort port, Long packetId);
 
+    /**
+     * Sends discovery packets via several ports of the switch in a single write.
+     *
+     * @return true if all packets are sent.
+     */
+    boolean sendDiscoveryMessages(DatapathId srcSwId, Map<OFPort, Long> packetIds);
+
     PathVerificationServiceConfig getConfig();
 }
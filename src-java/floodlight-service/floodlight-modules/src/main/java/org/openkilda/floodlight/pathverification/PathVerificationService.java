@@ -26,6 +26,7 @@ import org.openkilda.floodlight.command.Command;
 import org.openkilda.floodlight.command.CommandContext;
 import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
 import org.openkilda.floodlight.model.OfInput;
+import org.openkilda.floodlight.pathverification.type.DiscoveryPacketSignature;
 import org.openkilda.floodlight.pathverification.type.PathType;
 import org.openkilda.floodlight.pathverification.web.PathVerificationServiceWebRoutable;
 import org.openkilda.floodlight.service.CommandProcessorService;
@@ -73,6 +74,7 @@ import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.util.OFMessageUtils;
 import org.apache.commons.codec.binary.Hex;
 import org.bouncycastle.util.Arrays;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPacketIn;
 import org.projectfloodlight.openflow.protocol.OFPacketOut;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
@@ -99,6 +101,7 @@ import java.io.UnsupportedEncodingException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.security.GeneralSecurityException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
@@ -126,6 +129,7 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     public static final byte TOKEN_OPTIONAL_TYPE = 0x03;
     public static final byte SWITCH_T0_OPTIONAL_TYPE = 0x04;
     public static final byte SWITCH_T1_OPTIONAL_TYPE = 0x05;
+    public static final byte SIGNATURE_OPTIONAL_TYPE = 0x06;
     public static final int ETHERNET_HEADER_SIZE = 112; // 48 dst mac, 48 src mac, 16 ether type
     public static final int IP_V4_HEADER_SIZE = 160; /*
                                                       * 4 version, 4 IHL, 8 Type of service, 16 length, 16 ID,
@@ -139,6 +143,9 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     public static final int ROUND_TRIP_LATENCY_TIMESTAMP_SIZE = 64;  // 24 bits OUI, 8 bits optional type
     public static final int LLDP_TLV_HEADER_SIZE = 16;               // 7 type, 9 length
     public static final int LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES = 4; // 24 bits OUI, 8 bits optional type
+    public static final int SIGNATURE_TLV_VALUE_SIZE = LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES
+                                                     + 1 + 8 // packet id flag, packet id
+                                                     + DiscoveryPacketMac.SIZE;
 
     public static final int ROUND_TRIP_LATENCY_T0_OFFSET = ETHERNET_HEADER_SIZE
                                                          + IP_V4_HEADER_SIZE
@@ -168,6 +175,8 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
     private double islBandwidthQuotient = 1.0;
     private Algorithm algorithm;
     private JWTVerifier verifier;
+    private DiscoveryPacketMac discoveryPacketMac;
+    private DiscoveryPacketSignature discoveryPacketSignature = DiscoveryPacketSignature.JWT;
 
     /**
      * IFloodlightModule Methods.
@@ -224,6 +233,7 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         config = provider.getConfiguration(PathVerificationServiceConfig.class);
 
         islBandwidthQuotient = config.getIslBandwidthQuotient();
+        discoveryPacketSignature = config.getDiscoveryPacketSignature();
 
         initAlgorithm(config.getHmac256Secret());
     }
@@ -233,12 +243,18 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         try {
             algorithm = Algorithm.HMAC256(secret);
             verifier = JWT.require(algorithm).build();
-        } catch (UnsupportedEncodingException e) {
+            discoveryPacketMac = new DiscoveryPacketMac(secret);
+        } catch (UnsupportedEncodingException | GeneralSecurityException e) {
             logger.error("Ivalid secret", e);
             throw new FloodlightModuleException("Invalid secret for HMAC256");
         }
     }
 
+    @VisibleForTesting
+    void setDiscoveryPacketSignature(DiscoveryPacketSignature discoveryPacketSignature) {
+        this.discoveryPacketSignature = discoveryPacketSignature;
+    }
+
     @Override
     public void startUp(FloodlightModuleContext context) throws FloodlightModuleException {
         logger.info("Stating {}", PathVerificationService.class.getCanonicalName());
@@ -330,6 +346,52 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         return result;
     }
 
+    @Override
+    public boolean sendDiscoveryMessages(DatapathId srcSwId, Map<OFPort, Long> packetIds) {
+        boolean result = false;
+
+        try {
+            IOFSwitch srcSwitch = switchService.getSwitch(srcSwId);
+            if (srcSwitch == null) {
+                return false;
+            }
+
+            List<OFMessage> packets = new ArrayList<>(packetIds.size());
+            for (Map.Entry<OFPort, Long> entry : packetIds.entrySet()) {
+                OFPort port = entry.getKey();
+                if (srcSwitch.getPort(port) == null) {
+                    continue;
+                }
+                OFPacketOut ofPacketOut = generateDiscoveryPacket(srcSwitch, port, true, entry.getValue());
+                if (ofPacketOut != null) {
+                    packets.add(ofPacketOut);
+                } else {
+                    logger.error("<== Received null from generateDiscoveryPacket, inputs where: "
+                            + "srcSwitch: {}, port: {} id: {}", srcSwitch, port, entry.getValue());
+                }
+            }
+            if (packets.isEmpty()) {
+                return false;
+            }
+
+            Collection<OFMessage> failed = srcSwitch.write(packets);
+            if (failed.isEmpty()) {
+                logIsl.info("push {} discovery packages via: {} ids:{}", packets.size(), srcSwitch.getId(),
+                        packetIds.values());
+            } else {
+                for (OFMessage packet : failed) {
+                    logger.error("Failed to send PACKET_OUT(ISL discovery packet) via {} OF-xid:{}",
+                            srcSwitch.getId(), packet.getXid());
+                }
+            }
+            result = failed.isEmpty() && packets.size() == packetIds.size();
+        } catch (Exception exception) {
+            logger.error(String.format("Unhandled exception in %s", getClass().getName()), exception);
+        }
+
+        return result;
+    }
+
     private static LLDPTLV switchTimestampTlv(byte type) {
         byte[] timestampArray = ByteBuffer
                 .allocate(ROUND_TRIP_LATENCY_TIMESTAMP_SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
@@ -412,7 +474,9 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
             LLDPTLV typeTlv = makeIdLldptvPacket(typeTlvValue, OPTIONAL_LLDPTV_PACKET_TYPE);
             dp.getOptionalTlvList().add(typeTlv);
 
-            if (sign) {
+            if (sign && discoveryPacketSignature == DiscoveryPacketSignature.BINARY) {
+                dp.getOptionalTlvList().add(makeSignatureTlv(dpid, port, time + swLatency, packetId));
+            } else if (sign) {
                 Builder builder = JWT.create()
                         .withClaim("dpid", dpid.getLong())
                         .withClaim("ts", time + swLatency);
@@ -656,13 +720,17 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         builder.switchT0(-1);
         builder.switchT1(-1);
 
+        DatapathId remoteSwitchId = null;
+        long sendTime = 0;
+        LLDPTLV signatureTlv = null;
         for (LLDPTLV lldptlv : discoveryPacket.getOptionalTlvList()) {
             if (matchOptionalLldptlv(lldptlv, REMOTE_SWITCH_OPTIONAL_TYPE, 12)) {
                 ByteBuffer dpidBb = ByteBuffer.wrap(lldptlv.getValue());
-                builder.remoteSwitchId(DatapathId.of(dpidBb.getLong(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)));
+                remoteSwitchId = DatapathId.of(dpidBb.getLong(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES));
+                builder.remoteSwitchId(remoteSwitchId);
             } else if (matchOptionalLldptlv(lldptlv, TIMESTAMP_OPTIONAL_TYPE, 12)) {
                 ByteBuffer tsBb = ByteBuffer.wrap(lldptlv.getValue()); // skip OpenFlow OUI (4 bytes above)
-                long sendTime = tsBb.getLong(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES);
+                sendTime = tsBb.getLong(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES);
                 builder.timestamp(sendTime + switchLatency); // include the RX switch latency to "subtract" it
             } else if (matchOptionalLldptlv(lldptlv, PATH_ORDINAL_OPTIONAL_TYPE, 8)) {
                 ByteBuffer typeBb = ByteBuffer.wrap(lldptlv.getValue());
@@ -691,12 +759,51 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
                     logger.error("Packet verification failed", e);
                     builder.signed(false);
                 }
+            } else if (matchOptionalLldptlv(lldptlv, SIGNATURE_OPTIONAL_TYPE, SIGNATURE_TLV_VALUE_SIZE)) {
+                signatureTlv = lldptlv;
             }
         }
 
+        // the signature covers fields of other TLVs, so it can be checked only when all of them are parsed
+        if (signatureTlv != null) {
+            verifySignature(builder, signatureTlv, remoteSwitchId, remotePort, sendTime);
+        }
+
         return builder.build();
     }
 
+    private LLDPTLV makeSignatureTlv(DatapathId dpid, OFPort port, long timestamp, Long packetId) {
+        byte[] value = new byte[SIGNATURE_TLV_VALUE_SIZE];
+        ByteBuffer.wrap(value)
+                .put(ORGANIZATIONALLY_UNIQUE_IDENTIFIER)
+                .put(SIGNATURE_OPTIONAL_TYPE)
+                .put((byte) (packetId == null ? 0 : 1))
+                .putLong(packetId == null ? 0 : packetId);
+        discoveryPacketMac.sign(dpid.getLong(), port.getShortPortNumber(), timestamp, packetId,
+                value, SIGNATURE_TLV_VALUE_SIZE - DiscoveryPacketMac.SIZE);
+        return makeIdLldptvPacket(value, OPTIONAL_LLDPTV_PACKET_TYPE);
+    }
+
+    /**
+     * Verifies the binary signature against the switch, port and timestamp taken from the packet.
+     */
+    private void verifySignature(DiscoveryPacketData.DiscoveryPacketDataBuilder builder, LLDPTLV signatureTlv,
+                                 DatapathId remoteSwitchId, OFPort remotePort, long sendTime) {
+        ByteBuffer bb = ByteBuffer.wrap(signatureTlv.getValue());
+        bb.position(LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES);
+        Long packetId = bb.get() == 0 ? null : bb.getLong();
+        bb.position(SIGNATURE_TLV_VALUE_SIZE - DiscoveryPacketMac.SIZE);
+
+        boolean valid = remoteSwitchId != null && discoveryPacketMac.verify(remoteSwitchId.getLong(),
+                remotePort.getShortPortNumber(), sendTime, packetId, signatureTlv.getValue(), bb.position());
+        if (valid) {
+            builder.packetId(packetId);
+        } else {
+            logger.error("Packet verification failed: invalid signature");
+        }
+        builder.signed(valid);
+    }
+
     private boolean matchOptionalLldptlv(LLDPTLV lldpTlv, int type) {
         return lldpTlv.getType() == OPTIONAL_LLDPTV_PACKET_TYPE
                 && lldpTlv.getValue()[0] == ORGANIZATIONALLY_UNIQUE_IDENTIFIER[0]
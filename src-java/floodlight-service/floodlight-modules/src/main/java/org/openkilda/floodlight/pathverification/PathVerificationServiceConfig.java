@@ -15,6 +15,8 @@
 
 package org.openkilda.floodlight.pathverification;
 
+import org.openkilda.floodlight.pathverification.type.DiscoveryPacketSignature;
+
 import com.sabre.oss.conf4j.annotation.Configuration;
 import com.sabre.oss.conf4j.annotation.Default;
 import com.sabre.oss.conf4j.annotation.Key;
@@ -35,6 +37,13 @@ public interface PathVerificationServiceConfig {
     @NotBlank
     String getHmac256Secret();
 
+    /**
+     * Format of the discovery packet signature. Received packets are accepted in both formats.
+     */
+    @Key("discovery-packet-signature")
+    @Default("JWT")
+    DiscoveryPacketSignature getDiscoveryPacketSignature();
+
     @Key("verification-bcast-packet-dst")
     @Default("00:26:E1:FF:FF:FF")
     String getVerificationBcastPacketDst();
@@ -1,4 +1,4 @@
-/* Copyright 2019 Telstra Open Source
+/* Copyright 2020 Telstra Open Source
  *
  *   Licensed under the Apache License, Version 2.0 (the "License");
  *   you may not use this file except in compliance with the License.
@@ -13,14 +13,16 @@
  *   limitations under the License.
  */
 
-package org.openkilda.wfm.topology.stats;
+package org.openkilda.floodlight.pathverification.type;
 
-import org.openkilda.model.SwitchId;
+public enum DiscoveryPacketSignature {
+    /**
+     * JWT with HMAC256 in the token TLV.
+     */
+    JWT,
 
-import lombok.Value;
-
-@Value
-public class MeterCacheKey {
-    private SwitchId switchId;
-    private Long meterId;
+    /**
+     * Truncated HMAC over the packed packet fields in the signature TLV.
+     */
+    BINARY
 }
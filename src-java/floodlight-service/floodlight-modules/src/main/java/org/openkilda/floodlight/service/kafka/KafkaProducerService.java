@@ -23,6 +23,7 @@ import org.openkilda.messaging.info.event.IslInfoData;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
@@ -31,6 +32,10 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Set;
+
 public class KafkaProducerService implements IKafkaProducerService {
 
     private static final Logger logger = LoggerFactory.getLogger(KafkaProducerService.class);
@@ -38,12 +43,16 @@ public class KafkaProducerService implements IKafkaProducerService {
             String.format("%s.DISCO", KafkaProducerService.class.getName()));
 
     private int failedSendMessageCounter;
-    private Producer<String, String> producer;
+    private Producer<String, byte[]> producer;
+    private Set<String> binaryTopics = Collections.emptySet();
     private final ObjectMapper jsonObjectMapper = new ObjectMapper();
+    private final ObjectMapper smileObjectMapper = new ObjectMapper(new SmileFactory());
 
     @Override
     public void setup(FloodlightModuleContext moduleContext) {
-        producer = moduleContext.getServiceImpl(KafkaUtilityService.class).makeProducer();
+        KafkaUtilityService kafkaUtility = moduleContext.getServiceImpl(KafkaUtilityService.class);
+        producer = kafkaUtility.makeProducer();
+        binaryTopics = kafkaUtility.getBinaryTopics();
     }
 
     public void sendMessageAndTrack(String topic, Message message) {
@@ -70,23 +79,33 @@ public class KafkaProducerService implements IKafkaProducerService {
         return sendStatus;
     }
 
-    protected SendStatus produce(ProducerRecord<String, String> record, Callback callback) {
-        logger.debug("Send kafka message: {} <== key:{} value:{}", record.topic(), record.key(), record.value());
+    protected SendStatus produce(ProducerRecord<String, byte[]> record, Callback callback) {
         return new SendStatus(producer.send(record, callback));
     }
 
-    private ProducerRecord<String, String> encode(String topic, Message payload) {
+    private ProducerRecord<String, byte[]> encode(String topic, Message payload) {
         return encode(topic, null, payload);
     }
 
-    private ProducerRecord<String, String> encode(String topic, String key, Object payload) {
-        return new ProducerRecord<>(topic, key, encodeValue(payload));
+    private ProducerRecord<String, byte[]> encode(String topic, String key, Object payload) {
+        return new ProducerRecord<>(topic, key, encodeValue(topic, key, payload));
     }
 
-    private String encodeValue(Object message) {
-        String encoded;
+    /**
+     * Encode message as Smile (binary JSON) for topics listed in the "binary-topics" option and as text JSON
+     * otherwise. Storm consumers detect the format of each record by the Smile header.
+     */
+    private byte[] encodeValue(String topic, String key, Object message) {
+        byte[] encoded;
         try {
-            encoded = jsonObjectMapper.writeValueAsString(message);
+            if (binaryTopics.contains(topic)) {
+                encoded = smileObjectMapper.writeValueAsBytes(message);
+                logger.debug("Send kafka message: {} <== key:{} value(smile):{}", topic, key, message);
+            } else {
+                String value = jsonObjectMapper.writeValueAsString(message);
+                logger.debug("Send kafka message: {} <== key:{} value:{}", topic, key, value);
+                encoded = value.getBytes(StandardCharsets.UTF_8);
+            }
         } catch (JsonProcessingException e) {
             throw new IllegalArgumentException(String.format("Can not serialize message: %s", e.toString()), e);
         }
@@ -26,6 +26,7 @@ import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
 
 import java.util.Properties;
+import java.util.Set;
 
 public class KafkaUtilityService implements IService {
     private final KafkaChannel owner;
@@ -44,10 +45,14 @@ public class KafkaUtilityService implements IService {
         return consumer;
     }
 
-    public Producer<String, String> makeProducer() {
+    public Producer<String, byte[]> makeProducer() {
         return new KafkaProducer<>(owner.getConfig().producerProperties());
     }
 
+    public Set<String> getBinaryTopics() {
+        return owner.getConfig().binaryTopics();
+    }
+
     public KafkaChannel getKafkaChannel() {
         return owner;
     }
@@ -23,4 +23,6 @@ import java.util.Set;
 
 public interface IStatisticsService extends IFloodlightService {
     void processStatistics(FloodlightModuleContext context, Set<DatapathId> excludeSwitches);
+
+    StatsPollScheduler getPollScheduler();
 }
@@ -17,12 +17,14 @@ package org.openkilda.floodlight.statistics;
 
 import static java.lang.String.format;
 
+import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
 import org.openkilda.floodlight.converter.OfFlowStatsMapper;
 import org.openkilda.floodlight.converter.OfMeterStatsMapper;
 import org.openkilda.floodlight.converter.OfPortStatsMapper;
 import org.openkilda.floodlight.converter.OfTableStatsMapper;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
 import org.openkilda.floodlight.service.kafka.KafkaUtilityService;
+import org.openkilda.floodlight.statistics.web.StatisticsServiceWebRoutable;
 import org.openkilda.floodlight.utils.CorrelationContext;
 import org.openkilda.floodlight.utils.CorrelationContext.CorrelationContextClosable;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
@@ -43,6 +45,7 @@ import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import net.floodlightcontroller.core.module.IFloodlightModule;
 import net.floodlightcontroller.core.module.IFloodlightService;
+import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.math.NumberUtils;
@@ -69,7 +72,8 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
- * This service performs periodic port/flow/meter config statistics collection and pushes it to Kafka.
+ * This service performs periodic port/flow/meter config statistics collection and pushes it to Kafka. Polls of
+ * switches are spread over the stats request interval by {@link StatsPollScheduler}.
  */
 public class StatisticsService implements IStatisticsService, IFloodlightModule {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
@@ -77,6 +81,7 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
     private IOFSwitchService switchService;
     private IKafkaProducerService producerService;
+    private StatsPollScheduler pollScheduler;
     private String statisticsTopic;
     private String region;
 
@@ -96,6 +101,7 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
                 IFloodlightProviderService.class,
                 IOFSwitchService.class,
                 IThreadPoolService.class,
+                IRestApiService.class,
                 KafkaUtilityService.class,
                 IKafkaProducerService.class);
     }
@@ -104,11 +110,17 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
     public void init(FloodlightModuleContext context) {
         switchService = context.getServiceImpl(IOFSwitchService.class);
         producerService = context.getServiceImpl(IKafkaProducerService.class);
+
+        FloodlightModuleConfigurationProvider provider = FloodlightModuleConfigurationProvider.of(context, this);
+        StatisticsServiceConfig config = provider.getConfiguration(StatisticsServiceConfig.class);
+        pollScheduler = new StatsPollScheduler(
+                context.getServiceImpl(IThreadPoolService.class).getScheduledExecutor(), config);
     }
 
     @Override
     public void startUp(FloodlightModuleContext floodlightModuleContext) {
-
+        floodlightModuleContext.getServiceImpl(IRestApiService.class)
+                .addRestletRoutable(new StatisticsServiceWebRoutable());
     }
 
     /**
@@ -127,35 +139,56 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         statisticsTopic = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getStatsTopic();
         region = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getRegion();
 
+        long round = pollScheduler.startRound();
+        logger.debug("Start stats polling round {}, {} polls of previous rounds are pending, max lag {} ms",
+                round, pollScheduler.getPendingPolls(), pollScheduler.getMaxLagMillis());
+
         switchService.getAllSwitchMap().values()
                 .stream()
                 .filter(it -> !excludeSwitches.contains(it.getId()))
                 .forEach(iofSwitch -> {
-                    try {
-                        gatherPortStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for ports on switch %s.", iofSwitch.getId()), e);
-                    }
-
-                    try {
-                        gatherFlowStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for flows on switch %s.", iofSwitch.getId()), e);
+                    DatapathId switchId = iofSwitch.getId();
+                    String manufacturer = iofSwitch.getSwitchDescription().getManufacturerDescription();
+                    for (StatsType type : StatsType.values()) {
+                        if (pollScheduler.isDue(round, switchId, type, manufacturer)) {
+                            pollScheduler.schedule(switchId, type, () -> gatherStats(switchId, type));
+                        }
                     }
+                });
+    }
 
+    @Override
+    public StatsPollScheduler getPollScheduler() {
+        return pollScheduler;
+    }
 
-                    try {
-                        gatherMeterStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for meters on switch %s.", iofSwitch.getId()), e);
-                    }
+    private void gatherStats(DatapathId switchId, StatsType type) {
+        IOFSwitch iofSwitch = switchService.getSwitch(switchId);
+        if (iofSwitch == null) {
+            logger.debug("Skip {} stats request, switch {} is disconnected", type.getTitle(), switchId);
+            return;
+        }
 
-                    try {
-                        gatherTableStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for tables on switch %s.", iofSwitch.getId()), e);
-                    }
-                });
+        try {
+            switch (type) {
+                case PORT:
+                    gatherPortStats(iofSwitch);
+                    break;
+                case FLOW:
+                    gatherFlowStats(iofSwitch);
+                    break;
+                case METER:
+                    gatherMeterStats(iofSwitch);
+                    break;
+                case TABLE:
+                    gatherTableStats(iofSwitch);
+                    break;
+                default:
+                    throw new IllegalArgumentException(format("Unsupported stats type %s", type));
+            }
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for %ss on switch %s.", type.getTitle(), switchId), e);
+        }
     }
 
     @NewCorrelationContextRequired
@@ -171,7 +204,7 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         logger.info("Getting port stats for switch={} OF-xid:{}", iofSwitch.getId(), portStatsRequest.getXid());
 
         Futures.addCallback(iofSwitch.writeStatsRequest(portStatsRequest), new RequestCallback<>(
-                data -> OfPortStatsMapper.INSTANCE.toPostStatsData(data, switchId), switchId, "port"));
+                data -> OfPortStatsMapper.INSTANCE.toPostStatsData(data, switchId), switchId, StatsType.PORT));
     }
 
     @NewCorrelationContextRequired
@@ -189,7 +222,7 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
             logger.info("Getting flow stats for switch={} OF-xid:{}", iofSwitch.getId(), flowStatsRequest.getXid());
 
             Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), new RequestCallback<>(
-                    data -> OfFlowStatsMapper.INSTANCE.toFlowStatsData(data, switchId), switchId, "flow"));
+                    data -> OfFlowStatsMapper.INSTANCE.toFlowStatsData(data, switchId), switchId, StatsType.FLOW));
         }
     }
 
@@ -220,7 +253,7 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
                         .build();
             };
 
-            RequestCallback<OFTableStatsReply> callback = new RequestCallback<>(converter, switchId, "table");
+            RequestCallback<OFTableStatsReply> callback = new RequestCallback<>(converter, switchId, StatsType.TABLE);
             Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), callback);
         }
     }
@@ -241,17 +274,18 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
             Futures.addCallback(iofSwitch.writeStatsRequest(meterStatsRequest),
                     new RequestCallback<>(
-                            data -> OfMeterStatsMapper.INSTANCE.toMeterStatsData(data, switchId), switchId, "meter"));
+                            data -> OfMeterStatsMapper.INSTANCE.toMeterStatsData(data, switchId), switchId,
+                            StatsType.METER));
         }
     }
 
     private class RequestCallback<T extends OFStatsReply> implements FutureCallback<List<T>> {
         private Function<List<T>, InfoData> transform;
         private final SwitchId switchId;
-        private final String type;
+        private final StatsType type;
         private final String correlationId;
 
-        RequestCallback(Function<List<T>, InfoData> transform, SwitchId switchId, String type) {
+        RequestCallback(Function<List<T>, InfoData> transform, SwitchId switchId, StatsType type) {
             this.transform = transform;
             this.switchId = switchId;
             this.type = type;
@@ -262,7 +296,7 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         public void onSuccess(List<T> data) {
             // Restore the correlation context used for the request.
             try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
-                logger.info("Receive switch {} stats response(s) from {}", type, switchId);
+                logger.info("Receive switch {} stats response(s) from {}", type.getTitle(), switchId);
                 InfoMessage infoMessage = new InfoMessage(transform.apply(data),
                         System.currentTimeMillis(), correlationId, Destination.WFM_STATS, region);
                 producerService.sendMessageAndTrack(statisticsTopic, infoMessage);
@@ -273,7 +307,7 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         public void onFailure(Throwable throwable) {
             // Restore the correlation context used for the request.
             try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
-                logger.error("Exception reading {} stats from {}", type, switchId, throwable);
+                logger.error("Exception reading {} stats from {}", type.getTitle(), switchId, throwable);
             }
         }
     }
@@ -0,0 +1,72 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import javax.validation.constraints.Min;
+
+/**
+ * WARNING! Do not use '.' in option's keys. FL will not collect such option from config.
+ * <p/>
+ * Stats type intervals are rounded up to a multiple of the stats request interval, because polls are planned when
+ * a stats request is received.
+ */
+@Configuration
+public interface StatisticsServiceConfig {
+    /**
+     * The interval of stats requests from the stats topology, must be equal to its statistics.interval.
+     */
+    @Key("interval")
+    @Default("60")
+    @Min(1)
+    int getInterval();
+
+    @Key("port-stats-interval")
+    @Default("60")
+    @Min(1)
+    int getPortStatsInterval();
+
+    @Key("flow-stats-interval")
+    @Default("60")
+    @Min(1)
+    int getFlowStatsInterval();
+
+    @Key("meter-stats-interval")
+    @Default("60")
+    @Min(1)
+    int getMeterStatsInterval();
+
+    @Key("table-stats-interval")
+    @Default("60")
+    @Min(1)
+    int getTableStatsInterval();
+
+    /**
+     * Comma separated manufacturer descriptions (substrings, case insensitive) of switches which are polled less
+     * often.
+     */
+    @Key("slow-switch-manufacturers")
+    @Default("Centec")
+    String getSlowSwitchManufacturers();
+
+    @Key("slow-switch-interval-multiplier")
+    @Default("1")
+    @Min(1)
+    int getSlowSwitchIntervalMultiplier();
+}
@@ -0,0 +1,146 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import com.google.common.base.Splitter;
+import com.google.common.hash.Hashing;
+import org.apache.commons.lang3.StringUtils;
+import org.projectfloodlight.openflow.types.DatapathId;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spreads stats polls over the stats request interval, so switches don't receive all stats requests at once and
+ * replies don't reach Kafka and the stats topology as a burst.
+ * <p/>
+ * Each received stats request starts a polling round. The poll of a switch and stats type is delayed by an offset
+ * derived from the hash of the switch DPID and the stats type, so the offset of a switch remains the same between
+ * rounds. A stats type with a longer interval, or a slow switch, is polled once in several rounds; the round is also
+ * chosen by the hash to keep the load even.
+ */
+public class StatsPollScheduler {
+    private final ScheduledExecutorService executor;
+    private final long intervalMillis;
+    private final Map<StatsType, Integer> typePeriods = new EnumMap<>(StatsType.class);
+    private final List<String> slowSwitchManufacturers;
+    private final int slowSwitchMultiplier;
+
+    private final AtomicLong round = new AtomicLong();
+    private final AtomicInteger pendingPolls = new AtomicInteger();
+    private final AtomicLong currentRoundMaxLag = new AtomicLong();
+    private volatile long lastRoundMaxLag;
+
+    public StatsPollScheduler(ScheduledExecutorService executor, StatisticsServiceConfig config) {
+        this.executor = executor;
+        this.intervalMillis = TimeUnit.SECONDS.toMillis(config.getInterval());
+        typePeriods.put(StatsType.PORT, toPeriod(config.getPortStatsInterval(), config.getInterval()));
+        typePeriods.put(StatsType.FLOW, toPeriod(config.getFlowStatsInterval(), config.getInterval()));
+        typePeriods.put(StatsType.METER, toPeriod(config.getMeterStatsInterval(), config.getInterval()));
+        typePeriods.put(StatsType.TABLE, toPeriod(config.getTableStatsInterval(), config.getInterval()));
+        this.slowSwitchManufacturers = Splitter.on(',').trimResults().omitEmptyStrings()
+                .splitToList(StringUtils.defaultString(config.getSlowSwitchManufacturers()));
+        this.slowSwitchMultiplier = config.getSlowSwitchIntervalMultiplier();
+    }
+
+    /**
+     * Starts a new polling round.
+     *
+     * @return the round number.
+     */
+    public long startRound() {
+        lastRoundMaxLag = currentRoundMaxLag.getAndSet(0);
+        return round.incrementAndGet();
+    }
+
+    /**
+     * Checks whether the stats type of the switch is to be polled in the round.
+     */
+    public boolean isDue(long round, DatapathId switchId, StatsType type, String manufacturer) {
+        int period = typePeriods.get(type);
+        if (isSlowSwitch(manufacturer)) {
+            period *= slowSwitchMultiplier;
+        }
+        return Math.floorMod(round + hash(switchId, type), period) == 0;
+    }
+
+    /**
+     * Returns the delay of the poll since the start of a round.
+     */
+    public long getOffset(DatapathId switchId, StatsType type) {
+        return Math.floorMod((long) hash(switchId, type), intervalMillis);
+    }
+
+    /**
+     * Schedules the poll with the offset of the switch and stats type.
+     */
+    public void schedule(DatapathId switchId, StatsType type, Runnable poll) {
+        long offset = getOffset(switchId, type);
+        long plannedTime = System.currentTimeMillis() + offset;
+        pendingPolls.incrementAndGet();
+        executor.schedule(() -> {
+            pendingPolls.decrementAndGet();
+            currentRoundMaxLag.accumulateAndGet(System.currentTimeMillis() - plannedTime, Math::max);
+            poll.run();
+        }, offset, TimeUnit.MILLISECONDS);
+    }
+
+    public long getRound() {
+        return round.get();
+    }
+
+    /**
+     * Returns the number of scheduled polls which are not executed yet.
+     */
+    public int getPendingPolls() {
+        return pendingPolls.get();
+    }
+
+    /**
+     * Returns the maximum delay of a poll execution against its planned time in the previous round.
+     */
+    public long getMaxLagMillis() {
+        return lastRoundMaxLag;
+    }
+
+    private boolean isSlowSwitch(String manufacturer) {
+        if (manufacturer == null) {
+            return false;
+        }
+        for (String slowSwitchManufacturer : slowSwitchManufacturers) {
+            if (StringUtils.containsIgnoreCase(manufacturer, slowSwitchManufacturer)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int hash(DatapathId switchId, StatsType type) {
+        return Hashing.murmur3_32().newHasher()
+                .putLong(switchId.getLong())
+                .putInt(type.ordinal())
+                .hash().asInt();
+    }
+
+    private static int toPeriod(int typeInterval, int interval) {
+        return (typeInterval + interval - 1) / interval;
+    }
+}
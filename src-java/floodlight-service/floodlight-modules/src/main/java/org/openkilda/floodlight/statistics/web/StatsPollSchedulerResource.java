@@ -0,0 +1,43 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics.web;
+
+import org.openkilda.floodlight.statistics.IStatisticsService;
+import org.openkilda.floodlight.statistics.StatsPollScheduler;
+
+import org.restlet.resource.Get;
+import org.restlet.resource.ServerResource;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class StatsPollSchedulerResource extends ServerResource {
+    /**
+     * Gets the stats polling round, the number of pending polls and the max poll lag of the previous round.
+     */
+    @Get("json")
+    public Map<String, Object> getSchedulerState() {
+        IStatisticsService statisticsService = (IStatisticsService) getContext().getAttributes()
+                .get(IStatisticsService.class.getCanonicalName());
+        StatsPollScheduler scheduler = statisticsService.getPollScheduler();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("round", scheduler.getRound());
+        response.put("pending_polls", scheduler.getPendingPolls());
+        response.put("max_lag_millis", scheduler.getMaxLagMillis());
+        return response;
+    }
+}
@@ -0,0 +1,85 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.pathverification;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class DiscoveryPacketMacTest {
+    private static final long DPID = 0x0000_0000_0000_0001L;
+    private static final int PORT = 7;
+    private static final long TIMESTAMP = 1_600_000_000_000L;
+    private static final Long PACKET_ID = 42L;
+
+    @Test
+    public void shouldVerifyOwnSignature() throws Exception {
+        DiscoveryPacketMac mac = new DiscoveryPacketMac("secret");
+
+        byte[] signature = mac.sign(DPID, PORT, TIMESTAMP, PACKET_ID);
+
+        assertEquals(DiscoveryPacketMac.SIZE, signature.length);
+        assertTrue(mac.verify(DPID, PORT, TIMESTAMP, PACKET_ID, signature, 0));
+        assertArrayEquals(signature, new DiscoveryPacketMac("secret").sign(DPID, PORT, TIMESTAMP, PACKET_ID));
+    }
+
+    @Test
+    public void shouldRejectChangedFields() throws Exception {
+        DiscoveryPacketMac mac = new DiscoveryPacketMac("secret");
+
+        byte[] signature = mac.sign(DPID, PORT, TIMESTAMP, PACKET_ID);
+
+        assertFalse(mac.verify(DPID + 1, PORT, TIMESTAMP, PACKET_ID, signature, 0));
+        assertFalse(mac.verify(DPID, PORT + 1, TIMESTAMP, PACKET_ID, signature, 0));
+        assertFalse(mac.verify(DPID, PORT, TIMESTAMP + 1, PACKET_ID, signature, 0));
+        assertFalse(mac.verify(DPID, PORT, TIMESTAMP, PACKET_ID + 1, signature, 0));
+        assertFalse(mac.verify(DPID, PORT, TIMESTAMP, null, signature, 0));
+    }
+
+    @Test
+    public void shouldRejectOtherSecret() throws Exception {
+        byte[] signature = new DiscoveryPacketMac("secret").sign(DPID, PORT, TIMESTAMP, null);
+
+        assertFalse(new DiscoveryPacketMac("secret2").verify(DPID, PORT, TIMESTAMP, null, signature, 0));
+    }
+
+    @Test
+    public void shouldVerifySignatureAtOffset() throws Exception {
+        DiscoveryPacketMac mac = new DiscoveryPacketMac("secret");
+        byte[] target = new byte[DiscoveryPacketMac.SIZE + 5];
+
+        mac.sign(DPID, PORT, TIMESTAMP, PACKET_ID, target, 5);
+
+        assertTrue(mac.verify(DPID, PORT, TIMESTAMP, PACKET_ID, target, 5));
+        assertFalse(mac.verify(DPID, PORT, TIMESTAMP, PACKET_ID, target, 6));
+    }
+
+    @Test
+    public void shouldSignInOtherThreads() throws Exception {
+        DiscoveryPacketMac mac = new DiscoveryPacketMac("secret");
+        byte[] signature = mac.sign(DPID, PORT, TIMESTAMP, PACKET_ID);
+        boolean[] result = new boolean[1];
+
+        Thread thread = new Thread(() -> result[0] = mac.verify(DPID, PORT, TIMESTAMP, PACKET_ID, signature, 0));
+        thread.start();
+        thread.join();
+
+        assertTrue(result[0]);
+    }
+}
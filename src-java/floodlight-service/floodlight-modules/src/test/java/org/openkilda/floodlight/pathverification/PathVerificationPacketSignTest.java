@@ -22,6 +22,7 @@ import static org.easymock.EasyMock.replay;
 import static org.easymock.EasyMock.verify;
 
 import org.openkilda.floodlight.model.OfInput;
+import org.openkilda.floodlight.pathverification.type.DiscoveryPacketSignature;
 import org.openkilda.messaging.Message;
 
 import net.floodlightcontroller.core.FloodlightContext;
@@ -133,4 +134,34 @@ public class PathVerificationPacketSignTest extends PathVerificationPacketInTest
 
         verify(producerService);
     }
+
+    @Test
+    public void testBinarySignPacketPositive() {
+        producerService.sendMessageAndTrack(anyObject(), anyObject(), anyObject(Message.class));
+        expectLastCall().times(2);
+        replay(producerService);
+
+        useBinarySignedPacket();
+        pvs.handlePacketIn(new OfInput(sw2, ofPacketIn, context));
+
+        verify(producerService);
+    }
+
+    @Test
+    public void testBinarySignPacketInvalidSign() throws FloodlightModuleException {
+        replay(producerService);
+
+        useBinarySignedPacket();
+        pvs.initAlgorithm("secret2");
+        pvs.handlePacketIn(new OfInput(sw2, ofPacketIn, context));
+
+        verify(producerService);
+    }
+
+    private void useBinarySignedPacket() {
+        pvs.setDiscoveryPacketSignature(DiscoveryPacketSignature.BINARY);
+        OFPacketOut packetOut = pvs.generateDiscoveryPacket(sw1, OFPort.of(1), true, null);
+        IPacket packetData = new Ethernet().deserialize(packetOut.getData(), 0, packetOut.getData().length);
+        context.getStorage().put(IFloodlightProviderService.CONTEXT_PI_PAYLOAD, packetData);
+    }
 }
@@ -26,6 +26,9 @@ import org.openkilda.messaging.info.event.PortChangeType;
 import org.openkilda.messaging.info.event.PortInfoData;
 import org.openkilda.model.SwitchId;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
 import org.apache.kafka.clients.producer.Callback;
 import org.apache.kafka.clients.producer.Producer;
@@ -34,6 +37,7 @@ import org.apache.kafka.clients.producer.RecordMetadata;
 import org.apache.kafka.common.PartitionInfo;
 import org.apache.kafka.common.TopicPartition;
 import org.easymock.Capture;
+import org.easymock.CaptureType;
 import org.easymock.EasyMock;
 import org.easymock.EasyMockSupport;
 import org.easymock.IAnswer;
@@ -42,22 +46,27 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 
 public class KafkaProducerServiceTest extends EasyMockSupport {
     private static final String TOPIC = "A";
+    private static final String BINARY_TOPIC = "B";
     private static final TopicPartition[] partitions = new TopicPartition[]{
             new TopicPartition(TOPIC, 0),
             new TopicPartition(TOPIC, 1)
     };
-
+    private static final byte[] SMILE_HEADER = new byte[]{':', ')', '\n'};
 
     private KafkaProducerService subject;
 
     @SuppressWarnings("unchecked")
-    private Producer<String, String> kafkaProducer = (Producer<String, String>) strictMock(Producer.class);
+    private Producer<String, byte[]> kafkaProducer = (Producer<String, byte[]>) strictMock(Producer.class);
 
     @Before
     public void setUp() {
@@ -67,6 +76,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
 
         KafkaUtilityService kafkaUtility = createMock(KafkaUtilityService.class);
         expect(kafkaUtility.makeProducer()).andReturn(kafkaProducer);
+        expect(kafkaUtility.getBinaryTopics()).andReturn(Collections.singleton(BINARY_TOPIC));
         moduleContext.addService(KafkaUtilityService.class, kafkaUtility);
 
         replay(kafkaUtility);
@@ -130,6 +140,32 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
                 "Exception was not thrown by %s object", status.getClass().getCanonicalName()), isThrown);
     }
 
+    @Test
+    public void encodeAsSmileForBinaryTopics() throws Exception {
+        Capture<ProducerRecord<String, byte[]>> trap = EasyMock.newCapture(CaptureType.ALL);
+        setupSendCapture(trap, new RecordMetadata[]{null, null});
+
+        replay(kafkaProducer);
+        InfoMessage payload = makePayload();
+        subject.sendMessage(TOPIC, payload);
+        subject.sendMessage(BINARY_TOPIC, payload);
+        verify(kafkaProducer);
+
+        List<ProducerRecord<String, byte[]>> records = trap.getValues();
+        Assert.assertEquals(2, records.size());
+
+        ProducerRecord<String, byte[]> jsonRecord = records.get(0);
+        Assert.assertEquals(TOPIC, jsonRecord.topic());
+        JsonNode json = new ObjectMapper().readTree(new String(jsonRecord.value(), StandardCharsets.UTF_8));
+        Assert.assertEquals(payload.getCorrelationId(), json.get("correlation_id").asText());
+
+        ProducerRecord<String, byte[]> smileRecord = records.get(1);
+        Assert.assertEquals(BINARY_TOPIC, smileRecord.topic());
+        byte[] smile = smileRecord.value();
+        Assert.assertArrayEquals(SMILE_HEADER, Arrays.copyOf(smile, SMILE_HEADER.length));
+        Assert.assertEquals(json, new ObjectMapper(new SmileFactory()).readTree(smile));
+    }
+
     private InfoMessage makePayload() {
         return new InfoMessage(
                 new PortInfoData(new SwitchId("ff:fe:00:00:00:00:00:01"), 8, PortChangeType.UP),
@@ -137,7 +173,7 @@ public class KafkaProducerServiceTest extends EasyMockSupport {
     }
 
     @SuppressWarnings("unchecked")
-    private void setupSendCapture(Capture<ProducerRecord<String, String>> trap, RecordMetadata[] sendResults)
+    private void setupSendCapture(Capture<ProducerRecord<String, byte[]>> trap, RecordMetadata[] sendResults)
             throws Exception {
         for (RecordMetadata metadata : sendResults) {
             Future promise = mock(Future.class);
@@ -0,0 +1,190 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Test;
+import org.projectfloodlight.openflow.types.DatapathId;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class StatsPollSchedulerTest {
+    private static final int INTERVAL = 60;
+    private static final long INTERVAL_MILLIS = TimeUnit.SECONDS.toMillis(INTERVAL);
+    private static final int SWITCH_COUNT = 1000;
+
+    private final ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldSpreadPollsOverInterval() {
+        StatsPollScheduler scheduler = new StatsPollScheduler(executor, new TestConfig());
+
+        int buckets = 10;
+        int[] bucketPolls = new int[buckets];
+        for (int i = 1; i <= SWITCH_COUNT; i++) {
+            for (StatsType type : StatsType.values()) {
+                long offset = scheduler.getOffset(DatapathId.of(i), type);
+                assertTrue(offset >= 0 && offset < INTERVAL_MILLIS);
+                bucketPolls[(int) (offset * buckets / INTERVAL_MILLIS)]++;
+            }
+        }
+
+        int expected = SWITCH_COUNT * StatsType.values().length / buckets;
+        for (int polls : bucketPolls) {
+            assertTrue(Math.abs(polls - expected) < expected / 5);
+        }
+    }
+
+    @Test
+    public void shouldKeepOffsetOfSwitch() {
+        StatsPollScheduler scheduler = new StatsPollScheduler(executor, new TestConfig());
+        StatsPollScheduler otherScheduler = new StatsPollScheduler(executor, new TestConfig());
+
+        DatapathId switchId = DatapathId.of("00:00:00:22:3d:5a:04:87");
+        assertEquals(scheduler.getOffset(switchId, StatsType.PORT), otherScheduler.getOffset(switchId, StatsType.PORT));
+    }
+
+    @Test
+    public void shouldPollEachRoundByDefault() {
+        StatsPollScheduler scheduler = new StatsPollScheduler(executor, new TestConfig());
+
+        for (int round = 1; round <= 3; round++) {
+            for (int i = 1; i <= SWITCH_COUNT; i++) {
+                for (StatsType type : StatsType.values()) {
+                    assertTrue(scheduler.isDue(round, DatapathId.of(i), type, "Centec"));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void shouldPollOnceInPeriodOfStatsTypeAndSwitchClass() {
+        TestConfig config = new TestConfig();
+        config.tableStatsInterval = 150;
+        config.slowSwitchIntervalMultiplier = 2;
+        StatsPollScheduler scheduler = new StatsPollScheduler(executor, config);
+
+        int[] roundPolls = new int[6];
+        for (int i = 1; i <= SWITCH_COUNT; i++) {
+            DatapathId switchId = DatapathId.of(i);
+            int portPolls = 0;
+            int tablePolls = 0;
+            int slowPortPolls = 0;
+            for (int round = 0; round < roundPolls.length; round++) {
+                if (scheduler.isDue(round, switchId, StatsType.PORT, "NoviFlow Inc")) {
+                    portPolls++;
+                }
+                if (scheduler.isDue(round, switchId, StatsType.TABLE, "NoviFlow Inc")) {
+                    tablePolls++;
+                    roundPolls[round]++;
+                }
+                if (scheduler.isDue(round, switchId, StatsType.PORT, "Centec Networks")) {
+                    slowPortPolls++;
+                }
+            }
+            assertEquals(6, portPolls);
+            assertEquals(2, tablePolls);
+            assertEquals(3, slowPortPolls);
+        }
+
+        int expected = SWITCH_COUNT / 3;
+        for (int polls : roundPolls) {
+            assertTrue(Math.abs(polls - expected) < expected / 5);
+        }
+    }
+
+    @Test
+    public void shouldTrackPendingPolls() throws InterruptedException {
+        TestConfig config = new TestConfig();
+        config.interval = 1;
+        StatsPollScheduler scheduler = new StatsPollScheduler(executor, config);
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(2);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        assertEquals(1, scheduler.startRound());
+        scheduler.schedule(DatapathId.of(1), StatsType.PORT, done::countDown);
+        scheduler.schedule(DatapathId.of(2), StatsType.PORT, done::countDown);
+        assertEquals(2, scheduler.getPendingPolls());
+
+        Thread.sleep(INTERVAL_MILLIS / INTERVAL + 100);
+        release.countDown();
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getPendingPolls());
+
+        assertEquals(2, scheduler.startRound());
+        assertTrue(scheduler.getMaxLagMillis() >= 100);
+    }
+
+    private static class TestConfig implements StatisticsServiceConfig {
+        private int interval = INTERVAL;
+        private int tableStatsInterval = INTERVAL;
+        private int slowSwitchIntervalMultiplier = 1;
+
+        @Override
+        public int getInterval() {
+            return interval;
+        }
+
+        @Override
+        public int getPortStatsInterval() {
+            return interval;
+        }
+
+        @Override
+        public int getFlowStatsInterval() {
+            return interval;
+        }
+
+        @Override
+        public int getMeterStatsInterval() {
+            return interval;
+        }
+
+        @Override
+        public int getTableStatsInterval() {
+            return tableStatsInterval;
+        }
+
+        @Override
+        public String getSlowSwitchManufacturers() {
+            return "Centec";
+        }
+
+        @Override
+        public int getSlowSwitchIntervalMultiplier() {
+            return slowSwitchIntervalMultiplier;
+        }
+    }
+}
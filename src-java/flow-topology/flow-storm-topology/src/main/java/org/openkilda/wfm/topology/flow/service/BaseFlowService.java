@@ -36,6 +36,8 @@ import java.util.stream.Collectors;
 
 @Slf4j
 public class BaseFlowService {
+    private static final int FLOW_DUMP_BATCH_SIZE = 1000;
+
     protected final FlowOperationsDashboardLogger dashboardLogger = new FlowOperationsDashboardLogger(log);
     protected final FlowResourcesManager flowResourcesManager;
     protected final TransactionManager transactionManager;
@@ -67,11 +69,12 @@ public class BaseFlowService {
     }
 
     /**
-     * Fetches all flows without flow groups.
+     * Fetches all flows without flow groups. The flows are read in batches, so only a batch of flow entities is kept
+     * in memory along with the flow data.
      */
     public List<FlowData> getFlows() {
         dashboardLogger.onFlowDump();
-        return flowRepository.findAll().stream()
+        return flowRepository.streamAll(FLOW_DUMP_BATCH_SIZE)
                 .map(FlowMapper.INSTANCE::map)
                 .map(FlowData::new)
                 .collect(Collectors.toList());
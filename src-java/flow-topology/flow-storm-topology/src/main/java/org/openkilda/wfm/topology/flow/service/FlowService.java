@@ -963,13 +963,11 @@ public class FlowService extends BaseFlowService {
     }
 
     /**
-     * Loads all available flows.
+     * Loads all available flows. The flows are streamed in batches, so the read is not wrapped into a transaction.
      */
     public List<FlowData> getAllFlows() {
         // NB: workaround for an issue with OGM/neo4j, when ClientException 'Unable to load NODE with id' is thrown
-        return (List<FlowData>) getReadOperationFailsafe().get(() ->
-                transactionManager.doInTransaction(() -> getFlows())
-        );
+        return (List<FlowData>) getReadOperationFailsafe().get(this::getFlows);
     }
 
     private FlowPathPair buildFlowPathPair(Flow flow, FlowResources flowResources, Instant timeCreate) {
@@ -53,21 +53,23 @@ public abstract class BaseFlowPathRemovalAction<T extends FlowProcessingFsm<T, S
 
     protected void updateIslsForFlowPath(FlowPath... paths) {
         for (FlowPath path : paths) {
+            if (path.isIgnoreBandwidth()) {
+                continue;
+            }
+
             path.getSegments().forEach(pathSegment -> {
                 log.debug("Updating ISL for the path segment: {}", pathSegment);
 
                 updateAvailableBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
-                        pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort());
+                        pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort(), path.getBandwidth());
             });
         }
     }
 
-    private void updateAvailableBandwidth(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort) {
-        long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(srcSwitch, srcPort,
-                dstSwitch, dstPort);
-        log.debug("Updating ISL {}_{} - {}_{} with used bandwidth {}", srcSwitch, srcPort, dstSwitch, dstPort,
-                usedBandwidth);
-        islRepository.updateAvailableBandwidth(srcSwitch, srcPort, dstSwitch, dstPort, usedBandwidth);
+    private void updateAvailableBandwidth(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
+                                          long bandwidth) {
+        log.debug("Releasing bandwidth {} on ISL {}_{} - {}_{}", bandwidth, srcSwitch, srcPort, dstSwitch, dstPort);
+        islRepository.updateAvailableBandwidthByDelta(srcSwitch, srcPort, dstSwitch, dstPort, bandwidth);
     }
 
     protected void saveRemovalActionWithDumpToHistory(T stateMachine, Flow flow, FlowPathPair pathPair) {
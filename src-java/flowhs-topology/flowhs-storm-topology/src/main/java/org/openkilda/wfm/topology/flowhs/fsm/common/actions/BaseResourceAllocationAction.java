@@ -216,6 +216,10 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
 
     private void updateIslsForFlowPath(FlowPath flowPath, FlowPath pathToReuseBandwidth)
             throws ResourceAllocationException {
+        if (flowPath.isIgnoreBandwidth()) {
+            return;
+        }
+
         for (PathSegment pathSegment : flowPath.getSegments()) {
             log.debug("Updating ISL for the path segment: {}", pathSegment);
 
@@ -233,18 +237,16 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
 
             updateAvailableBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
                     pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort(),
-                    allowedOverprovisionedBandwidth);
+                    flowPath.getBandwidth(), allowedOverprovisionedBandwidth);
         }
     }
 
     private void updateAvailableBandwidth(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
-                                          long allowedOverprovisionedBandwidth) throws ResourceAllocationException {
-        long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(srcSwitch, srcPort,
-                dstSwitch, dstPort);
-        log.debug("Updating ISL {}_{}-{}_{} with used bandwidth {}", srcSwitch, srcPort, dstSwitch, dstPort,
-                usedBandwidth);
+                                          long bandwidth, long allowedOverprovisionedBandwidth)
+            throws ResourceAllocationException {
+        log.debug("Allocating bandwidth {} on ISL {}_{}-{}_{}", bandwidth, srcSwitch, srcPort, dstSwitch, dstPort);
         long islAvailableBandwidth =
-                islRepository.updateAvailableBandwidth(srcSwitch, srcPort, dstSwitch, dstPort, usedBandwidth);
+                islRepository.updateAvailableBandwidthByDelta(srcSwitch, srcPort, dstSwitch, dstPort, -bandwidth);
         if ((islAvailableBandwidth + allowedOverprovisionedBandwidth) < 0) {
             throw new ResourceAllocationException(format("ISL %s_%d-%s_%d was overprovisioned",
                     srcSwitch, srcPort, dstSwitch, dstPort));
@@ -20,6 +20,7 @@ import static java.lang.String.format;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.FlowStatus;
+import org.openkilda.model.PathId;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.share.logger.FlowOperationsDashboardLogger;
 import org.openkilda.wfm.topology.flowhs.exception.FlowProcessingException;
@@ -31,6 +32,9 @@ import org.openkilda.wfm.topology.flowhs.fsm.create.FlowCreateFsm.State;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Slf4j
 public class CompleteFlowCreateAction extends FlowProcessingAction<FlowCreateFsm, State, Event, FlowCreateContext> {
     private final FlowOperationsDashboardLogger dashboardLogger;
@@ -50,12 +54,14 @@ public class CompleteFlowCreateAction extends FlowProcessingAction<FlowCreateFsm
                         "Couldn't complete flow creation. The flow was deleted");
             }
 
-            flowPathRepository.updateStatus(stateMachine.getForwardPathId(), FlowPathStatus.ACTIVE);
-            flowPathRepository.updateStatus(stateMachine.getReversePathId(), FlowPathStatus.ACTIVE);
+            List<PathId> pathIds = new ArrayList<>();
+            pathIds.add(stateMachine.getForwardPathId());
+            pathIds.add(stateMachine.getReversePathId());
             if (stateMachine.getProtectedForwardPathId() != null && stateMachine.getProtectedReversePathId() != null) {
-                flowPathRepository.updateStatus(stateMachine.getProtectedForwardPathId(), FlowPathStatus.ACTIVE);
-                flowPathRepository.updateStatus(stateMachine.getProtectedReversePathId(), FlowPathStatus.ACTIVE);
+                pathIds.add(stateMachine.getProtectedForwardPathId());
+                pathIds.add(stateMachine.getProtectedReversePathId());
             }
+            flowPathRepository.updateStatusAll(pathIds, FlowPathStatus.ACTIVE);
 
             flowRepository.updateStatus(flowId, FlowStatus.UP);
             dashboardLogger.onFlowStatusUpdate(flowId, FlowStatus.UP);
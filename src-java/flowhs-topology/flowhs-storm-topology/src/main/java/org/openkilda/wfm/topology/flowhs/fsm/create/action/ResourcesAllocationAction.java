@@ -28,8 +28,6 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.FlowStatus;
-import org.openkilda.model.Isl;
-import org.openkilda.model.SwitchId;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathPair;
 import org.openkilda.pce.exception.RecoverableException;
@@ -68,6 +66,8 @@ import net.jodah.failsafe.RetryPolicy;
 import org.apache.commons.lang3.StringUtils;
 import org.neo4j.driver.v1.exceptions.TransientException;
 
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -185,9 +185,11 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
                     .onRetry(e -> log.warn("Retrying transaction for resource allocation finished with exception", e))
                     .onRetriesExceeded(e -> log.warn("TX retry attempts exceed with error", e))
                     .run(() -> persistenceManager.getTransactionManager().doInTransaction(() -> {
-                        allocateMainPath(fsm, flow);
+                        PathPair pathPair = pathComputer.getPath(flow);
+                        List<FlowResources> flowResources = allocateFlowResources(flow);
+                        allocateMainPath(fsm, flow, pathPair, flowResources.get(0));
                         if (flow.isAllocateProtectedPath()) {
-                            allocateProtectedPath(fsm, flow);
+                            allocateProtectedPath(fsm, flow, flowResources.get(1));
                         }
                     }));
         } catch (FailsafeException ex) {
@@ -227,11 +229,18 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
         }
     }
 
-    private void allocateMainPath(FlowCreateFsm fsm, Flow flow) throws UnroutableFlowException,
-            RecoverableException, ResourceAllocationException {
-        PathPair pathPair = pathComputer.getPath(flow);
-        FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
+    /**
+     * Allocates resources of the main paths, and of the protected paths if they are requested. Both sets are
+     * allocated by a single pass over the resource pools.
+     */
+    private List<FlowResources> allocateFlowResources(Flow flow) throws ResourceAllocationException {
+        if (flow.isAllocateProtectedPath()) {
+            return resourcesManager.allocateBulkFlowResources(Arrays.asList(flow, flow));
+        }
+        return Collections.singletonList(resourcesManager.allocateFlowResources(flow));
+    }
 
+    private void allocateMainPath(FlowCreateFsm fsm, Flow flow, PathPair pathPair, FlowResources flowResources) {
         long cookie = flowResources.getUnmaskedCookie();
         FlowPath forward = flowPathBuilder.buildFlowPath(flow, flowResources.getForward(),
                 pathPair.getForward(), Cookie.buildForwardCookie(cookie));
@@ -256,8 +265,8 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
         fsm.getFlowResources().add(flowResources);
     }
 
-    private void allocateProtectedPath(FlowCreateFsm fsm, Flow flow) throws UnroutableFlowException,
-            RecoverableException, ResourceAllocationException, FlowNotFoundException {
+    private void allocateProtectedPath(FlowCreateFsm fsm, Flow flow, FlowResources flowResources)
+            throws UnroutableFlowException, RecoverableException, FlowNotFoundException {
         flow.setGroupId(getGroupId(flow.getFlowId()));
         PathPair protectedPath = pathComputer.getPath(flow);
 
@@ -271,7 +280,6 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
 
         log.debug("Creating the protected path {} for flow {}", protectedPath, flow);
 
-        FlowResources flowResources = resourcesManager.allocateFlowResources(flow);
         Cookie forwardCookie = Cookie.buildForwardCookie(flowResources.getUnmaskedCookie());
 
         FlowPath forward = flowPathBuilder.buildFlowPath(flow, flowResources.getForward(),
@@ -296,22 +304,16 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
     }
 
     private void updateIslsForFlowPath(FlowPath path) {
+        if (path.isIgnoreBandwidth()) {
+            return;
+        }
+
         path.getSegments().forEach(pathSegment -> {
             log.debug("Updating ISL for the path segment: {}", pathSegment);
 
-            updateAvailableBandwidth(pathSegment.getSrcSwitch().getSwitchId(), pathSegment.getSrcPort(),
-                    pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort());
-        });
-    }
-
-    private void updateAvailableBandwidth(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort) {
-        long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(srcSwitch, srcPort,
-                dstSwitch, dstPort);
-
-        Optional<Isl> matchedIsl = islRepository.findByEndpoints(srcSwitch, srcPort, dstSwitch, dstPort);
-        matchedIsl.ifPresent(isl -> {
-            isl.setAvailableBandwidth(isl.getMaxBandwidth() - usedBandwidth);
-            islRepository.createOrUpdate(isl);
+            islRepository.updateAvailableBandwidthByDelta(pathSegment.getSrcSwitch().getSwitchId(),
+                    pathSegment.getSrcPort(), pathSegment.getDestSwitch().getSwitchId(), pathSegment.getDestPort(),
+                    -path.getBandwidth());
         });
     }
 
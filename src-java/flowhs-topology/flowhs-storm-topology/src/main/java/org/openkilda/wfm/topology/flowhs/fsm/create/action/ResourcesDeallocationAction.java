@@ -21,6 +21,7 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.PathSegment;
 import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -36,7 +37,6 @@ import org.openkilda.wfm.topology.flowhs.fsm.create.FlowCreateFsm.State;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.Collection;
-import java.util.List;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -73,9 +73,9 @@ public class ResourcesDeallocationAction extends FlowProcessingAction<FlowCreate
                 FlowPath reverse = getFlowPath(resources.getReverse().getPathId());
                 Stream.of(forward, reverse)
                         .peek(flowPathRepository::delete)
-                        .map(FlowPath::getSegments)
-                        .flatMap(List::stream)
-                        .forEach(segment -> updateIslAvailableBandwidth(stateMachine.getFlowId(), segment));
+                        .filter(path -> !path.isIgnoreBandwidth())
+                        .forEach(path -> path.getSegments().forEach(segment ->
+                                updateIslAvailableBandwidth(stateMachine.getFlowId(), segment, path.getBandwidth())));
 
                 flow.resetPaths();
                 flowRepository.createOrUpdate(flow);
@@ -85,18 +85,16 @@ public class ResourcesDeallocationAction extends FlowProcessingAction<FlowCreate
         stateMachine.saveActionToHistory("The resources have been deallocated");
     }
 
-    private void updateIslAvailableBandwidth(String flowId, PathSegment pathSegment) {
+    private void updateIslAvailableBandwidth(String flowId, PathSegment pathSegment, long bandwidth) {
         SwitchId srcSwitch = pathSegment.getSrcSwitch().getSwitchId();
         SwitchId destSwitch = pathSegment.getDestSwitch().getSwitchId();
-        long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(
-                srcSwitch, pathSegment.getSrcPort(), destSwitch, pathSegment.getDestPort());
-
-        islRepository.findByEndpoints(srcSwitch, pathSegment.getSrcPort(), destSwitch, pathSegment.getDestPort())
-                .ifPresent(isl -> {
-                    isl.setAvailableBandwidth(isl.getMaxBandwidth() - usedBandwidth);
-
-                    islRepository.createOrUpdate(isl);
-                    log.debug("Released used bandwidth from flow {} on the link {}", flowId, isl);
-                });
+        try {
+            islRepository.updateAvailableBandwidthByDelta(srcSwitch, pathSegment.getSrcPort(),
+                    destSwitch, pathSegment.getDestPort(), bandwidth);
+            log.debug("Released used bandwidth {} from flow {} on the link {}_{} - {}_{}", bandwidth, flowId,
+                    srcSwitch, pathSegment.getSrcPort(), destSwitch, pathSegment.getDestPort());
+        } catch (PersistenceException e) {
+            log.warn("Unable to release used bandwidth from flow {}: {}", flowId, e.getMessage());
+        }
     }
 }
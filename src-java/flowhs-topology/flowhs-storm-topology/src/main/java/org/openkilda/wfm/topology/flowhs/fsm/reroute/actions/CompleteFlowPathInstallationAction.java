@@ -28,6 +28,8 @@ import org.openkilda.wfm.topology.flowhs.fsm.reroute.FlowRerouteFsm.State;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Arrays;
+
 @Slf4j
 public class CompleteFlowPathInstallationAction extends
         FlowProcessingAction<FlowRerouteFsm, State, Event, FlowRerouteContext> {
@@ -43,8 +45,7 @@ public class CompleteFlowPathInstallationAction extends
                 PathId newReverse = stateMachine.getNewPrimaryReversePath();
 
                 log.debug("Completing installation of the flow primary path {} / {}", newForward, newReverse);
-                flowPathRepository.updateStatus(newForward, FlowPathStatus.ACTIVE);
-                flowPathRepository.updateStatus(newReverse, FlowPathStatus.ACTIVE);
+                flowPathRepository.updateStatusAll(Arrays.asList(newForward, newReverse), FlowPathStatus.ACTIVE);
 
                 stateMachine.saveActionToHistory("Flow paths were installed",
                         format("The flow paths %s / %s were installed", newForward, newReverse));
@@ -56,8 +57,7 @@ public class CompleteFlowPathInstallationAction extends
                 PathId newReverse = stateMachine.getNewProtectedReversePath();
 
                 log.debug("Completing installation of the flow protected path {} / {}", newForward, newReverse);
-                flowPathRepository.updateStatus(newForward, FlowPathStatus.ACTIVE);
-                flowPathRepository.updateStatus(newReverse, FlowPathStatus.ACTIVE);
+                flowPathRepository.updateStatusAll(Arrays.asList(newForward, newReverse), FlowPathStatus.ACTIVE);
 
                 stateMachine.saveActionToHistory("Flow paths were installed",
                         format("The flow paths %s / %s were installed", newForward, newReverse));
@@ -28,6 +28,8 @@ import org.openkilda.wfm.topology.flowhs.fsm.update.FlowUpdateFsm.State;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Arrays;
+
 @Slf4j
 public class CompleteFlowPathInstallationAction extends
         FlowProcessingAction<FlowUpdateFsm, State, Event, FlowUpdateContext> {
@@ -42,8 +44,8 @@ public class CompleteFlowPathInstallationAction extends
             PathId newPrimaryReverse = stateMachine.getNewPrimaryReversePath();
 
             log.debug("Completing installation of the flow primary path {} / {}", newPrimaryForward, newPrimaryReverse);
-            flowPathRepository.updateStatus(newPrimaryForward, FlowPathStatus.ACTIVE);
-            flowPathRepository.updateStatus(newPrimaryReverse, FlowPathStatus.ACTIVE);
+            flowPathRepository.updateStatusAll(Arrays.asList(newPrimaryForward, newPrimaryReverse),
+                    FlowPathStatus.ACTIVE);
 
             stateMachine.saveActionToHistory("Flow paths were installed",
                     format("The flow paths %s / %s were installed", newPrimaryForward, newPrimaryReverse));
@@ -54,8 +56,7 @@ public class CompleteFlowPathInstallationAction extends
                 PathId newReverse = stateMachine.getNewProtectedReversePath();
 
                 log.debug("Completing installation of the flow protected path {} / {}", newForward, newReverse);
-                flowPathRepository.updateStatus(newForward, FlowPathStatus.ACTIVE);
-                flowPathRepository.updateStatus(newReverse, FlowPathStatus.ACTIVE);
+                flowPathRepository.updateStatusAll(Arrays.asList(newForward, newReverse), FlowPathStatus.ACTIVE);
 
                 stateMachine.saveActionToHistory("Flow paths were installed",
                         format("The flow paths %s / %s were installed", newForward, newReverse));
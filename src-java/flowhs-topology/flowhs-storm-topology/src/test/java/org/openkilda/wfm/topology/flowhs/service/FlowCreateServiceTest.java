@@ -17,7 +17,10 @@ package org.openkilda.wfm.topology.flowhs.service;
 
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.floodlight.api.request.EgressFlowSegmentInstallRequest;
@@ -98,6 +101,10 @@ public class FlowCreateServiceTest extends AbstractFlowTest {
         Assert.assertTrue(result.isAllocateProtectedPath());
         verifyFlowPathStatus(result.getProtectedForwardPath(), FlowPathStatus.ACTIVE, "protected-forward");
         verifyFlowPathStatus(result.getProtectedReversePath(), FlowPathStatus.ACTIVE, "protected-reverse");
+
+        // main and protected path resources are allocated together
+        verify(flowResourcesManager).allocateBulkFlowResources(anyList());
+        verify(flowResourcesManager, never()).allocateFlowResources(any(Flow.class));
     }
 
     private Flow testHappyPath(FlowRequest flowRequest, String key) {
@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.flowhs.service;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
@@ -34,7 +35,6 @@ import org.openkilda.persistence.RecoverablePersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
-import org.openkilda.wfm.share.flow.resources.FlowResources.PathResources;
 
 import org.hamcrest.Matchers;
 import org.junit.Assert;
@@ -210,9 +210,8 @@ public class FlowDeleteServiceTest extends AbstractFlowTest {
 
         doThrow(new RuntimeException(injectedErrorMessage))
                 .when(flowResourcesManager)
-                .deallocatePathResources(MockitoHamcrest.argThat(
-                        Matchers.hasProperty("forward",
-                                Matchers.<PathResources>hasProperty("pathId", is(forwardPath.getPathId())))));
+                .deallocateBulkPathResources(argThat(resources -> resources.stream()
+                        .anyMatch(path -> forwardPath.getPathId().equals(path.getForward().getPathId()))));
 
         FlowDeleteService service = makeService();
 
@@ -126,14 +126,14 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
 
         IslRepository repository = setupIslRepositorySpy();
         doThrow(ResourceAllocationException.class)
-                .when(repository).updateAvailableBandwidth(any(), anyInt(), any(), anyInt(), anyLong());
+                .when(repository).updateAvailableBandwidthByDelta(any(), anyInt(), any(), anyInt(), anyLong());
 
         FlowRerouteFact request = new FlowRerouteFact(
                 dummyRequestKey, commandContext, origin.getFlowId(), null, false, false, null);
         testExpectedFailure(request, origin, FlowStatus.UP, ErrorType.INTERNAL_ERROR);
 
         verify(repository, times(PATH_ALLOCATION_RETRIES_LIMIT + 1))
-                .updateAvailableBandwidth(any(), anyInt(), any(), anyInt(), anyLong());
+                .updateAvailableBandwidthByDelta(any(), anyInt(), any(), anyInt(), anyLong());
     }
 
     @Test
@@ -365,8 +365,8 @@ public class FlowRerouteServiceTest extends AbstractFlowTest {
                 .collect(toSet());
         doThrow(new RuntimeException(injectedErrorMessage))
                 .when(repository)
-                .updateStatus(
-                        ArgumentMatchers.argThat(argument -> !originalPaths.contains(argument)),
+                .updateStatusAll(
+                        ArgumentMatchers.argThat(argument -> !originalPaths.containsAll(argument)),
                         eq(FlowPathStatus.ACTIVE));
 
         FlowRerouteService service = makeService();
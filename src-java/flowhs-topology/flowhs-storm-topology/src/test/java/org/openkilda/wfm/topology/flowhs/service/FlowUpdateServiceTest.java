@@ -120,7 +120,7 @@ public class FlowUpdateServiceTest extends AbstractFlowTest {
 
         IslRepository repository = setupIslRepositorySpy();
         doThrow(ResourceAllocationException.class)
-                .when(repository).updateAvailableBandwidth(any(), anyInt(), any(), anyInt(), anyLong());
+                .when(repository).updateAvailableBandwidthByDelta(any(), anyInt(), any(), anyInt(), anyLong());
 
         FlowRequest request = makeRequest()
                 .flowId(origin.getFlowId())
@@ -130,7 +130,7 @@ public class FlowUpdateServiceTest extends AbstractFlowTest {
         verify(pathComputer, times(PATH_ALLOCATION_RETRIES_LIMIT + 1))
                 .getPath(makeFlowArgumentMatch(origin.getFlowId()), any());
         verify(repository, times(PATH_ALLOCATION_RETRIES_LIMIT + 1))
-                .updateAvailableBandwidth(any(), anyInt(), any(), anyInt(), anyLong());
+                .updateAvailableBandwidthByDelta(any(), anyInt(), any(), anyInt(), anyLong());
     }
 
     @Test
@@ -388,8 +388,8 @@ public class FlowUpdateServiceTest extends AbstractFlowTest {
                 .collect(Collectors.toSet());
         doThrow(new RuntimeException(injectedErrorMessage))
                 .when(repository)
-                .updateStatus(
-                        ArgumentMatchers.argThat(argument -> ! originalPaths.contains(argument)),
+                .updateStatusAll(
+                        ArgumentMatchers.argThat(argument -> !originalPaths.containsAll(argument)),
                         eq(FlowPathStatus.ACTIVE));
 
         FlowUpdateService service = makeService();
@@ -52,6 +52,16 @@ public interface IslLatencyTopologyConfig extends AbstractTopologyConfig {
     @Min(1)
     int getLatencyUpdateTimeRange();
 
+    @Key("latency.flush.interval") // how often queued latency updates are written to neo4j in seconds
+    @Default("1")
+    @Min(1)
+    int getLatencyFlushInterval();
+
+    @Key("latency.stats.interval") // how often latency percentiles and jitter are emitted in seconds
+    @Default("60")
+    @Min(1)
+    int getLatencyStatsInterval();
+
     @Key("latency.discovery.interval.multiplier")
     @Default("3")
     @Min(1)
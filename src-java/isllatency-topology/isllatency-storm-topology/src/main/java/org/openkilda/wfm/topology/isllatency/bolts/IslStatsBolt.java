@@ -30,11 +30,14 @@ import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.messaging.info.event.IslStatusUpdateNotification;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.LatencySketch;
 import org.openkilda.wfm.share.utils.MetricFormatter;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.isllatency.carriers.IslStatsCarrier;
+import org.openkilda.wfm.topology.isllatency.model.IslKey;
 import org.openkilda.wfm.topology.isllatency.service.IslStatsService;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -42,6 +45,7 @@ import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -53,11 +57,13 @@ public class IslStatsBolt extends AbstractBolt implements IslStatsCarrier {
     public static final String LATENCY_METRIC_NAME = "isl.rtt";
     private transient IslStatsService islStatsService;
     private final long latencyTimeout;
+    private final int latencyStatsInterval;
     private MetricFormatter metricFormatter;
 
-    public IslStatsBolt(String metricPrefix, long latencyTimeout) {
+    public IslStatsBolt(String metricPrefix, long latencyTimeout, int latencyStatsInterval) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
         this.latencyTimeout = latencyTimeout;
+        this.latencyStatsInterval = latencyStatsInterval;
     }
 
     @Override
@@ -74,18 +80,25 @@ public class IslStatsBolt extends AbstractBolt implements IslStatsCarrier {
     @VisibleForTesting
     List<Object> buildTsdbTuple(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
                                 long latency, long timestamp) throws JsonProcessingException {
+        Map<String, String> tags = buildTags(srcSwitchId, srcPort, dstSwitchId, dstPort);
+        return tsdbTuple(metricFormatter.format(LATENCY_METRIC_NAME), timestamp, latency, tags);
+    }
+
+    private static Map<String, String> buildTags(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId,
+                                                 int dstPort) {
         Map<String, String> tags = new HashMap<>();
         tags.put("src_switch", srcSwitchId.toOtsdFormat());
         tags.put("src_port", String.valueOf(srcPort));
         tags.put("dst_switch", dstSwitchId.toOtsdFormat());
         tags.put("dst_port", String.valueOf(dstPort));
-
-        return tsdbTuple(metricFormatter.format(LATENCY_METRIC_NAME), timestamp, latency, tags);
+        return tags;
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
-        if (ISL_STATUS_UPDATE_BOLT_ID.equals(input.getSourceComponent())) {
+        if (TupleUtils.isTick(input)) {
+            islStatsService.emitLatencyStats(System.currentTimeMillis());
+        } else if (ISL_STATUS_UPDATE_BOLT_ID.equals(input.getSourceComponent())) {
             handleStatusUpdate(input);
         } else if (ONE_WAY_MANIPULATION_BOLT_ID.equals(input.getSourceComponent())
                 || CACHE_BOLT_ID.equals(input.getSourceComponent())) {
@@ -128,6 +141,40 @@ public class IslStatsBolt extends AbstractBolt implements IslStatsCarrier {
         emit(getCurrentTuple(), tsdbTuple);
     }
 
+    @Override
+    public void emitLatencyStats(IslKey isl, LatencySketch sketch, long timestamp) {
+        Map<String, String> tags = buildTags(
+                isl.getSrcSwitchId(), isl.getSrcPort(), isl.getDstSwitchId(), isl.getDstPort());
+        try {
+            emitStat("p50", sketch.getValueAtPercentile(50), tags, timestamp);
+            emitStat("p90", sketch.getValueAtPercentile(90), tags, timestamp);
+            emitStat("p99", sketch.getValueAtPercentile(99), tags, timestamp);
+            emitStat("max", sketch.getMax(), tags, timestamp);
+            emitStat("jitter", sketch.getJitter(), tags, timestamp);
+        } catch (JsonProcessingException e) {
+            log.error(String.format("Couldn't create OpenTSDB tuple: %s", e.getMessage()), e);
+        }
+    }
+
+    private void emitStat(String stat, long value, Map<String, String> tags, long timestamp)
+            throws JsonProcessingException {
+        String metric = metricFormatter.format(String.format("%s.%s", LATENCY_METRIC_NAME, stat));
+        emit(getCurrentTuple(), tsdbTuple(metric, timestamp, value, tags));
+    }
+
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(null, latencyStatsInterval);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
@@ -16,8 +16,11 @@
 package org.openkilda.wfm.topology.isllatency.carriers;
 
 import org.openkilda.model.SwitchId;
-
+import org.openkilda.wfm.share.utils.LatencySketch;
+import org.openkilda.wfm.topology.isllatency.model.IslKey;
 
 public interface IslStatsCarrier {
     void emitLatency(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort, long latency, long timestamp);
+
+    void emitLatencyStats(IslKey isl, LatencySketch sketch, long timestamp);
 }
@@ -0,0 +1,83 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+/**
+ * Latency samples of an ISL kept in a fixed-size ring buffer of primitives. The sum of samples is maintained on each
+ * update, so adding a sample and getting the average are O(1), and expiration removes samples only from the head.
+ * When the buffer is full the oldest sample is overwritten.
+ * <p/>
+ * Not thread-safe.
+ */
+public class LatencyWindow {
+    private final long[] latencies;
+    private final long[] timestamps;
+    private int head;
+    private int size;
+    private long sum;
+
+    public LatencyWindow(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("Invalid latency window capacity %d", capacity));
+        }
+        latencies = new long[capacity];
+        timestamps = new long[capacity];
+    }
+
+    /**
+     * Adds the sample, overwriting the oldest one if the window is full.
+     */
+    public void add(long latency, long timestamp) {
+        if (size == latencies.length) {
+            removeHead();
+        }
+        int tail = (head + size) % latencies.length;
+        latencies[tail] = latency;
+        timestamps[tail] = timestamp;
+        sum += latency;
+        size++;
+    }
+
+    /**
+     * Removes samples older than the given timestamp. Samples are expected to be added in the time order.
+     */
+    public void removeExpired(long oldestTimestamp) {
+        while (size > 0 && timestamps[head] < oldestTimestamp) {
+            removeHead();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the average latency of the samples, or -1 if the window is empty.
+     */
+    public long getAverage() {
+        return size == 0 ? -1 : sum / size;
+    }
+
+    private void removeHead() {
+        sum -= latencies[head];
+        head = (head + 1) % latencies.length;
+        size--;
+    }
+}
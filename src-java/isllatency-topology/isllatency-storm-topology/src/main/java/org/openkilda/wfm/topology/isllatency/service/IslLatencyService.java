@@ -20,6 +20,7 @@ import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.model.Isl;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
@@ -28,19 +29,30 @@ import org.openkilda.wfm.error.IslNotFoundException;
 import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyWindow;
 
 import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Optional;
 import java.util.Set;
 
+/**
+ * Keeps latency records of ISLs within the configured time range and periodically persists the average latency
+ * of each ISL.
+ * <p/>
+ * Only the average latency is persisted, it is what the PCE latency strategy weighs paths by. Latency percentiles
+ * are exported as metrics by {@link org.openkilda.wfm.topology.isllatency.bolts.IslStatsBolt} and are not available
+ * to the PCE.
+ */
 @Slf4j
 public class IslLatencyService {
     public static final String ONE_WAY_LATENCY = "one way";
@@ -50,24 +62,28 @@ public class IslLatencyService {
     private SwitchRepository switchRepository;
     private final long latencyUpdateInterval; // emit data in DB interval
     private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
+    private final int windowCapacity;
 
-    private Map<IslKey, Queue<LatencyRecord>> roundTripLatencyStorage;
-    private Map<IslKey, Queue<LatencyRecord>> oneWayLatencyStorage;
+    private Map<IslKey, LatencyWindow> roundTripLatencyStorage;
+    private Map<IslKey, LatencyWindow> oneWayLatencyStorage;
     private Map<IslKey, Instant> nextUpdateTimeMap;
     private Set<IslKey> roundTripLatencyIsSet; // Contains ISLs for which round trip latency were stored in DB
+    private Map<IslKey, PendingLatency> pendingUpdates; // latencies to be written by the next flush
 
     public IslLatencyService(TransactionManager transactionManager,
                              RepositoryFactory repositoryFactory, long latencyUpdateInterval,
-                             long latencyUpdateTimeRange) {
+                             long latencyUpdateTimeRange, long discoveryInterval) {
         this.transactionManager = transactionManager;
         this.latencyUpdateInterval = latencyUpdateInterval;
         this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.windowCapacity = getWindowCapacity(latencyUpdateTimeRange, discoveryInterval);
         islRepository = repositoryFactory.createIslRepository();
         switchRepository = repositoryFactory.createSwitchRepository();
         oneWayLatencyStorage = new HashMap<>();
         roundTripLatencyStorage = new HashMap<>();
         roundTripLatencyIsSet = new HashSet<>();
         nextUpdateTimeMap = new HashMap<>();
+        pendingUpdates = new LinkedHashMap<>();
     }
 
     /**
@@ -91,8 +107,8 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data, destination);
 
-        roundTripLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        roundTripLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        roundTripLatencyStorage.computeIfAbsent(islKey, key -> new LatencyWindow(windowCapacity))
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey) || !roundTripLatencyIsSet.contains(islKey)) {
             updateRoundTripLatency(data, destination, islKey);
@@ -112,8 +128,8 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data);
 
-        oneWayLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        oneWayLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        oneWayLatencyStorage.computeIfAbsent(islKey, key -> new LatencyWindow(windowCapacity))
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey)) {
             updateOneWayLatencyIfNeeded(data, islKey);
@@ -121,10 +137,10 @@ public class IslLatencyService {
     }
 
     private void updateRoundTripLatency(IslRoundTripLatency data, Endpoint destination, IslKey islKey) {
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
+        LatencyWindow roundTripRecords = roundTripLatencyStorage.get(islKey);
 
-        pollExpiredRecords(roundTripRecords);
-        pollExpiredRecords(oneWayLatencyStorage.get(islKey));
+        removeExpiredRecords(roundTripRecords);
+        removeExpiredRecords(oneWayLatencyStorage.get(islKey));
 
         if (roundTripRecords.isEmpty()) {
             log.warn("Couldn't update round trip latency {} for ISL {}_{} === {}_{}. "
@@ -133,9 +149,9 @@ public class IslLatencyService {
                     destination.getDatapath(), destination.getPortNumber(), data.getPacketId());
         }
 
-        long averageLatency = calculateAverageLatency(roundTripRecords);
+        long averageLatency = roundTripRecords.getAverage();
 
-        boolean updated = updateLatencyInDataBase(data, destination, averageLatency);
+        boolean updated = queueLatencyUpdate(data, islKey, averageLatency);
 
         if (updated) {
             nextUpdateTimeMap.put(islKey, getNextUpdateTime());
@@ -144,25 +160,25 @@ public class IslLatencyService {
     }
 
     private void updateOneWayLatencyIfNeeded(IslOneWayLatency data, IslKey islKey) {
-        Queue<LatencyRecord> oneWayRecords = oneWayLatencyStorage.get(islKey);
-        pollExpiredRecords(oneWayRecords);
+        LatencyWindow oneWayRecords = oneWayLatencyStorage.get(islKey);
+        removeExpiredRecords(oneWayRecords);
 
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
-        pollExpiredRecords(roundTripRecords);
+        LatencyWindow roundTripRecords = roundTripLatencyStorage.get(islKey);
+        removeExpiredRecords(roundTripRecords);
         if (roundTripRecords != null && !roundTripRecords.isEmpty()) {
             // next round trip latency packet will update ISL latency
             return;
         }
 
         IslKey reverseIslKey = islKey.getReverse();
-        Queue<LatencyRecord> reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
-        pollExpiredRecords(reverseRoundTripRecords);
+        LatencyWindow reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
+        removeExpiredRecords(reverseRoundTripRecords);
 
         boolean updated;
         if (reverseRoundTripRecords != null && !reverseRoundTripRecords.isEmpty()) {
             // reverse ISL has round trip latency records. We can use them for forward ISL
-            long averageReverseLatency = calculateAverageLatency(reverseRoundTripRecords);
-            updated = updateLatencyInDataBase(data, averageReverseLatency);
+            long averageReverseLatency = reverseRoundTripRecords.getAverage();
+            updated = queueLatencyUpdate(data, islKey, averageReverseLatency);
         } else {
             // There are no round trip latency records for both ISL direction. We have to use one way latency records
             if (oneWayRecords.isEmpty()) {
@@ -173,8 +189,8 @@ public class IslLatencyService {
                 return;
             }
 
-            long averageOneWayLatency = calculateAverageLatency(oneWayRecords);
-            updated = updateLatencyInDataBase(data, averageOneWayLatency);
+            long averageOneWayLatency = oneWayRecords.getAverage();
+            updated = queueLatencyUpdate(data, islKey, averageOneWayLatency);
         }
 
         if (updated) {
@@ -183,61 +199,131 @@ public class IslLatencyService {
         }
     }
 
-    private boolean updateLatencyInDataBase(IslOneWayLatency data, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                data.getDstSwitchId(), data.getDstPortNo(), latency, data.getPacketId(), ONE_WAY_LATENCY);
+    private boolean queueLatencyUpdate(IslOneWayLatency data, IslKey islKey, long latency) {
+        return queueLatencyUpdate(islKey, latency, data.getPacketId(), ONE_WAY_LATENCY);
     }
 
-    private boolean updateLatencyInDataBase(IslRoundTripLatency data, Endpoint destination, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                destination.getDatapath(), destination.getPortNumber(), latency, data.getPacketId(),
-                ROUND_TRIP_LATENCY);
+    private boolean queueLatencyUpdate(IslRoundTripLatency data, IslKey islKey, long latency) {
+        return queueLatencyUpdate(islKey, latency, data.getPacketId(), ROUND_TRIP_LATENCY);
     }
 
-    private boolean updateLatencyInDataBase(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
-                                         long latency, long packetId, String latencyType) {
+    private boolean queueLatencyUpdate(IslKey islKey, long latency, long packetId, String latencyType) {
         if (latency < 0) {
             log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. Latency must be positive.",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId);
+                    latencyType, islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(),
+                    islKey.getDstPort(), packetId);
             return false;
         }
 
-        try {
-            updateIslLatency(srcSwitch, srcPort, dstSwitch, dstPort, latency);
-            log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
-                    latencyType, srcSwitch, srcPort, latency, dstSwitch, dstPort, packetId);
-        } catch (SwitchNotFoundException | IslNotFoundException e) {
-            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. {}",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId, e.getMessage());
-            return false;
-        }
+        pendingUpdates.put(islKey, new PendingLatency(latency, packetId, latencyType));
         return true;
     }
 
-    @VisibleForTesting
-    void pollExpiredRecords(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue == null) {
+    /**
+     * Writes latencies queued since the previous flush in a single transaction. ISLs which couldn't be updated are
+     * updated again on the next latency record.
+     */
+    public void flushLatencyUpdates() {
+        if (pendingUpdates.isEmpty()) {
             return;
         }
-        Instant oldestTimeInRange = Instant.now().minusSeconds(latencyUpdateTimeRange);
-        while (!recordsQueue.isEmpty()
-                && Instant.ofEpochMilli(recordsQueue.peek().getTimestamp()).isBefore(oldestTimeInRange)) {
-            recordsQueue.poll();
+        Map<IslKey, PendingLatency> batch = pendingUpdates;
+        pendingUpdates = new LinkedHashMap<>();
+
+        Set<IslKey> failed;
+        try {
+            failed = transactionManager.doInTransaction(() -> writeLatencies(batch));
+        } catch (PersistenceException e) {
+            log.error("Couldn't update latency of {} ISLs: {}", batch.size(), e.getMessage(), e);
+            failed = batch.keySet();
+        }
+
+        for (IslKey islKey : failed) {
+            nextUpdateTimeMap.remove(islKey);
+            if (ROUND_TRIP_LATENCY.equals(batch.get(islKey).getLatencyType())) {
+                roundTripLatencyIsSet.remove(islKey);
+            }
         }
     }
 
     @VisibleForTesting
-    long calculateAverageLatency(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue.isEmpty()) {
-            log.error("Couldn't calculate average latency. Records queue is empty");
-            return -1;
+    Set<IslKey> writeLatencies(Map<IslKey, PendingLatency> batch) {
+        Map<SwitchId, Optional<Switch>> switches = new HashMap<>();
+        for (IslKey islKey : batch.keySet()) {
+            switches.computeIfAbsent(islKey.getSrcSwitchId(), switchRepository::findById);
+            switches.computeIfAbsent(islKey.getDstSwitchId(), switchRepository::findById);
+        }
+        switchRepository.lockSwitches(switches.values().stream()
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .toArray(Switch[]::new));
+
+        Set<IslKey> failed = new HashSet<>();
+        List<Isl> isls = new ArrayList<>(batch.size());
+        for (Map.Entry<IslKey, PendingLatency> entry : batch.entrySet()) {
+            IslKey islKey = entry.getKey();
+            PendingLatency latency = entry.getValue();
+            Optional<Switch> srcSwitch = switches.get(islKey.getSrcSwitchId());
+            Optional<Switch> dstSwitch = switches.get(islKey.getDstSwitchId());
+            if (srcSwitch.isPresent() && dstSwitch.isPresent()) {
+                isls.add(Isl.builder()
+                        .srcSwitch(srcSwitch.get())
+                        .srcPort(islKey.getSrcPort())
+                        .destSwitch(dstSwitch.get())
+                        .destPort(islKey.getDstPort())
+                        .latency(latency.getLatency())
+                        .build());
+            } else {
+                SwitchId missing = srcSwitch.isPresent() ? islKey.getDstSwitchId() : islKey.getSrcSwitchId();
+                logLatencyUpdateFailure(islKey, latency, new SwitchNotFoundException(missing).getMessage());
+                failed.add(islKey);
+            }
+        }
+
+        // All ISLs of the batch are updated by a single query.
+        for (Isl isl : islRepository.updateLatency(isls)) {
+            IslKey islKey = new IslKey(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+            logLatencyUpdateFailure(islKey, batch.get(islKey), new IslNotFoundException(islKey.getSrcSwitchId(),
+                    islKey.getSrcPort(), islKey.getDstSwitchId(), islKey.getDstPort()).getMessage());
+            failed.add(islKey);
         }
 
-        long sum = 0;
-        for (LatencyRecord record : recordsQueue) {
-            sum += record.getLatency();
+        if (log.isDebugEnabled()) {
+            batch.forEach((islKey, latency) -> {
+                if (!failed.contains(islKey)) {
+                    log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
+                            latency.getLatencyType(), islKey.getSrcSwitchId(), islKey.getSrcPort(),
+                            latency.getLatency(), islKey.getDstSwitchId(), islKey.getDstPort(),
+                            latency.getPacketId());
+                }
+            });
         }
-        return sum / recordsQueue.size();
+        return failed;
+    }
+
+    private void logLatencyUpdateFailure(IslKey islKey, PendingLatency latency, String reason) {
+        log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. {}",
+                latency.getLatencyType(), islKey.getSrcSwitchId(), islKey.getSrcPort(),
+                islKey.getDstSwitchId(), islKey.getDstPort(), latency.getPacketId(), reason);
+    }
+
+    /**
+     * Returns the number of latency records of an ISL within the time range: one record per discovery interval,
+     * plus one for a record on each edge of the range. Both arguments are in seconds.
+     */
+    @VisibleForTesting
+    static int getWindowCapacity(long timeRange, long discoveryInterval) {
+        long interval = Math.max(discoveryInterval, 1);
+        return (int) ((timeRange + interval - 1) / interval) + 2;
+    }
+
+    @VisibleForTesting
+    void removeExpiredRecords(LatencyWindow records) {
+        if (records == null) {
+            return;
+        }
+        records.removeExpired(Instant.now().minusSeconds(latencyUpdateTimeRange).toEpochMilli());
     }
 
     @VisibleForTesting
@@ -250,33 +336,11 @@ public class IslLatencyService {
         return Instant.now().plusSeconds(latencyUpdateInterval);
     }
 
-    /**
-     * Update latency of isl by source and destination endpoint.
-     *
-     * @param srcSwitchId ID of source switch.
-     * @param srcPort source port.
-     * @param dstSwitchId ID of destination switch.
-     * @param dstPort destination port.
-     * @param latency latency to update
-     *
-     * @throws SwitchNotFoundException if src or dst switch is not found
-     * @throws IslNotFoundException if isl is not found
-     */
+    @Value
     @VisibleForTesting
-    void updateIslLatency(
-            SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort, long latency)
-            throws SwitchNotFoundException, IslNotFoundException {
-        transactionManager.doInTransaction(() -> {
-            Switch srcSwitch = switchRepository.findById(srcSwitchId)
-                    .orElseThrow(() -> new SwitchNotFoundException(srcSwitchId));
-            Switch dstSwitch = switchRepository.findById(dstSwitchId)
-                    .orElseThrow(() -> new SwitchNotFoundException(dstSwitchId));
-
-            switchRepository.lockSwitches(srcSwitch, dstSwitch);
-            Isl isl = islRepository.findByEndpoints(srcSwitchId, srcPort, dstSwitchId, dstPort)
-                    .orElseThrow(() -> new IslNotFoundException(srcSwitchId, srcPort, dstSwitchId, dstPort));
-            isl.setLatency(latency);
-            islRepository.createOrUpdate(isl);
-        });
+    static class PendingLatency {
+        long latency;
+        long packetId;
+        String latencyType;
     }
 }
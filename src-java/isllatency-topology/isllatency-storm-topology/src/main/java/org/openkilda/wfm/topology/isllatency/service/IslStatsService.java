@@ -20,6 +20,7 @@ import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.messaging.info.event.IslStatusUpdateNotification;
 import org.openkilda.model.IslStatus;
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.LatencySketch;
 import org.openkilda.wfm.topology.isllatency.carriers.IslStatsCarrier;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
 import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
@@ -29,6 +30,7 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.time.Instant;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.TreeMap;
@@ -40,7 +42,7 @@ public class IslStatsService {
     private Map<IslKey, LatencyRecord> roundTripLatencyStorage;
     private Map<IslKey, Instant> oneWayLatencyEmitTimeoutMap;
     private Map<IslKey, TreeMap<Long, Long>> oneWayLatencyStorage;
-
+    private Map<IslKey, LatencySketch> latencySketches; // distribution of emitted latencies since the last stats
 
     public IslStatsService(IslStatsCarrier carrier, long latencyTimeout) {
         this.carrier = carrier;
@@ -48,6 +50,7 @@ public class IslStatsService {
         roundTripLatencyStorage = new HashMap<>();
         oneWayLatencyEmitTimeoutMap = new HashMap<>();
         oneWayLatencyStorage = new HashMap<>();
+        latencySketches = new HashMap<>();
     }
 
     /**
@@ -77,13 +80,7 @@ public class IslStatsService {
         clearOneWayRecords(islKey);
         clearOneWayRecords(islKey.getReverse());
 
-        carrier.emitLatency(
-                data.getSrcSwitchId(),
-                data.getSrcPortNo(),
-                destination.getDatapath(),
-                destination.getPortNumber(),
-                data.getLatency(),
-                timestamp);
+        emitLatency(islKey, data.getLatency(), timestamp);
     }
 
     /**
@@ -130,6 +127,26 @@ public class IslStatsService {
         } // else still waiting for RTL and collecting one way records
     }
 
+    /**
+     * Emit percentiles and jitter of latencies emitted since the previous call. ISLs without latencies since the
+     * previous call are forgotten.
+     *
+     * @param timestamp timestamp of metrics
+     */
+    public void emitLatencyStats(long timestamp) {
+        for (Iterator<Entry<IslKey, LatencySketch>> iterator = latencySketches.entrySet().iterator();
+                iterator.hasNext(); ) {
+            Entry<IslKey, LatencySketch> entry = iterator.next();
+            LatencySketch sketch = entry.getValue();
+            if (sketch.isEmpty()) {
+                iterator.remove();
+                continue;
+            }
+            carrier.emitLatencyStats(entry.getKey(), sketch, timestamp);
+            sketch.reset();
+        }
+    }
+
     /**
      * Handle ISL status update notification.
      *
@@ -173,13 +190,7 @@ public class IslStatsService {
         long oldestTimestamp = Instant.now().minusSeconds(latencyTimeout).toEpochMilli();
 
         for (Entry<Long, Long> record : recordMap.tailMap(oldestTimestamp).entrySet()) {
-            carrier.emitLatency(
-                    key.getSrcSwitchId(),
-                    key.getSrcPort(),
-                    key.getDstSwitchId(),
-                    key.getDstPort(),
-                    record.getValue(),
-                    record.getKey());
+            emitLatency(key, record.getValue(), record.getKey());
         }
     }
 
@@ -201,12 +212,17 @@ public class IslStatsService {
         long reverseRoundTripLatency = roundTripLatencyStorage.get(reverse).getLatency();
 
         // and emit it for forward ISL
+        emitLatency(forward, reverseRoundTripLatency, timestamp);
+    }
+
+    private void emitLatency(IslKey key, long latency, long timestamp) {
+        latencySketches.computeIfAbsent(key, k -> new LatencySketch()).record(latency);
         carrier.emitLatency(
-                forward.getSrcSwitchId(),
-                forward.getSrcPort(),
-                forward.getDstSwitchId(),
-                forward.getDstPort(),
-                reverseRoundTripLatency,
+                key.getSrcSwitchId(),
+                key.getSrcPort(),
+                key.getDstSwitchId(),
+                key.getDstPort(),
+                latency,
                 timestamp);
     }
 
@@ -60,6 +60,8 @@ import java.util.UUID;
 public class IslLatencyTopologyTest extends AbstractStormTest {
 
     private static final int POLL_TIMEOUT = 1000;
+    private static final int LATENCY_FLUSH_TIMEOUT = 5000;
+    private static final int LATENCY_POLL_INTERVAL = 100;
     private static final String POLL_DATAPOINT_ASSERT_MESSAGE = "Could not poll any datapoint";
     private static final String METRIC_PREFIX = "kilda.";
     private static final int PORT_1 = 1;
@@ -138,7 +140,8 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
     }
 
     @Test
-    public void checkTopologyMetricAndDatabaseUpdateTest() throws IslNotFoundException, JsonProcessingException {
+    public void checkTopologyMetricAndDatabaseUpdateTest()
+            throws IslNotFoundException, JsonProcessingException, InterruptedException {
         // It's hard to split this test on several tests because IslStatsBolts and IslLatencyBolt has internal states
         long latency1 = 1;
         long latency2 = 2;
@@ -156,28 +159,28 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
         // we have no round trip latency so we have to use one way latency for Neo4j, but not for OpenTSDB
         pushMessage(firstOneWayLatency);
         assertTrue(otsdbConsumer.isEmpty());
-        assertEquals(latency1 * ONE_WAY_LATENCY_MULTIPLIER, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency1 * ONE_WAY_LATENCY_MULTIPLIER);
 
         // we got round trip latency so we will use it for metric and database
         long timestamp2 = pushMessage(firstRoundTripLatency);
         assertMetric(FORWARD_ISL, latency2, timestamp2);
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency2);
 
         // we got one way latency but bolts already has data with RTL latency. one way latency will be ignored
         pushMessage(secondOneWayLatency);
         assertTrue(otsdbConsumer.isEmpty());
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency2);
 
         // we got new round trip latency and it will be used for metric
         long timestamp4 = pushMessage(secondRoundTripLatency);
         assertMetric(FORWARD_ISL, latency4, timestamp4);
         // but not for database, because of big update time interval
-        assertEquals(latency2, getIslLatency(FORWARD_ISL));
+        assertIslLatency(FORWARD_ISL, latency2);
 
         // we got one way latency for reverse isl, but we already has RTL for forward ISL and we can use it
         long timestamp5 = pushMessage(reverseOneWayLatency);
         assertMetric(REVERSE_ISL, latency4, timestamp5);
-        assertEquals((latency2 + latency4) / 2, getIslLatency(REVERSE_ISL));
+        assertIslLatency(REVERSE_ISL, (latency2 + latency4) / 2);
     }
 
     private long pushMessage(InfoData infoData) throws JsonProcessingException {
@@ -235,9 +238,18 @@ public class IslLatencyTopologyTest extends AbstractStormTest {
         islRepository.createOrUpdate(isl);
     }
 
-    private long getIslLatency(IslKey islKey) throws IslNotFoundException {
-        return getIslLatency(
+    private void assertIslLatency(IslKey islKey, long expectedLatency)
+            throws IslNotFoundException, InterruptedException {
+        // latency updates are written into DB by the periodic flush, so wait for it
+        long deadline = System.currentTimeMillis() + LATENCY_FLUSH_TIMEOUT;
+        long latency = getIslLatency(
                 islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(), islKey.getDstPort());
+        while (latency != expectedLatency && System.currentTimeMillis() < deadline) {
+            sleep(LATENCY_POLL_INTERVAL);
+            latency = getIslLatency(
+                    islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(), islKey.getDstPort());
+        }
+        assertEquals(expectedLatency, latency);
     }
 
     private long getIslLatency(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort)
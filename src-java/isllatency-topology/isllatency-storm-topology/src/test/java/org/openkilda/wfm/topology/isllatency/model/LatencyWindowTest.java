@@ -0,0 +1,78 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyWindowTest {
+    @Test
+    public void calculateAverageTest() {
+        LatencyWindow window = new LatencyWindow(10);
+        for (int i = 1; i <= 5; i++) {
+            window.add(i, 1);
+        }
+        assertEquals(5, window.size());
+        assertEquals(3, window.getAverage());
+    }
+
+    @Test
+    public void emptyWindowAverageTest() {
+        LatencyWindow window = new LatencyWindow(10);
+        assertTrue(window.isEmpty());
+        assertEquals(-1, window.getAverage());
+    }
+
+    @Test
+    public void overwriteOldestRecordTest() {
+        LatencyWindow window = new LatencyWindow(3);
+        for (int i = 1; i <= 5; i++) {
+            window.add(i * 10, i);
+        }
+        assertEquals(3, window.size());
+        assertEquals(40, window.getAverage());
+
+        window.removeExpired(5);
+        assertEquals(1, window.size());
+        assertEquals(50, window.getAverage());
+    }
+
+    @Test
+    public void removeExpiredTest() {
+        LatencyWindow window = new LatencyWindow(10);
+        for (int i = 0; i < 10; i++) {
+            window.add(i, i * 1000);
+        }
+
+        window.removeExpired(5000);
+        assertEquals(5, window.size());
+        assertEquals(7, window.getAverage());
+
+        window.removeExpired(100_000);
+        assertTrue(window.isEmpty());
+        assertEquals(-1, window.getAverage());
+
+        window.add(100, 200_000);
+        assertEquals(100, window.getAverage());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacityTest() {
+        new LatencyWindow(0);
+    }
+}
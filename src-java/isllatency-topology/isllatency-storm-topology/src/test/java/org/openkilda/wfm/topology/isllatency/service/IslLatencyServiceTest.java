@@ -28,19 +28,20 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.Neo4jBasedTest;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
-import org.openkilda.wfm.error.IslNotFoundException;
-import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyWindow;
+import org.openkilda.wfm.topology.isllatency.service.IslLatencyService.PendingLatency;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class IslLatencyServiceTest extends Neo4jBasedTest {
     private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
@@ -53,8 +54,11 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     private static final int NON_EXISTENT_PORT = 555;
     private static final Endpoint FORWARD_DESTINATION = Endpoint.of(SWITCH_ID_2, PORT_2);
     private static final IslKey FORWARD_ISL_KEY = new IslKey(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2);
+    private static final int PORT_3 = 3;
+    private static final int PORT_4 = 4;
     public static final int LATENCY_UPDATE_INTERVAL = 100;
     public static final int LATENCY_UPDATE_TIME_RANGE = 10;
+    public static final int DISCOVERY_INTERVAL = 1;
 
 
     private SwitchRepository switchRepository;
@@ -65,7 +69,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     public void setup() {
         islLatencyService = new IslLatencyService(
                 persistenceManager.getTransactionManager(), persistenceManager.getRepositoryFactory(),
-                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE);
+                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE, DISCOVERY_INTERVAL);
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
 
@@ -82,25 +86,52 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         switchRepository.forceDelete(SWITCH_ID_2);
     }
 
-    @Test(expected = SwitchNotFoundException.class)
-    public void updateIslLatencyNonExistentSrcEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2, 0);
+    @Test
+    public void writeLatenciesNonExistentSrcEndpointTest() {
+        IslKey islKey = new IslKey(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2);
+
+        assertEquals(Collections.singleton(islKey), writeLatencies(islKey, 0));
     }
 
-    @Test(expected = SwitchNotFoundException.class)
-    public void updateIslLatencyNonExistentDstEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2, 0);
+    @Test
+    public void writeLatenciesNonExistentDstEndpointTest() {
+        IslKey islKey = new IslKey(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2);
+
+        assertEquals(Collections.singleton(islKey), writeLatencies(islKey, 0));
     }
 
-    @Test(expected = IslNotFoundException.class)
-    public void updateIslLatencyNonExistentIslTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT, 0);
+    @Test
+    public void writeLatenciesNonExistentIslTest() {
+        IslKey islKey = new IslKey(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT);
+
+        assertEquals(Collections.singleton(islKey), writeLatencies(islKey, 0));
     }
 
     @Test
-    public void updateIslLatencyTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2, 1000);
-        assertForwardLatency(1000);
+    public void writeLatenciesTest() {
+        assertTrue(writeLatencies(FORWARD_ISL_KEY, 1000).isEmpty());
+        assertEquals(1000, getLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2));
+    }
+
+    @Test
+    public void writeLatenciesSkipsFailedIslTest() {
+        IslKey nonExistent = new IslKey(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT);
+        Map<IslKey, PendingLatency> batch = new LinkedHashMap<>();
+        batch.put(nonExistent, new PendingLatency(10, PACKET_ID, IslLatencyService.ONE_WAY_LATENCY));
+        batch.put(FORWARD_ISL_KEY, new PendingLatency(20, PACKET_ID, IslLatencyService.ROUND_TRIP_LATENCY));
+
+        Set<IslKey> failed = persistenceManager.getTransactionManager().doInTransaction(
+                () -> islLatencyService.writeLatencies(batch));
+
+        assertEquals(Collections.singleton(nonExistent), failed);
+        assertEquals(20, getLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2));
+    }
+
+    @Test
+    public void getWindowCapacityTest() {
+        assertEquals(602, IslLatencyService.getWindowCapacity(600, 1));
+        assertEquals(202, IslLatencyService.getWindowCapacity(600, 3));
+        assertEquals(202, IslLatencyService.getWindowCapacity(599, 3));
     }
 
     @Test
@@ -176,6 +207,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
 
         IslOneWayLatency nonExistent = new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID);
         islLatencyService.handleOneWayIslLatency(nonExistent, System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -190,6 +222,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         IslRoundTripLatency nonExistent = new IslRoundTripLatency(SWITCH_ID_1, fakePort, 4, PACKET_ID);
         islLatencyService.handleRoundTripIslLatency(
                 nonExistent, Endpoint.of(SWITCH_ID_2, fakePort), System.currentTimeMillis());
+        islLatencyService.flushLatencyUpdates();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -202,43 +235,45 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     }
 
     @Test
-    public void calculateAverageLatencyTest() {
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
-
-        for (int i = 1; i <= 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, 1));
-        }
-        assertEquals(3, islLatencyService.calculateAverageLatency(latencyRecords));
-    }
-
-    @Test
-    public void calculateAverageLatencyEmptyTest() {
-        assertEquals(-1, islLatencyService.calculateAverageLatency(new LinkedList<>()));
-    }
-
-    @Test
-    public void pollExpiredRecordsTest() {
+    public void removeExpiredRecordsTest() {
         Instant time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE * 2);
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+        LatencyWindow latencyRecords = new LatencyWindow(
+                IslLatencyService.getWindowCapacity(LATENCY_UPDATE_TIME_RANGE * 2, DISCOVERY_INTERVAL));
 
         for (int i = 0; i < 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
+            latencyRecords.add(i, time.toEpochMilli());
             time = time.plusSeconds(1);
         }
 
         time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE - 7);
         for (int i = 5; i < 10; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
+            latencyRecords.add(i, time.toEpochMilli());
             time = time.plusSeconds(1);
         }
 
         assertEquals(10, latencyRecords.size());
-        islLatencyService.pollExpiredRecords(latencyRecords);
+        islLatencyService.removeExpiredRecords(latencyRecords);
         assertEquals(5, latencyRecords.size());
+        assertEquals(7, latencyRecords.getAverage());
+    }
 
-        for (int i = 5; i < 10; i++) {
-            assertEquals(i, latencyRecords.poll().getLatency());
-        }
+    @Test
+    public void latencyIsWrittenOnFlushTest() {
+        createIsl(switchRepository.findById(SWITCH_ID_1).get(), PORT_3,
+                switchRepository.findById(SWITCH_ID_2).get(), PORT_4, INITIAL_LATENCY);
+
+        islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(11), System.currentTimeMillis());
+        islLatencyService.handleOneWayIslLatency(
+                new IslOneWayLatency(SWITCH_ID_1, PORT_3, SWITCH_ID_2, PORT_4, 12, PACKET_ID),
+                System.currentTimeMillis());
+
+        assertEquals(INITIAL_LATENCY, getLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2));
+        assertEquals(INITIAL_LATENCY, getLatency(SWITCH_ID_1, PORT_3, SWITCH_ID_2, PORT_4));
+
+        islLatencyService.flushLatencyUpdates();
+
+        assertEquals(11, getLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2));
+        assertEquals(12, getLatency(SWITCH_ID_1, PORT_3, SWITCH_ID_2, PORT_4));
     }
 
     private Switch createSwitch(SwitchId switchId) {
@@ -267,8 +302,19 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         return new IslRoundTripLatency(SWITCH_ID_1, PORT_1, latency, PACKET_ID);
     }
 
+    private Set<IslKey> writeLatencies(IslKey islKey, long latency) {
+        Map<IslKey, PendingLatency> batch = Collections.singletonMap(
+                islKey, new PendingLatency(latency, PACKET_ID, IslLatencyService.ONE_WAY_LATENCY));
+        return persistenceManager.getTransactionManager().doInTransaction(
+                () -> islLatencyService.writeLatencies(batch));
+    }
+
     private void assertForwardLatency(long expectedLatency) {
-        long actualLatency = islRepository.findByEndpoints(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2).get().getLatency();
-        assertEquals(expectedLatency, actualLatency);
+        islLatencyService.flushLatencyUpdates();
+        assertEquals(expectedLatency, getLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2));
+    }
+
+    private long getLatency(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        return islRepository.findByEndpoints(srcSwitchId, srcPort, dstSwitchId, dstPort).get().getLatency();
     }
 }
@@ -19,9 +19,13 @@ import static java.lang.Thread.sleep;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
@@ -33,7 +37,9 @@ import org.openkilda.messaging.info.event.IslRoundTripLatency;
 import org.openkilda.messaging.info.event.IslStatusUpdateNotification;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.LatencySketch;
 import org.openkilda.wfm.topology.isllatency.carriers.IslStatsCarrier;
+import org.openkilda.wfm.topology.isllatency.model.IslKey;
 import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
 
 import org.junit.Before;
@@ -94,6 +100,35 @@ public class IslStatsServiceTest {
         }
     }
 
+    @Test
+    public void emitLatencyStatsTest() {
+        Instant time = Instant.now();
+        for (int i = 0; i < 10; i++) {
+            sendForwardRoundTripLatency(i, time);
+        }
+
+        List<Long> stats = new ArrayList<>();
+        doAnswer(invocation -> {
+            LatencySketch sketch = invocation.getArgument(1);
+            stats.add(sketch.getValueAtPercentile(50));
+            stats.add(sketch.getMax());
+            stats.add(sketch.getJitter());
+            return null;
+        }).when(carrier).emitLatencyStats(any(), any(), anyLong());
+
+        long timestamp = time.toEpochMilli();
+        islStatsService.emitLatencyStats(timestamp);
+        verify(carrier).emitLatencyStats(
+                eq(new IslKey(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2)), any(LatencySketch.class), eq(timestamp));
+        assertEquals(4L, (long) stats.get(0));
+        assertEquals(9L, (long) stats.get(1));
+        assertEquals(1L, (long) stats.get(2));
+
+        // no latencies since the previous stats
+        islStatsService.emitLatencyStats(timestamp + 1);
+        verify(carrier, never()).emitLatencyStats(any(), any(), eq(timestamp + 1));
+    }
+
     @Test
     public void handleRoundTripLatencyAndOneWayLatencyTest() {
         // RTL:    ...X.X.X.X.X.X.X.X.X.X.....
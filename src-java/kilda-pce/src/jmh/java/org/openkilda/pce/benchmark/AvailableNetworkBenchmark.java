@@ -0,0 +1,119 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.benchmark.NetworkGenerator.TopologyType;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.impl.AvailableNetwork;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link AvailableNetwork} processing which precedes a path search: diversity weights and reduction of
+ * parallel links.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AvailableNetworkBenchmark {
+    private static final int ALLOWED_DEPTH = 35;
+
+    @Param({"RING", "FAT_TREE", "MESH"})
+    private TopologyType topology;
+
+    @Param({"10", "100", "1000", "5000"})
+    private int switches;
+
+    private List<Isl> isls;
+    private AvailableNetwork network;
+    private List<PathSegment> diversitySegments;
+
+    /**
+     * Generates the topology and takes the best path between distant switches as a diverse path.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws UnroutableFlowException {
+        isls = NetworkGenerator.generate(topology, switches, 42);
+
+        AvailableNetwork pathNetwork = NetworkGenerator.buildNetwork(isls);
+        Pair<SwitchId, SwitchId> endpoints = NetworkGenerator.findEndpoints(pathNetwork, ALLOWED_DEPTH / 2);
+        diversitySegments = NetworkGenerator.toSegments(new DijkstraPathFinder(ALLOWED_DEPTH, false)
+                .findPathInNetwork(pathNetwork, endpoints.getLeft(), endpoints.getRight(), NetworkGenerator.COST_WEIGHT)
+                .getLeft());
+    }
+
+    /**
+     * Diversity processing only increases counters, so the network is rebuilt once per iteration to keep them
+     * within a realistic range.
+     */
+    @Setup(Level.Iteration)
+    public void setUpNetwork() {
+        network = NetworkGenerator.buildNetwork(isls);
+    }
+
+    @Benchmark
+    public AvailableNetwork processDiversitySegments() {
+        network.processDiversitySegments(diversitySegments);
+        return network;
+    }
+
+    @Benchmark
+    public AvailableNetwork processDiversitySegmentsWithPop() {
+        network.processDiversitySegmentsWithPop(diversitySegments);
+        return network;
+    }
+
+    @Benchmark
+    public AvailableNetwork reduceByWeight(NotReducedNetwork notReduced) {
+        notReduced.network.reduceByWeight(NetworkGenerator.COST_WEIGHT);
+        return notReduced.network;
+    }
+
+    /**
+     * Reduction removes parallel links, so each invocation needs a fresh network.
+     */
+    @State(Scope.Thread)
+    public static class NotReducedNetwork {
+        private AvailableNetwork network;
+
+        @Setup(Level.Invocation)
+        public void setUp(AvailableNetworkBenchmark benchmark) {
+            network = NetworkGenerator.buildNetwork(benchmark.isls);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Generates synthetic topologies for the benchmarks. The same seed always produces the same topology.
+ */
+public final class NetworkGenerator {
+    /**
+     * The same as the cost weight function of InMemoryPathComputer with the default configuration.
+     */
+    public static final WeightFunction COST_WEIGHT = edge -> {
+        long total = edge.getCost() == 0 ? 700 : edge.getCost();
+        total += edge.getDiversityGroupUseCounter() * 1000L
+                + edge.getDiversityGroupPerPopUseCounter() * 1000L
+                + edge.getDestSwitch().getDiversityGroupUseCounter() * 1000L;
+        return total;
+    };
+
+    private static final IslConfig ISL_CONFIG = IslConfig.builder()
+            .unstableIslTimeout(Duration.ofSeconds(7200))
+            .build();
+
+    private static final int SWITCHES_PER_POP = 20;
+
+    public enum TopologyType {
+        /**
+         * Switches connected in a single ring.
+         */
+        RING,
+
+        /**
+         * k-ary fat-tree of edge, aggregation and core switches, each pod is a PoP.
+         */
+        FAT_TREE,
+
+        /**
+         * A chain over all switches plus random links, some of them are doubled by parallel ISLs.
+         */
+        MESH
+    }
+
+    private final Random random;
+    private final List<Switch> switches = new ArrayList<>();
+    private final List<Isl> isls = new ArrayList<>();
+    private int nextPort = 1;
+
+    private NetworkGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates ISLs (both directions) of a topology with approximately the requested number of switches.
+     */
+    public static List<Isl> generate(TopologyType type, int switchCount, long seed) {
+        NetworkGenerator generator = new NetworkGenerator(seed);
+        switch (type) {
+            case RING:
+                generator.generateRing(switchCount);
+                break;
+            case FAT_TREE:
+                generator.generateFatTree(switchCount);
+                break;
+            case MESH:
+                generator.generateMesh(switchCount);
+                break;
+            default:
+                throw new UnsupportedOperationException(String.format("Unsupported topology type %s", type));
+        }
+        return generator.isls;
+    }
+
+    /**
+     * Builds a network from ISLs. Each call creates new nodes and edges, so diversity counters and reduction
+     * performed on one network don't affect another.
+     */
+    public static AvailableNetwork buildNetwork(List<Isl> isls) {
+        AvailableNetwork network = new AvailableNetwork();
+        isls.forEach(network::addLink);
+        return network;
+    }
+
+    /**
+     * Picks the switch with the lowest id as the source, and the most distant from it switch within maxHops as the
+     * destination.
+     */
+    public static Pair<SwitchId, SwitchId> findEndpoints(AvailableNetwork network, int maxHops) {
+        Node src = network.getSwitches().stream()
+                .min(Comparator.comparing(Node::getSwitchId))
+                .orElseThrow(() -> new IllegalArgumentException("The network is empty"));
+
+        Map<Node, Integer> hops = new HashMap<>();
+        Deque<Node> queue = new ArrayDeque<>();
+        hops.put(src, 0);
+        queue.add(src);
+        Node dst = src;
+        while (!queue.isEmpty()) {
+            Node node = queue.poll();
+            int nodeHops = hops.get(node);
+            dst = node;
+            if (nodeHops == maxHops) {
+                break;
+            }
+            for (Edge edge : node.getOutgoingLinks()) {
+                if (!hops.containsKey(edge.getDestSwitch())) {
+                    hops.put(edge.getDestSwitch(), nodeHops + 1);
+                    queue.add(edge.getDestSwitch());
+                }
+            }
+        }
+        return Pair.of(src.getSwitchId(), dst.getSwitchId());
+    }
+
+    /**
+     * Converts a path found in the network into persisted path segments, as they are passed for diversity
+     * processing.
+     */
+    public static List<PathSegment> toSegments(List<Edge> path) {
+        List<PathSegment> segments = new ArrayList<>();
+        for (Edge edge : path) {
+            segments.add(PathSegment.builder()
+                    .srcSwitch(toSwitch(edge.getSrcSwitch().getSwitchId(), edge.getSrcSwitch().getPop()))
+                    .srcPort(edge.getSrcPort())
+                    .destSwitch(toSwitch(edge.getDestSwitch().getSwitchId(), edge.getDestSwitch().getPop()))
+                    .destPort(edge.getDestPort())
+                    .build());
+        }
+
+        Switch srcSwitch = segments.get(0).getSrcSwitch();
+        Switch destSwitch = segments.get(segments.size() - 1).getDestSwitch();
+        FlowPath flowPath = FlowPath.builder()
+                .pathId(new PathId("benchmark-path"))
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .flow(Flow.builder().flowId("benchmark-flow").srcSwitch(srcSwitch).destSwitch(destSwitch).build())
+                .build();
+        // Assigns sequence ids to the segments.
+        flowPath.setSegments(segments);
+        return flowPath.getSegments();
+    }
+
+    private void generateRing(int switchCount) {
+        for (int i = 0; i < switchCount; i++) {
+            addSwitch("pop-" + i / SWITCHES_PER_POP);
+        }
+        for (int i = 0; i < switchCount; i++) {
+            addLink(switches.get(i), switches.get((i + 1) % switchCount));
+        }
+    }
+
+    private void generateFatTree(int switchCount) {
+        // A k-ary fat-tree has 5k^2/4 switches: k pods of k/2 edge and k/2 aggregation switches, (k/2)^2 cores.
+        int k = Math.max(2, 2 * (int) Math.round(Math.sqrt(switchCount / 5.0)));
+        int half = k / 2;
+
+        List<Switch> cores = new ArrayList<>();
+        for (int i = 0; i < half * half; i++) {
+            cores.add(addSwitch("core"));
+        }
+        for (int pod = 0; pod < k; pod++) {
+            List<Switch> aggregations = new ArrayList<>();
+            for (int i = 0; i < half; i++) {
+                Switch aggregation = addSwitch("pod-" + pod);
+                aggregations.add(aggregation);
+                for (int j = 0; j < half; j++) {
+                    addLink(aggregation, cores.get(i * half + j));
+                }
+            }
+            for (int i = 0; i < half; i++) {
+                Switch edge = addSwitch("pod-" + pod);
+                aggregations.forEach(aggregation -> addLink(edge, aggregation));
+            }
+        }
+    }
+
+    private void generateMesh(int switchCount) {
+        for (int i = 0; i < switchCount; i++) {
+            addSwitch("pop-" + i / SWITCHES_PER_POP);
+        }
+        for (int i = 1; i < switchCount; i++) {
+            addLinks(switches.get(i - 1), switches.get(i));
+        }
+        for (int i = 0; i < switchCount; i++) {
+            for (int j = 0; j < 2; j++) {
+                int other = random.nextInt(switchCount);
+                if (other != i) {
+                    addLinks(switches.get(i), switches.get(other));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a link, and with 20% probability a parallel one.
+     */
+    private void addLinks(Switch first, Switch second) {
+        addLink(first, second);
+        if (random.nextInt(5) == 0) {
+            addLink(first, second);
+        }
+    }
+
+    private Switch addSwitch(String pop) {
+        Switch sw = toSwitch(new SwitchId(switches.size() + 1), pop);
+        switches.add(sw);
+        return sw;
+    }
+
+    private void addLink(Switch first, Switch second) {
+        int firstPort = nextPort++;
+        int secondPort = nextPort++;
+        int cost = 1 + random.nextInt(1000);
+        long latency = 1 + random.nextInt(100_000);
+        isls.add(createIsl(first, firstPort, second, secondPort, cost, latency));
+        isls.add(createIsl(second, secondPort, first, firstPort, cost, latency));
+    }
+
+    private static Isl createIsl(Switch srcSwitch, int srcPort, Switch destSwitch, int destPort, int cost,
+                                 long latency) {
+        Isl isl = Isl.builder()
+                .srcSwitch(srcSwitch)
+                .srcPort(srcPort)
+                .destSwitch(destSwitch)
+                .destPort(destPort)
+                .status(IslStatus.ACTIVE)
+                .actualStatus(IslStatus.ACTIVE)
+                .cost(cost)
+                .latency(latency)
+                .availableBandwidth(10_000_000)
+                .maxBandwidth(10_000_000)
+                .build();
+        isl.setIslConfig(ISL_CONFIG);
+        return isl;
+    }
+
+    private static Switch toSwitch(SwitchId switchId, String pop) {
+        return Switch.builder()
+                .switchId(switchId)
+                .pop(pop)
+                .build();
+    }
+}
@@ -0,0 +1,126 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputerFactory.PathFinderType;
+import org.openkilda.pce.benchmark.NetworkGenerator.TopologyType;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.CompactGraphPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks parallel calculation of Yen's spur paths. Only the finders which accept a spur path pool are covered,
+ * and only the N paths search, as a single path search doesn't use the pool.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelPathFinderBenchmark {
+    private static final int ALLOWED_DEPTH = 35;
+
+    @Param({"RING", "FAT_TREE", "MESH"})
+    private TopologyType topology;
+
+    @Param({"100", "1000", "5000"})
+    private int switches;
+
+    @Param({"COMPACT", "DIJKSTRA", "A_STAR"})
+    private PathFinderType pathFinder;
+
+    @Param({"1", "4"})
+    private int parallelism;
+
+    @Param({"10", "50"})
+    private int pathCount;
+
+    private ForkJoinPool spurPathPool;
+    private PathFinder finder;
+    private AvailableNetwork network;
+    private SwitchId srcSwitch;
+    private SwitchId dstSwitch;
+
+    /**
+     * Builds the network and picks the endpoints as distant as the allowed depth permits.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        spurPathPool = parallelism > 1 ? new ForkJoinPool(parallelism) : null;
+        finder = createPathFinder();
+
+        network = NetworkGenerator.buildNetwork(NetworkGenerator.generate(topology, switches, 42));
+        network.reduceByWeight(NetworkGenerator.COST_WEIGHT);
+
+        Pair<SwitchId, SwitchId> endpoints = NetworkGenerator.findEndpoints(network, ALLOWED_DEPTH / 2);
+        srcSwitch = endpoints.getLeft();
+        dstSwitch = endpoints.getRight();
+    }
+
+    /**
+     * Shuts down the spur path pool.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (spurPathPool != null) {
+            spurPathPool.shutdown();
+        }
+    }
+
+    @Benchmark
+    public List<List<Edge>> findNPathsBetweenSwitches() throws UnroutableFlowException {
+        return finder.findNPathsBetweenSwitches(network, srcSwitch, dstSwitch, pathCount,
+                NetworkGenerator.COST_WEIGHT);
+    }
+
+    private PathFinder createPathFinder() {
+        switch (pathFinder) {
+            case COMPACT:
+                return new CompactGraphPathFinder(ALLOWED_DEPTH, spurPathPool);
+            case DIJKSTRA:
+                return new DijkstraPathFinder(ALLOWED_DEPTH, false, spurPathPool);
+            case A_STAR:
+                return new DijkstraPathFinder(ALLOWED_DEPTH, true, spurPathPool);
+            default:
+                throw new IllegalArgumentException(String.format(
+                        "Path finder %s doesn't support parallel spur paths calculation", pathFinder));
+        }
+    }
+}
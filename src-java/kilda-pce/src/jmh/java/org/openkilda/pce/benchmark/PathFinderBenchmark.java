@@ -0,0 +1,116 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.benchmark;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputerFactory.PathFinderType;
+import org.openkilda.pce.benchmark.NetworkGenerator.TopologyType;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.BestWeightAndShortestPathFinder;
+import org.openkilda.pce.finder.CompactGraphPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks path finders over synthetic topologies. The network is reduced by weight in advance, the same way as
+ * InMemoryPathComputer does before a search. All searches run in the caller thread, see
+ * {@link ParallelPathFinderBenchmark} for parallel spur paths calculation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathFinderBenchmark {
+    private static final int ALLOWED_DEPTH = 35;
+
+    @Param({"RING", "FAT_TREE", "MESH"})
+    private TopologyType topology;
+
+    @Param({"10", "100", "1000", "5000"})
+    private int switches;
+
+    @Param({"BEST_WEIGHT", "COMPACT", "DIJKSTRA", "A_STAR"})
+    private PathFinderType pathFinder;
+
+    @Param({"10", "25", "50"})
+    private int pathCount;
+
+    private PathFinder finder;
+    private AvailableNetwork network;
+    private SwitchId srcSwitch;
+    private SwitchId dstSwitch;
+
+    /**
+     * Builds the network and picks the endpoints as distant as the allowed depth permits.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        finder = createPathFinder();
+
+        network = NetworkGenerator.buildNetwork(NetworkGenerator.generate(topology, switches, 42));
+        network.reduceByWeight(NetworkGenerator.COST_WEIGHT);
+
+        Pair<SwitchId, SwitchId> endpoints = NetworkGenerator.findEndpoints(network, ALLOWED_DEPTH / 2);
+        srcSwitch = endpoints.getLeft();
+        dstSwitch = endpoints.getRight();
+    }
+
+    @Benchmark
+    public Pair<List<Edge>, List<Edge>> findPathInNetwork() throws UnroutableFlowException {
+        return finder.findPathInNetwork(network, srcSwitch, dstSwitch, NetworkGenerator.COST_WEIGHT);
+    }
+
+    @Benchmark
+    public List<List<Edge>> findNPathsBetweenSwitches() throws UnroutableFlowException {
+        return finder.findNPathsBetweenSwitches(network, srcSwitch, dstSwitch, pathCount,
+                NetworkGenerator.COST_WEIGHT);
+    }
+
+    private PathFinder createPathFinder() {
+        switch (pathFinder) {
+            case COMPACT:
+                return new CompactGraphPathFinder(ALLOWED_DEPTH, null);
+            case DIJKSTRA:
+                return new DijkstraPathFinder(ALLOWED_DEPTH, false, null);
+            case A_STAR:
+                return new DijkstraPathFinder(ALLOWED_DEPTH, true, null);
+            case BEST_WEIGHT:
+            default:
+                return new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        }
+    }
+}
@@ -20,6 +20,8 @@ import org.openkilda.model.Isl;
 import org.openkilda.model.PathId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.BandwidthOverlay;
+import org.openkilda.pce.impl.NetworkSnapshot;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -40,11 +42,13 @@ public class AvailableNetworkFactory {
     private PathComputerConfig config;
     private IslRepository islRepository;
     private FlowPathRepository flowPathRepository;
+    private NetworkSnapshotManager networkSnapshotManager;
 
     public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
         this.config = config;
         this.islRepository = repositoryFactory.createIslRepository();
         this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        this.networkSnapshotManager = new NetworkSnapshotManager(repositoryFactory);
     }
 
     /**
@@ -73,6 +77,50 @@ public class AvailableNetworkFactory {
             throw new RecoverableException("An error from neo4j", e);
         }
 
+        fillDiversityWeights(network, flow, reusePathsResources);
+        return network;
+    }
+
+    /**
+     * Gets a {@link AvailableNetwork} built over the passed snapshot.
+     * <p/>
+     * Unlike {@link #getAvailableNetwork(Flow, List)}, ISLs occupied by {@param reusePathsResources} paths are not
+     * added separately: the caller is expected to credit the bandwidth of these paths into the overlay.
+     *
+     * @param flow                      the flow, for which {@link AvailableNetwork} is constructing.
+     * @param reusePathsResources       paths excluded from diversity weights calculation.
+     * @param snapshot                  the network state to build {@link AvailableNetwork} from.
+     * @param bandwidthOverlay          changes of available bandwidth to be applied over the snapshot.
+     * @return {@link AvailableNetwork} instance.
+     */
+    public AvailableNetwork getAvailableNetwork(Flow flow, List<PathId> reusePathsResources,
+                                                NetworkSnapshot snapshot, BandwidthOverlay bandwidthOverlay)
+            throws RecoverableException {
+        BuildStrategy buildStrategy = BuildStrategy.from(config.getNetworkStrategy());
+        AvailableNetwork network = new AvailableNetwork();
+        getAvailableIsls(buildStrategy, flow, snapshot, bandwidthOverlay).forEach(network::addLink);
+
+        try {
+            fillDiversityWeights(network, flow, reusePathsResources);
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from neo4j", e);
+        }
+        return network;
+    }
+
+    /**
+     * Gets a {@link NetworkSnapshot} to be shared by a batch of path computations. The snapshot is always loaded
+     * from the database, as the batch computation takes ISL bandwidth into account.
+     */
+    public NetworkSnapshot getNetworkSnapshot() throws RecoverableException {
+        try {
+            return networkSnapshotManager.reload();
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from neo4j", e);
+        }
+    }
+
+    private void fillDiversityWeights(AvailableNetwork network, Flow flow, List<PathId> reusePathsResources) {
         if (flow.getGroupId() != null) {
             log.info("Filling AvailableNetwork diverse weighs for group with id {}", flow.getGroupId());
 
@@ -90,8 +138,6 @@ public class AvailableNetworkFactory {
                                 network.processDiversitySegmentsWithPop(flowPath.getSegments());
                             }));
         }
-
-        return network;
     }
 
     private Collection<Isl> getAvailableIsls(BuildStrategy buildStrategy, Flow flow) {
@@ -113,6 +159,24 @@ public class AvailableNetworkFactory {
         }
     }
 
+    private Collection<Isl> getAvailableIsls(BuildStrategy buildStrategy, Flow flow, NetworkSnapshot snapshot,
+                                             BandwidthOverlay bandwidthOverlay) {
+        Collection<Isl> isls;
+        if (flow.isIgnoreBandwidth()) {
+            isls = snapshot.findAllActiveByEncapsulationType(flow.getEncapsulationType());
+        } else if (buildStrategy == BuildStrategy.COST) {
+            isls = snapshot.findActiveWithAvailableBandwidth(flow.getBandwidth(), flow.getEncapsulationType(),
+                    bandwidthOverlay);
+        } else if (buildStrategy == BuildStrategy.SYMMETRIC_COST) {
+            isls = snapshot.findSymmetricActiveWithAvailableBandwidth(flow.getBandwidth(),
+                    flow.getEncapsulationType(), bandwidthOverlay);
+        } else {
+            throw new UnsupportedOperationException(String.format("Unsupported buildStrategy type %s", buildStrategy));
+        }
+        validateIslsCost(isls);
+        return isls;
+    }
+
     private void validateIslsCost(Collection<Isl> isls) {
         List<String> messages = new ArrayList<>();
 
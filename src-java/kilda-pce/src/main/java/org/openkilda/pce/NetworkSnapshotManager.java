@@ -0,0 +1,79 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.pce.impl.NetworkSnapshot;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads versioned {@link NetworkSnapshot} instances from the database.
+ * <p/>
+ * A snapshot reflects the network at the moment of its load. Nothing keeps it up to date afterwards, so a snapshot
+ * is shared only by the path computations of a single batch and a new one is loaded for the next batch.
+ */
+@Slf4j
+public class NetworkSnapshotManager {
+    private final IslRepository islRepository;
+    private final SwitchRepository switchRepository;
+    private final SwitchPropertiesRepository switchPropertiesRepository;
+
+    private long lastVersion;
+
+    public NetworkSnapshotManager(RepositoryFactory repositoryFactory) {
+        this.islRepository = repositoryFactory.createIslRepository();
+        this.switchRepository = repositoryFactory.createSwitchRepository();
+        this.switchPropertiesRepository = repositoryFactory.createSwitchPropertiesRepository();
+    }
+
+    /**
+     * Performs a full load of the snapshot from the database.
+     */
+    public synchronized NetworkSnapshot reload() {
+        NetworkSnapshot loaded = load(lastVersion + 1);
+        log.debug("Network snapshot has been reloaded: {} ISLs, {} switches, version {}",
+                loaded.getIsls().size(), loaded.getSwitchIds().size(), loaded.getVersion());
+        lastVersion = loaded.getVersion();
+        return loaded;
+    }
+
+    private NetworkSnapshot load(long version) {
+        Collection<Isl> isls = islRepository.findAllActive();
+        Collection<Switch> switches = switchRepository.findAll();
+        Map<SwitchId, Set<FlowEncapsulationType>> supportedEncapsulation = new HashMap<>();
+        for (SwitchProperties properties : switchPropertiesRepository.findAll()) {
+            if (properties.getSwitchObj() != null && properties.getSupportedTransitEncapsulation() != null) {
+                supportedEncapsulation.put(properties.getSwitchObj().getSwitchId(),
+                        properties.getSupportedTransitEncapsulation());
+            }
+        }
+        return NetworkSnapshot.build(version, isls, switches, supportedEncapsulation);
+    }
+}
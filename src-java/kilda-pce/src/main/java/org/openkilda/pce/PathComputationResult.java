@@ -0,0 +1,46 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import org.openkilda.pce.exception.UnroutableFlowException;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Result of path computation for a flow in a batch: either the found path pair or the reason of the failure. For
+ * flows which require a protected path, the protected path pair or the reason it wasn't found is reported separately,
+ * as the primary path is usable without it.
+ */
+@Value
+@Builder
+public class PathComputationResult {
+    @NonNull
+    String flowId;
+
+    PathPair pathPair;
+
+    UnroutableFlowException error;
+
+    PathPair protectedPathPair;
+
+    UnroutableFlowException protectedError;
+
+    public boolean isSuccessful() {
+        return pathPair != null;
+    }
+}
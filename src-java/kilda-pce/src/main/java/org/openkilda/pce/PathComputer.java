@@ -23,8 +23,10 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Represents computation operations on flow path.
@@ -53,6 +55,20 @@ public interface PathComputer {
     PathPair getPath(Flow flow, List<PathId> reusePathsResources)
             throws UnroutableFlowException, RecoverableException;
 
+    /**
+     * Gets paths for a batch of flows (e.g. a mass reroute). All flows are computed against one network state loaded
+     * once per batch. The flows are processed in priority order, and bandwidth consumed by the paths found for
+     * earlier flows is not available for later ones. Protected paths are computed right after the primary ones and
+     * never share ISLs with them.
+     *
+     * @param flows the flows to compute paths for.
+     * @param reuseFlowResources allow resources (bandwidth) of the current paths of each flow to be reused in
+     *                           the computation of its new paths.
+     * @return per-flow results mapped by flow id, in the processing order.
+     */
+    Map<String, PathComputationResult> getPaths(Collection<Flow> flows, boolean reuseFlowResources)
+            throws RecoverableException;
+
     /**
      * Gets N best paths.
      *
@@ -48,6 +48,18 @@ public interface PathComputerConfig extends Serializable {
     @Default("COST")
     String getNetworkStrategy();
 
+    @Key("path.finder")
+    @Default("BEST_WEIGHT")
+    String getPathFinder();
+
+    @Key("path.finder.parallelism")
+    @Default("1")
+    int getPathFinderParallelism();
+
+    @Key("flow.default.priority")
+    @Default("1000")
+    int getDefaultFlowPriority();
+
     @Key("isl.cost.when.unstable")
     @Default("10000")
     int getUnstableCostRaise();
@@ -16,8 +16,13 @@
 package org.openkilda.pce;
 
 import org.openkilda.pce.finder.BestWeightAndShortestPathFinder;
+import org.openkilda.pce.finder.CompactGraphPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 
+import java.util.concurrent.ForkJoinPool;
+
 /**
  * A factory for {@link PathComputer} instances. It provides a specific {@link PathComputer} depending on configuration
  * ({@link PathComputerConfig}).
@@ -26,6 +31,7 @@ public class PathComputerFactory {
 
     private PathComputerConfig config;
     private AvailableNetworkFactory availableNetworkFactory;
+    private ForkJoinPool spurPathPool;
 
     public PathComputerFactory(PathComputerConfig config, AvailableNetworkFactory availableNetworkFactory) {
         this.config = config;
@@ -38,8 +44,64 @@ public class PathComputerFactory {
      * @return {@link PathComputer} instance
      */
     public PathComputer getPathComputer() {
-        return new InMemoryPathComputer(availableNetworkFactory,
-                new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth()),
-                config);
+        return new InMemoryPathComputer(availableNetworkFactory, getPathFinder(), config);
+    }
+
+    private PathFinder getPathFinder() {
+        switch (PathFinderType.from(config.getPathFinder())) {
+            case COMPACT:
+                return new CompactGraphPathFinder(config.getMaxAllowedDepth(), getSpurPathPool());
+            case DIJKSTRA:
+                return new DijkstraPathFinder(config.getMaxAllowedDepth(), false, getSpurPathPool());
+            case A_STAR:
+                return new DijkstraPathFinder(config.getMaxAllowedDepth(), true, getSpurPathPool());
+            case BEST_WEIGHT:
+            default:
+                return new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth());
+        }
+    }
+
+    /**
+     * Returns the pool shared by all path finders created by this factory, or null if parallel calculation is
+     * disabled.
+     */
+    private synchronized ForkJoinPool getSpurPathPool() {
+        if (spurPathPool == null && config.getPathFinderParallelism() > 1) {
+            spurPathPool = new ForkJoinPool(config.getPathFinderParallelism());
+        }
+        return spurPathPool;
+    }
+
+    public enum PathFinderType {
+        /**
+         * {@link BestWeightAndShortestPathFinder} working over the object graph of the network.
+         */
+        BEST_WEIGHT,
+
+        /**
+         * {@link CompactGraphPathFinder} working over the primitive array representation of the network.
+         */
+        COMPACT,
+
+        /**
+         * {@link DijkstraPathFinder} with a priority queue.
+         */
+        DIJKSTRA,
+
+        /**
+         * {@link DijkstraPathFinder} directed by the hop count lower bound.
+         */
+        A_STAR;
+
+        private static PathFinderType from(String pathFinder) {
+            if (pathFinder == null) {
+                return BEST_WEIGHT;
+            }
+            try {
+                return valueOf(pathFinder.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("PathFinder %s is not supported", pathFinder));
+            }
+        }
     }
 }
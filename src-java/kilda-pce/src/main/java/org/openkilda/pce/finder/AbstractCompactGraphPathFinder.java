@@ -0,0 +1,334 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.CompactGraph;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Base for path finders working over {@link CompactGraph}. Implements reverse path building and Yen's algorithm,
+ * the specific finder provides the search of the best path between two nodes.
+ * <p/>
+ * If a {@link ForkJoinPool} is provided, the spur paths of each Yen's iteration are calculated in parallel. The graph
+ * is never modified during the search (each spur path search gets its own {@link GraphMask}), so the result doesn't
+ * depend on the parallelism.
+ */
+@Slf4j
+public abstract class AbstractCompactGraphPathFinder implements PathFinder {
+    protected final int allowedDepth;
+    private final ForkJoinPool spurPathPool;
+
+    protected AbstractCompactGraphPathFinder(int allowedDepth, ForkJoinPool spurPathPool) {
+        this.allowedDepth = allowedDepth;
+        this.spurPathPool = spurPathPool;
+    }
+
+    /**
+     * Finds the best path from the start to the end node. Masked edges must be skipped, masked nodes may be reached
+     * but must not be expanded.
+     *
+     * @return edge indexes of the found path, or an empty array.
+     */
+    protected abstract int[] findBestPath(CompactGraph graph, int start, int end, GraphMask mask);
+
+    @Override
+    public Pair<List<Edge>, List<Edge>> findPathInNetwork(AvailableNetwork network,
+                                                          SwitchId startSwitchId, SwitchId endSwitchId,
+                                                          WeightFunction weightFunction)
+            throws UnroutableFlowException {
+        CompactGraph graph = CompactGraph.build(network, weightFunction);
+        int start = graph.getNodeIndex(startSwitchId);
+        int end = graph.getNodeIndex(endSwitchId);
+        checkEndpoints(start, end, startSwitchId, endSwitchId);
+
+        List<Edge> forwardPath = toEdges(graph, findBestPath(graph, start, end, new GraphMask(graph)));
+        return toBiPath(graph, start, end, forwardPath);
+    }
+
+    /**
+     * Find N (or less) best paths. To find N paths Yen's algorithm is used. Instead of modification of the network,
+     * removed edges and nodes are masked in the compact graph.
+     *
+     * @return an list of N (or less) best paths.
+     */
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count,
+            WeightFunction weightFunction) throws UnroutableFlowException {
+        CompactGraph graph = CompactGraph.build(network, weightFunction);
+        int start = graph.getNodeIndex(startSwitchId);
+        int end = graph.getNodeIndex(endSwitchId);
+        checkEndpoints(start, end, startSwitchId, endSwitchId);
+
+        // Determine the shortest path from the start to the end.
+        List<int[]> bestPaths = new ArrayList<>();
+        bestPaths.add(findBestPath(graph, start, end, new GraphMask(graph)));
+
+        // Initialize the set to store the potential kth shortest path.
+        Set<List<Edge>> potentialKthShortestPaths = new HashSet<>();
+
+        for (int k = 1; k < count; k++) {
+            int[] bestPath = bestPaths.get(k - 1);
+            for (int[] totalPath : findSpurPaths(graph, end, bestPaths, bestPath)) {
+                if (totalPath != null) {
+                    potentialKthShortestPaths.add(toEdges(graph, totalPath));
+                }
+            }
+
+            if (potentialKthShortestPaths.isEmpty()) {
+                break;
+            }
+
+            // Add the lowest weight path becomes the k-shortest path.
+            List<Edge> newBestPath = getBestPotentialKthShortestPath(graph, potentialKthShortestPaths, bestPaths,
+                    weightFunction);
+            bestPaths.add(toIndexes(graph, newBestPath));
+        }
+
+        List<List<Edge>> result = new ArrayList<>(bestPaths.size());
+        for (int[] path : bestPaths) {
+            result.add(toEdges(graph, path));
+        }
+        return result;
+    }
+
+    /**
+     * Calculates the spur paths for each node of the previous k-shortest path.
+     *
+     * @return total paths (root path and spur path) indexed by the spur node position, null if there's no spur path.
+     */
+    private List<int[]> findSpurPaths(CompactGraph graph, int end, List<int[]> bestPaths, int[] bestPath) {
+        List<int[]> result = new ArrayList<>(bestPath.length);
+        if (spurPathPool == null || bestPath.length < 2) {
+            GraphMask mask = new GraphMask(graph);
+            for (int i = 0; i < bestPath.length; i++) {
+                mask.reset();
+                result.add(findSpurPath(graph, end, bestPaths, bestPath, i, mask));
+            }
+            return result;
+        }
+
+        List<Callable<int[]>> tasks = new ArrayList<>(bestPath.length);
+        for (int i = 0; i < bestPath.length; i++) {
+            int spurIndex = i;
+            tasks.add(() -> findSpurPath(graph, end, bestPaths, bestPath, spurIndex, new GraphMask(graph)));
+        }
+        try {
+            for (Future<int[]> future : spurPathPool.invokeAll(tasks)) {
+                result.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calculating spur paths", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to calculate spur path", e.getCause());
+        }
+        return result;
+    }
+
+    private int[] findSpurPath(CompactGraph graph, int end, List<int[]> bestPaths, int[] bestPath, int spurIndex,
+                               GraphMask mask) {
+        // Mask the links that are part of the previous shortest paths which share the same root path.
+        for (int[] path : bestPaths) {
+            if (path.length > spurIndex && isSamePrefix(bestPath, path, spurIndex)) {
+                mask.removeEdge(path[spurIndex]);
+            }
+        }
+        // Mask the nodes of the root path (without spur node).
+        for (int j = 0; j < spurIndex; j++) {
+            mask.removeNode(graph.getEdgeSrc(bestPath[j]));
+        }
+
+        // Spur node is retrieved from the previous k-shortest path.
+        int spurNode = graph.getEdgeSrc(bestPath[spurIndex]);
+        // Calculate the spur path from the spur node to the end.
+        int[] pathFromSpurNode = findBestPath(graph, spurNode, end, mask);
+        if (pathFromSpurNode.length == 0) {
+            return null;
+        }
+        // Entire path is made up of the root path and spur path.
+        int[] totalPath = Arrays.copyOf(bestPath, spurIndex + pathFromSpurNode.length);
+        System.arraycopy(pathFromSpurNode, 0, totalPath, spurIndex, pathFromSpurNode.length);
+        return totalPath;
+    }
+
+    protected void checkEndpoints(int start, int end, SwitchId startSwitchId, SwitchId endSwitchId)
+            throws UnroutableFlowException {
+        if (start == -1 || end == -1) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                    start == -1 ? startSwitchId : endSwitchId));
+        }
+    }
+
+    protected Pair<List<Edge>, List<Edge>> toBiPath(CompactGraph graph, int start, int end, List<Edge> forwardPath)
+            throws UnroutableFlowException {
+        if (forwardPath.isEmpty()) {
+            throw new UnroutableFlowException(format("Can't find a path from %s to %s",
+                    graph.getNode(start), graph.getNode(end)));
+        }
+
+        List<Edge> reversePath = getReversePath(forwardPath);
+        if (!isPathValid(graph, forwardPath)) {
+            log.warn(format("Failed to find symmetric reverse path from %s to %s. Forward path: %s",
+                    graph.getNode(end).getSwitchId(), graph.getNode(start).getSwitchId(),
+                    StringUtils.join(forwardPath, ", ")));
+        }
+        return Pair.of(forwardPath, reversePath);
+    }
+
+    protected List<Edge> getReversePath(List<Edge> forwardPath) {
+        List<Edge> reversePath = new ArrayList<>(forwardPath.size());
+        for (int i = forwardPath.size() - 1; i >= 0; i--) {
+            reversePath.add(forwardPath.get(i).swap());
+        }
+        return reversePath;
+    }
+
+    /**
+     * Checks that each edge of the path has an opposite one in the graph.
+     */
+    private boolean isPathValid(CompactGraph graph, List<Edge> forwardPath) {
+        for (int edge : toIndexes(graph, forwardPath)) {
+            if (edge == -1 || graph.getReverseEdge(edge) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private List<Edge> getBestPotentialKthShortestPath(CompactGraph graph, Set<List<Edge>> potentialKthShortestPaths,
+                                                       List<int[]> bestPaths, WeightFunction weightFunction) {
+        List<List<Edge>> bestEdgePaths = new ArrayList<>(bestPaths.size());
+        for (int[] path : bestPaths) {
+            bestEdgePaths.add(toEdges(graph, path));
+        }
+
+        List<Edge> bestKthShortestPath = new ArrayList<>();
+        long bestAvailableBandwidth = Long.MIN_VALUE;
+        long bestWeight = Long.MAX_VALUE;
+
+        for (List<Edge> path : potentialKthShortestPaths) {
+            long currentAvailableBandwidth = path.stream().mapToLong(Edge::getAvailableBandwidth).min()
+                    .orElse(Long.MIN_VALUE);
+            long currentWeight = path.isEmpty() ? Long.MAX_VALUE : path.stream().mapToLong(weightFunction::apply).sum();
+            if (!bestEdgePaths.contains(path) && (currentAvailableBandwidth > bestAvailableBandwidth
+                    || (currentAvailableBandwidth == bestAvailableBandwidth && currentWeight < bestWeight))) {
+                bestAvailableBandwidth = currentAvailableBandwidth;
+                bestWeight = currentWeight;
+                bestKthShortestPath = path;
+            }
+        }
+
+        potentialKthShortestPaths.remove(bestKthShortestPath);
+        return bestKthShortestPath;
+    }
+
+    private static boolean isSamePrefix(int[] first, int[] second, int length) {
+        for (int i = 0; i < length; i++) {
+            if (first[i] != second[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    protected static List<Edge> toEdges(CompactGraph graph, int[] path) {
+        List<Edge> edges = new ArrayList<>(path.length);
+        for (int edge : path) {
+            edges.add(graph.getEdge(edge));
+        }
+        return edges;
+    }
+
+    private static int[] toIndexes(CompactGraph graph, List<Edge> path) {
+        int[] result = new int[path.size()];
+        for (int i = 0; i < result.length; i++) {
+            Edge edge = path.get(i);
+            int src = graph.getNodeIndex(edge.getSrcSwitch().getSwitchId());
+            result[i] = -1;
+            if (src == -1) {
+                continue;
+            }
+            for (int e = graph.getFirstEdge(src); e < graph.getFirstEdge(src + 1); e++) {
+                if (graph.getEdge(e).equals(edge)) {
+                    result[i] = e;
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Edges and nodes excluded from the search. A removed edge is masked together with its opposite edge.
+     */
+    protected static final class GraphMask {
+        private final CompactGraph graph;
+        private final boolean[] removedEdges;
+        private final boolean[] removedNodes;
+
+        GraphMask(CompactGraph graph) {
+            this.graph = graph;
+            this.removedEdges = new boolean[graph.getEdgeCount()];
+            this.removedNodes = new boolean[graph.getNodeCount()];
+        }
+
+        void removeEdge(int edge) {
+            removedEdges[edge] = true;
+            int reverse = graph.getReverseEdge(edge);
+            if (reverse != -1) {
+                removedEdges[reverse] = true;
+            }
+        }
+
+        void removeNode(int node) {
+            removedNodes[node] = true;
+        }
+
+        void reset() {
+            Arrays.fill(removedEdges, false);
+            Arrays.fill(removedNodes, false);
+        }
+
+        boolean isEdgeRemoved(int edge) {
+            return removedEdges[edge];
+        }
+
+        boolean isNodeRemoved(int node) {
+            return removedNodes[node];
+        }
+    }
+}
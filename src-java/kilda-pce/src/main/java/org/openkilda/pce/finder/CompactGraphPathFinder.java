@@ -0,0 +1,257 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.CompactGraph;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The same algorithm as {@link BestWeightAndShortestPathFinder}, but performed over {@link CompactGraph}.
+ * <p/>
+ * Search nodes are kept in primitive arrays which are reused during the search (the visited nodes refer to their
+ * parents by index), so no objects are allocated per visited node and parent paths are never copied. The found paths
+ * are the same as the ones found by {@link BestWeightAndShortestPathFinder}.
+ */
+public class CompactGraphPathFinder extends AbstractCompactGraphPathFinder {
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     */
+    public CompactGraphPathFinder(int allowedDepth) {
+        this(allowedDepth, null);
+    }
+
+    /**
+     * Constructs the finder with the specified limit on path depth and the pool for parallel spur paths calculation.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param spurPathPool the pool for Yen's spur paths calculation, null for calculation in the caller thread.
+     */
+    public CompactGraphPathFinder(int allowedDepth, ForkJoinPool spurPathPool) {
+        super(allowedDepth, spurPathPool);
+    }
+
+    @Override
+    protected int[] findBestPath(CompactGraph graph, int start, int end, GraphMask mask) {
+        return new SearchState(graph).getPath(start, end, allowedDepth, mask);
+    }
+
+    @Override
+    public Pair<List<Edge>, List<Edge>> findPathInNetwork(AvailableNetwork network,
+                                                          SwitchId startSwitchId, SwitchId endSwitchId,
+                                                          WeightFunction weightFunction, long maxWeight)
+            throws UnroutableFlowException {
+        CompactGraph graph = CompactGraph.build(network, weightFunction);
+        int start = graph.getNodeIndex(startSwitchId);
+        int end = graph.getNodeIndex(endSwitchId);
+        checkEndpoints(start, end, startSwitchId, endSwitchId);
+
+        SearchState state = new SearchState(graph);
+        int desiredPath = state.getDesiredPath(start, end, allowedDepth, maxWeight);
+        List<Edge> forwardPath = desiredPath != -1 ? toEdges(graph, state.getPathTo(desiredPath)) : new ArrayList<>();
+        long forwardWeight = desiredPath != -1 ? state.getWeight(desiredPath) : 0;
+
+        int desiredReversePath = state.getDesiredPath(end, start, allowedDepth, maxWeight);
+        if (desiredReversePath != -1
+                && (desiredPath == -1 || state.getWeight(desiredReversePath) > forwardWeight)) {
+            forwardPath = getReversePath(toEdges(graph, state.getPathTo(desiredReversePath)));
+        }
+
+        return toBiPath(graph, start, end, forwardPath);
+    }
+
+    /**
+     * Holds search data. Search nodes are appended to the arrays and never removed, so the arrays serve as
+     * the FIFO queue (the head pointer moves forward) and as the storage of parent references at the same time.
+     */
+    private static final class SearchState {
+        private static final int INITIAL_CAPACITY = 256;
+
+        private final CompactGraph graph;
+        private final int[] visited;
+
+        private int[] searchNode = new int[INITIAL_CAPACITY];
+        private int[] searchDepth = new int[INITIAL_CAPACITY];
+        private long[] searchWeight = new long[INITIAL_CAPACITY];
+        private int[] searchParent = new int[INITIAL_CAPACITY];
+        private int[] searchEdge = new int[INITIAL_CAPACITY];
+        private int size;
+
+        SearchState(CompactGraph graph) {
+            this.graph = graph;
+            this.visited = new int[graph.getNodeCount()];
+        }
+
+        long getWeight(int searchNodeIndex) {
+            return searchWeight[searchNodeIndex];
+        }
+
+        /**
+         * Finds the best (the lowest weight) path. See BestWeightAndShortestPathFinder#getPath.
+         *
+         * @return edge indexes of the found path, or an empty array.
+         */
+        int[] getPath(int start, int end, int allowedDepth, GraphMask mask) {
+            reset();
+            long bestWeight = Long.MAX_VALUE;
+            int bestPath = -1;
+
+            add(start, allowedDepth, 0, -1, -1);
+            for (int current = 0; current < size; current++) {
+                int node = searchNode[current];
+                long weight = searchWeight[current];
+
+                if (node == end) {
+                    if (weight < bestWeight) {
+                        bestWeight = weight;
+                        bestPath = current;
+                    }
+                    continue;
+                }
+
+                int prior = visited[node];
+                if (prior != -1 && weight >= searchWeight[prior]) {
+                    continue;
+                }
+
+                if (searchDepth[current] <= 0 || weight > bestWeight) {
+                    continue;
+                }
+
+                visited[node] = current;
+                expand(current, mask);
+            }
+
+            return bestPath != -1 ? getPathTo(bestPath) : new int[0];
+        }
+
+        /**
+         * Finds a path whose weight is less than maxWeight and as close to maxWeight as possible.
+         * See BestWeightAndShortestPathFinder#getDesiredPath.
+         *
+         * @return the index of the search node which finishes the found path, or -1.
+         */
+        int getDesiredPath(int start, int end, int allowedDepth, long maxWeight) {
+            reset();
+            long desiredWeight = Long.MAX_VALUE;
+            int desiredPath = -1;
+
+            add(start, allowedDepth, 0, -1, -1);
+            for (int current = 0; current < size; current++) {
+                int node = searchNode[current];
+                long weight = searchWeight[current];
+
+                // Leave if the path contains this node
+                if (isOnParentPath(current, node)) {
+                    continue;
+                }
+
+                long shiftedCurrentWeight = Math.abs(maxWeight - weight);
+
+                if (node == end) {
+                    if (shiftedCurrentWeight < desiredWeight && weight < maxWeight) {
+                        desiredWeight = shiftedCurrentWeight;
+                        desiredPath = current;
+                    }
+                    continue;
+                }
+
+                if (searchDepth[current] <= 0 || weight >= maxWeight) {
+                    continue;
+                }
+
+                int prior = visited[node];
+                if (prior != -1 && shiftedCurrentWeight >= Math.abs(maxWeight - searchWeight[prior])) {
+                    continue;
+                }
+
+                visited[node] = current;
+                expand(current, null);
+            }
+
+            return desiredPath;
+        }
+
+        int[] getPathTo(int searchNodeIndex) {
+            int length = 0;
+            for (int i = searchNodeIndex; searchParent[i] != -1; i = searchParent[i]) {
+                length++;
+            }
+            int[] path = new int[length];
+            for (int i = searchNodeIndex; searchParent[i] != -1; i = searchParent[i]) {
+                path[--length] = searchEdge[i];
+            }
+            return path;
+        }
+
+        private boolean isOnParentPath(int searchNodeIndex, int node) {
+            for (int i = searchParent[searchNodeIndex]; i != -1; i = searchParent[i]) {
+                if (searchNode[i] == node) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void expand(int current, GraphMask mask) {
+            int node = searchNode[current];
+            if (mask != null && mask.isNodeRemoved(node)) {
+                return;
+            }
+            int depth = searchDepth[current] - 1;
+            long weight = searchWeight[current];
+            for (int edge = graph.getFirstEdge(node); edge < graph.getFirstEdge(node + 1); edge++) {
+                if (mask == null || !mask.isEdgeRemoved(edge)) {
+                    add(graph.getEdgeDst(edge), depth, weight + graph.getEdgeWeight(edge), current, edge);
+                }
+            }
+        }
+
+        private void add(int node, int depth, long weight, int parent, int edge) {
+            if (size == searchNode.length) {
+                int capacity = size * 2;
+                searchNode = Arrays.copyOf(searchNode, capacity);
+                searchDepth = Arrays.copyOf(searchDepth, capacity);
+                searchWeight = Arrays.copyOf(searchWeight, capacity);
+                searchParent = Arrays.copyOf(searchParent, capacity);
+                searchEdge = Arrays.copyOf(searchEdge, capacity);
+            }
+            searchNode[size] = node;
+            searchDepth[size] = depth;
+            searchWeight[size] = weight;
+            searchParent[size] = parent;
+            searchEdge[size] = edge;
+            size++;
+        }
+
+        private void reset() {
+            size = 0;
+            Arrays.fill(visited, -1);
+        }
+    }
+}
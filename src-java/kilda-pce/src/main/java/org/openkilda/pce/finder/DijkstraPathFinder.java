@@ -0,0 +1,340 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.CompactGraph;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Finds the best (the lowest weight, then the shortest) path using Dijkstra's algorithm with a binary heap over
+ * {@link CompactGraph}. Each node is settled once, so the complexity is O(E log N) regardless of how meshy the
+ * network is.
+ * <p/>
+ * Optionally the search is directed by A* lower bound: the hop count to the end node multiplied by the minimal edge
+ * weight. Nodes which can't reach the end node are not explored at all in this mode.
+ * <p/>
+ * The path depth is limited by allowedDepth the same way as in {@link BestWeightAndShortestPathFinder}. If the best
+ * path is deeper than allowed, the best path within the depth is found by hop-bounded Bellman-Ford relaxation.
+ * Networks with negative weights and the search by max weight are handled by {@link CompactGraphPathFinder}.
+ */
+public class DijkstraPathFinder extends AbstractCompactGraphPathFinder {
+    private final boolean useLowerBound;
+    private final CompactGraphPathFinder fallbackPathFinder;
+
+    /**
+     * Constructs the finder.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param useLowerBound whether to use A* lower bound based on the hop count.
+     */
+    public DijkstraPathFinder(int allowedDepth, boolean useLowerBound) {
+        this(allowedDepth, useLowerBound, null);
+    }
+
+    /**
+     * Constructs the finder.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     * @param useLowerBound whether to use A* lower bound based on the hop count.
+     * @param spurPathPool the pool for Yen's spur paths calculation, null for calculation in the caller thread.
+     */
+    public DijkstraPathFinder(int allowedDepth, boolean useLowerBound, ForkJoinPool spurPathPool) {
+        super(allowedDepth, spurPathPool);
+        this.useLowerBound = useLowerBound;
+        this.fallbackPathFinder = new CompactGraphPathFinder(allowedDepth);
+    }
+
+    @Override
+    public Pair<List<Edge>, List<Edge>> findPathInNetwork(AvailableNetwork network,
+                                                          SwitchId startSwitchId, SwitchId endSwitchId,
+                                                          WeightFunction weightFunction, long maxWeight)
+            throws UnroutableFlowException {
+        // The path closest to maxWeight is not the best one, so priority-first search is not applicable here.
+        return fallbackPathFinder.findPathInNetwork(network, startSwitchId, endSwitchId, weightFunction, maxWeight);
+    }
+
+    @Override
+    protected int[] findBestPath(CompactGraph graph, int start, int end, GraphMask mask) {
+        if (graph.getMinEdgeWeight() < 0) {
+            return fallbackPathFinder.findBestPath(graph, start, end, mask);
+        }
+
+        int nodeCount = graph.getNodeCount();
+        long[] lowerBounds = useLowerBound ? getLowerBounds(graph, end) : new long[nodeCount];
+        if (lowerBounds[start] == Long.MAX_VALUE) {
+            return new int[0];
+        }
+
+        long[] weights = new long[nodeCount];
+        int[] hops = new int[nodeCount];
+        int[] parentEdges = new int[nodeCount];
+        boolean[] settled = new boolean[nodeCount];
+        Arrays.fill(weights, Long.MAX_VALUE);
+        Arrays.fill(parentEdges, -1);
+
+        long[] priorities = new long[nodeCount];
+        NodeHeap heap = new NodeHeap(nodeCount, priorities, hops);
+
+        weights[start] = 0;
+        priorities[start] = lowerBounds[start];
+        heap.push(start);
+        while (!heap.isEmpty()) {
+            int node = heap.pop();
+            settled[node] = true;
+            if (node == end) {
+                break;
+            }
+            if (mask.isNodeRemoved(node)) {
+                continue;
+            }
+
+            for (int edge = graph.getFirstEdge(node); edge < graph.getFirstEdge(node + 1); edge++) {
+                int next = graph.getEdgeDst(edge);
+                if (settled[next] || mask.isEdgeRemoved(edge) || lowerBounds[next] == Long.MAX_VALUE) {
+                    continue;
+                }
+                long weight = weights[node] + graph.getEdgeWeight(edge);
+                int nextHops = hops[node] + 1;
+                if (weight < weights[next] || (weight == weights[next] && nextHops < hops[next])) {
+                    weights[next] = weight;
+                    hops[next] = nextHops;
+                    parentEdges[next] = edge;
+                    priorities[next] = weight + lowerBounds[next];
+                    heap.pushOrUpdate(next);
+                }
+            }
+        }
+
+        if (!settled[end] || start == end) {
+            return new int[0];
+        }
+        if (hops[end] > allowedDepth) {
+            return findDepthBoundedPath(graph, start, end, mask);
+        }
+
+        int[] path = new int[hops[end]];
+        for (int node = end, i = path.length - 1; i >= 0; i--) {
+            path[i] = parentEdges[node];
+            node = graph.getEdgeSrc(parentEdges[node]);
+        }
+        return path;
+    }
+
+    /**
+     * Calculates for each node the hop count to the end node multiplied by the minimal edge weight. It never exceeds
+     * the weight of the rest of the path, so Dijkstra's algorithm keeps finding the best path (A*).
+     *
+     * @return the lower bounds, Long.MAX_VALUE for the nodes which can't reach the end node.
+     */
+    private long[] getLowerBounds(CompactGraph graph, int end) {
+        int nodeCount = graph.getNodeCount();
+        int edgeCount = graph.getEdgeCount();
+
+        // Incoming edges in CSR form.
+        int[] firstIncoming = new int[nodeCount + 1];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            firstIncoming[graph.getEdgeDst(edge) + 1]++;
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            firstIncoming[node + 1] += firstIncoming[node];
+        }
+        int[] incomingSrc = new int[edgeCount];
+        int[] fill = Arrays.copyOf(firstIncoming, nodeCount);
+        for (int edge = 0; edge < edgeCount; edge++) {
+            incomingSrc[fill[graph.getEdgeDst(edge)]++] = graph.getEdgeSrc(edge);
+        }
+
+        long[] lowerBounds = new long[nodeCount];
+        Arrays.fill(lowerBounds, Long.MAX_VALUE);
+        int[] hops = new int[nodeCount];
+        int[] queue = new int[nodeCount];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = end;
+        lowerBounds[end] = 0;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int i = firstIncoming[node]; i < firstIncoming[node + 1]; i++) {
+                int prev = incomingSrc[i];
+                if (lowerBounds[prev] == Long.MAX_VALUE) {
+                    hops[prev] = hops[node] + 1;
+                    lowerBounds[prev] = hops[prev] * graph.getMinEdgeWeight();
+                    queue[tail++] = prev;
+                }
+            }
+        }
+        return lowerBounds;
+    }
+
+    /**
+     * Finds the best path not deeper than allowedDepth. Round k finds the best walks of exactly k edges, the best of
+     * all rounds is a simple path, as removing a loop from a walk doesn't increase its weight and reduces its depth.
+     */
+    private int[] findDepthBoundedPath(CompactGraph graph, int start, int end, GraphMask mask) {
+        int nodeCount = graph.getNodeCount();
+        int[][] parentEdges = new int[allowedDepth + 1][];
+        long[] current = new long[nodeCount];
+        long[] next = new long[nodeCount];
+        Arrays.fill(current, Long.MAX_VALUE);
+        current[start] = 0;
+
+        long bestWeight = Long.MAX_VALUE;
+        int bestDepth = -1;
+        for (int depth = 1; depth <= allowedDepth; depth++) {
+            Arrays.fill(next, Long.MAX_VALUE);
+            int[] parents = new int[nodeCount];
+            parentEdges[depth] = parents;
+            boolean changed = false;
+            for (int node = 0; node < nodeCount; node++) {
+                if (current[node] == Long.MAX_VALUE || node == end || mask.isNodeRemoved(node)) {
+                    continue;
+                }
+                for (int edge = graph.getFirstEdge(node); edge < graph.getFirstEdge(node + 1); edge++) {
+                    if (mask.isEdgeRemoved(edge)) {
+                        continue;
+                    }
+                    int dst = graph.getEdgeDst(edge);
+                    long weight = current[node] + graph.getEdgeWeight(edge);
+                    if (weight < next[dst]) {
+                        next[dst] = weight;
+                        parents[dst] = edge;
+                        changed = true;
+                    }
+                }
+            }
+            if (next[end] < bestWeight) {
+                bestWeight = next[end];
+                bestDepth = depth;
+            }
+            if (!changed) {
+                break;
+            }
+            long[] swap = current;
+            current = next;
+            next = swap;
+        }
+
+        if (bestDepth == -1) {
+            return new int[0];
+        }
+        int[] path = new int[bestDepth];
+        for (int node = end, depth = bestDepth; depth > 0; depth--) {
+            path[depth - 1] = parentEdges[depth][node];
+            node = graph.getEdgeSrc(path[depth - 1]);
+        }
+        return path;
+    }
+
+    /**
+     * Binary min-heap of node indexes ordered by priority, then by hop count. Supports priority decrease.
+     */
+    private static final class NodeHeap {
+        private final int[] heap;
+        private final int[] positions;
+        private final long[] priorities;
+        private final int[] hops;
+        private int size;
+
+        NodeHeap(int capacity, long[] priorities, int[] hops) {
+            this.heap = new int[capacity];
+            this.positions = new int[capacity];
+            this.priorities = priorities;
+            this.hops = hops;
+            Arrays.fill(positions, -1);
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int node) {
+            heap[size] = node;
+            positions[node] = size;
+            siftUp(size++);
+        }
+
+        void pushOrUpdate(int node) {
+            if (positions[node] == -1) {
+                push(node);
+            } else {
+                siftUp(positions[node]);
+            }
+        }
+
+        int pop() {
+            int top = heap[0];
+            positions[top] = -1;
+            if (--size > 0) {
+                heap[0] = heap[size];
+                positions[heap[0]] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        private void siftUp(int index) {
+            int node = heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!less(node, heap[parent])) {
+                    break;
+                }
+                move(heap[parent], index);
+                index = parent;
+            }
+            move(node, index);
+        }
+
+        private void siftDown(int index) {
+            int node = heap[index];
+            while (true) {
+                int child = 2 * index + 1;
+                if (child >= size) {
+                    break;
+                }
+                if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!less(heap[child], node)) {
+                    break;
+                }
+                move(heap[child], index);
+                index = child;
+            }
+            move(node, index);
+        }
+
+        private void move(int node, int index) {
+            heap[index] = node;
+            positions[node] = index;
+        }
+
+        private boolean less(int first, int second) {
+            return priorities[first] < priorities[second]
+                    || (priorities[first] == priorities[second] && hops[first] < hops[second]);
+        }
+    }
+}
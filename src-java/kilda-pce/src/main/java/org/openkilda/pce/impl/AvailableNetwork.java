@@ -20,6 +20,7 @@ import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.LinkKey;
 import org.openkilda.pce.model.Node;
 import org.openkilda.pce.model.WeightFunction;
 
@@ -27,6 +28,8 @@ import com.google.common.annotations.VisibleForTesting;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -51,6 +54,10 @@ public class AvailableNetwork {
         return switches.get(dpid);
     }
 
+    public Collection<Node> getSwitches() {
+        return Collections.unmodifiableCollection(switches.values());
+    }
+
     /**
      * Creates switches (if they are not created yet) and ISL between them.
      */
@@ -81,6 +88,25 @@ public class AvailableNetwork {
         }
     }
 
+    /**
+     * Removes ISLs from the network, so they can't be used by found paths.
+     */
+    public void removeLinks(Collection<LinkKey> links) {
+        if (links.isEmpty()) {
+            return;
+        }
+        edges.removeIf(edge -> {
+            LinkKey key = new LinkKey(edge.getSrcSwitch().getSwitchId(), edge.getSrcPort(),
+                    edge.getDestSwitch().getSwitchId(), edge.getDestPort());
+            if (!links.contains(key)) {
+                return false;
+            }
+            edge.getSrcSwitch().getOutgoingLinks().remove(edge);
+            edge.getDestSwitch().getIncomingLinks().remove(edge);
+            return true;
+        });
+    }
+
     private Node getOrInitSwitch(final Switch sw) {
         return switches.computeIfAbsent(sw.getSwitchId(), switchId ->  Node.fromSwitch(sw));
     }
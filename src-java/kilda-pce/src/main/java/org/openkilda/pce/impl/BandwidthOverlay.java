@@ -0,0 +1,63 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.Isl;
+import org.openkilda.pce.model.LinkKey;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Changes of ISL available bandwidth made by a batch of path computations over a shared {@link NetworkSnapshot}.
+ * Only changed ISLs are tracked, so the snapshot itself is never copied.
+ * <p/>
+ * Not thread-safe.
+ */
+public class BandwidthOverlay {
+    private final Map<LinkKey, Long> deltas = new HashMap<>();
+
+    /**
+     * Changes available bandwidth of the links by the delta.
+     */
+    public void add(Collection<LinkKey> links, long delta) {
+        if (delta == 0) {
+            return;
+        }
+        for (LinkKey link : links) {
+            deltas.merge(link, delta, (current, added) -> current + added != 0 ? current + added : null);
+        }
+    }
+
+    long getAvailableBandwidth(LinkKey key, Isl isl) {
+        return isl.getAvailableBandwidth() + deltas.getOrDefault(key, 0L);
+    }
+
+    /**
+     * Returns the ISL with changed available bandwidth, or the passed ISL if its bandwidth is not changed.
+     */
+    Isl apply(LinkKey key, Isl isl) {
+        Long delta = deltas.get(key);
+        if (delta == null) {
+            return isl;
+        }
+        Isl updated = isl.toBuilder().availableBandwidth(isl.getAvailableBandwidth() + delta).build();
+        updated.setIslConfig(isl.getIslConfig());
+        return updated;
+    }
+}
@@ -20,12 +20,15 @@ import static java.util.Collections.emptyList;
 
 import org.openkilda.model.Flow;
 import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.FlowPath;
 import org.openkilda.model.PathComputationStrategy;
 import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.AvailableNetworkFactory;
 import org.openkilda.pce.Path;
+import org.openkilda.pce.PathComputationResult;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathPair;
@@ -33,15 +36,23 @@ import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.exception.UnroutableFlowException;
 import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.LinkKey;
 import org.openkilda.pce.model.WeightFunction;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -93,6 +104,92 @@ public class InMemoryPathComputer implements PathComputer {
         return convertToPathPair(flow.getSrcSwitch().getSwitchId(), flow.getDestSwitch().getSwitchId(), biPath);
     }
 
+    @Override
+    public Map<String, PathComputationResult> getPaths(Collection<Flow> flows, boolean reuseFlowResources)
+            throws RecoverableException {
+        List<Flow> orderedFlows = new ArrayList<>(flows);
+        orderedFlows.sort(new FlowPriorityComparator(config.getDefaultFlowPriority()));
+
+        NetworkSnapshot snapshot = availableNetworkFactory.getNetworkSnapshot();
+        BandwidthOverlay bandwidthOverlay = new BandwidthOverlay();
+        log.debug("Computing paths for {} flows over network snapshot {}", orderedFlows.size(), snapshot);
+
+        Map<String, PathComputationResult> results = new LinkedHashMap<>();
+        for (Flow flow : orderedFlows) {
+            PathComputationResult.PathComputationResultBuilder result = PathComputationResult.builder()
+                    .flowId(flow.getFlowId());
+
+            List<PathId> reusePathsResources = reuseFlowResources ? flow.getFlowPathIds() : emptyList();
+            Set<LinkKey> occupiedLinks = flow.isIgnoreBandwidth()
+                    ? Collections.emptySet() : getOccupiedLinks(flow, reusePathsResources);
+            try {
+                PathPair pathPair = getBatchPath(flow, reusePathsResources, occupiedLinks, snapshot, bandwidthOverlay,
+                        Collections.emptySet());
+                result.pathPair(pathPair);
+
+                if (flow.isAllocateProtectedPath()) {
+                    // The protected path must not share ISLs with the primary one.
+                    try {
+                        result.protectedPathPair(getBatchPath(flow, reusePathsResources, occupiedLinks, snapshot,
+                                bandwidthOverlay, getLinks(pathPair)));
+                    } catch (UnroutableFlowException e) {
+                        result.protectedError(new UnroutableFlowException(
+                                format("Couldn't find non overlapping protected path: %s", e.getMessage()), e,
+                                flow.getFlowId()));
+                    }
+                }
+            } catch (UnroutableFlowException e) {
+                result.error(e);
+            }
+            results.put(flow.getFlowId(), result.build());
+        }
+        return results;
+    }
+
+    private PathPair getBatchPath(Flow flow, List<PathId> reusePathsResources, Set<LinkKey> occupiedLinks,
+                                  NetworkSnapshot snapshot, BandwidthOverlay bandwidthOverlay,
+                                  Set<LinkKey> excludedLinks)
+            throws RecoverableException, UnroutableFlowException {
+        // The bandwidth occupied by the flow itself is available for its new paths.
+        bandwidthOverlay.add(occupiedLinks, flow.getBandwidth());
+        AvailableNetwork network = availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources,
+                snapshot, bandwidthOverlay);
+        bandwidthOverlay.add(occupiedLinks, -flow.getBandwidth());
+        network.removeLinks(excludedLinks);
+
+        PathPair pathPair = getPath(network, flow);
+        if (!flow.isIgnoreBandwidth()) {
+            Set<LinkKey> consumedLinks = getLinks(pathPair);
+            consumedLinks.removeAll(occupiedLinks);
+            bandwidthOverlay.add(consumedLinks, -flow.getBandwidth());
+        }
+        return pathPair;
+    }
+
+    private Set<LinkKey> getOccupiedLinks(Flow flow, List<PathId> pathIds) {
+        Set<LinkKey> result = new HashSet<>();
+        for (PathId pathId : pathIds) {
+            flow.getPath(pathId).map(FlowPath::getSegments).ifPresent(segments -> {
+                for (PathSegment segment : segments) {
+                    result.add(new LinkKey(segment.getSrcSwitch().getSwitchId(), segment.getSrcPort(),
+                            segment.getDestSwitch().getSwitchId(), segment.getDestPort()));
+                }
+            });
+        }
+        return result;
+    }
+
+    private Set<LinkKey> getLinks(PathPair pathPair) {
+        Set<LinkKey> result = new HashSet<>();
+        for (Path path : new Path[] {pathPair.getForward(), pathPair.getReverse()}) {
+            for (Path.Segment segment : path.getSegments()) {
+                result.add(new LinkKey(segment.getSrcSwitchId(), segment.getSrcPort(),
+                        segment.getDestSwitchId(), segment.getDestPort()));
+            }
+        }
+        return result;
+    }
+
     private Pair<List<Edge>, List<Edge>> findPathInNetwork(Flow flow, AvailableNetwork network,
                                                            WeightFunction weightFunction)
             throws UnroutableFlowException {
@@ -212,6 +309,38 @@ public class InMemoryPathComputer implements PathComputer {
                 .build();
     }
 
+    /**
+     * Orders flows by priority (lower value goes first), then by creation time. The same order is used by the reroute
+     * queue to send reroute requests.
+     */
+    private static class FlowPriorityComparator implements Comparator<Flow> {
+        private final int defaultFlowPriority;
+
+        FlowPriorityComparator(int defaultFlowPriority) {
+            this.defaultFlowPriority = defaultFlowPriority;
+        }
+
+        @Override
+        public int compare(Flow flowA, Flow flowB) {
+            int priorityA = flowA.getPriority() == null ? defaultFlowPriority : flowA.getPriority();
+            int priorityB = flowB.getPriority() == null ? defaultFlowPriority : flowB.getPriority();
+            Instant timeCreateA = flowA.getTimeCreate();
+            Instant timeCreateB = flowB.getTimeCreate();
+
+            if (priorityA == priorityB && (timeCreateA != null || timeCreateB != null)) {
+                if (timeCreateA == null) {
+                    return -1;
+                }
+                if (timeCreateB == null) {
+                    return 1;
+                }
+                return timeCreateA.compareTo(timeCreateB);
+            }
+
+            return Integer.compare(priorityA, priorityB);
+        }
+    }
+
     private Path.Segment convertToSegment(Edge edge) {
         return Path.Segment.builder()
                 .srcSwitchId(edge.getSrcSwitch().getSwitchId())
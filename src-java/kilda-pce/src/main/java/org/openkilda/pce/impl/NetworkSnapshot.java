@@ -0,0 +1,204 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.pce.model.LinkKey;
+
+import com.google.common.collect.ImmutableSet;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+
+/**
+ * Immutable versioned view of the network (switches and ISLs) used as a base for {@link AvailableNetwork} building.
+ * <p/>
+ * ISLs and switches are stored as detached copies and must not be modified by readers. Bandwidth changes made by
+ * a batch of path computations are kept aside in a {@link BandwidthOverlay}.
+ */
+@ToString(of = {"version", "createdAt"})
+public final class NetworkSnapshot {
+    @Getter
+    private final long version;
+    @Getter
+    private final Instant createdAt;
+
+    private final Map<LinkKey, Isl> isls;
+    private final Map<SwitchId, SwitchEntry> switches;
+
+    private NetworkSnapshot(long version, Instant createdAt, Map<LinkKey, Isl> isls,
+                            Map<SwitchId, SwitchEntry> switches) {
+        this.version = version;
+        this.createdAt = createdAt;
+        this.isls = Collections.unmodifiableMap(isls);
+        this.switches = Collections.unmodifiableMap(switches);
+    }
+
+    /**
+     * Builds a snapshot from the full set of ISLs and switches.
+     *
+     * @param version the snapshot version.
+     * @param isls ISLs to be included into the snapshot.
+     * @param switches switches to be included into the snapshot.
+     * @param supportedEncapsulation supported transit encapsulation types per switch.
+     */
+    public static NetworkSnapshot build(long version, Collection<Isl> isls, Collection<Switch> switches,
+                                        Map<SwitchId, Set<FlowEncapsulationType>> supportedEncapsulation) {
+        Map<SwitchId, SwitchEntry> switchEntries = new HashMap<>();
+        for (Switch sw : switches) {
+            Set<FlowEncapsulationType> encapsulationTypes = supportedEncapsulation.get(sw.getSwitchId());
+            switchEntries.put(sw.getSwitchId(), SwitchEntry.of(sw, encapsulationTypes));
+        }
+
+        Map<LinkKey, Isl> islEntries = new HashMap<>();
+        for (Isl isl : isls) {
+            islEntries.put(LinkKey.from(isl), detach(isl, switchEntries));
+        }
+        return new NetworkSnapshot(version, Instant.now(), islEntries, switchEntries);
+    }
+
+    public Map<LinkKey, Isl> getIsls() {
+        return isls;
+    }
+
+    public Set<SwitchId> getSwitchIds() {
+        return switches.keySet();
+    }
+
+    /**
+     * Finds all active ISLs with encapsulation type support. Mirrors
+     * {@link org.openkilda.persistence.repositories.IslRepository#findAllActiveByEncapsulationType}.
+     */
+    public Collection<Isl> findAllActiveByEncapsulationType(FlowEncapsulationType encapsulationType) {
+        return findActive(encapsulationType, (key, isl) -> true, (key, isl) -> isl);
+    }
+
+    /**
+     * Finds all active ISLs, filtering out ISLs that don't have enough available bandwidth. Mirrors
+     * {@link org.openkilda.persistence.repositories.IslRepository#findActiveWithAvailableBandwidth}.
+     *
+     * @param bandwidthOverlay changes of available bandwidth to be applied over the snapshot.
+     */
+    public Collection<Isl> findActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                            FlowEncapsulationType encapsulationType,
+                                                            BandwidthOverlay bandwidthOverlay) {
+        return findActive(encapsulationType,
+                (key, isl) -> bandwidthOverlay.getAvailableBandwidth(key, isl) >= requiredBandwidth,
+                bandwidthOverlay::apply);
+    }
+
+    /**
+     * Finds all active ISLs, ignores ISLs if they have not enough bandwidth in any direction. Mirrors
+     * {@link org.openkilda.persistence.repositories.IslRepository#findSymmetricActiveWithAvailableBandwidth}.
+     *
+     * @param bandwidthOverlay changes of available bandwidth to be applied over the snapshot.
+     */
+    public Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth,
+                                                                     FlowEncapsulationType encapsulationType,
+                                                                     BandwidthOverlay bandwidthOverlay) {
+        return findActive(encapsulationType, (key, isl) -> {
+            if (bandwidthOverlay.getAvailableBandwidth(key, isl) < requiredBandwidth) {
+                return false;
+            }
+            LinkKey reverseKey = key.getReverse();
+            Isl reverse = isls.get(reverseKey);
+            return reverse != null && bandwidthOverlay.getAvailableBandwidth(reverseKey, reverse) >= requiredBandwidth;
+        }, bandwidthOverlay::apply);
+    }
+
+    private Collection<Isl> findActive(FlowEncapsulationType encapsulationType, BiPredicate<LinkKey, Isl> filter,
+                                       BiFunction<LinkKey, Isl, Isl> mapper) {
+        List<Isl> result = new ArrayList<>();
+        for (Map.Entry<LinkKey, Isl> entry : isls.entrySet()) {
+            LinkKey key = entry.getKey();
+            Isl isl = entry.getValue();
+            if (isl.getStatus() != IslStatus.ACTIVE) {
+                continue;
+            }
+            SwitchEntry src = switches.get(key.getSrcSwitchId());
+            SwitchEntry dst = switches.get(key.getDstSwitchId());
+            if (src == null || dst == null || !src.isActive() || !dst.isActive()
+                    || !src.supports(encapsulationType) || !dst.supports(encapsulationType)) {
+                continue;
+            }
+            if (filter.test(key, isl)) {
+                result.add(mapper.apply(key, isl));
+            }
+        }
+        return result;
+    }
+
+    private static Isl detach(Isl isl, Map<SwitchId, SwitchEntry> switches) {
+        Isl detached = isl.toBuilder()
+                .srcSwitch(resolveSwitch(isl.getSrcSwitch(), switches))
+                .destSwitch(resolveSwitch(isl.getDestSwitch(), switches))
+                .build();
+        detached.setIslConfig(isl.getIslConfig());
+        return detached;
+    }
+
+    private static Switch resolveSwitch(Switch sw, Map<SwitchId, SwitchEntry> switches) {
+        SwitchEntry entry = switches.get(sw.getSwitchId());
+        return entry != null ? entry.getSw() : SwitchEntry.detach(sw);
+    }
+
+    @Value
+    private static class SwitchEntry {
+        @NonNull
+        Switch sw;
+        @NonNull
+        Set<FlowEncapsulationType> supportedEncapsulation;
+
+        static SwitchEntry of(Switch sw, Set<FlowEncapsulationType> supportedEncapsulation) {
+            return new SwitchEntry(detach(sw), supportedEncapsulation != null
+                    ? ImmutableSet.copyOf(supportedEncapsulation) : ImmutableSet.of());
+        }
+
+        static Switch detach(Switch sw) {
+            return Switch.builder()
+                    .switchId(sw.getSwitchId())
+                    .status(sw.getStatus())
+                    .pop(sw.getPop())
+                    .underMaintenance(sw.isUnderMaintenance())
+                    .build();
+        }
+
+        boolean isActive() {
+            return sw.getStatus() == SwitchStatus.ACTIVE;
+        }
+
+        boolean supports(FlowEncapsulationType encapsulationType) {
+            return supportedEncapsulation.contains(encapsulationType);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.model;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.impl.AvailableNetwork;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Int-indexed (CSR - compressed sparse row) representation of {@link AvailableNetwork}.
+ * <p/>
+ * Nodes are numbered 0..N-1, outgoing edges of node {@code i} occupy indexes
+ * {@code [getFirstEdge(i), getFirstEdge(i + 1))} and are ordered by destination switch id (then by ports), i.e. in the
+ * same order as {@link org.openkilda.pce.finder.BestWeightAndShortestPathFinder} traverses them. Edge weights are
+ * calculated once on build, so the graph reflects the state of the network and the weight function at that moment.
+ */
+public final class CompactGraph {
+    private static final Comparator<Edge> EDGE_ORDER = Comparator
+            .comparing((Edge edge) -> edge.getDestSwitch().getSwitchId())
+            .thenComparingInt(Edge::getSrcPort)
+            .thenComparingInt(Edge::getDestPort);
+
+    private final Node[] nodes;
+    private final Map<SwitchId, Integer> nodeIndexes;
+
+    private final int[] firstEdge;
+    private final int[] edgeSrc;
+    private final int[] edgeDst;
+    private final long[] edgeWeight;
+    private final long[] edgeLatency;
+    private final long[] edgeAvailableBandwidth;
+    private final int[] reverseEdge;
+    private final Edge[] edges;
+    private final long minEdgeWeight;
+
+    private CompactGraph(Node[] nodes, Map<SwitchId, Integer> nodeIndexes, int[] firstEdge, Edge[] edges,
+                         WeightFunction weightFunction) {
+        this.nodes = nodes;
+        this.nodeIndexes = nodeIndexes;
+        this.firstEdge = firstEdge;
+        this.edges = edges;
+
+        int edgeCount = edges.length;
+        edgeSrc = new int[edgeCount];
+        edgeDst = new int[edgeCount];
+        edgeWeight = new long[edgeCount];
+        edgeLatency = new long[edgeCount];
+        edgeAvailableBandwidth = new long[edgeCount];
+        reverseEdge = new int[edgeCount];
+
+        long minWeight = edgeCount > 0 ? Long.MAX_VALUE : 0;
+        Map<Edge, Integer> edgeIndexes = new HashMap<>(edgeCount * 2);
+        for (int i = 0; i < edgeCount; i++) {
+            Edge edge = edges[i];
+            edgeSrc[i] = nodeIndexes.get(edge.getSrcSwitch().getSwitchId());
+            edgeDst[i] = nodeIndexes.get(edge.getDestSwitch().getSwitchId());
+            edgeWeight[i] = weightFunction.apply(edge);
+            minWeight = Math.min(minWeight, edgeWeight[i]);
+            edgeLatency[i] = edge.getLatency();
+            edgeAvailableBandwidth[i] = edge.getAvailableBandwidth();
+            edgeIndexes.put(edge, i);
+        }
+        for (int i = 0; i < edgeCount; i++) {
+            Integer reverse = edgeIndexes.get(edges[i].swap());
+            reverseEdge[i] = reverse != null ? reverse : -1;
+        }
+        minEdgeWeight = minWeight;
+    }
+
+    /**
+     * Builds the compact graph from the current state of the network (only links present in the outgoing sets of
+     * the nodes are taken into account).
+     */
+    public static CompactGraph build(AvailableNetwork network, WeightFunction weightFunction) {
+        List<Node> sortedNodes = new ArrayList<>(network.getSwitches());
+        sortedNodes.sort(Comparator.comparing(Node::getSwitchId));
+
+        Node[] nodes = sortedNodes.toArray(new Node[0]);
+        Map<SwitchId, Integer> nodeIndexes = new HashMap<>(nodes.length * 2);
+        for (int i = 0; i < nodes.length; i++) {
+            nodeIndexes.put(nodes[i].getSwitchId(), i);
+        }
+
+        int[] firstEdge = new int[nodes.length + 1];
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < nodes.length; i++) {
+            firstEdge[i] = edges.size();
+            List<Edge> outgoing = new ArrayList<>(nodes[i].getOutgoingLinks());
+            outgoing.sort(EDGE_ORDER);
+            edges.addAll(outgoing);
+        }
+        firstEdge[nodes.length] = edges.size();
+
+        return new CompactGraph(nodes, nodeIndexes, firstEdge, edges.toArray(new Edge[0]), weightFunction);
+    }
+
+    /**
+     * Returns the index of the node or -1 if the switch is not a part of the graph.
+     */
+    public int getNodeIndex(SwitchId switchId) {
+        Integer index = nodeIndexes.get(switchId);
+        return index != null ? index : -1;
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    public int getEdgeCount() {
+        return edges.length;
+    }
+
+    public Node getNode(int node) {
+        return nodes[node];
+    }
+
+    public int getFirstEdge(int node) {
+        return firstEdge[node];
+    }
+
+    public int getEdgeSrc(int edge) {
+        return edgeSrc[edge];
+    }
+
+    public int getEdgeDst(int edge) {
+        return edgeDst[edge];
+    }
+
+    public long getEdgeWeight(int edge) {
+        return edgeWeight[edge];
+    }
+
+    /**
+     * Returns the minimal edge weight in the graph (0 for a graph without edges).
+     */
+    public long getMinEdgeWeight() {
+        return minEdgeWeight;
+    }
+
+    public long getEdgeLatency(int edge) {
+        return edgeLatency[edge];
+    }
+
+    public long getEdgeAvailableBandwidth(int edge) {
+        return edgeAvailableBandwidth[edge];
+    }
+
+    /**
+     * Returns the index of the edge in opposite direction (with swapped endpoints) or -1 if there's no such edge.
+     */
+    public int getReverseEdge(int edge) {
+        return reverseEdge[edge];
+    }
+
+    public Edge getEdge(int edge) {
+        return edges[edge];
+    }
+}
@@ -0,0 +1,49 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.model;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * Identifies a directed link (ISL) by its endpoints.
+ */
+@Value
+public class LinkKey {
+    @NonNull
+    SwitchId srcSwitchId;
+    int srcPort;
+    @NonNull
+    SwitchId dstSwitchId;
+    int dstPort;
+
+    public static LinkKey from(Isl isl) {
+        return new LinkKey(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+    }
+
+    public LinkKey getReverse() {
+        return new LinkKey(dstSwitchId, dstPort, srcSwitchId, srcPort);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s_%d ===> %s_%d", srcSwitchId, srcPort, dstSwitchId, dstPort);
+    }
+}
@@ -24,10 +24,12 @@ import org.openkilda.model.FlowEncapsulationType;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
 import org.openkilda.model.PathId;
 import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
 import org.openkilda.pce.AvailableNetworkFactory.BuildStrategy;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
@@ -214,8 +216,8 @@ public class AvailableNetworkFactoryTest {
     private static Flow getFlow(boolean ignoreBandwidth) {
         return Flow.builder()
                 .flowId("test-id")
-                .srcSwitch(Switch.builder().switchId(new SwitchId("1")).build())
-                .destSwitch(Switch.builder().switchId(new SwitchId("2")).build())
+                .srcSwitch(Switch.builder().switchId(new SwitchId("1")).status(SwitchStatus.ACTIVE).build())
+                .destSwitch(Switch.builder().switchId(new SwitchId("2")).status(SwitchStatus.ACTIVE).build())
                 .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
                 .bandwidth(100)
                 .ignoreBandwidth(ignoreBandwidth)
@@ -235,6 +237,7 @@ public class AvailableNetworkFactoryTest {
                 .cost(10)
                 .latency(33L)
                 .availableBandwidth(AVAILABLE_BANDWIDTH)
+                .status(IslStatus.ACTIVE)
                 .build();
         isl.setIslConfig(IslConfig.builder().build());
         return isl;
@@ -0,0 +1,163 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.pce.impl.BandwidthOverlay;
+import org.openkilda.pce.impl.NetworkSnapshot;
+import org.openkilda.pce.model.LinkKey;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.Collection;
+import java.util.Collections;
+
+
+public class NetworkSnapshotManagerTest {
+    private static final SwitchId SWITCH_ID_1 = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_2 = new SwitchId(2);
+    private static final SwitchId SWITCH_ID_3 = new SwitchId(3);
+
+    private final Switch switchA = Switch.builder().switchId(SWITCH_ID_1).status(SwitchStatus.ACTIVE).build();
+    private final Switch switchB = Switch.builder().switchId(SWITCH_ID_2).status(SwitchStatus.ACTIVE).build();
+    private final Switch switchC = Switch.builder().switchId(SWITCH_ID_3).status(SwitchStatus.ACTIVE).build();
+
+    @Mock
+    private RepositoryFactory repositoryFactory;
+    @Mock
+    private IslRepository islRepository;
+    @Mock
+    private SwitchRepository switchRepository;
+    @Mock
+    private SwitchPropertiesRepository switchPropertiesRepository;
+
+    private NetworkSnapshotManager manager;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
+        when(repositoryFactory.createSwitchRepository()).thenReturn(switchRepository);
+        when(repositoryFactory.createSwitchPropertiesRepository()).thenReturn(switchPropertiesRepository);
+
+        when(switchRepository.findAll()).thenReturn(Lists.newArrayList(switchA, switchB, switchC));
+        when(switchPropertiesRepository.findAll()).thenReturn(Lists.newArrayList(
+                getSwitchProperties(switchA, FlowEncapsulationType.TRANSIT_VLAN, FlowEncapsulationType.VXLAN),
+                getSwitchProperties(switchB, FlowEncapsulationType.TRANSIT_VLAN, FlowEncapsulationType.VXLAN),
+                getSwitchProperties(switchC, FlowEncapsulationType.TRANSIT_VLAN)));
+        when(islRepository.findAllActive()).thenReturn(Lists.newArrayList(
+                getIsl(switchA, 1, switchB, 1, 1000),
+                getIsl(switchB, 1, switchA, 1, 100),
+                getIsl(switchB, 2, switchC, 2, 1000),
+                getIsl(switchC, 2, switchB, 2, 1000)));
+
+        manager = new NetworkSnapshotManager(repositoryFactory);
+    }
+
+    @Test
+    public void shouldLoadNewSnapshotVersionOnEveryReload() {
+        NetworkSnapshot first = manager.reload();
+        NetworkSnapshot second = manager.reload();
+
+        assertNotSame(first, second);
+        assertTrue(first.getVersion() < second.getVersion());
+        assertEquals(4, second.getIsls().size());
+        verify(islRepository, times(2)).findAllActive();
+    }
+
+    @Test
+    public void shouldFilterByBandwidthAndEncapsulation() {
+        NetworkSnapshot snapshot = manager.reload();
+        BandwidthOverlay overlay = new BandwidthOverlay();
+
+        assertEquals(3, snapshot.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.TRANSIT_VLAN, overlay)
+                .size());
+        assertEquals(1, snapshot.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.VXLAN, overlay).size());
+        assertEquals(2, snapshot.findSymmetricActiveWithAvailableBandwidth(500,
+                FlowEncapsulationType.TRANSIT_VLAN, overlay).size());
+        assertEquals(4, snapshot.findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN).size());
+    }
+
+    @Test
+    public void shouldApplyBandwidthOverlay() {
+        NetworkSnapshot snapshot = manager.reload();
+        BandwidthOverlay overlay = new BandwidthOverlay();
+        LinkKey link = new LinkKey(SWITCH_ID_1, 1, SWITCH_ID_2, 1);
+
+        overlay.add(Collections.singleton(link), -600);
+        Collection<Isl> isls = snapshot.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.TRANSIT_VLAN,
+                overlay);
+        assertEquals(2, isls.size());
+        assertTrue(isls.stream().noneMatch(isl -> LinkKey.from(isl).equals(link)));
+        assertEquals(1000, snapshot.getIsls().get(link).getAvailableBandwidth());
+
+        overlay.add(Collections.singleton(new LinkKey(SWITCH_ID_2, 1, SWITCH_ID_1, 1)), 500);
+        assertEquals(2, snapshot.findSymmetricActiveWithAvailableBandwidth(450,
+                FlowEncapsulationType.TRANSIT_VLAN, overlay).size());
+
+        overlay.add(Collections.singleton(link), 100);
+        Isl updated = snapshot.findActiveWithAvailableBandwidth(500, FlowEncapsulationType.TRANSIT_VLAN, overlay)
+                .stream()
+                .filter(isl -> LinkKey.from(isl).equals(link))
+                .findAny().orElseThrow(() -> new AssertionError("ISL not found"));
+        assertEquals(500, updated.getAvailableBandwidth());
+    }
+
+    private static Isl getIsl(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort, long bandwidth) {
+        Isl isl = Isl.builder()
+                .srcSwitch(srcSwitch)
+                .srcPort(srcPort)
+                .destSwitch(dstSwitch)
+                .destPort(dstPort)
+                .status(IslStatus.ACTIVE)
+                .cost(10)
+                .availableBandwidth(bandwidth)
+                .build();
+        isl.setIslConfig(IslConfig.builder().build());
+        return isl;
+    }
+
+    private static SwitchProperties getSwitchProperties(Switch sw, FlowEncapsulationType... encapsulationTypes) {
+        return SwitchProperties.builder()
+                .switchObj(sw)
+                .supportedTransitEncapsulation(Sets.newHashSet(encapsulationTypes))
+                .build();
+    }
+}
@@ -0,0 +1,221 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+public class CompactGraphPathFinderTest {
+    private static final int ALLOWED_DEPTH = 35;
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> (long) edge.getCost();
+
+    private static final SwitchId SWITCH_ID_A = new SwitchId("00:00:00:22:3d:5a:04:87");
+    private static final SwitchId SWITCH_ID_B = new SwitchId("00:00:70:72:cf:d2:48:6c");
+    private static final SwitchId SWITCH_ID_C = new SwitchId("00:00:00:22:3d:6c:00:b8");
+    private static final SwitchId SWITCH_ID_D = new SwitchId("00:00:00:22:3d:6b:00:04");
+    private static final SwitchId SWITCH_ID_E = new SwitchId("00:00:70:72:cf:d2:47:a6");
+    private static final SwitchId SWITCH_ID_F = new SwitchId("00:00:b0:d2:f5:00:5a:b8");
+
+    private final BestWeightAndShortestPathFinder referenceFinder =
+            new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+    private final CompactGraphPathFinder compactFinder = new CompactGraphPathFinder(ALLOWED_DEPTH);
+
+    @Test
+    public void shouldFindSamePathsAsReferenceFinder() throws UnroutableFlowException {
+        Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            long seed = random.nextLong();
+            AvailableNetwork network = buildRandomNetwork(seed, 30, 3);
+            SwitchId src = new SwitchId(1);
+            SwitchId dst = new SwitchId(30);
+
+            Pair<List<Edge>, List<Edge>> expected = referenceFinder.findPathInNetwork(network, src, dst,
+                    WEIGHT_FUNCTION);
+            Pair<List<Edge>, List<Edge>> actual = compactFinder.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION);
+            assertEquals("seed " + seed, expected, actual);
+        }
+    }
+
+    @Test
+    public void shouldFindSameMaxWeightPathsAsReferenceFinder() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20; i++) {
+            long seed = random.nextLong();
+            AvailableNetwork network = buildRandomNetwork(seed, 12, 2);
+            SwitchId src = new SwitchId(1);
+            SwitchId dst = new SwitchId(12);
+            long maxWeight = 500 + random.nextInt(3000);
+
+            Pair<List<Edge>, List<Edge>> expected;
+            try {
+                expected = referenceFinder.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION, maxWeight);
+            } catch (UnroutableFlowException e) {
+                expected = null;
+            }
+            Pair<List<Edge>, List<Edge>> actual;
+            try {
+                actual = compactFinder.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION, maxWeight);
+            } catch (UnroutableFlowException e) {
+                actual = null;
+            }
+            assertEquals("seed " + seed, expected, actual);
+        }
+    }
+
+    @Test
+    public void shouldFindSameNPathsAsReferenceFinder() throws UnroutableFlowException {
+        for (int count : new int[] {1, 2, 5, 13, 500}) {
+            List<List<Edge>> expected = referenceFinder.findNPathsBetweenSwitches(
+                    buildTestNetworkForTestYensAlgorithm(), SWITCH_ID_A, SWITCH_ID_F, count, WEIGHT_FUNCTION);
+            List<List<Edge>> actual = compactFinder.findNPathsBetweenSwitches(
+                    buildTestNetworkForTestYensAlgorithm(), SWITCH_ID_A, SWITCH_ID_F, count, WEIGHT_FUNCTION);
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    public void shouldFindSameNPathsAsReferenceFinderInRandomNetwork() throws UnroutableFlowException {
+        long seed = 12345;
+        List<List<Edge>> expected = referenceFinder.findNPathsBetweenSwitches(buildRandomNetwork(seed, 15, 2),
+                new SwitchId(1), new SwitchId(15), 10, WEIGHT_FUNCTION);
+        List<List<Edge>> actual = compactFinder.findNPathsBetweenSwitches(buildRandomNetwork(seed, 15, 2),
+                new SwitchId(1), new SwitchId(15), 10, WEIGHT_FUNCTION);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void shouldFindSameNPathsInParallel() throws UnroutableFlowException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            CompactGraphPathFinder parallelFinder = new CompactGraphPathFinder(ALLOWED_DEPTH, pool);
+            DijkstraPathFinder parallelDijkstra = new DijkstraPathFinder(ALLOWED_DEPTH, true, pool);
+            DijkstraPathFinder serialDijkstra = new DijkstraPathFinder(ALLOWED_DEPTH, true);
+            for (long seed = 1; seed <= 5; seed++) {
+                AvailableNetwork network = buildRandomNetwork(seed, 30, 3);
+                SwitchId src = new SwitchId(1);
+                SwitchId dst = new SwitchId(30);
+
+                assertEquals(compactFinder.findNPathsBetweenSwitches(network, src, dst, 20, WEIGHT_FUNCTION),
+                        parallelFinder.findNPathsBetweenSwitches(network, src, dst, 20, WEIGHT_FUNCTION));
+                assertEquals(serialDijkstra.findNPathsBetweenSwitches(network, src, dst, 20, WEIGHT_FUNCTION),
+                        parallelDijkstra.findNPathsBetweenSwitches(network, src, dst, 20, WEIGHT_FUNCTION));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailIfSwitchIsAbsent() throws UnroutableFlowException {
+        compactFinder.findPathInNetwork(buildTestNetworkForTestYensAlgorithm(), SWITCH_ID_A, new SwitchId(100),
+                WEIGHT_FUNCTION);
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailIfNoPath() throws UnroutableFlowException {
+        AvailableNetwork network = buildTestNetworkForTestYensAlgorithm();
+        addBidirectionalLink(network, new SwitchId(100), new SwitchId(101), 1, 1, 10);
+
+        compactFinder.findPathInNetwork(network, SWITCH_ID_A, new SwitchId(100), WEIGHT_FUNCTION);
+    }
+
+    /**
+     * Builds a connected network: a chain over all switches plus random extra links. There are no parallel links,
+     * so the order of edges traversal is the same for both finders.
+     */
+    private AvailableNetwork buildRandomNetwork(long seed, int switches, int extraLinksPerSwitch) {
+        Random random = new Random(seed);
+        boolean[][] linked = new boolean[switches + 1][switches + 1];
+        AvailableNetwork network = new AvailableNetwork();
+        int port = 1;
+        for (int i = 1; i < switches; i++) {
+            linked[i][i + 1] = true;
+            linked[i + 1][i] = true;
+            addBidirectionalLink(network, new SwitchId(i), new SwitchId(i + 1), port++, port++,
+                    1 + random.nextInt(1000));
+        }
+        for (int i = 1; i <= switches; i++) {
+            for (int j = 0; j < extraLinksPerSwitch; j++) {
+                int other = 1 + random.nextInt(switches);
+                if (other != i && !linked[i][other]) {
+                    linked[i][other] = true;
+                    linked[other][i] = true;
+                    addBidirectionalLink(network, new SwitchId(i), new SwitchId(other), port++, port++,
+                            1 + random.nextInt(1000));
+                }
+            }
+        }
+        return network;
+    }
+
+    private AvailableNetwork buildTestNetworkForTestYensAlgorithm() {
+        /*
+         *   Topology:
+         *
+         *   A--B--C
+         *    \ | /|\
+         *     \|/ | \
+         *      D--E--F
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_A, SWITCH_ID_B, 1, 1, 3);
+        addBidirectionalLink(network, SWITCH_ID_A, SWITCH_ID_D, 2, 1, 2);
+        addBidirectionalLink(network, SWITCH_ID_B, SWITCH_ID_C, 2, 1, 4);
+        addBidirectionalLink(network, SWITCH_ID_B, SWITCH_ID_D, 3, 2, 1);
+        addBidirectionalLink(network, SWITCH_ID_C, SWITCH_ID_D, 2, 3, 2);
+        addBidirectionalLink(network, SWITCH_ID_C, SWITCH_ID_E, 3, 1, 2);
+        addBidirectionalLink(network, SWITCH_ID_C, SWITCH_ID_F, 4, 1, 1);
+        addBidirectionalLink(network, SWITCH_ID_D, SWITCH_ID_E, 4, 2, 3);
+        addBidirectionalLink(network, SWITCH_ID_E, SWITCH_ID_F, 3, 2, 2);
+        return network;
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int srcPort, int dstPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, srcPort, dstPort, cost);
+        addLink(network, secondSwitch, firstSwitch, dstPort, srcPort, cost);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost) {
+        Isl isl = Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcDpid).build())
+                .destSwitch(Switch.builder().switchId(dstDpid).build())
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .cost(cost)
+                .availableBandwidth(1000 + cost)
+                .build();
+        isl.setIslConfig(IslConfig.builder().unstableIslTimeout(Duration.ofSeconds(120)).build());
+        network.addLink(isl);
+    }
+}
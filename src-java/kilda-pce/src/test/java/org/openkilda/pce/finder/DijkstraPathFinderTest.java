@@ -0,0 +1,237 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.apache.commons.lang3.tuple.Pair;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class DijkstraPathFinderTest {
+    private static final int ALLOWED_DEPTH = 35;
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> (long) edge.getCost();
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
+    private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
+
+    private final BestWeightAndShortestPathFinder referenceFinder =
+            new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+
+    @Test
+    public void shouldFindBestPathInRandomNetworks() throws UnroutableFlowException {
+        DijkstraPathFinder dijkstra = new DijkstraPathFinder(ALLOWED_DEPTH, false);
+        DijkstraPathFinder astar = new DijkstraPathFinder(ALLOWED_DEPTH, true);
+
+        Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            long seed = random.nextLong();
+            AvailableNetwork network = buildRandomNetwork(seed, 40, 3);
+            SwitchId src = new SwitchId(1 + random.nextInt(40));
+            SwitchId dst = new SwitchId(1 + random.nextInt(40));
+            if (src.equals(dst)) {
+                continue;
+            }
+
+            long expected = getWeight(referenceFinder.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION));
+            assertEquals("seed " + seed, expected,
+                    getWeight(dijkstra.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION)));
+            assertEquals("seed " + seed, expected,
+                    getWeight(astar.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION)));
+        }
+    }
+
+    @Test
+    public void shouldChooseExpensiveOverTooDeep() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(2, true);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+        List<Edge> fpath = pairPath.getLeft();
+        assertThat(fpath, Matchers.hasSize(2));
+        assertEquals(SWITCH_ID_2, fpath.get(1).getSrcSwitch().getSwitchId());
+
+        List<Edge> rpath = pairPath.getRight();
+        assertThat(rpath, Matchers.hasSize(2));
+        assertEquals(SWITCH_ID_2, rpath.get(0).getDestSwitch().getSwitchId());
+    }
+
+    @Test
+    public void shouldChooseDeeperOverExpensive() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(4, false);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+        List<Edge> fpath = pairPath.getLeft();
+        assertThat(fpath, Matchers.hasSize(4));
+        assertEquals(SWITCH_ID_5, fpath.get(3).getSrcSwitch().getSwitchId());
+    }
+
+    @Test
+    public void shouldFindBestPathWithinDepthInRandomNetworks() throws UnroutableFlowException {
+        BestWeightAndShortestPathFinder reference = new BestWeightAndShortestPathFinder(4);
+        DijkstraPathFinder dijkstra = new DijkstraPathFinder(4, true);
+
+        Random random = new Random(11);
+        for (int i = 0; i < 20; i++) {
+            long seed = random.nextLong();
+            AvailableNetwork network = buildRandomNetwork(seed, 15, 2);
+            SwitchId src = new SwitchId(1);
+            SwitchId dst = new SwitchId(8);
+
+            Long expected;
+            try {
+                expected = getWeight(reference.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION));
+            } catch (UnroutableFlowException e) {
+                expected = null;
+            }
+            Long actual;
+            try {
+                Pair<List<Edge>, List<Edge>> path = dijkstra.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION);
+                assertThat(path.getLeft().size(), Matchers.lessThanOrEqualTo(4));
+                actual = getWeight(path);
+            } catch (UnroutableFlowException e) {
+                actual = null;
+            }
+            assertEquals("seed " + seed, expected, actual);
+        }
+    }
+
+    @Test
+    public void shouldFindNPathsOfTheSameWeights() throws UnroutableFlowException {
+        long seed = 12345;
+        DijkstraPathFinder dijkstra = new DijkstraPathFinder(ALLOWED_DEPTH, true);
+
+        List<Long> expected = referenceFinder.findNPathsBetweenSwitches(buildRandomNetwork(seed, 15, 2),
+                new SwitchId(1), new SwitchId(15), 10, WEIGHT_FUNCTION).stream()
+                .map(this::getWeight)
+                .collect(Collectors.toList());
+        List<Long> actual = dijkstra.findNPathsBetweenSwitches(buildRandomNetwork(seed, 15, 2),
+                new SwitchId(1), new SwitchId(15), 10, WEIGHT_FUNCTION).stream()
+                .map(this::getWeight)
+                .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailWhenPathIsLongerThenAllowedDepth() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(1, true);
+        pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailIfEndIsNotReachable() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+        addBidirectionalLink(network, new SwitchId(100), new SwitchId(101), 1, 1, 10);
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH, true);
+        pathFinder.findPathInNetwork(network, SWITCH_ID_1, new SwitchId(100), WEIGHT_FUNCTION);
+    }
+
+    private long getWeight(Pair<List<Edge>, List<Edge>> path) {
+        return getWeight(path.getLeft());
+    }
+
+    private long getWeight(List<Edge> path) {
+        return path.stream().mapToLong(WEIGHT_FUNCTION::apply).sum();
+    }
+
+    private AvailableNetwork buildLongAndExpensivePathsNetwork() {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW2~~~SW4
+         *          |     |
+         *         SW3---SW5
+         *
+         *   SW2 - SW4 is expensive by cost.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 3, 4, 10000);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 5, 6, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 7, 8, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_5, 9, 10, 100);
+        return network;
+    }
+
+    private AvailableNetwork buildRandomNetwork(long seed, int switches, int extraLinksPerSwitch) {
+        Random random = new Random(seed);
+        boolean[][] linked = new boolean[switches + 1][switches + 1];
+        AvailableNetwork network = new AvailableNetwork();
+        int port = 1;
+        for (int i = 1; i < switches; i++) {
+            linked[i][i + 1] = true;
+            linked[i + 1][i] = true;
+            addBidirectionalLink(network, new SwitchId(i), new SwitchId(i + 1), port++, port++,
+                    1 + random.nextInt(1000));
+        }
+        for (int i = 1; i <= switches; i++) {
+            for (int j = 0; j < extraLinksPerSwitch; j++) {
+                int other = 1 + random.nextInt(switches);
+                if (other != i && !linked[i][other]) {
+                    linked[i][other] = true;
+                    linked[other][i] = true;
+                    addBidirectionalLink(network, new SwitchId(i), new SwitchId(other), port++, port++,
+                            1 + random.nextInt(1000));
+                }
+            }
+        }
+        return network;
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int srcPort, int dstPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, srcPort, dstPort, cost);
+        addLink(network, secondSwitch, firstSwitch, dstPort, srcPort, cost);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost) {
+        Isl isl = Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcDpid).build())
+                .destSwitch(Switch.builder().switchId(dstDpid).build())
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .cost(cost)
+                .availableBandwidth(1000 + cost)
+                .build();
+        isl.setIslConfig(IslConfig.builder().unstableIslTimeout(Duration.ofSeconds(120)).build());
+        network.addLink(isl);
+    }
+}
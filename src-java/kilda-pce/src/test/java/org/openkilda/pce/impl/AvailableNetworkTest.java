@@ -30,6 +30,7 @@ import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.LinkKey;
 import org.openkilda.pce.model.Node;
 import org.openkilda.pce.model.WeightFunction;
 
@@ -107,6 +108,24 @@ public class AvailableNetworkTest {
         assertThat(network.getSwitch(SRC_SWITCH).getIncomingLinks(), Matchers.hasSize(2));
     }
 
+    @Test
+    public void shouldRemoveLinks() {
+        AvailableNetwork network = new AvailableNetwork();
+        addLink(network, SRC_SWITCH, DST_SWITCH, 1, 1, 20, 5);
+        addLink(network, SRC_SWITCH, DST_SWITCH, 2, 2, 10, 3);
+        addLink(network, DST_SWITCH, SRC_SWITCH, 1, 1, 20, 5);
+
+        network.removeLinks(singletonList(new LinkKey(SRC_SWITCH, 1, DST_SWITCH, 1)));
+
+        Node srcNode = network.getSwitch(SRC_SWITCH);
+        Node dstNode = network.getSwitch(DST_SWITCH);
+        assertThat(srcNode.getOutgoingLinks(), Matchers.hasSize(1));
+        assertEquals(2, srcNode.getOutgoingLinks().iterator().next().getSrcPort());
+        assertThat(dstNode.getIncomingLinks(), Matchers.hasSize(1));
+        assertThat(dstNode.getOutgoingLinks(), Matchers.hasSize(1));
+        assertThat(network.edges, Matchers.hasSize(2));
+    }
+
     @Test
     public void shouldReduceTheSameIslBothSide() {
         int cost = 700;
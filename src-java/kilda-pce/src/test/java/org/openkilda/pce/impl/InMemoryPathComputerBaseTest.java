@@ -18,8 +18,11 @@ package org.openkilda.pce.impl;
 import static java.lang.String.format;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.config.provider.ConfigurationProvider;
 import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
@@ -37,6 +40,7 @@ import org.openkilda.model.SwitchProperties;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.pce.AvailableNetworkFactory;
 import org.openkilda.pce.Path;
+import org.openkilda.pce.PathComputationResult;
 import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
@@ -68,7 +72,10 @@ import org.junit.rules.ExpectedException;
 import org.neo4j.ogm.testutil.TestServer;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 public class InMemoryPathComputerBaseTest {
@@ -319,6 +326,147 @@ public class InMemoryPathComputerBaseTest {
         pathComputer.getPath(flow, flow.getFlowPathIds());
     }
 
+    /**
+     * Flows of a batch are computed in priority order, bandwidth consumed by earlier flows is not available for later
+     * ones.
+     */
+    @Test
+    public void shouldAccountConsumedBandwidthInBatch() throws RecoverableException {
+        // A - B - D
+        //   + C +
+        // path over B is cheaper, each ISL has 1000 of available bandwidth
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, "00:", 1);
+        Switch srcSwitch = getSwitchById("00:01");
+        Switch destSwitch = getSwitchById("00:04");
+
+        Flow lowPriorityFlow = new TestFlowBuilder("low")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .build();
+        lowPriorityFlow.setPriority(20);
+        Flow highPriorityFlow = new TestFlowBuilder("high")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .build();
+        highPriorityFlow.setPriority(10);
+        Flow lastFlow = new TestFlowBuilder("last")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .build();
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        Map<String, PathComputationResult> results = pathComputer.getPaths(
+                Arrays.asList(lastFlow, lowPriorityFlow, highPriorityFlow), false);
+
+        assertEquals(Arrays.asList("high", "low", "last"), new ArrayList<>(results.keySet()));
+        assertEquals(new SwitchId("00:02"),
+                results.get("high").getPathPair().getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(new SwitchId("00:03"),
+                results.get("low").getPathPair().getForward().getSegments().get(0).getDestSwitchId());
+        assertFalse(results.get("last").isSuccessful());
+        assertNotNull(results.get("last").getError());
+    }
+
+    /**
+     * Protected paths are computed in a batch, they don't overlap with primary paths and consume bandwidth.
+     */
+    @Test
+    public void shouldFindProtectedPathInBatch() throws RecoverableException {
+        // A - B - D
+        //   + C +
+        // path over B is cheaper, each ISL has 1000 of available bandwidth
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, "00:", 1);
+        Switch srcSwitch = getSwitchById("00:01");
+        Switch destSwitch = getSwitchById("00:04");
+
+        Flow protectedFlow = new TestFlowBuilder("protected")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .build();
+        protectedFlow.setAllocateProtectedPath(true);
+        protectedFlow.setPriority(10);
+        Flow flow = new TestFlowBuilder("unprotected")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(600)
+                .build();
+        flow.setPriority(20);
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        Map<String, PathComputationResult> results = pathComputer.getPaths(Arrays.asList(flow, protectedFlow), false);
+
+        PathComputationResult protectedResult = results.get("protected");
+        assertTrue(protectedResult.isSuccessful());
+        assertNull(protectedResult.getProtectedError());
+        assertEquals(new SwitchId("00:02"),
+                protectedResult.getPathPair().getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(new SwitchId("00:03"),
+                protectedResult.getProtectedPathPair().getForward().getSegments().get(0).getDestSwitchId());
+        assertEquals(new SwitchId("00:03"),
+                protectedResult.getProtectedPathPair().getReverse().getSegments().get(1).getSrcSwitchId());
+
+        // Both branches are consumed by the primary and the protected paths.
+        assertFalse(results.get("unprotected").isSuccessful());
+        assertNull(results.get("unprotected").getProtectedPathPair());
+    }
+
+    /**
+     * A flow gets its primary path in a batch even if there is no path for the protected one.
+     */
+    @Test
+    public void shouldReportMissingProtectedPathInBatch() throws RecoverableException {
+        createDiamond(IslStatus.ACTIVE, IslStatus.INACTIVE, 10, 20, "00:", 1);
+        Switch srcSwitch = getSwitchById("00:01");
+        Switch destSwitch = getSwitchById("00:04");
+
+        Flow protectedFlow = new TestFlowBuilder("protected")
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .bandwidth(100)
+                .build();
+        protectedFlow.setAllocateProtectedPath(true);
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        PathComputationResult result = pathComputer.getPaths(Collections.singletonList(protectedFlow), false)
+                .get("protected");
+
+        assertTrue(result.isSuccessful());
+        assertNull(result.getError());
+        assertNull(result.getProtectedPathPair());
+        assertNotNull(result.getProtectedError());
+    }
+
+    /**
+     * Checks that existed flow should always have available path in a batch even there is only links with 0 available
+     * bandwidth.
+     */
+    @Test
+    public void shouldAlwaysFindPathForExistedFlowInBatch() throws RecoverableException {
+        String flowId = "flow-A1:01-A1:03";
+        long bandwidth = 1000;
+
+        createLinearTopoWithFlowSegments(10, "A1:", 1, 0L, flowId, bandwidth);
+
+        Flow oldFlow = flowRepository.findById(flowId).orElseThrow(() -> new AssertionError("Flow not found"));
+        oldFlow.setBandwidth(bandwidth);
+        oldFlow.setPathComputationStrategy(PathComputationStrategy.COST);
+        oldFlow.setEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+
+        PathComputer pathComputer = pathComputerFactory.getPathComputer();
+        PathComputationResult result = pathComputer.getPaths(Collections.singletonList(oldFlow), true).get(flowId);
+
+        assertTrue(result.isSuccessful());
+        assertThat(result.getPathPair().getForward().getSegments(), Matchers.hasSize(2));
+        assertThat(result.getPathPair().getReverse().getSegments(), Matchers.hasSize(2));
+
+        result = pathComputer.getPaths(Collections.singletonList(oldFlow), false).get(flowId);
+        assertFalse(result.isSuccessful());
+    }
+
     /**
      * Special case: flow with MAX_LATENCY strategy and 'max-latency' set to 0 should pick path with least latency.
      */
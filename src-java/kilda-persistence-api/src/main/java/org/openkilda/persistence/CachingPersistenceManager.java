@@ -0,0 +1,61 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence;
+
+import org.openkilda.persistence.repositories.cache.CachingRepositoryFactory;
+import org.openkilda.persistence.repositories.cache.RepositoryCacheConfig;
+
+/**
+ * Decorates a {@link PersistenceManager} with {@link CachingRepositoryFactory}. The caches are created on the first
+ * use after deserialization, so each bolt instance has its own caches shared by all repositories it creates.
+ */
+public class CachingPersistenceManager implements PersistenceManager {
+    private final PersistenceManager delegate;
+    private final RepositoryCacheConfig cacheConfig;
+
+    private transient volatile CachingRepositoryFactory repositoryFactory;
+
+    public CachingPersistenceManager(PersistenceManager delegate, RepositoryCacheConfig cacheConfig) {
+        this.delegate = delegate;
+        this.cacheConfig = cacheConfig;
+    }
+
+    /**
+     * Wraps the persistence manager with the caching one if the cache is enabled by the configuration.
+     */
+    public static PersistenceManager decorate(PersistenceManager persistenceManager,
+                                              RepositoryCacheConfig cacheConfig) {
+        return cacheConfig.isEnabled() ? new CachingPersistenceManager(persistenceManager, cacheConfig)
+                : persistenceManager;
+    }
+
+    @Override
+    public TransactionManager getTransactionManager() {
+        return delegate.getTransactionManager();
+    }
+
+    @Override
+    public CachingRepositoryFactory getRepositoryFactory() {
+        if (repositoryFactory == null) {
+            synchronized (this) {
+                if (repositoryFactory == null) {
+                    repositoryFactory = new CachingRepositoryFactory(delegate.getRepositoryFactory(), cacheConfig);
+                }
+            }
+        }
+        return repositoryFactory;
+    }
+}
@@ -48,4 +48,14 @@ public interface TransactionManager {
             throws E;
 
     RetryPolicy makeRetryPolicyBlank();
+
+    /**
+     * Execute the action once the active transaction is committed. The action is discarded if the transaction is
+     * rolled back, and executed immediately if there's no active transaction.
+     * <p/>
+     * Intended for updating in-memory state which must follow the committed data only.
+     *
+     * @param action the action to execute after commit
+     */
+    void doAfterCommit(Runnable action);
 }
@@ -17,6 +17,7 @@ package org.openkilda.persistence.repositories;
 
 import org.openkilda.model.FlowCookie;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface FlowCookieRepository extends Repository<FlowCookie> {
@@ -31,4 +32,21 @@ public interface FlowCookieRepository extends Repository<FlowCookie> {
      * @return an unmasked cookie value or {@link Optional#empty()} if no cookie available.
      */
     Optional<Long> findUnassignedCookie(long minCookie, long maxCookie);
+
+    /**
+     * Find unmasked cookies which are assigned to flows.
+     *
+     * @param minCookie the min value of cookie.
+     * @param maxCookie the max value of cookie.
+     * @return assigned unmasked cookies within the range.
+     */
+    Collection<Long> findAssignedCookies(long minCookie, long maxCookie);
+
+    /**
+     * Delete flow cookies with the given unmasked cookie values in a single query.
+     *
+     * @param unmaskedCookies the unmasked cookies to delete.
+     * @return unmasked cookies which were actually deleted.
+     */
+    Collection<Long> deleteByCookies(Collection<Long> unmaskedCookies);
 }
@@ -20,6 +20,7 @@ import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
 import org.openkilda.model.SwitchId;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface FlowMeterRepository extends Repository<FlowMeter> {
@@ -42,4 +43,14 @@ public interface FlowMeterRepository extends Repository<FlowMeter> {
      * @return a meter id or {@link Optional#empty()} if no meter available.
      */
     Optional<MeterId> findUnassignedMeterId(SwitchId switchId, MeterId minMeterId, MeterId maxMeterId);
+
+    /**
+     * Find meter ids which are assigned to flows on the switch.
+     *
+     * @param switchId   the switch defines where the meter is applied on.
+     * @param minMeterId the min value of meter.
+     * @param maxMeterId the max value of meter.
+     * @return assigned meter ids within the range.
+     */
+    Collection<MeterId> findAssignedMeterIds(SwitchId switchId, MeterId minMeterId, MeterId maxMeterId);
 }
@@ -21,6 +21,8 @@ import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.PathId;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.FetchStrategy;
+import org.openkilda.persistence.repositories.projection.FlowPathCookieAndMeter;
+import org.openkilda.persistence.repositories.projection.FlowPathSegments;
 
 import java.util.Collection;
 import java.util.Optional;
@@ -67,6 +69,33 @@ public interface FlowPathRepository extends Repository<FlowPath> {
 
     Collection<FlowPath> findBySegmentSwitch(SwitchId switchId);
 
+    /**
+     * Finds cookies and meters of paths that have passed {@param switchId} switch in endpoints, including protected
+     * paths. The same as {@link #findByEndpointSwitchIncludeProtected(SwitchId)}, but no entities are loaded.
+     *
+     * @param switchId the endpoint switch
+     * @return collection of path cookies and meters
+     */
+    Collection<FlowPathCookieAndMeter> findCookieAndMeterByEndpointSwitchIncludeProtected(SwitchId switchId);
+
+    /**
+     * Finds cookies and meters of paths that have a segment on {@param switchId} switch. The same as
+     * {@link #findBySegmentSwitch(SwitchId)}, but no entities are loaded.
+     *
+     * @param switchId the segment switch
+     * @return collection of path cookies and meters
+     */
+    Collection<FlowPathCookieAndMeter> findCookieAndMeterBySegmentSwitch(SwitchId switchId);
+
+    /**
+     * Finds segments of paths that have a segment on {@param switchId} switch. The same as
+     * {@link #findBySegmentSwitch(SwitchId)}, but no entities are loaded.
+     *
+     * @param switchId the segment switch
+     * @return collection of path segment lists
+     */
+    Collection<FlowPathSegments> findSegmentsBySegmentSwitch(SwitchId switchId);
+
     Collection<FlowPath> findInactiveBySegmentSwitch(SwitchId switchId);
 
     /**
@@ -89,4 +118,9 @@ public interface FlowPathRepository extends Repository<FlowPath> {
     void lockInvolvedSwitches(FlowPath... flowPaths);
 
     void updateStatus(PathId pathId, FlowPathStatus pathStatus);
+
+    /**
+     * Update status of the paths in a single request.
+     */
+    void updateStatusAll(Collection<PathId> pathIds, FlowPathStatus pathStatus);
 }
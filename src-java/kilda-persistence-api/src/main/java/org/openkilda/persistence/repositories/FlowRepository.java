@@ -19,10 +19,12 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.FetchStrategy;
+import org.openkilda.persistence.repositories.projection.FlowEndpoints;
 
 import java.util.Collection;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface FlowRepository extends Repository<Flow> {
     long countFlows();
@@ -34,6 +36,14 @@ public interface FlowRepository extends Repository<Flow> {
      */
     Collection<Flow> findAll();
 
+    /**
+     * Streams all flows, see {@link Repository#streamAll(int)}.
+     * <p/>
+     * IMPORTANT: the method doesn't complete the flow and flow path entities with related path segments!
+     */
+    @Override
+    Stream<Flow> streamAll(int batchSize);
+
     boolean exists(String flowId);
 
     Optional<Flow> findById(String flowId);
@@ -75,6 +85,13 @@ public interface FlowRepository extends Repository<Flow> {
 
     Collection<Flow> findByEndpointSwitch(SwitchId switchId);
 
+    /**
+     * Finds endpoints of flows that have passed switch in endpoints.
+     * <p/>
+     * The same as {@link #findByEndpointSwitch(SwitchId)}, but no entities are loaded.
+     */
+    Collection<FlowEndpoints> findEndpointsByEndpointSwitch(SwitchId switchId);
+
     Collection<Flow> findByEndpointSwitchWithMultiTableSupport(SwitchId switchId);
 
     Collection<Flow> findByEndpointSwitchWithEnabledLldp(SwitchId switchId);
@@ -92,10 +92,39 @@ public interface IslRepository extends Repository<Isl> {
     Collection<Isl> findSymmetricActiveWithAvailableBandwidth(long requiredBandwidth,
                                                               FlowEncapsulationType flowEncapsulationType);
 
+    /**
+     * Update latency of the ISLs in a single request. The ISLs are matched by endpoints, the rest of their properties
+     * except the latency is ignored.
+     * @return the ISLs which are not found.
+     */
+    Collection<Isl> updateLatency(Collection<Isl> isls);
+
+    /**
+     * Update max, default max and available bandwidth of the ISLs in a single request. The ISLs are matched by
+     * endpoints.
+     * @return the ISLs which are not found.
+     */
+    Collection<Isl> updateBandwidth(Collection<Isl> isls);
+
+    /**
+     * Update status, actual status and down reason of the ISLs in a single request. The ISLs are matched by
+     * endpoints.
+     * @return the ISLs which are not found.
+     */
+    Collection<Isl> updateStatus(Collection<Isl> isls);
+
     /**
      * Update ISL available bandwidth according to the provided used bandwidth.
      * @return the result available bandwidth of the updated ISL.
      */
     long updateAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
                                   long usedBandwidth);
+
+    /**
+     * Apply the delta to ISL available bandwidth in a single atomic update, so the used bandwidth of all flow paths
+     * over the ISL is not summed up on each change. A negative delta allocates bandwidth, a positive one releases it.
+     * @return the result available bandwidth of the updated ISL.
+     */
+    long updateAvailableBandwidthByDelta(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                         long bandwidthDelta);
 }
@@ -16,11 +16,26 @@
 package org.openkilda.persistence.repositories;
 
 import java.util.Collection;
+import java.util.stream.Stream;
 
 public interface Repository<T> {
     Collection<T> findAll();
 
+    /**
+     * Streams all entities. The entities are loaded lazily in batches of the given size, so a consumer which doesn't
+     * retain them keeps at most a batch in memory.
+     * <p/>
+     * IMPORTANT: entities of a transaction stay in its session, so the method must be used outside of a transaction
+     * to have the memory bounded. Entities created while the stream is consumed may be missed.
+     */
+    Stream<T> streamAll(int batchSize);
+
     void createOrUpdate(T entity);
 
+    /**
+     * Create or update the entities in a single request to the DB instead of a request per entity.
+     */
+    void createOrUpdateAll(Collection<T> entities);
+
     void delete(T entity);
 }
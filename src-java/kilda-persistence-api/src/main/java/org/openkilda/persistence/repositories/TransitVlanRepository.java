@@ -37,4 +37,13 @@ public interface TransitVlanRepository extends Repository<TransitVlan> {
      * @return a transit vlan or {@link Optional#empty()} if no vlan available.
      */
     Optional<Integer> findUnassignedTransitVlan(int minVlan, int maxVlan);
+
+    /**
+     * Find transit vlans which are assigned to flows.
+     *
+     * @param minVlan the min value of vlan.
+     * @param maxVlan the max value of vlan.
+     * @return assigned transit vlans within the range.
+     */
+    Collection<Integer> findAssignedTransitVlans(int minVlan, int maxVlan);
 }
@@ -33,4 +33,13 @@ public interface VxlanRepository extends Repository<Vxlan> {
      * @return a vxlan or {@link Optional#empty()} if no vxlan available.
      */
     Optional<Integer> findUnassignedVxlan(int minVni, int maxVni);
+
+    /**
+     * Find vxlans which are assigned to flows.
+     *
+     * @param minVni the min value of vxlan.
+     * @param maxVni the max value of vxlan.
+     * @return assigned vxlans within the range.
+     */
+    Collection<Integer> findAssignedVxlans(int minVni, int maxVni);
 }
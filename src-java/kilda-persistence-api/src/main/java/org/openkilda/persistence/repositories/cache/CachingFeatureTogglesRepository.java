@@ -0,0 +1,71 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.cache;
+
+import org.openkilda.model.FeatureToggles;
+import org.openkilda.persistence.repositories.FeatureTogglesRepository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Caches the feature toggles. Modifications are passed to the delegate and invalidate the cached toggles.
+ */
+class CachingFeatureTogglesRepository implements FeatureTogglesRepository {
+    private static final String FEATURE_TOGGLES_KEY = "feature-toggles";
+
+    private final FeatureTogglesRepository delegate;
+    private final CachingRepositoryFactory cache;
+
+    CachingFeatureTogglesRepository(FeatureTogglesRepository delegate, CachingRepositoryFactory cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<FeatureToggles> find() {
+        return cache.getFeatureToggles().get(FEATURE_TOGGLES_KEY, delegate::find);
+    }
+
+    @Override
+    public Collection<FeatureToggles> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<FeatureToggles> streamAll(int batchSize) {
+        return delegate.streamAll(batchSize);
+    }
+
+    @Override
+    public void createOrUpdate(FeatureToggles entity) {
+        delegate.createOrUpdate(entity);
+        cache.invalidateFeatureToggles();
+    }
+
+    @Override
+    public void createOrUpdateAll(Collection<FeatureToggles> entities) {
+        delegate.createOrUpdateAll(entities);
+        cache.invalidateFeatureToggles();
+    }
+
+    @Override
+    public void delete(FeatureToggles entity) {
+        delegate.delete(entity);
+        cache.invalidateFeatureToggles();
+    }
+}
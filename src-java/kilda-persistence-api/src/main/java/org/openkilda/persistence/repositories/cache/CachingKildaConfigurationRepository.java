@@ -0,0 +1,70 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.cache;
+
+import org.openkilda.model.KildaConfiguration;
+import org.openkilda.persistence.repositories.KildaConfigurationRepository;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+/**
+ * Caches the Kilda configuration. Modifications are passed to the delegate and invalidate the cached configuration.
+ */
+class CachingKildaConfigurationRepository implements KildaConfigurationRepository {
+    private static final String KILDA_CONFIGURATION_KEY = "kilda-configuration";
+
+    private final KildaConfigurationRepository delegate;
+    private final CachingRepositoryFactory cache;
+
+    CachingKildaConfigurationRepository(KildaConfigurationRepository delegate, CachingRepositoryFactory cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public KildaConfiguration get() {
+        return cache.getKildaConfiguration().get(KILDA_CONFIGURATION_KEY, delegate::get);
+    }
+
+    @Override
+    public Collection<KildaConfiguration> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<KildaConfiguration> streamAll(int batchSize) {
+        return delegate.streamAll(batchSize);
+    }
+
+    @Override
+    public void createOrUpdate(KildaConfiguration entity) {
+        delegate.createOrUpdate(entity);
+        cache.invalidateKildaConfiguration();
+    }
+
+    @Override
+    public void createOrUpdateAll(Collection<KildaConfiguration> entities) {
+        delegate.createOrUpdateAll(entities);
+        cache.invalidateKildaConfiguration();
+    }
+
+    @Override
+    public void delete(KildaConfiguration entity) {
+        delegate.delete(entity);
+        cache.invalidateKildaConfiguration();
+    }
+}
@@ -0,0 +1,240 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.cache;
+
+import org.openkilda.model.FeatureToggles;
+import org.openkilda.model.KildaConfiguration;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.persistence.repositories.BfdSessionRepository;
+import org.openkilda.persistence.repositories.FeatureTogglesRepository;
+import org.openkilda.persistence.repositories.FlowCookieRepository;
+import org.openkilda.persistence.repositories.FlowMeterRepository;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.KildaConfigurationRepository;
+import org.openkilda.persistence.repositories.LinkPropsRepository;
+import org.openkilda.persistence.repositories.PathSegmentRepository;
+import org.openkilda.persistence.repositories.PortPropertiesRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchConnectedDeviceRepository;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.repositories.TransitVlanRepository;
+import org.openkilda.persistence.repositories.VxlanRepository;
+import org.openkilda.persistence.repositories.history.FlowEventRepository;
+import org.openkilda.persistence.repositories.history.FlowHistoryRepository;
+import org.openkilda.persistence.repositories.history.FlowStateRepository;
+import org.openkilda.persistence.repositories.history.HistoryLogRepository;
+import org.openkilda.persistence.repositories.history.PortHistoryRepository;
+import org.openkilda.persistence.repositories.history.StateLogRepository;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Decorates a {@link RepositoryFactory} with read-through caches of slow-changing entities: switches, switch
+ * properties, feature toggles and Kilda configuration. Repositories of other entities are created by the delegate.
+ * <p/>
+ * Repositories created by the factory share the caches. Modifications made through them invalidate the affected
+ * entries, modifications made by other processes are seen once the entries expire or are invalidated explicitly,
+ * e.g. on a change notification.
+ * <p/>
+ * Cached entities are shared between callers and are not attached to the caller's transaction, so they must be
+ * treated as read-only. A component which modifies these entities should use a non-caching factory.
+ */
+public class CachingRepositoryFactory implements RepositoryFactory {
+    private final RepositoryFactory delegate;
+
+    @Getter(AccessLevel.PACKAGE)
+    private final EntityCache<SwitchId, Optional<Switch>> switches;
+    @Getter(AccessLevel.PACKAGE)
+    private final EntityCache<String, Collection<Switch>> activeSwitches;
+    @Getter(AccessLevel.PACKAGE)
+    private final EntityCache<SwitchId, Optional<SwitchProperties>> switchProperties;
+    @Getter(AccessLevel.PACKAGE)
+    private final EntityCache<String, Optional<FeatureToggles>> featureToggles;
+    @Getter(AccessLevel.PACKAGE)
+    private final EntityCache<String, KildaConfiguration> kildaConfiguration;
+
+    public CachingRepositoryFactory(RepositoryFactory delegate, RepositoryCacheConfig config) {
+        this.delegate = delegate;
+        switches = new EntityCache<>("switch", config);
+        activeSwitches = new EntityCache<>("switch.active", config);
+        switchProperties = new EntityCache<>("switch_properties", config);
+        featureToggles = new EntityCache<>("feature_toggles", config);
+        kildaConfiguration = new EntityCache<>("kilda_configuration", config);
+    }
+
+    /**
+     * Invalidates the cached switch, its properties and the active switches.
+     */
+    public void invalidateSwitch(SwitchId switchId) {
+        switches.invalidate(switchId);
+        switchProperties.invalidate(switchId);
+        activeSwitches.invalidateAll();
+    }
+
+    public void invalidateFeatureToggles() {
+        featureToggles.invalidateAll();
+    }
+
+    public void invalidateKildaConfiguration() {
+        kildaConfiguration.invalidateAll();
+    }
+
+    /**
+     * Invalidates all cached entities.
+     */
+    public void invalidateAll() {
+        switches.invalidateAll();
+        activeSwitches.invalidateAll();
+        switchProperties.invalidateAll();
+        featureToggles.invalidateAll();
+        kildaConfiguration.invalidateAll();
+    }
+
+    /**
+     * Returns hits, misses and evictions of each cache since the previous call, and the current cache sizes.
+     */
+    public Map<String, Long> pullStats() {
+        Map<String, Long> report = new HashMap<>();
+        switches.pullStats(report);
+        activeSwitches.pullStats(report);
+        switchProperties.pullStats(report);
+        featureToggles.pullStats(report);
+        kildaConfiguration.pullStats(report);
+        return report;
+    }
+
+    @Override
+    public FlowCookieRepository createFlowCookieRepository() {
+        return delegate.createFlowCookieRepository();
+    }
+
+    @Override
+    public FlowMeterRepository createFlowMeterRepository() {
+        return delegate.createFlowMeterRepository();
+    }
+
+    @Override
+    public FlowPathRepository createFlowPathRepository() {
+        return delegate.createFlowPathRepository();
+    }
+
+    @Override
+    public FlowRepository createFlowRepository() {
+        return delegate.createFlowRepository();
+    }
+
+    @Override
+    public IslRepository createIslRepository() {
+        return delegate.createIslRepository();
+    }
+
+    @Override
+    public LinkPropsRepository createLinkPropsRepository() {
+        return delegate.createLinkPropsRepository();
+    }
+
+    @Override
+    public SwitchRepository createSwitchRepository() {
+        return new CachingSwitchRepository(delegate.createSwitchRepository(), this);
+    }
+
+    @Override
+    public TransitVlanRepository createTransitVlanRepository() {
+        return delegate.createTransitVlanRepository();
+    }
+
+    @Override
+    public VxlanRepository createVxlanRepository() {
+        return delegate.createVxlanRepository();
+    }
+
+    @Override
+    public FeatureTogglesRepository createFeatureTogglesRepository() {
+        return new CachingFeatureTogglesRepository(delegate.createFeatureTogglesRepository(), this);
+    }
+
+    @Override
+    public FlowEventRepository createFlowEventRepository() {
+        return delegate.createFlowEventRepository();
+    }
+
+    @Override
+    public FlowHistoryRepository createFlowHistoryRepository() {
+        return delegate.createFlowHistoryRepository();
+    }
+
+    @Override
+    public FlowStateRepository createFlowStateRepository() {
+        return delegate.createFlowStateRepository();
+    }
+
+    @Override
+    public HistoryLogRepository createHistoryLogRepository() {
+        return delegate.createHistoryLogRepository();
+    }
+
+    @Override
+    public StateLogRepository createStateLogRepository() {
+        return delegate.createStateLogRepository();
+    }
+
+    @Override
+    public BfdSessionRepository createBfdSessionRepository() {
+        return delegate.createBfdSessionRepository();
+    }
+
+    @Override
+    public KildaConfigurationRepository createKildaConfigurationRepository() {
+        return new CachingKildaConfigurationRepository(delegate.createKildaConfigurationRepository(),
+                this);
+    }
+
+    @Override
+    public SwitchPropertiesRepository createSwitchPropertiesRepository() {
+        return new CachingSwitchPropertiesRepository(delegate.createSwitchPropertiesRepository(), this);
+    }
+
+    @Override
+    public SwitchConnectedDeviceRepository createSwitchConnectedDeviceRepository() {
+        return delegate.createSwitchConnectedDeviceRepository();
+    }
+
+    @Override
+    public PortHistoryRepository createPortHistoryRepository() {
+        return delegate.createPortHistoryRepository();
+    }
+
+    @Override
+    public PortPropertiesRepository createPortPropertiesRepository() {
+        return delegate.createPortPropertiesRepository();
+    }
+
+    @Override
+    public PathSegmentRepository createPathSegmentRepository() {
+        return delegate.createPathSegmentRepository();
+    }
+}
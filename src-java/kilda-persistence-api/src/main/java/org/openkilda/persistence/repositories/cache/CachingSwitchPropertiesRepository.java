@@ -0,0 +1,79 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.cache;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Caches lookups of switch properties by switch id. Modifications are passed to the delegate and invalidate the
+ * affected entries.
+ */
+class CachingSwitchPropertiesRepository implements SwitchPropertiesRepository {
+    private final SwitchPropertiesRepository delegate;
+    private final CachingRepositoryFactory cache;
+
+    CachingSwitchPropertiesRepository(SwitchPropertiesRepository delegate, CachingRepositoryFactory cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public Optional<SwitchProperties> findBySwitchId(SwitchId switchId) {
+        return cache.getSwitchProperties().get(switchId, () -> delegate.findBySwitchId(switchId));
+    }
+
+    @Override
+    public Collection<SwitchProperties> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<SwitchProperties> streamAll(int batchSize) {
+        return delegate.streamAll(batchSize);
+    }
+
+    @Override
+    public void createOrUpdate(SwitchProperties entity) {
+        delegate.createOrUpdate(entity);
+        invalidate(entity);
+    }
+
+    @Override
+    public void createOrUpdateAll(Collection<SwitchProperties> entities) {
+        delegate.createOrUpdateAll(entities);
+        entities.forEach(this::invalidate);
+    }
+
+    @Override
+    public void delete(SwitchProperties entity) {
+        delegate.delete(entity);
+        invalidate(entity);
+    }
+
+    private void invalidate(SwitchProperties entity) {
+        if (entity.getSwitchObj() != null) {
+            cache.getSwitchProperties().invalidate(entity.getSwitchObj().getSwitchId());
+        } else {
+            cache.getSwitchProperties().invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.cache;
+
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Caches lookups of a switch by id and of the active switches. Modifications are passed to the delegate and
+ * invalidate the affected entries.
+ */
+class CachingSwitchRepository implements SwitchRepository {
+    private static final String ACTIVE_SWITCHES_KEY = "active";
+
+    private final SwitchRepository delegate;
+    private final CachingRepositoryFactory cache;
+
+    CachingSwitchRepository(SwitchRepository delegate, CachingRepositoryFactory cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public boolean exists(SwitchId switchId) {
+        return findById(switchId).isPresent();
+    }
+
+    @Override
+    public Collection<Switch> findActive() {
+        return cache.getActiveSwitches().get(ACTIVE_SWITCHES_KEY,
+                () -> Collections.unmodifiableCollection(new ArrayList<>(delegate.findActive())));
+    }
+
+    @Override
+    public Optional<Switch> findById(SwitchId switchId) {
+        return cache.getSwitches().get(switchId, () -> delegate.findById(switchId));
+    }
+
+    @Override
+    public Collection<Switch> findSwitchesInFlowPathByFlowId(String flowId) {
+        return delegate.findSwitchesInFlowPathByFlowId(flowId);
+    }
+
+    @Override
+    public Switch reload(Switch entity) {
+        return delegate.reload(entity);
+    }
+
+    @Override
+    public void lockSwitches(Switch... switches) {
+        delegate.lockSwitches(switches);
+    }
+
+    @Override
+    public void forceDelete(SwitchId switchId) {
+        delegate.forceDelete(switchId);
+        cache.invalidateSwitch(switchId);
+    }
+
+    @Override
+    public Collection<Switch> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Stream<Switch> streamAll(int batchSize) {
+        return delegate.streamAll(batchSize);
+    }
+
+    @Override
+    public void createOrUpdate(Switch entity) {
+        delegate.createOrUpdate(entity);
+        cache.invalidateSwitch(entity.getSwitchId());
+    }
+
+    @Override
+    public void createOrUpdateAll(Collection<Switch> entities) {
+        delegate.createOrUpdateAll(entities);
+        entities.forEach(entity -> cache.invalidateSwitch(entity.getSwitchId()));
+    }
+
+    @Override
+    public void delete(Switch entity) {
+        delegate.delete(entity);
+        cache.invalidateSwitch(entity.getSwitchId());
+    }
+}
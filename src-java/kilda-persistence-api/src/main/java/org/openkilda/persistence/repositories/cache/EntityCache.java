@@ -0,0 +1,78 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of repository lookup results. An absent entity is cached as well, so a value must not be null:
+ * lookups of a single entity are cached as {@link java.util.Optional}.
+ */
+class EntityCache<K, V> {
+    private final String name;
+    private final Cache<K, V> cache;
+    private CacheStats reportedStats = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    EntityCache(String name, RepositoryCacheConfig config) {
+        this.name = name;
+        this.cache = CacheBuilder.newBuilder()
+                .maximumSize(config.getMaxSize())
+                .expireAfterWrite(config.getTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached value, or loads and caches it if missing. Loading is not synchronized, concurrent misses
+     * of the same key load it more than once.
+     */
+    V get(K key, Supplier<V> loader) {
+        V value = cache.getIfPresent(key);
+        if (value == null) {
+            value = loader.get();
+            cache.put(key, value);
+        }
+        return value;
+    }
+
+    void invalidate(K key) {
+        cache.invalidate(key);
+    }
+
+    void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Puts hits, misses and evictions since the previous call, and the current size into the report.
+     */
+    synchronized void pullStats(Map<String, Long> report) {
+        CacheStats stats = cache.stats();
+        CacheStats delta = stats.minus(reportedStats);
+        reportedStats = stats;
+
+        report.put(name + ".hits", delta.hitCount());
+        report.put(name + ".misses", delta.missCount());
+        report.put(name + ".evictions", delta.evictionCount());
+        report.put(name + ".size", cache.size());
+    }
+}
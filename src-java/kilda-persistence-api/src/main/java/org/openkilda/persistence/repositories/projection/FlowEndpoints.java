@@ -0,0 +1,40 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.projection;
+
+import org.openkilda.model.FlowStatus;
+import org.openkilda.model.SwitchId;
+
+import lombok.Value;
+
+import java.io.Serializable;
+
+/**
+ * Endpoints and status of a flow, read without the flow paths and switch entities.
+ */
+@Value
+public class FlowEndpoints implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String flowId;
+    private SwitchId srcSwitchId;
+    private int srcPort;
+    private int srcVlan;
+    private SwitchId destSwitchId;
+    private int destPort;
+    private int destVlan;
+    private FlowStatus status;
+}
@@ -0,0 +1,46 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.projection;
+
+import org.openkilda.model.PathId;
+import org.openkilda.model.SwitchId;
+
+import lombok.Value;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Segments of a flow path in the path order, read without the flow, switch and path segment entities.
+ */
+@Value
+public class FlowPathSegments implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String flowId;
+    private PathId pathId;
+    private List<Segment> segments;
+
+    @Value
+    public static class Segment implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private SwitchId srcSwitchId;
+        private int srcPort;
+        private SwitchId destSwitchId;
+        private int destPort;
+    }
+}
@@ -0,0 +1,198 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.benchmark;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchStatus;
+import org.openkilda.model.history.PortHistory;
+import org.openkilda.persistence.EmbeddedNeo4jDatabase;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.repositories.history.PortHistoryRepository;
+import org.openkilda.persistence.repositories.impl.Neo4jSessionFactory;
+import org.openkilda.persistence.spi.PersistenceProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writes of an entity per request with bulk writes by a single UNWIND request. ISLs connect the switches in a
+ * chain, each benchmark invocation writes count entities in a transaction.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkWriteBenchmark {
+    @Param({"10", "100", "1000"})
+    private int count;
+
+    private EmbeddedNeo4jDatabase database;
+    private Neo4jSessionFactory sessionFactory;
+    private TransactionManager transactionManager;
+    private IslRepository islRepository;
+    private PortHistoryRepository portHistoryRepository;
+
+    private final List<Switch> switches = new ArrayList<>();
+    private long latency;
+
+    /**
+     * Starts the embedded Neo4j and creates the switches and ISLs.
+     */
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        database = new EmbeddedNeo4jDatabase(Files.createTempDirectory("bulk-write-benchmark").toFile());
+
+        Properties configProps = new Properties();
+        configProps.setProperty("neo4j.uri", database.getConnectionUri());
+        configProps.setProperty("neo4j.indexes.auto", "update");
+        PersistenceManager persistenceManager = PersistenceProvider.getInstance()
+                .createPersistenceManager(new PropertiesBasedConfigurationProvider(configProps));
+
+        transactionManager = persistenceManager.getTransactionManager();
+        sessionFactory = (Neo4jSessionFactory) transactionManager;
+        RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
+        SwitchRepository switchRepository = repositoryFactory.createSwitchRepository();
+        islRepository = repositoryFactory.createIslRepository();
+        portHistoryRepository = repositoryFactory.createPortHistoryRepository();
+
+        for (int i = 0; i <= count; i++) {
+            Switch sw = Switch.builder()
+                    .switchId(new SwitchId(i + 1))
+                    .status(SwitchStatus.ACTIVE)
+                    .timeCreate(Instant.now())
+                    .timeModify(Instant.now())
+                    .features(Collections.emptySet())
+                    .build();
+            switchRepository.createOrUpdate(sw);
+            switches.add(sw);
+        }
+        List<Isl> isls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            isls.add(buildIsl(i).status(IslStatus.ACTIVE).actualStatus(IslStatus.ACTIVE).build());
+        }
+        islRepository.createOrUpdateAll(isls);
+    }
+
+    /**
+     * Removes the port history written during the iteration and clears the session cache.
+     */
+    @Setup(Level.Iteration)
+    public void cleanUp() {
+        sessionFactory.getSession().query("MATCH (p:port_history) DETACH DELETE p", Collections.emptyMap());
+        sessionFactory.getSession().clear();
+    }
+
+    /**
+     * Stops the embedded Neo4j.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        database.stop();
+    }
+
+    /**
+     * Loads and saves each ISL, the same way as ISL latency updates are done one by one.
+     */
+    @Benchmark
+    public void updateIslLatencyPerEntity() {
+        long value = ++latency;
+        transactionManager.doInTransaction(() -> {
+            for (int i = 0; i < count; i++) {
+                Isl isl = islRepository.findByEndpoints(switches.get(i).getSwitchId(), i + 1,
+                        switches.get(i + 1).getSwitchId(), i + 2).get();
+                isl.setLatency(value);
+                islRepository.createOrUpdate(isl);
+            }
+        });
+    }
+
+    /**
+     * Updates the latency of all ISLs by endpoints, without loading them into the session.
+     */
+    @Benchmark
+    public void updateIslLatencyBulk() {
+        long value = ++latency;
+        List<Isl> isls = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            isls.add(buildIsl(i).latency(value).build());
+        }
+        transactionManager.doInTransaction(() -> islRepository.updateLatency(isls));
+    }
+
+    @Benchmark
+    public void createPortHistoryPerEntity() {
+        List<PortHistory> records = buildPortHistory();
+        transactionManager.doInTransaction(() -> records.forEach(portHistoryRepository::createOrUpdate));
+    }
+
+    @Benchmark
+    public void createPortHistoryBulk() {
+        List<PortHistory> records = buildPortHistory();
+        transactionManager.doInTransaction(() -> portHistoryRepository.createOrUpdateAll(records));
+    }
+
+    private Isl.IslBuilder buildIsl(int index) {
+        return Isl.builder()
+                .srcSwitch(switches.get(index))
+                .srcPort(index + 1)
+                .destSwitch(switches.get(index + 1))
+                .destPort(index + 2);
+    }
+
+    private List<PortHistory> buildPortHistory() {
+        Instant now = Instant.now();
+        List<PortHistory> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            records.add(PortHistory.builder()
+                    .switchId(switches.get(i).getSwitchId())
+                    .portNumber(i + 1)
+                    .event("PORT_UP")
+                    .time(now)
+                    .build());
+        }
+        return records;
+    }
+}
@@ -27,6 +27,8 @@ import org.neo4j.ogm.session.SessionFactory;
 import org.neo4j.ogm.transaction.Transaction;
 import org.neo4j.ogm.transaction.Transaction.Status;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +39,7 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionFactory {
     private static final ThreadLocal<Session> SESSION_HOLDER = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> AFTER_COMMIT_ACTIONS = ThreadLocal.withInitial(ArrayList::new);
 
     private final SessionFactory sessionFactory;
     private final RetryPolicy retryPolicyBlank;
@@ -90,6 +93,15 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         return new RetryPolicy(retryPolicyBlank);
     }
 
+    @Override
+    public void doAfterCommit(Runnable action) {
+        if (SESSION_HOLDER.get() == null) {
+            action.run();
+        } else {
+            AFTER_COMMIT_ACTIONS.get().add(action);
+        }
+    }
+
     private <T> T execute(RetryPolicy retryPolicy, Callable<T> action) {
         return Failsafe.with(retryPolicy)
                 .onRetry(e -> log.warn("Retrying Neo4j transaction finished with exception", e))
@@ -156,6 +168,11 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
                 SESSION_HOLDER.remove();
             }
         }
+
+        if (SESSION_HOLDER.get() == null) {
+            // The outermost transaction is committed.
+            runAfterCommitActions();
+        }
     }
 
     /**
@@ -183,6 +200,19 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
             if (transaction.status() == Status.ROLLEDBACK || transaction.status() == Status.CLOSED) {
                 // Release the session associated with the transaction and the current thread.
                 SESSION_HOLDER.remove();
+                AFTER_COMMIT_ACTIONS.remove();
+            }
+        }
+    }
+
+    private void runAfterCommitActions() {
+        List<Runnable> actions = AFTER_COMMIT_ACTIONS.get();
+        AFTER_COMMIT_ACTIONS.remove();
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Exception ex) {
+                log.error("Failed to execute an after commit action", ex);
             }
         }
     }
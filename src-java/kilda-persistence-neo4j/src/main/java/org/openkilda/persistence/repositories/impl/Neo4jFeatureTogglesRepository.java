@@ -93,6 +93,14 @@ public class Neo4jFeatureTogglesRepository extends Neo4jGenericRepository<Featur
         });
     }
 
+    /**
+     * Applies the toggles one by one, as each of them is merged into the persisted toggles.
+     */
+    @Override
+    public void createOrUpdateAll(Collection<FeatureToggles> featureToggles) {
+        transactionManager.doInTransaction(() -> featureToggles.forEach(this::createOrUpdate));
+    }
+
     @Override
     protected Class<FeatureToggles> getEntityType() {
         return FeatureToggles.class;
@@ -25,8 +25,13 @@ import org.openkilda.persistence.repositories.FlowCookieRepository;
 import com.google.common.collect.ImmutableMap;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
+import org.neo4j.ogm.model.Result;
+import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.session.Session;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -80,6 +85,39 @@ public class Neo4jFlowCookieRepository extends Neo4jGenericRepository<FlowCookie
         return queryForLong(query, parameters, "cookie");
     }
 
+    @Override
+    public Collection<Long> findAssignedCookies(long minCookie, long maxCookie) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "min_cookie", minCookie,
+                "max_cookie", maxCookie);
+
+        String query = "MATCH (n:flow_cookie) "
+                + "WHERE n.unmasked_cookie >= $min_cookie AND n.unmasked_cookie <= $max_cookie "
+                + "RETURN n.unmasked_cookie AS cookie";
+
+        return queryForLongs(query, parameters, "cookie");
+    }
+
+    @Override
+    public Collection<Long> deleteByCookies(Collection<Long> unmaskedCookies) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "cookies", new ArrayList<>(unmaskedCookies));
+
+        Session session = getSession();
+        Result result = session.query("MATCH (n:flow_cookie) "
+                + "WHERE n.unmasked_cookie IN $cookies "
+                + "WITH n, id(n) AS id, n.unmasked_cookie AS cookie "
+                + "DETACH DELETE n "
+                + "RETURN id, cookie", parameters);
+
+        List<Long> deletedCookies = new ArrayList<>();
+        result.forEach(row -> {
+            ((Neo4jSession) session).context().detachNodeEntity(Long.parseLong(row.get("id").toString()));
+            deletedCookies.add(Long.parseLong(row.get("cookie").toString()));
+        });
+        return deletedCookies;
+    }
+
     @Override
     protected Class<FlowCookie> getEntityType() {
         return FlowCookie.class;
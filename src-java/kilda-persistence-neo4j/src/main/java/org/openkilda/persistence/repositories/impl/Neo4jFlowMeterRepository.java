@@ -32,6 +32,7 @@ import org.neo4j.ogm.cypher.Filter;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Neo4j OGM implementation of {@link FlowMeterRepository}.
@@ -85,6 +86,23 @@ public class Neo4jFlowMeterRepository extends Neo4jGenericRepository<FlowMeter>
         return queryForLong(query, parameters, "meter").map(MeterId::new);
     }
 
+    @Override
+    public Collection<MeterId> findAssignedMeterIds(SwitchId switchId, MeterId minMeterId, MeterId maxMeterId) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "min_meter", minMeterId.getValue(),
+                "max_meter", maxMeterId.getValue(),
+                "switch_id", switchId.toString()
+        );
+
+        String query = "MATCH (n:flow_meter {switch_id: $switch_id}) "
+                + "WHERE n.meter_id >= $min_meter AND n.meter_id <= $max_meter "
+                + "RETURN n.meter_id AS meter";
+
+        return queryForLongs(query, parameters, "meter").stream()
+                .map(MeterId::new)
+                .collect(Collectors.toList());
+    }
+
     @Override
     protected Class<FlowMeter> getEntityType() {
         return FlowMeter.class;
@@ -18,6 +18,7 @@ package org.openkilda.persistence.repositories.impl;
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
 import static org.openkilda.persistence.repositories.impl.Neo4jFlowRepository.FLOW_ID_PROPERTY_NAME;
 
 import org.openkilda.model.Cookie;
@@ -25,6 +26,7 @@ import org.openkilda.model.Flow;
 import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.FlowStatus;
+import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
 import org.openkilda.model.PathSegment;
 import org.openkilda.model.SwitchId;
@@ -35,6 +37,8 @@ import org.openkilda.persistence.converters.FlowPathStatusConverter;
 import org.openkilda.persistence.converters.PathIdConverter;
 import org.openkilda.persistence.converters.SwitchIdConverter;
 import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.projection.FlowPathCookieAndMeter;
+import org.openkilda.persistence.repositories.projection.FlowPathSegments;
 
 import com.google.common.collect.ImmutableMap;
 import org.neo4j.ogm.cypher.ComparisonOperator;
@@ -45,16 +49,20 @@ import org.neo4j.ogm.session.Session;
 import org.neo4j.ogm.typeconversion.InstantStringConverter;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Neo4j OGM implementation of {@link FlowPathRepository}.
@@ -223,6 +231,81 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
         return loadAll(pathIdsFilter);
     }
 
+    @Override
+    public Collection<FlowPathCookieAndMeter> findCookieAndMeterByEndpointSwitchIncludeProtected(SwitchId switchId) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_id", switchIdConverter.toGraphProperty(switchId));
+
+        return queryForCookieAndMeter("MATCH (src:switch)<-[:source]-(fp:flow_path)-[:destination]->(dst:switch) "
+                + "WHERE src.name = $switch_id OR dst.name = $switch_id "
+                + "MATCH (f:flow)-[:owns]-(fp) "
+                + "RETURN f.flow_id as flow_id, fp.path_id as path_id, src.name as src_switch, "
+                + "dst.name as dst_switch, fp.cookie as cookie, fp.meter_id as meter_id", parameters);
+    }
+
+    @Override
+    public Collection<FlowPathCookieAndMeter> findCookieAndMeterBySegmentSwitch(SwitchId switchId) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_id", switchIdConverter.toGraphProperty(switchId));
+
+        return queryForCookieAndMeter(
+                "MATCH (ps_src:switch)-[:source]-(ps:path_segment)-[:destination]-(ps_dst:switch) "
+                + "WHERE ps_src.name = $switch_id OR ps_dst.name = $switch_id "
+                + "MATCH (f:flow)-[:owns]-(fp:flow_path)-[:owns]-(ps) "
+                + "WITH DISTINCT f, fp "
+                + "MATCH (src:switch)<-[:source]-(fp)-[:destination]->(dst:switch) "
+                + "RETURN f.flow_id as flow_id, fp.path_id as path_id, src.name as src_switch, "
+                + "dst.name as dst_switch, fp.cookie as cookie, fp.meter_id as meter_id", parameters);
+    }
+
+    private List<FlowPathCookieAndMeter> queryForCookieAndMeter(String query, Map<String, Object> parameters) {
+        return StreamSupport.stream(getSession().query(query, parameters).spliterator(), false)
+                .map(row -> {
+                    Object meterId = row.get("meter_id");
+                    return new FlowPathCookieAndMeter(
+                            (String) row.get("flow_id"),
+                            pathIdConverter.toEntityAttribute((String) row.get("path_id")),
+                            switchIdConverter.toEntityAttribute((String) row.get("src_switch")),
+                            switchIdConverter.toEntityAttribute((String) row.get("dst_switch")),
+                            new Cookie(((Number) row.get("cookie")).longValue()),
+                            meterId != null ? new MeterId(((Number) meterId).longValue()) : null);
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public Collection<FlowPathSegments> findSegmentsBySegmentSwitch(SwitchId switchId) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_id", switchIdConverter.toGraphProperty(switchId));
+
+        // a row per segment, ordered by the path and the position of the segment in the path
+        String query = "MATCH (ps_src:switch)-[:source]-(ps:path_segment)-[:destination]-(ps_dst:switch) "
+                + "WHERE ps_src.name = $switch_id OR ps_dst.name = $switch_id "
+                + "MATCH (f:flow)-[:owns]-(fp:flow_path)-[:owns]-(ps) "
+                + "WITH DISTINCT f, fp "
+                + "MATCH (fp)-[:owns]-(s:path_segment), (s_src:switch)-[:source]-(s)-[:destination]-(s_dst:switch) "
+                + "RETURN f.flow_id as flow_id, fp.path_id as path_id, s_src.name as src_switch, "
+                + "s.src_port as src_port, s_dst.name as dst_switch, s.dst_port as dst_port "
+                + "ORDER BY fp.path_id, s.seq_id";
+
+        Map<String, String> flowIds = new LinkedHashMap<>();
+        Map<String, List<FlowPathSegments.Segment>> segments = new HashMap<>();
+        for (Map<String, Object> row : getSession().query(query, parameters)) {
+            String pathId = (String) row.get("path_id");
+            flowIds.put(pathId, (String) row.get("flow_id"));
+            segments.computeIfAbsent(pathId, key -> new ArrayList<>()).add(new FlowPathSegments.Segment(
+                    switchIdConverter.toEntityAttribute((String) row.get("src_switch")),
+                    ((Number) row.get("src_port")).intValue(),
+                    switchIdConverter.toEntityAttribute((String) row.get("dst_switch")),
+                    ((Number) row.get("dst_port")).intValue()));
+        }
+
+        return flowIds.entrySet().stream()
+                .map(entry -> new FlowPathSegments(entry.getValue(), pathIdConverter.toEntityAttribute(entry.getKey()),
+                        unmodifiableList(segments.get(entry.getKey()))))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Collection<FlowPath> findInactiveBySegmentSwitch(SwitchId switchId) {
         Map<String, Object> parameters = ImmutableMap.of(
@@ -339,15 +422,7 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
 
     @Override
     public void createOrUpdate(FlowPath flowPath) {
-        // The flow path must reference a managed flow to avoid creation of duplicated flow.
-        requireManagedEntity(flowPath.getFlow());
-        validateFlowPath(flowPath);
-
-        if (flowPath.getTimeCreate() == null) {
-            flowPath.setTimeCreate(Instant.now());
-        } else {
-            flowPath.setTimeModify(Instant.now());
-        }
+        prepareToSave(flowPath);
 
         transactionManager.doInTransaction(() -> {
             Session session = getSession();
@@ -365,6 +440,37 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
         });
     }
 
+    @Override
+    public void createOrUpdateAll(Collection<FlowPath> flowPaths) {
+        flowPaths.forEach(this::prepareToSave);
+
+        transactionManager.doInTransaction(() -> {
+            Session session = getSession();
+            // Switches of all new paths are locked at once, so the locks are taken in a single order.
+            lockInvolvedSwitches(flowPaths.stream()
+                    .filter(path -> session.resolveGraphIdFor(path) == null || hasUnmanagedEntity(path))
+                    .toArray(FlowPath[]::new));
+
+            flowPaths.stream()
+                    .filter(path -> session.resolveGraphIdFor(path) != null)
+                    .forEach(this::deleteOrphanSegments);
+
+            super.createOrUpdateAll(flowPaths);
+        });
+    }
+
+    private void prepareToSave(FlowPath flowPath) {
+        // The flow path must reference a managed flow to avoid creation of duplicated flow.
+        requireManagedEntity(flowPath.getFlow());
+        validateFlowPath(flowPath);
+
+        if (flowPath.getTimeCreate() == null) {
+            flowPath.setTimeCreate(Instant.now());
+        } else {
+            flowPath.setTimeModify(Instant.now());
+        }
+    }
+
     private boolean hasUnmanagedEntity(FlowPath path) {
         Session session = getSession();
         for (PathSegment segment : path.getSegments()) {
@@ -468,7 +574,6 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
                 "path_id", pathIdConverter.toGraphProperty(pathId),
                 "status", statusConverter.toGraphProperty(pathStatus),
                 "time_modify", instantStringConverter.toGraphProperty(timestamp));
-        Session session = getSession();
         Optional<Long> updatedEntityId = queryForLong(
                 "MATCH (fp:flow_path {path_id: $path_id}) "
                         + "SET fp.status=$status, fp.time_modify=$time_modify "
@@ -477,7 +582,37 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
             throw new PersistenceException(format("Path not found to be updated: %s", pathId));
         }
 
-        Object updatedEntity = ((Neo4jSession) session).context().getNodeEntity(updatedEntityId.get());
+        updateLoadedStatus(updatedEntityId.get(), pathStatus, timestamp);
+    }
+
+    @Override
+    public void updateStatusAll(Collection<PathId> pathIds, FlowPathStatus pathStatus) {
+        Set<String> pathIdValues = pathIds.stream()
+                .map(pathIdConverter::toGraphProperty)
+                .collect(Collectors.toSet());
+        if (pathIdValues.isEmpty()) {
+            return;
+        }
+
+        Instant timestamp = Instant.now();
+        Map<String, Object> parameters = ImmutableMap.of(
+                "path_ids", pathIdValues,
+                "status", statusConverter.toGraphProperty(pathStatus),
+                "time_modify", instantStringConverter.toGraphProperty(timestamp));
+        List<Long> updatedEntityIds = queryForLongs(
+                "UNWIND $path_ids as path_id "
+                        + "MATCH (fp:flow_path {path_id: path_id}) "
+                        + "SET fp.status=$status, fp.time_modify=$time_modify "
+                        + "RETURN id(fp) as id", parameters, "id");
+        if (updatedEntityIds.size() != pathIdValues.size()) {
+            throw new PersistenceException(format("Paths not found to be updated: %s", pathIds));
+        }
+
+        updatedEntityIds.forEach(entityId -> updateLoadedStatus(entityId, pathStatus, timestamp));
+    }
+
+    private void updateLoadedStatus(long entityId, FlowPathStatus pathStatus, Instant timestamp) {
+        Object updatedEntity = ((Neo4jSession) getSession()).context().getNodeEntity(entityId);
         if (updatedEntity instanceof FlowPath) {
             FlowPath updatedPath = (FlowPath) updatedEntity;
             updatedPath.setStatus(pathStatus);
@@ -31,6 +31,7 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.converters.FlowStatusConverter;
 import org.openkilda.persistence.converters.SwitchIdConverter;
 import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.projection.FlowEndpoints;
 
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
@@ -52,6 +53,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Neo4j OGM implementation of {@link FlowRepository}.
@@ -91,6 +93,11 @@ public class Neo4jFlowRepository extends Neo4jGenericRepository<Flow> implements
         return loadAll(EMPTY_FILTERS, FetchStrategy.DIRECT_RELATIONS);
     }
 
+    @Override
+    public Stream<Flow> streamAll(int batchSize) {
+        return streamAll(batchSize, FetchStrategy.DIRECT_RELATIONS);
+    }
+
     @Override
     public long countFlows() {
         return getSession().countEntitiesOfType(getEntityType());
@@ -257,6 +264,30 @@ public class Neo4jFlowRepository extends Neo4jGenericRepository<Flow> implements
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public Collection<FlowEndpoints> findEndpointsByEndpointSwitch(SwitchId switchId) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_id", switchIdConverter.toGraphProperty(switchId));
+
+        String query = "MATCH (src:switch)<-[:source]-(f:flow)-[:destination]->(dst:switch) "
+                + "WHERE src.name = $switch_id OR dst.name = $switch_id "
+                + "RETURN f.flow_id as flow_id, src.name as src_switch, f.src_port as src_port, "
+                + "f.src_vlan as src_vlan, dst.name as dst_switch, f.dst_port as dst_port, f.dst_vlan as dst_vlan, "
+                + "f.status as status";
+
+        return StreamSupport.stream(getSession().query(query, parameters).spliterator(), false)
+                .map(row -> new FlowEndpoints(
+                        (String) row.get("flow_id"),
+                        switchIdConverter.toEntityAttribute((String) row.get("src_switch")),
+                        ((Number) row.get("src_port")).intValue(),
+                        ((Number) row.get("src_vlan")).intValue(),
+                        switchIdConverter.toEntityAttribute((String) row.get("dst_switch")),
+                        ((Number) row.get("dst_port")).intValue(),
+                        ((Number) row.get("dst_vlan")).intValue(),
+                        flowStatusConverter.toEntityAttribute((String) row.get("status"))))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Collection<Flow> findByEndpointSwitchWithMultiTableSupport(SwitchId switchId) {
         Filter srcSwitchFilter = createSrcSwitchFilter(switchId);
@@ -337,6 +368,14 @@ public class Neo4jFlowRepository extends Neo4jGenericRepository<Flow> implements
         });
     }
 
+    /**
+     * Saves the flows one by one, as each of them requires own processing of orphan paths.
+     */
+    @Override
+    public void createOrUpdateAll(Collection<Flow> flows) {
+        transactionManager.doInTransaction(() -> flows.forEach(this::createOrUpdate));
+    }
+
     private String extractFlowsAsString(List<Map<String, Object>> results) {
         return results.stream()
                 .map(result -> result.get(FLOW_ALIAS))
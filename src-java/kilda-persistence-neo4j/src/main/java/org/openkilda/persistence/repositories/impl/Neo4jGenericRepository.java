@@ -37,6 +37,8 @@ import org.neo4j.ogm.cypher.Filters;
 import org.neo4j.ogm.cypher.query.SortOrder;
 import org.neo4j.ogm.exception.CypherException;
 import org.neo4j.ogm.exception.core.MappingException;
+import org.neo4j.ogm.metadata.ClassInfo;
+import org.neo4j.ogm.session.Neo4jSession;
 import org.neo4j.ogm.session.Session;
 
 import java.util.Arrays;
@@ -44,8 +46,10 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.TreeMap;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -74,10 +78,44 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
         return loadAll(EMPTY_FILTERS, getDefaultFetchStrategy());
     }
 
+    @Override
+    public Stream<T> streamAll(int batchSize) {
+        return streamAll(batchSize, getDefaultFetchStrategy());
+    }
+
+    /**
+     * Streams all entities, loading them in batches of the given size. Batches are taken by keyset pagination over
+     * the native ids: each batch is a lookup of the next ids instead of a scan which skips the already loaded entities.
+     */
+    protected Stream<T> streamAll(int batchSize, FetchStrategy fetchStrategy) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(format("Invalid batch size %d", batchSize));
+        }
+
+        Iterator<Collection<T>> batches = new BatchIterator(batchSize, getDepthLoadEntity(fetchStrategy));
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(batches, Spliterator.ORDERED), false)
+                .flatMap(Collection::stream);
+    }
+
     @Override
     public void createOrUpdate(T entity) {
+        save(entity);
+    }
+
+    /**
+     * Saves the entities by a single OGM request. OGM groups new and updated entities of the same type and writes each
+     * group by one UNWIND statement, so there is no round-trip per entity.
+     */
+    @Override
+    public void createOrUpdateAll(Collection<T> entities) {
+        if (!entities.isEmpty()) {
+            save(entities);
+        }
+    }
+
+    private void save(Object entityOrCollection) {
         try {
-            getSession().save(entity, getDepthCreateUpdateEntity());
+            getSession().save(entityOrCollection, getDepthCreateUpdateEntity());
         } catch (ClientException ex) {
             if (ex.code().endsWith("ConstraintValidationFailed")) {
                 throw new ConstraintViolationException("Unable to create/update " + getEntityType(), ex);
@@ -194,20 +232,26 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
     }
 
     protected void lockSwitches(Stream<SwitchId> switches) {
-        // Lock switches in ascending order of switchId.
-        switches.<Map<SwitchId, SwitchId>>collect(TreeMap::new, (m, e) -> m.put(e, e), Map::putAll)
-                .values()
-                .forEach(this::lockSwitch);
-    }
+        // Lock switches in ascending order of switchId. The rows of UNWIND are processed in the order of the list,
+        // so all switches are locked by a single query.
+        List<String> names = switches
+                .distinct()
+                .sorted()
+                .map(SwitchId::toString)
+                .collect(Collectors.toList());
+        if (names.isEmpty()) {
+            return;
+        }
 
-    private void lockSwitch(SwitchId switchId) {
-        Map<String, Object> parameters = ImmutableMap.of("name", switchId.toString());
-        Optional<Long> updatedEntityId = queryForLong(
-                "MATCH (sw:switch {name: $name}) "
+        Map<String, Object> parameters = ImmutableMap.of("names", names);
+        List<String> locked = queryForStrings(
+                "UNWIND $names as name "
+                        + "MATCH (sw:switch {name: name}) "
                         + "SET sw.tx_override_workaround='dummy' "
-                        + "RETURN id(sw) as id", parameters, "id");
-        if (!updatedEntityId.isPresent()) {
-            throw new PersistenceException(format("Switch not found to be locked: %s", switchId));
+                        + "RETURN sw.name as name", parameters, "name");
+        if (locked.size() != names.size()) {
+            names.removeAll(locked);
+            throw new PersistenceException(format("Switch not found to be locked: %s", String.join(", ", names)));
         }
     }
 
@@ -228,4 +272,60 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
                 .map(result -> result.get(resultKey).toString())
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Loads entities batch by batch, each batch in a new session unless a transaction is in progress.
+     */
+    private class BatchIterator implements Iterator<Collection<T>> {
+        private final int batchSize;
+        private final int depth;
+        private String idQuery;
+        private long lastId = -1;
+        private List<Long> nextIds;
+        private boolean exhausted;
+
+        BatchIterator(int batchSize, int depth) {
+            this.batchSize = batchSize;
+            this.depth = depth;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextIds == null && !exhausted) {
+                nextIds = loadNextIds();
+                exhausted = nextIds.size() < batchSize;
+            }
+            return nextIds != null && !nextIds.isEmpty();
+        }
+
+        @Override
+        public Collection<T> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            List<Long> ids = nextIds;
+            nextIds = null;
+            lastId = ids.get(ids.size() - 1);
+
+            try {
+                return getSession().loadAll(getEntityType(), ids, depth);
+            } catch (MappingException ex) {
+                log.error("OGM mapping exception", ex.getCause());
+                throw new PersistenceException("Unable to load " + getEntityType(), ex);
+            } catch (TransientException ex) {
+                throw new RecoverablePersistenceException("Unable to load " + getEntityType(), ex);
+            }
+        }
+
+        private List<Long> loadNextIds() {
+            if (idQuery == null) {
+                ClassInfo classInfo = ((Neo4jSession) getSession()).metaData().classInfo(getEntityType());
+                String pattern = classInfo.isRelationshipEntity()
+                        ? format("()-[e:`%s`]->()", classInfo.neo4jName()) : format("(e:`%s`)", classInfo.neo4jName());
+                idQuery = format("MATCH %s WHERE id(e) > $last_id "
+                        + "RETURN id(e) as id ORDER BY id LIMIT $batch_size", pattern);
+            }
+            return queryForLongs(idQuery, ImmutableMap.of("last_id", lastId, "batch_size", batchSize), "id");
+        }
+    }
 }
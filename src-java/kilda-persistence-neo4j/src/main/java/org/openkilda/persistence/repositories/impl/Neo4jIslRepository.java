@@ -27,6 +27,7 @@ import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.converters.FlowEncapsulationTypeConverter;
+import org.openkilda.persistence.converters.IslDownReasonConverter;
 import org.openkilda.persistence.converters.IslStatusConverter;
 import org.openkilda.persistence.converters.SwitchIdConverter;
 import org.openkilda.persistence.converters.SwitchStatusConverter;
@@ -39,13 +40,21 @@ import org.neo4j.ogm.cypher.Filter;
 import org.neo4j.ogm.cypher.Filters;
 import org.neo4j.ogm.model.Result;
 import org.neo4j.ogm.session.Neo4jSession;
+import org.neo4j.ogm.typeconversion.InstantStringConverter;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Neo4j OGM implementation of {@link IslRepository}.
@@ -57,6 +66,8 @@ public class Neo4jIslRepository extends Neo4jGenericRepository<Isl> implements I
     private final SwitchIdConverter switchIdConverter = new SwitchIdConverter();
     private final SwitchStatusConverter switchStatusConverter = new SwitchStatusConverter();
     private final IslStatusConverter islStatusConverter = new IslStatusConverter();
+    private final IslDownReasonConverter islDownReasonConverter = new IslDownReasonConverter();
+    private final InstantStringConverter instantStringConverter = new InstantStringConverter();
     private final FlowEncapsulationTypeConverter flowEncapsulationTypeConverter = new FlowEncapsulationTypeConverter();
 
     private final IslConfig islConfig;
@@ -268,19 +279,145 @@ public class Neo4jIslRepository extends Neo4jGenericRepository<Isl> implements I
         });
     }
 
+    @Override
+    public void createOrUpdateAll(Collection<Isl> links) {
+        links.forEach(link -> {
+            requireManagedEntity(link.getSrcSwitch());
+            requireManagedEntity(link.getDestSwitch());
+        });
+
+        transactionManager.doInTransaction(() -> {
+            lockSwitches(links.stream()
+                    .flatMap(link -> Stream.of(link.getSrcSwitch().getSwitchId(), link.getDestSwitch().getSwitchId())));
+
+            super.createOrUpdateAll(links);
+        });
+    }
+
+    @Override
+    public Collection<Isl> updateLatency(Collection<Isl> links) {
+        return updateProperties(links, "link.latency = row.latency",
+                (link, row) -> row.put("latency", link.getLatency()),
+                (link, entity) -> entity.setLatency(link.getLatency()));
+    }
+
+    @Override
+    public Collection<Isl> updateBandwidth(Collection<Isl> links) {
+        return updateProperties(links, "link.max_bandwidth = row.max_bandwidth, "
+                        + "link.default_max_bandwidth = row.default_max_bandwidth, "
+                        + "link.available_bandwidth = row.available_bandwidth",
+                (link, row) -> {
+                    row.put("max_bandwidth", link.getMaxBandwidth());
+                    row.put("default_max_bandwidth", link.getDefaultMaxBandwidth());
+                    row.put("available_bandwidth", link.getAvailableBandwidth());
+                },
+                (link, entity) -> {
+                    entity.setMaxBandwidth(link.getMaxBandwidth());
+                    entity.setDefaultMaxBandwidth(link.getDefaultMaxBandwidth());
+                    entity.setAvailableBandwidth(link.getAvailableBandwidth());
+                });
+    }
+
+    @Override
+    public Collection<Isl> updateStatus(Collection<Isl> links) {
+        Instant timestamp = Instant.now();
+        return updateProperties(links, "link.status = row.status, link.actual = row.actual, "
+                        + "link.down_reason = row.down_reason, link.time_modify = row.time_modify",
+                (link, row) -> {
+                    row.put("status", islStatusConverter.toGraphProperty(link.getStatus()));
+                    row.put("actual", islStatusConverter.toGraphProperty(link.getActualStatus()));
+                    row.put("down_reason", islDownReasonConverter.toGraphProperty(link.getDownReason()));
+                    row.put("time_modify", instantStringConverter.toGraphProperty(timestamp));
+                },
+                (link, entity) -> {
+                    entity.setStatus(link.getStatus());
+                    entity.setActualStatus(link.getActualStatus());
+                    entity.setDownReason(link.getDownReason());
+                    entity.setTimeModify(timestamp);
+                });
+    }
+
+    /**
+     * Updates the properties of all ISLs by a single UNWIND query, and applies the same changes to the ISL entities
+     * loaded into the session.
+     *
+     * @return the ISLs which are not found.
+     */
+    private Collection<Isl> updateProperties(Collection<Isl> links, String setClause,
+                                             BiConsumer<Isl, Map<String, Object>> rowFiller,
+                                             BiConsumer<Isl, Isl> entityUpdater) {
+        List<Isl> indexed = new ArrayList<>(links);
+        List<Map<String, Object>> rows = new ArrayList<>(indexed.size());
+        for (int i = 0; i < indexed.size(); i++) {
+            Isl link = indexed.get(i);
+            // HashMap as the values may be null.
+            Map<String, Object> row = new HashMap<>();
+            row.put("index", i);
+            row.put("src_switch", switchIdConverter.toGraphProperty(link.getSrcSwitch().getSwitchId()));
+            row.put("src_port", link.getSrcPort());
+            row.put("dst_switch", switchIdConverter.toGraphProperty(link.getDestSwitch().getSwitchId()));
+            row.put("dst_port", link.getDestPort());
+            rowFiller.accept(link, row);
+            rows.add(row);
+        }
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String query = "UNWIND $rows as row "
+                + "MATCH (src:switch {name: row.src_switch}), (dst:switch {name: row.dst_switch}) "
+                + "MATCH (src)-[link:isl {src_port: row.src_port, dst_port: row.dst_port}]->(dst) "
+                + "SET " + setClause + " "
+                + "RETURN row.index as index, id(link) as id";
+
+        Neo4jSession session = (Neo4jSession) getSession();
+        BitSet updated = new BitSet(indexed.size());
+        for (Map<String, Object> result : session.query(query, ImmutableMap.of("rows", rows)).queryResults()) {
+            int index = ((Number) result.get("index")).intValue();
+            updated.set(index);
+            Isl link = indexed.get(index);
+
+            Object entity = session.context().getRelationshipEntity(((Number) result.get("id")).longValue());
+            if (entity instanceof Isl) {
+                entityUpdater.accept(link, (Isl) entity);
+            } else if (entity != null) {
+                throw new PersistenceException(format("Expected an ISL entity, but found %s.", entity));
+            }
+        }
+
+        List<Isl> notFound = new ArrayList<>();
+        for (int i = updated.nextClearBit(0); i < indexed.size(); i = updated.nextClearBit(i + 1)) {
+            notFound.add(indexed.get(i));
+        }
+        return notFound;
+    }
+
     @Override
     public long updateAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
                                          long usedBandwidth) {
+        return setAvailableBandwidth(srcSwitchId, srcPort, dstSwitchId, dstPort,
+                "link.max_bandwidth - $bandwidth", usedBandwidth);
+    }
+
+    @Override
+    public long updateAvailableBandwidthByDelta(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                                long bandwidthDelta) {
+        return setAvailableBandwidth(srcSwitchId, srcPort, dstSwitchId, dstPort,
+                "link.available_bandwidth + $bandwidth", bandwidthDelta);
+    }
+
+    private long setAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                       String expression, long bandwidth) {
         Map<String, Object> parameters = ImmutableMap.of(
                 "src_switch", switchIdConverter.toGraphProperty(srcSwitchId),
                 "src_port", srcPort,
                 "dst_switch", switchIdConverter.toGraphProperty(dstSwitchId),
                 "dst_port", dstPort,
-                "used_bandwidth", usedBandwidth);
+                "bandwidth", bandwidth);
 
         String query = "MATCH (src:switch {name: $src_switch}), (dst:switch {name: $dst_switch}) "
                 + "MATCH (src)-[link:isl {src_port: $src_port, dst_port: $dst_port}]->(dst) "
-                + "SET link.available_bandwidth = (link.max_bandwidth - $used_bandwidth) "
+                + "SET link.available_bandwidth = (" + expression + ") "
                 + "RETURN id(link) as id, link.available_bandwidth as available_bandwidth";
 
         Result result = getSession().query(query, parameters);
@@ -46,6 +46,14 @@ public class Neo4jKildaConfigurationRepository extends Neo4jGenericRepository<Ki
         transactionManager.doInTransaction(() -> super.createOrUpdate(mergeConfigs(kildaConfiguration, get(), false)));
     }
 
+    /**
+     * Applies the configurations one by one, as each of them is merged into the persisted configuration.
+     */
+    @Override
+    public void createOrUpdateAll(Collection<KildaConfiguration> kildaConfigurations) {
+        transactionManager.doInTransaction(() -> kildaConfigurations.forEach(this::createOrUpdate));
+    }
+
     private KildaConfiguration mergeConfigs(KildaConfiguration firstConfig, KildaConfiguration secondConfig,
                                             boolean copyToFirstConfig) {
         KildaConfiguration kildaConfiguration = copyToFirstConfig ? firstConfig : secondConfig;
@@ -31,6 +31,7 @@ import org.neo4j.ogm.cypher.Filter;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Neo4j OGM implementation of {@link TransitVlanRepository}.
@@ -119,6 +120,21 @@ public class Neo4jTransitVlanRepository extends Neo4jGenericRepository<TransitVl
         return queryForLong(query, parameters, "vlan").map(Long::intValue);
     }
 
+    @Override
+    public Collection<Integer> findAssignedTransitVlans(int minVlan, int maxVlan) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "min_vlan", minVlan,
+                "max_vlan", maxVlan);
+
+        String query = "MATCH (n:transit_vlan) "
+                + "WHERE n.vlan >= $min_vlan AND n.vlan <= $max_vlan "
+                + "RETURN n.vlan AS vlan";
+
+        return queryForLongs(query, parameters, "vlan").stream()
+                .map(Long::intValue)
+                .collect(Collectors.toList());
+    }
+
     @Override
     protected Class<TransitVlan> getEntityType() {
         return TransitVlan.class;
@@ -27,6 +27,7 @@ import org.neo4j.ogm.cypher.Filter;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Neo4j OGM implementation of {@link VxlanRepository}.
@@ -78,6 +79,21 @@ public class Neo4jVxlanRepository extends Neo4jGenericRepository<Vxlan> implemen
         return queryForLong(query, parameters, "vni").map(Long::intValue);
     }
 
+    @Override
+    public Collection<Integer> findAssignedVxlans(int minVni, int maxVni) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "min_vni", minVni,
+                "max_vni", maxVni);
+
+        String query = "MATCH (n:vxlan) "
+                + "WHERE n.vni >= $min_vni AND n.vni <= $max_vni "
+                + "RETURN n.vni AS vni";
+
+        return queryForLongs(query, parameters, "vni").stream()
+                .map(Long::intValue)
+                .collect(Collectors.toList());
+    }
+
     @Override
     protected Class<Vxlan> getEntityType() {
         return Vxlan.class;
@@ -29,6 +29,8 @@ import net.jodah.failsafe.RetryPolicy;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class Neo4jTransactionManagerTest extends Neo4jBasedTest {
     static final SwitchId TEST_SWITCH_ID = new SwitchId(1);
 
@@ -147,6 +149,52 @@ public class Neo4jTransactionManagerTest extends Neo4jBasedTest {
         assertEquals(0, repository.findAll().size());
     }
 
+    @Test
+    public void shouldRunAfterCommitActionOnRootTxCommit() {
+        // given
+        AtomicInteger counter = new AtomicInteger();
+
+        // when
+        txManager.doInTransaction(() -> {
+            txManager.doInTransaction(() -> txManager.doAfterCommit(counter::incrementAndGet));
+
+            // then
+            assertEquals(0, counter.get());
+        });
+
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void shouldRunAfterCommitActionImmediatelyWithoutTx() {
+        // given
+        AtomicInteger counter = new AtomicInteger();
+
+        // when
+        txManager.doAfterCommit(counter::incrementAndGet);
+
+        // then
+        assertEquals(1, counter.get());
+    }
+
+    @Test
+    public void shouldDiscardAfterCommitActionOnRollback() {
+        // given
+        AtomicInteger counter = new AtomicInteger();
+
+        // when
+        txManager.begin();
+        txManager.begin();
+        txManager.doAfterCommit(counter::incrementAndGet);
+        txManager.rollback();
+        txManager.rollback();
+
+        txManager.doInTransaction(() -> repository.findAll());
+
+        // then
+        assertEquals(0, counter.get());
+    }
+
     @Test(expected = TestCheckedException.class)
     public void shouldPassthroughAndCatchCheckedException() throws TestCheckedException {
         TransactionCallbackWithoutResult<TestCheckedException> callback = () -> {
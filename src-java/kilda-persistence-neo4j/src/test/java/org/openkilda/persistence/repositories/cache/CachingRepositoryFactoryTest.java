@@ -0,0 +1,99 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.repositories.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.FeatureToggles;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.repositories.FeatureTogglesRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Map;
+
+public class CachingRepositoryFactoryTest extends Neo4jBasedTest {
+    private static final SwitchId TEST_SWITCH_ID = new SwitchId(1);
+
+    private RepositoryFactory repositoryFactory;
+    private CachingRepositoryFactory cachingRepositoryFactory;
+
+    @Before
+    public void setUp() {
+        repositoryFactory = persistenceManager.getRepositoryFactory();
+        cachingRepositoryFactory = new CachingRepositoryFactory(repositoryFactory,
+                configurationProvider.getConfiguration(RepositoryCacheConfig.class));
+    }
+
+    @Test
+    public void shouldServeSwitchFromCacheUntilInvalidated() {
+        Switch sw = buildTestSwitch(1);
+        repositoryFactory.createSwitchRepository().createOrUpdate(sw);
+
+        SwitchRepository cachingRepository = cachingRepositoryFactory.createSwitchRepository();
+        Switch found = cachingRepository.findById(TEST_SWITCH_ID).get();
+        assertSame(found, cachingRepository.findById(TEST_SWITCH_ID).get());
+        assertTrue(cachingRepository.exists(TEST_SWITCH_ID));
+
+        Map<String, Long> stats = cachingRepositoryFactory.pullStats();
+        assertEquals(Long.valueOf(2), stats.get("switch.hits"));
+        assertEquals(Long.valueOf(1), stats.get("switch.misses"));
+        assertEquals(Long.valueOf(0), cachingRepositoryFactory.pullStats().get("switch.hits"));
+
+        // modified bypassing the cache
+        repositoryFactory.createSwitchRepository().forceDelete(TEST_SWITCH_ID);
+        assertTrue(cachingRepository.findById(TEST_SWITCH_ID).isPresent());
+
+        cachingRepositoryFactory.invalidateSwitch(TEST_SWITCH_ID);
+        assertFalse(cachingRepository.findById(TEST_SWITCH_ID).isPresent());
+    }
+
+    @Test
+    public void shouldCacheAbsentSwitch() {
+        SwitchRepository cachingRepository = cachingRepositoryFactory.createSwitchRepository();
+        assertFalse(cachingRepository.findById(TEST_SWITCH_ID).isPresent());
+
+        // created through the cache, so the cached absence is invalidated
+        cachingRepository.createOrUpdate(buildTestSwitch(1));
+        assertTrue(cachingRepository.findById(TEST_SWITCH_ID).isPresent());
+        assertEquals(1, cachingRepository.findActive().size());
+    }
+
+    @Test
+    public void shouldInvalidateFeatureTogglesOnUpdate() {
+        FeatureTogglesRepository cachingRepository = cachingRepositoryFactory.createFeatureTogglesRepository();
+        cachingRepository.createOrUpdate(FeatureToggles.builder().createFlowEnabled(false).build());
+        assertFalse(cachingRepository.find().get().getCreateFlowEnabled());
+
+        cachingRepository.createOrUpdate(FeatureToggles.builder().createFlowEnabled(true).build());
+        assertTrue(cachingRepository.find().get().getCreateFlowEnabled());
+
+        repositoryFactory.createFeatureTogglesRepository().createOrUpdate(
+                FeatureToggles.builder().createFlowEnabled(false).build());
+        assertTrue(cachingRepository.find().get().getCreateFlowEnabled());
+
+        cachingRepositoryFactory.invalidateFeatureToggles();
+        assertFalse(cachingRepository.find().get().getCreateFlowEnabled());
+    }
+}
@@ -24,7 +24,9 @@ import org.openkilda.persistence.repositories.FlowCookieRepository;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 
 public class Neo4jFlowCookieRepositoryTest extends Neo4jBasedTest {
     static final String TEST_FLOW_ID = "test_flow";
@@ -82,6 +84,20 @@ public class Neo4jFlowCookieRepositoryTest extends Neo4jBasedTest {
         assertEquals(0, flowCookieRepository.findAll().size());
     }
 
+    @Test
+    public void shouldDeleteFlowCookiesByCookies() {
+        long first = findUnassignedCookieAndCreate("flow_1");
+        long second = findUnassignedCookieAndCreate("flow_2");
+        long third = findUnassignedCookieAndCreate("flow_3");
+
+        Collection<Long> deleted = flowCookieRepository.deleteByCookies(Arrays.asList(first, third, MAX_COOKIE));
+
+        assertEquals(new HashSet<>(Arrays.asList(first, third)), new HashSet<>(deleted));
+        Collection<FlowCookie> allCookies = flowCookieRepository.findAll();
+        assertEquals(1, allCookies.size());
+        assertEquals(second, allCookies.iterator().next().getUnmaskedCookie());
+    }
+
     @Test
     public void shouldSelectNextInOrderResourceWhenFindUnassignedCookie() {
         long first = findUnassignedCookieAndCreate("flow_1");
@@ -34,9 +34,12 @@ import org.openkilda.model.PathSegment;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.repositories.projection.FlowPathCookieAndMeter;
+import org.openkilda.persistence.repositories.projection.FlowPathSegments;
 
 import com.google.common.collect.Sets;
 import org.hamcrest.Matchers;
@@ -126,6 +129,49 @@ public class Neo4jFlowPathRepositoryTest extends Neo4jBasedTest {
         assertEquals(foundFlow.getFlowId(), foundForwardPath.getFlow().getFlowId());
     }
 
+    @Test
+    public void shouldCreateAllFlowPaths() {
+        Flow flowWithPaths = buildTestFlowPathPair();
+        flowPathRepository.createOrUpdateAll(asList(flowWithPaths.getForwardPath(), flowWithPaths.getReversePath()));
+
+        Collection<FlowPath> allPaths = flowPathRepository.findAll();
+        assertThat(allPaths, hasSize(2));
+
+        FlowPath foundReversePath = flowPathRepository.findById(flowWithPaths.getReversePathId()).get();
+        assertEquals(switchB.getSwitchId(), foundReversePath.getSrcSwitch().getSwitchId());
+        assertEquals(switchA.getSwitchId(), foundReversePath.getDestSwitch().getSwitchId());
+    }
+
+    @Test
+    public void shouldUpdateStatusOfAllFlowPaths() {
+        Flow flow = buildTestFlowPathPair();
+
+        // the session is shared within the transaction, so the loaded entities are updated as well
+        persistenceManager.getTransactionManager().doInTransaction(() -> {
+            flowRepository.createOrUpdate(flow);
+
+            flowPathRepository.updateStatusAll(asList(flow.getForwardPathId(), flow.getReversePathId()),
+                    FlowPathStatus.INACTIVE);
+
+            assertEquals(FlowPathStatus.INACTIVE, flow.getForwardPath().getStatus());
+            assertEquals(FlowPathStatus.INACTIVE, flow.getReversePath().getStatus());
+        });
+
+        assertEquals(FlowPathStatus.INACTIVE,
+                flowPathRepository.findById(flow.getForwardPathId()).get().getStatus());
+        assertEquals(FlowPathStatus.INACTIVE,
+                flowPathRepository.findById(flow.getReversePathId()).get().getStatus());
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void shouldFailToUpdateStatusIfPathNotFound() {
+        Flow flow = buildTestFlowPathPair();
+        flowRepository.createOrUpdate(flow);
+
+        flowPathRepository.updateStatusAll(asList(flow.getForwardPathId(), new PathId("unknown_path")),
+                FlowPathStatus.INACTIVE);
+    }
+
     @Test
     public void shouldCreateFlowWithPaths() {
         Flow flowWithPaths = buildTestFlowPathPair();
@@ -343,6 +389,67 @@ public class Neo4jFlowPathRepositoryTest extends Neo4jBasedTest {
         assertThat(foundPaths, hasSize(1));
     }
 
+    @Test
+    public void shouldFindCookieAndMeterByEndpointSwitchIncludeProtected() {
+        Flow flow = buildTestProtectedFlow(TEST_FLOW_ID_1, switchA, PORT_1, VLAN_1, switchB, PORT_2, VLAN_2);
+        flowRepository.createOrUpdate(flow);
+
+        Collection<FlowPathCookieAndMeter> paths =
+                flowPathRepository.findCookieAndMeterByEndpointSwitchIncludeProtected(switchA.getSwitchId());
+        assertThat(paths, containsInAnyOrder(
+                new FlowPathCookieAndMeter(TEST_FLOW_ID_1, flow.getForwardPathId(), switchA.getSwitchId(),
+                        switchB.getSwitchId(), flow.getForwardPath().getCookie(), flow.getForwardPath().getMeterId()),
+                new FlowPathCookieAndMeter(TEST_FLOW_ID_1, flow.getReversePathId(), switchB.getSwitchId(),
+                        switchA.getSwitchId(), flow.getReversePath().getCookie(), flow.getReversePath().getMeterId()),
+                new FlowPathCookieAndMeter(TEST_FLOW_ID_1, flow.getProtectedForwardPathId(), switchA.getSwitchId(),
+                        switchB.getSwitchId(), flow.getProtectedForwardPath().getCookie(), null),
+                new FlowPathCookieAndMeter(TEST_FLOW_ID_1, flow.getProtectedReversePathId(), switchB.getSwitchId(),
+                        switchA.getSwitchId(), flow.getProtectedReversePath().getCookie(), null)));
+    }
+
+    @Test
+    public void shouldFindCookieAndMeterBySegmentSwitch() {
+        FlowPath flowPath = buildTestFlowPathWithIntermediate(switchC, 100);
+        flowPathRepository.createOrUpdate(flowPath);
+
+        Collection<FlowPathCookieAndMeter> paths =
+                flowPathRepository.findCookieAndMeterBySegmentSwitch(switchC.getSwitchId());
+        assertThat(paths, hasSize(1));
+        FlowPathCookieAndMeter path = paths.iterator().next();
+        assertEquals(TEST_FLOW_ID, path.getFlowId());
+        assertEquals(flowPath.getPathId(), path.getPathId());
+        assertEquals(switchA.getSwitchId(), path.getSrcSwitchId());
+        assertEquals(switchB.getSwitchId(), path.getDestSwitchId());
+        assertEquals(flowPath.getCookie(), path.getCookie());
+        assertEquals(flowPath.getMeterId(), path.getMeterId());
+
+        assertThat(flowPathRepository.findCookieAndMeterBySegmentSwitch(switchA.getSwitchId()), hasSize(1));
+    }
+
+    @Test
+    public void shouldFindSegmentsBySegmentSwitch() {
+        FlowPath flowPath = buildTestFlowPathWithIntermediate(switchC, 100);
+        flowPathRepository.createOrUpdate(flowPath);
+
+        Collection<FlowPathSegments> paths = flowPathRepository.findSegmentsBySegmentSwitch(switchC.getSwitchId());
+        assertThat(paths, hasSize(1));
+        FlowPathSegments path = paths.iterator().next();
+        assertEquals(TEST_FLOW_ID, path.getFlowId());
+        assertEquals(flowPath.getPathId(), path.getPathId());
+        assertEquals(asList(
+                new FlowPathSegments.Segment(switchA.getSwitchId(), 1, switchC.getSwitchId(), 100),
+                new FlowPathSegments.Segment(switchC.getSwitchId(), 200, switchB.getSwitchId(), 2)),
+                path.getSegments());
+    }
+
+    @Test
+    public void shouldNotFindSegmentsByWrongSegmentSwitch() {
+        flowPathRepository.createOrUpdate(buildTestFlowPath());
+
+        assertThat(flowPathRepository.findSegmentsBySegmentSwitch(switchA.getSwitchId()), hasSize(0));
+        assertThat(flowPathRepository.findCookieAndMeterBySegmentSwitch(switchA.getSwitchId()), hasSize(0));
+    }
+
     @Test
     public void shouldFindInactivePathBySegmentSwitch() {
         Flow activeFlow = Flow.builder()
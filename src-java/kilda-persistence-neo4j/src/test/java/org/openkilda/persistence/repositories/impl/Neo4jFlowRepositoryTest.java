@@ -15,6 +15,7 @@
 
 package org.openkilda.persistence.repositories.impl;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
@@ -37,6 +38,7 @@ import org.openkilda.persistence.Neo4jBasedTest;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.repositories.projection.FlowEndpoints;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
@@ -400,6 +402,43 @@ public class Neo4jFlowRepositoryTest extends Neo4jBasedTest {
         assertThat(foundFlowIds, Matchers.hasSize(1));
     }
 
+    @Test
+    public void shouldFindFlowEndpointsBySwitchEndpoint() {
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID, switchA, switchB));
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID_2, switchB, PORT_1, 0, switchA, PORT_2, VLAN_2));
+
+        Collection<FlowEndpoints> foundFlows = flowRepository.findEndpointsByEndpointSwitch(TEST_SWITCH_A_ID);
+        assertThat(foundFlows, containsInAnyOrder(
+                new FlowEndpoints(TEST_FLOW_ID, TEST_SWITCH_A_ID, PORT_1, VLAN_1, TEST_SWITCH_B_ID, PORT_2, VLAN_2,
+                        FlowStatus.UP),
+                new FlowEndpoints(TEST_FLOW_ID_2, TEST_SWITCH_B_ID, PORT_1, 0, TEST_SWITCH_A_ID, PORT_2, VLAN_2,
+                        FlowStatus.UP)));
+    }
+
+    @Test
+    public void shouldStreamAllFlowsInBatches() {
+        List<String> flowIds = Lists.newArrayList(TEST_FLOW_ID, TEST_FLOW_ID_2, TEST_FLOW_ID_3, TEST_FLOW_ID_4);
+        for (String flowId : flowIds) {
+            flowRepository.createOrUpdate(buildTestFlow(flowId, switchA, switchB));
+        }
+
+        List<Flow> foundFlows = flowRepository.streamAll(3).collect(Collectors.toList());
+        assertThat(foundFlows.stream().map(Flow::getFlowId).collect(Collectors.toList()),
+                containsInAnyOrder(flowIds.toArray()));
+        foundFlows.forEach(foundFlow -> {
+            assertEquals(TEST_SWITCH_A_ID, foundFlow.getSrcSwitch().getSwitchId());
+            assertNotNull(foundFlow.getForwardPath());
+        });
+
+        assertEquals(flowIds.size(), flowRepository.streamAll(2).count());
+        assertEquals(flowIds.size(), flowRepository.streamAll(flowIds.size()).count());
+    }
+
+    @Test
+    public void shouldStreamNoFlows() {
+        assertEquals(0, flowRepository.streamAll(10).count());
+    }
+
     @Test
     public void shouldFindFlowBySwitchEndpointWithMultiTable() {
         Flow firstFlow = buildTestFlow(TEST_FLOW_ID, switchA, switchB);
@@ -17,6 +17,7 @@ package org.openkilda.persistence.repositories.impl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.model.Cookie;
 import org.openkilda.model.Flow;
@@ -26,6 +27,7 @@ import org.openkilda.model.FlowPathStatus;
 import org.openkilda.model.FlowStatus;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslDownReason;
 import org.openkilda.model.IslStatus;
 import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
@@ -35,6 +37,7 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.model.SwitchProperties;
 import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -49,8 +52,11 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public class Neo4jIslRepositoryTest extends Neo4jBasedTest {
     static final SwitchId TEST_SWITCH_A_ID = new SwitchId(1);
@@ -103,6 +109,23 @@ public class Neo4jIslRepositoryTest extends Neo4jBasedTest {
         assertEquals(1, islRepository.findAll().size());
     }
 
+    @Test
+    public void shouldStreamAllIslsInBatches() {
+        for (int port = 1; port <= 5; port++) {
+            Isl isl = new Isl();
+            isl.setSrcSwitch(switchA);
+            isl.setSrcPort(port);
+            isl.setDestSwitch(switchB);
+            isl.setDestPort(port);
+            islRepository.createOrUpdate(isl);
+        }
+
+        List<Isl> foundIsls = islRepository.streamAll(2).collect(Collectors.toList());
+        assertThat(foundIsls.stream().map(Isl::getSrcPort).collect(Collectors.toList()),
+                Matchers.containsInAnyOrder(1, 2, 3, 4, 5));
+        foundIsls.forEach(isl -> assertEquals(switchB.getSwitchId(), isl.getDestSwitch().getSwitchId()));
+    }
+
     @Test
     public void shouldCreateSwitchAlongWithIsl() {
         Isl isl = new Isl();
@@ -256,6 +279,90 @@ public class Neo4jIslRepositoryTest extends Neo4jBasedTest {
         assertThat(foundIsl, Matchers.hasSize(0));
     }
 
+    @Test
+    public void shouldCreateAllIsls() {
+        islRepository.createOrUpdateAll(Arrays.asList(
+                Isl.builder().srcSwitch(switchA).srcPort(1).destSwitch(switchB).destPort(2)
+                        .status(IslStatus.ACTIVE).actualStatus(IslStatus.ACTIVE).build(),
+                Isl.builder().srcSwitch(switchB).srcPort(2).destSwitch(switchA).destPort(1)
+                        .status(IslStatus.ACTIVE).actualStatus(IslStatus.ACTIVE).build()));
+
+        assertEquals(2, islRepository.findAll().size());
+        assertTrue(islRepository.findByEndpoints(TEST_SWITCH_B_ID, 2, TEST_SWITCH_A_ID, 1).isPresent());
+    }
+
+    @Test
+    public void shouldUpdateLatencyOfAllIsls() {
+        Isl missing = Isl.builder().srcSwitch(switchA).srcPort(3).destSwitch(switchB).destPort(4).latency(30).build();
+
+        // the session is shared within the transaction, so the loaded entities are updated as well
+        persistenceManager.getTransactionManager().doInTransaction(() -> {
+            Isl forward = Isl.builder().srcSwitch(switchA).srcPort(1).destSwitch(switchB).destPort(2)
+                    .status(IslStatus.ACTIVE).actualStatus(IslStatus.ACTIVE).latency(10).build();
+            Isl reverse = Isl.builder().srcSwitch(switchB).srcPort(2).destSwitch(switchA).destPort(1)
+                    .status(IslStatus.ACTIVE).actualStatus(IslStatus.ACTIVE).latency(10).build();
+            islRepository.createOrUpdateAll(Arrays.asList(forward, reverse));
+
+            Collection<Isl> notFound = islRepository.updateLatency(Arrays.asList(
+                    Isl.builder().srcSwitch(switchA).srcPort(1).destSwitch(switchB).destPort(2).latency(20).build(),
+                    Isl.builder().srcSwitch(switchB).srcPort(2).destSwitch(switchA).destPort(1).latency(25).build(),
+                    missing));
+
+            assertThat(notFound, Matchers.contains(missing));
+            assertEquals(20, forward.getLatency());
+            assertEquals(25, reverse.getLatency());
+        });
+
+        assertEquals(25, islRepository.findByEndpoints(TEST_SWITCH_B_ID, 2, TEST_SWITCH_A_ID, 1).get().getLatency());
+    }
+
+    @Test
+    public void shouldUpdateStatusOfAllIsls() {
+        persistenceManager.getTransactionManager().doInTransaction(() -> {
+            Isl isl = Isl.builder().srcSwitch(switchA).srcPort(1).destSwitch(switchB).destPort(2)
+                    .status(IslStatus.ACTIVE).actualStatus(IslStatus.ACTIVE).build();
+            islRepository.createOrUpdate(isl);
+
+            Isl update = Isl.builder().srcSwitch(switchA).srcPort(1).destSwitch(switchB).destPort(2)
+                    .status(IslStatus.INACTIVE).actualStatus(IslStatus.INACTIVE).build();
+            update.setDownReason(IslDownReason.PORT_DOWN);
+            assertTrue(islRepository.updateStatus(Collections.singletonList(update)).isEmpty());
+
+            assertEquals(IslStatus.INACTIVE, isl.getStatus());
+            assertEquals(IslStatus.INACTIVE, isl.getActualStatus());
+            assertEquals(IslDownReason.PORT_DOWN, isl.getDownReason());
+        });
+
+        Isl foundIsl = islRepository.findByEndpoints(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2).get();
+        assertEquals(IslStatus.INACTIVE, foundIsl.getStatus());
+        assertEquals(IslDownReason.PORT_DOWN, foundIsl.getDownReason());
+    }
+
+    @Test
+    public void shouldApplyAvailableBandwidthDelta() {
+        Isl isl = new Isl();
+        isl.setSrcSwitch(switchA);
+        isl.setSrcPort(1);
+        isl.setDestSwitch(switchB);
+        isl.setDestPort(2);
+        isl.setStatus(IslStatus.ACTIVE);
+        isl.setMaxBandwidth(100);
+        isl.setAvailableBandwidth(100);
+
+        islRepository.createOrUpdate(isl);
+
+        assertEquals(70, islRepository.updateAvailableBandwidthByDelta(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2, -30));
+        assertEquals(80, islRepository.updateAvailableBandwidthByDelta(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2, 10));
+
+        Isl foundIsl = islRepository.findByEndpoints(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2).get();
+        assertEquals(80, foundIsl.getAvailableBandwidth());
+    }
+
+    @Test(expected = PersistenceException.class)
+    public void shouldFailToApplyAvailableBandwidthDeltaIfIslNotFound() {
+        islRepository.updateAvailableBandwidthByDelta(TEST_SWITCH_A_ID, 1, TEST_SWITCH_B_ID, 2, -30);
+    }
+
     @Test
     public void shouldFindIslOccupiedByFlowWithAvailableBandwidth() {
         Isl isl = new Isl();
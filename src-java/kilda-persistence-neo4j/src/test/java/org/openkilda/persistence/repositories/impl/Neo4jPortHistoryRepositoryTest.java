@@ -28,8 +28,11 @@ import org.junit.Test;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.stream.Collectors;
 
 public class Neo4jPortHistoryRepositoryTest extends Neo4jBasedTest {
 
@@ -63,6 +66,33 @@ public class Neo4jPortHistoryRepositoryTest extends Neo4jBasedTest {
         assertTrue(portHistory.contains(portDown));
     }
 
+    @Test
+    public void shouldCreateAllHistoryRecords() {
+        Instant start = new Date().toInstant();
+        PortHistory portUp = getPortHistory(SWITCH_ID, PORT_NUMBER, "PORT_UP", start.plus(1, ChronoUnit.MINUTES));
+        PortHistory portDown = getPortHistory(SWITCH_ID, PORT_NUMBER, "PORT_DOWN", start.plus(2, ChronoUnit.MINUTES));
+        repository.createOrUpdateAll(Arrays.asList(portUp, portDown));
+
+        Collection<PortHistory> portHistory = repository.findBySwitchIdAndPortNumber(SWITCH_ID, PORT_NUMBER, start,
+                start.plus(1, ChronoUnit.HOURS));
+        assertEquals(2, portHistory.size());
+        assertTrue(portHistory.contains(portUp));
+        assertTrue(portHistory.contains(portDown));
+    }
+
+    @Test
+    public void shouldStreamAllHistoryRecords() {
+        Instant start = new Date().toInstant();
+        PortHistory portUp = getPortHistory(SWITCH_ID, PORT_NUMBER, "PORT_UP", start.plus(1, ChronoUnit.MINUTES));
+        PortHistory portDown = getPortHistory(SWITCH_ID, PORT_NUMBER, "PORT_DOWN", start.plus(2, ChronoUnit.MINUTES));
+        PortHistory portUpAgain = getPortHistory(SWITCH_ID, PORT_NUMBER, "PORT_UP", start.plus(3, ChronoUnit.MINUTES));
+        repository.createOrUpdateAll(Arrays.asList(portUp, portDown, portUpAgain));
+
+        List<PortHistory> portHistory = repository.streamAll(2).collect(Collectors.toList());
+        assertEquals(3, portHistory.size());
+        assertTrue(portHistory.containsAll(Arrays.asList(portUp, portDown, portUpAgain)));
+    }
+
     private PortHistory getPortHistory(SwitchId switchId, int portNumber, String event, Instant time) {
         return PortHistory.builder()
                 .switchId(switchId)
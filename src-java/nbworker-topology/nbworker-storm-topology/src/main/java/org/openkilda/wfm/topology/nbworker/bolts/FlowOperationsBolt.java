@@ -263,10 +263,7 @@ public class FlowOperationsBolt extends PersistenceOperationsBolt implements Flo
 
     private List<FlowResponse> processFlowsDumpRequest() {
         try {
-            return flowOperationsService.getAllFlows().stream()
-                    .map(FlowMapper.INSTANCE::map)
-                    .map(FlowResponse::new)
-                    .collect(Collectors.toList());
+            return flowOperationsService.getAllFlows(flow -> new FlowResponse(FlowMapper.INSTANCE.map(flow)));
         } catch (Exception e) {
             throw new MessageException(ErrorType.INTERNAL_ERROR, "Can not dump flows", "Internal Error");
         }
@@ -72,6 +72,7 @@ public class FlowOperationsService {
 
     private static final int MAX_TRANSACTION_RETRY_COUNT = 3;
     private static final int RETRY_DELAY = 100;
+    private static final int FLOW_DUMP_BATCH_SIZE = 1000;
 
     private TransactionManager transactionManager;
     private IslRepository islRepository;
@@ -125,11 +126,14 @@ public class FlowOperationsService {
     }
 
     /**
-     * Get flows.
+     * Get flows mapped by the mapper. The flows are read in batches outside of a transaction, so only a batch of flow
+     * entities is kept in memory along with the mapped results.
      */
-    public Collection<Flow> getAllFlows() {
-        return (Collection<Flow>) getReadOperationFailsafe().get(() ->
-                transactionManager.doInTransaction(() -> flowRepository.findAll())
+    public <T> List<T> getAllFlows(Function<Flow, T> mapper) {
+        return (List<T>) getReadOperationFailsafe().get(() ->
+                flowRepository.streamAll(FLOW_DUMP_BATCH_SIZE)
+                        .map(mapper)
+                        .collect(Collectors.toList())
         );
     }
 
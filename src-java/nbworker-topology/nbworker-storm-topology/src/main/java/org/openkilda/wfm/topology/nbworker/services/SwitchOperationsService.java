@@ -21,7 +21,6 @@ import static org.apache.commons.collections4.CollectionUtils.isEmpty;
 import org.openkilda.messaging.model.SwitchPropertiesDto;
 import org.openkilda.messaging.nbtopology.response.GetSwitchResponse;
 import org.openkilda.model.Flow;
-import org.openkilda.model.FlowPath;
 import org.openkilda.model.Isl;
 import org.openkilda.model.IslEndpoint;
 import org.openkilda.model.IslStatus;
@@ -40,6 +39,8 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchConnectedDeviceRepository;
 import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.repositories.projection.FlowEndpoints;
+import org.openkilda.persistence.repositories.projection.FlowPathSegments;
 import org.openkilda.wfm.error.IllegalSwitchPropertiesException;
 import org.openkilda.wfm.error.IllegalSwitchStateException;
 import org.openkilda.wfm.error.IslNotFoundException;
@@ -206,11 +207,11 @@ public class SwitchOperationsService implements ILinkOperationsServiceCarrier {
      * @throws IllegalSwitchStateException if switch has Flow relations
      */
     public void checkSwitchHasNoFlows(SwitchId switchId) throws IllegalSwitchStateException {
-        Collection<Flow> flows = flowRepository.findByEndpointSwitch(switchId);
+        Collection<FlowEndpoints> flows = flowRepository.findEndpointsByEndpointSwitch(switchId);
 
         if (!flows.isEmpty()) {
             Set<String> flowIds = flows.stream()
-                    .map(Flow::getFlowId)
+                    .map(FlowEndpoints::getFlowId)
                     .collect(Collectors.toSet());
 
             String message = format("Switch '%s' has %d assigned flows: %s.",
@@ -225,7 +226,7 @@ public class SwitchOperationsService implements ILinkOperationsServiceCarrier {
      * @throws IllegalSwitchStateException if switch has Flow Segment relations
      */
     public void checkSwitchHasNoFlowSegments(SwitchId switchId) throws IllegalSwitchStateException {
-        Collection<FlowPath> flowPaths = flowPathRepository.findBySegmentSwitch(switchId);
+        Collection<FlowPathSegments> flowPaths = flowPathRepository.findSegmentsBySegmentSwitch(switchId);
 
         if (!flowPaths.isEmpty()) {
             String message = format("Switch '%s' has %d assigned rules. It must be freed first.",
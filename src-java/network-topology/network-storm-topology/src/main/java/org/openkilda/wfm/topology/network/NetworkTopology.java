@@ -16,7 +16,9 @@
 package org.openkilda.wfm.topology.network;
 
 import org.openkilda.messaging.Message;
+import org.openkilda.persistence.CachingPersistenceManager;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.cache.RepositoryCacheConfig;
 import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.share.hubandspoke.CoordinatorBolt;
@@ -31,6 +33,7 @@ import org.openkilda.wfm.topology.network.storm.bolt.SpeakerEncoder;
 import org.openkilda.wfm.topology.network.storm.bolt.SpeakerRulesEncoder;
 import org.openkilda.wfm.topology.network.storm.bolt.StatusEncoder;
 import org.openkilda.wfm.topology.network.storm.bolt.SwitchManagerEncoder;
+import org.openkilda.wfm.topology.network.storm.bolt.bandwidth.BandwidthReconcileHandler;
 import org.openkilda.wfm.topology.network.storm.bolt.bfdport.BfdPortHandler;
 import org.openkilda.wfm.topology.network.storm.bolt.decisionmaker.DecisionMakerHandler;
 import org.openkilda.wfm.topology.network.storm.bolt.history.HistoryHandler;
@@ -100,6 +103,7 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
         bfdPortHandler(topology, scaleFactor);
         uniIslHandler(topology, scaleFactor);
         islHandler(topology, scaleFactor);
+        bandwidthReconcileHandler(topology);
 
         outputSpeaker(topology, scaleFactor);
         outputSwitchManager(topology, scaleFactor);
@@ -227,9 +231,9 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
 
     private void watcher(TopologyBuilder topology, int scaleFactor) {
         WatcherHandler bolt = new WatcherHandler(options);
-        Fields watchListGrouping = new Fields(WatchListHandler.FIELD_ID_DATAPATH,
-                WatchListHandler.FIELD_ID_PORT_NUMBER);
-        Fields speakerGrouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH, SpeakerRouter.FIELD_ID_PORT_NUMBER);
+        // all ports of a switch are handled by the same task, so their discovery requests can be sent as one batch
+        Fields watchListGrouping = new Fields(WatchListHandler.FIELD_ID_DATAPATH);
+        Fields speakerGrouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH);
         topology.setBolt(WatcherHandler.BOLT_ID, bolt, scaleFactor)
                 .allGrouping(CoordinatorSpout.ID)
                 .fieldsGrouping(WatchListHandler.BOLT_ID, watchListGrouping)
@@ -266,7 +270,9 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
     }
 
     private void bfdPortHandler(TopologyBuilder topology, int scaleFactor) {
-        BfdPortHandler bolt = new BfdPortHandler(persistenceManager);
+        // BFD port handler only reads switches and feature toggles, so it can use cached ones
+        BfdPortHandler bolt = new BfdPortHandler(CachingPersistenceManager.decorate(
+                persistenceManager, configurationProvider.getConfiguration(RepositoryCacheConfig.class)));
         Fields switchGrouping = new Fields(SwitchHandler.FIELD_ID_DATAPATH);
         Fields islGrouping = new Fields(IslHandler.FIELD_ID_DATAPATH);
         topology.setBolt(BfdPortHandler.BOLT_ID, bolt, scaleFactor)
@@ -294,6 +300,12 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
                 .directGrouping(SpeakerRulesWorker.BOLT_ID, SpeakerRulesWorker.STREAM_HUB_ID);
     }
 
+    private void bandwidthReconcileHandler(TopologyBuilder topology) {
+        BandwidthReconcileHandler bolt = new BandwidthReconcileHandler(persistenceManager, options);
+        topology.setBolt(BandwidthReconcileHandler.BOLT_ID, bolt, 1)
+                .allGrouping(CoordinatorSpout.ID);
+    }
+
     private void outputSpeaker(TopologyBuilder topology, int scaleFactor) {
         SpeakerEncoder bolt = new SpeakerEncoder();
         topology.setBolt(SpeakerEncoder.BOLT_ID, bolt, scaleFactor)
@@ -46,6 +46,10 @@ public interface NetworkTopologyConfig extends AbstractTopologyConfig {
         return getDiscoveryConfig().isBfdEnabled();
     }
 
+    default boolean isDiscoveryBatchEnabled() {
+        return getDiscoveryConfig().isBatchEnabled();
+    }
+
     default String getTopoDiscoTopic() {
         return getKafkaTopics().getTopoDiscoTopic();
     }
@@ -124,6 +128,11 @@ public interface NetworkTopologyConfig extends AbstractTopologyConfig {
     @Default("60")
     int getPortAntiFlapStatsDumpingInterval();
 
+    @Key("isl.bandwidth.reconcile.interval.seconds")
+    // If the value of this parameter is 0 or less than zero, then ISL bandwidth reconciliation is disabled.
+    @Default("3600")
+    int getIslBandwidthReconcileInterval();
+
     @Configuration
     @Key("discovery")
     interface DiscoveryConfig {
@@ -146,5 +155,13 @@ public interface NetworkTopologyConfig extends AbstractTopologyConfig {
         @Key("db.write.repeats.time.frame")
         @Default("30")
         long getDbRepeatsTimeFrameSeconds();
+
+        /**
+         * Send discovery requests of the same switch as a single batch command. Requires speakers supporting
+         * the batch command.
+         */
+        @Key("batch.enabled")
+        @Default("false")
+        boolean isBatchEnabled();
     }
 }
@@ -34,6 +34,8 @@ public class NetworkOptions implements Serializable {
 
     private Long discoveryTimeout;
 
+    private boolean discoveryBatchEnabled;
+
     private Integer bfdLogicalPortOffset;
 
     private boolean bfdEnabled;
@@ -54,10 +56,13 @@ public class NetworkOptions implements Serializable {
 
     private long antiFlapStatsDumpingInterval;
 
+    private long bandwidthReconcileInterval;
+
     public NetworkOptions(NetworkTopologyConfig topologyConfig) {
         discoveryInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getDiscoveryInterval());
         discoveryPacketTtl = TimeUnit.SECONDS.toNanos(topologyConfig.getDiscoveryPacketTtl());
         discoveryTimeout = TimeUnit.SECONDS.toNanos(topologyConfig.getDiscoveryTimeout());
+        discoveryBatchEnabled = topologyConfig.isDiscoveryBatchEnabled();
 
         bfdLogicalPortOffset = topologyConfig.getBfdPortOffset();
         bfdEnabled = topologyConfig.isBfdEnabled();
@@ -74,5 +79,6 @@ public class NetworkOptions implements Serializable {
         countSynchronizationAttempts = topologyConfig.getCountSynchronizationAttempts();
         antiFlapStatsDumpingInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getPortAntiFlapStatsDumpingInterval());
         rulesSynchronizationAttempts = topologyConfig.getRulesSynchronizationAttempts();
+        bandwidthReconcileInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getIslBandwidthReconcileInterval());
     }
 }
@@ -0,0 +1,157 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.service;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceException;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.Optional;
+
+/**
+ * Periodically recomputes available bandwidth of all ISLs from the flow paths going over them.
+ * <p/>
+ * Flow operations apply their bandwidth to ISLs as deltas, so a drift caused by a lost or duplicated update is not
+ * corrected by the next operation. The reconciliation finds such drifts, fixes and reports them.
+ */
+@Slf4j
+public class NetworkBandwidthReconcileService {
+    private static final int ISL_BATCH_SIZE = 500;
+
+    private final TransactionManager transactionManager;
+    private final IslRepository islRepository;
+    private final SwitchRepository switchRepository;
+    private final FlowPathRepository flowPathRepository;
+
+    private final long interval;
+    private long nextRunTime;
+    private boolean scheduled;
+
+    private long driftCount;
+
+    public NetworkBandwidthReconcileService(PersistenceManager persistenceManager, long interval) {
+        transactionManager = persistenceManager.getTransactionManager();
+        RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
+        islRepository = repositoryFactory.createIslRepository();
+        switchRepository = repositoryFactory.createSwitchRepository();
+        flowPathRepository = repositoryFactory.createFlowPathRepository();
+
+        this.interval = interval;
+    }
+
+    /**
+     * Returns the number of drifted ISLs found since the previous call.
+     */
+    public long pullDriftCount() {
+        long value = driftCount;
+        driftCount = 0;
+        return value;
+    }
+
+    /**
+     * Consume timer tick. The first reconciliation is performed one interval after the first tick, a non positive
+     * interval disables the reconciliation.
+     */
+    public void tick(long tickTime) {
+        if (interval <= 0) {
+            return;
+        }
+        if (!scheduled) {
+            nextRunTime = tickTime + interval;
+            scheduled = true;
+        } else if (tickTime - nextRunTime >= 0) {
+            nextRunTime = tickTime + interval;
+            reconcile();
+        }
+    }
+
+    public void tick() {
+        tick(now());
+    }
+
+    @VisibleForTesting
+    int reconcile() {
+        // ISLs are read in batches, each ISL is reloaded within its own transaction anyway
+        Iterator<Isl> isls = islRepository.streamAll(ISL_BATCH_SIZE).iterator();
+        int total = 0;
+        int drifted = 0;
+        while (isls.hasNext()) {
+            Isl isl = isls.next();
+            total += 1;
+            try {
+                Boolean isDrifted = transactionManager.doInTransaction(() -> {
+                    return reconcile(isl);
+                });
+                if (isDrifted) {
+                    drifted += 1;
+                }
+            } catch (PersistenceException e) {
+                log.error("Unable to reconcile available bandwidth of ISL {}_{} - {}_{}: {}",
+                        isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                        isl.getDestSwitch().getSwitchId(), isl.getDestPort(), e.getMessage());
+            }
+        }
+
+        driftCount += drifted;
+        if (drifted > 0) {
+            log.warn("ISL bandwidth reconciliation has fixed {} of {} ISLs", drifted, total);
+        } else {
+            log.info("ISL bandwidth reconciliation has found no drift over {} ISLs", total);
+        }
+        return drifted;
+    }
+
+    private boolean reconcile(Isl isl) {
+        SwitchId srcSwitch = isl.getSrcSwitch().getSwitchId();
+        SwitchId destSwitch = isl.getDestSwitch().getSwitchId();
+        switchRepository.lockSwitches(isl.getSrcSwitch(), isl.getDestSwitch());
+
+        // reload the ISL, a flow operation could change it before the lock was taken
+        Optional<Isl> actual = islRepository.findByEndpoints(
+                srcSwitch, isl.getSrcPort(), destSwitch, isl.getDestPort());
+        if (!actual.isPresent()) {
+            return false;
+        }
+
+        long usedBandwidth = flowPathRepository.getUsedBandwidthBetweenEndpoints(
+                srcSwitch, isl.getSrcPort(), destSwitch, isl.getDestPort());
+        long availableBandwidth = actual.get().getAvailableBandwidth();
+        long expected = actual.get().getMaxBandwidth() - usedBandwidth;
+        if (availableBandwidth == expected) {
+            return false;
+        }
+
+        log.warn("Available bandwidth of ISL {}_{} - {}_{} has drifted: {} instead of {}",
+                srcSwitch, isl.getSrcPort(), destSwitch, isl.getDestPort(), availableBandwidth, expected);
+        islRepository.updateAvailableBandwidth(srcSwitch, isl.getSrcPort(), destSwitch, isl.getDestPort(),
+                usedBandwidth);
+        return true;
+    }
+
+    private long now() {
+        return System.nanoTime();
+    }
+}
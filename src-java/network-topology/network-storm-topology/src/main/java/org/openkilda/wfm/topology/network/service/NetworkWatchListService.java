@@ -15,24 +15,34 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.TimerWheel;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
-
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the list of endpoints to be discovered and requests their discovery once per tick period.
+ * <p/>
+ * Each switch has its own phase within the period, derived from its id. All endpoints of a switch are requested in
+ * the same tick, so the watcher can send them to the speaker as a single batch, while requests of different switches
+ * are spread over the period instead of going in a burst.
+ */
 @Slf4j
 public class NetworkWatchListService {
+    private static final long TIMER_RESOLUTION = TimeUnit.MILLISECONDS.toNanos(100);
+
     private final IWatchListCarrier carrier;
     private final long tickPeriod;
 
     private Set<Endpoint> endpoints = new HashSet<>();
-    private SortedMap<Long, Set<Endpoint>> timeouts = new TreeMap<>();
-
+    private TimerWheel<Endpoint, Endpoint> timeouts = new TimerWheel<>(TIMER_RESOLUTION);
 
     public NetworkWatchListService(IWatchListCarrier carrier, long tickPeriod) {
         this.carrier = carrier;
@@ -44,8 +54,7 @@ public class NetworkWatchListService {
         return endpoints;
     }
 
-    @VisibleForTesting
-    SortedMap<Long, Set<Endpoint>> getTimeouts() {
+    public TimerWheel<Endpoint, Endpoint> getTimeouts() {
         return timeouts;
     }
 
@@ -53,9 +62,7 @@ public class NetworkWatchListService {
     void addWatch(Endpoint endpoint, long currentTime) {
         if (endpoints.add(endpoint)) {
             carrier.discoveryRequest(endpoint, currentTime);
-            long key = currentTime + tickPeriod;
-            timeouts.computeIfAbsent(key, mappingFunction -> new HashSet<>())
-                    .add(endpoint);
+            timeouts.schedule(endpoint, endpoint, nextSlot(endpoint, currentTime + tickPeriod / 2));
         }
     }
 
@@ -71,29 +78,16 @@ public class NetworkWatchListService {
         log.debug("Watch-list service receive REMOVE-WATCH request for {}", endpoint);
         carrier.watchRemoved(endpoint);
         endpoints.remove(endpoint);
+        timeouts.cancel(endpoint);
     }
 
     /**
      * Consume timer tick.
      */
     public void tick(long tickTime) {
-        SortedMap<Long, Set<Endpoint>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            HashSet<Endpoint> renew = new HashSet<>();
-            for (Set<Endpoint> e : range.values()) {
-                for (Endpoint ee : e) {
-                    if (endpoints.contains(ee)) {
-                        carrier.discoveryRequest(ee, tickTime);
-                        renew.add(ee);
-                    }
-                }
-            }
-            range.clear();
-            if (!renew.isEmpty()) {
-                long key = tickTime + tickPeriod;
-                timeouts.computeIfAbsent(key, mappingFunction -> new HashSet<>())
-                        .addAll(renew);
-            }
+        for (Endpoint endpoint : timeouts.advance(tickTime)) {
+            carrier.discoveryRequest(endpoint, tickTime);
+            timeouts.schedule(endpoint, endpoint, nextSlot(endpoint, tickTime));
         }
     }
 
@@ -101,6 +95,19 @@ public class NetworkWatchListService {
         tick(now());
     }
 
+    /**
+     * Returns the first time after the given one, which matches the phase of the endpoint's switch.
+     */
+    @VisibleForTesting
+    long nextSlot(Endpoint endpoint, long time) {
+        long phase = Math.floorMod(switchHash(endpoint.getDatapath()), tickPeriod);
+        return time + tickPeriod - Math.floorMod(time - phase, tickPeriod);
+    }
+
+    private static long switchHash(SwitchId switchId) {
+        return Hashing.murmur3_128().hashLong(switchId.toLong()).asLong();
+    }
+
     private long now() {
         return System.nanoTime();
     }
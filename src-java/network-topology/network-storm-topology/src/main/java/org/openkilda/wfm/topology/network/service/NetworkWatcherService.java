@@ -15,35 +15,55 @@
 
 package org.openkilda.wfm.topology.network.service;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
+import org.openkilda.wfm.share.utils.TimerWheel;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class NetworkWatcherService {
+    private static final long TIMER_RESOLUTION = TimeUnit.MILLISECONDS.toNanos(100);
+
     private final IWatcherCarrier carrier;
     private final long awaitTime;
     private final Integer taskId;
+    private final boolean batchEnabled;
 
     private long packetNo = 0;
     private Set<Packet> producedPackets = new HashSet<>();
     private Set<Packet> confirmedPackets = new HashSet<>();
-    private SortedMap<Long, Set<Packet>> timeouts = new TreeMap<>();
+    private TimerWheel<Packet, Packet> timeouts = new TimerWheel<>(TIMER_RESOLUTION);
+    private Map<SwitchId, List<DiscoverIslCommandData>> pendingDiscoveries = new LinkedHashMap<>();
 
     public NetworkWatcherService(IWatcherCarrier carrier, long awaitTime, Integer taskId) {
+        this(carrier, awaitTime, taskId, false);
+    }
+
+    /**
+     * Creates the service. With enabled batching discovery requests are collected per switch and sent as batch
+     * commands on the next tick.
+     */
+    public NetworkWatcherService(IWatcherCarrier carrier, long awaitTime, Integer taskId, boolean batchEnabled) {
         this.carrier = carrier;
         this.awaitTime = awaitTime;
         this.taskId = taskId;
+        this.batchEnabled = batchEnabled;
     }
 
     public void addWatch(Endpoint endpoint) {
@@ -56,12 +76,16 @@ public class NetworkWatcherService {
                   endpoint, packet.packetNo, taskId);
 
         producedPackets.add(packet);
-        timeouts.computeIfAbsent(currentTime + awaitTime, key -> new HashSet<>())
-                .add(packet);
+        timeouts.schedule(packet, packet, currentTime + awaitTime);
 
         DiscoverIslCommandData discoveryRequest = new DiscoverIslCommandData(
                 endpoint.getDatapath(), endpoint.getPortNumber(), packetNo);
-        carrier.sendDiscovery(discoveryRequest);
+        if (batchEnabled) {
+            pendingDiscoveries.computeIfAbsent(endpoint.getDatapath(), key -> new ArrayList<>())
+                    .add(discoveryRequest);
+        } else {
+            carrier.sendDiscovery(discoveryRequest);
+        }
 
         packetNo += 1;
     }
@@ -72,19 +96,15 @@ public class NetworkWatcherService {
     public void removeWatch(Endpoint endpoint) {
         log.debug("Watcher service receive REMOVE-watch request for {}", endpoint);
         carrier.clearDiscovery(endpoint);
-        producedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
-        confirmedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
+        removePackets(producedPackets, endpoint);
+        removePackets(confirmedPackets, endpoint);
+        removePendingDiscoveries(endpoint);
     }
 
     void tick(long tickTime) {
-        SortedMap<Long, Set<Packet>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            for (Set<Packet> e : range.values()) {
-                for (Packet ee : e) {
-                    timeoutAction(ee);
-                }
-            }
-            range.clear();
+        flushDiscoveries();
+        for (Packet packet : timeouts.advance(tickTime)) {
+            timeoutAction(packet);
         }
     }
 
@@ -128,6 +148,7 @@ public class NetworkWatcherService {
         boolean wasProduced = producedPackets.remove(packet);
         boolean wasConfirmed = confirmedPackets.remove(packet);
         if (wasProduced || wasConfirmed) {
+            timeouts.cancel(packet);
             carrier.discoveryReceived(packet.endpoint, packet.packetNo, discoveryEvent, now());
         } else {
             log.error("Receive invalid or removed discovery packet on {} id:{} task:{}",
@@ -145,6 +166,43 @@ public class NetworkWatcherService {
         }
     }
 
+    private void flushDiscoveries() {
+        if (pendingDiscoveries.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<SwitchId, List<DiscoverIslCommandData>> entry : pendingDiscoveries.entrySet()) {
+            List<DiscoverIslCommandData> requests = entry.getValue();
+            if (requests.size() == 1) {
+                carrier.sendDiscovery(requests.get(0));
+            } else {
+                carrier.sendDiscovery(new DiscoverIslBatchCommandData(entry.getKey(), requests));
+            }
+        }
+        pendingDiscoveries = new LinkedHashMap<>();
+    }
+
+    private void removePackets(Set<Packet> packets, Endpoint endpoint) {
+        Iterator<Packet> iterator = packets.iterator();
+        while (iterator.hasNext()) {
+            Packet packet = iterator.next();
+            if (packet.endpoint.equals(endpoint)) {
+                iterator.remove();
+                timeouts.cancel(packet);
+            }
+        }
+    }
+
+    private void removePendingDiscoveries(Endpoint endpoint) {
+        List<DiscoverIslCommandData> requests = pendingDiscoveries.get(endpoint.getDatapath());
+        if (requests == null) {
+            return;
+        }
+        requests.removeIf(request -> request.getPortNumber() == endpoint.getPortNumber());
+        if (requests.isEmpty()) {
+            pendingDiscoveries.remove(endpoint.getDatapath());
+        }
+    }
+
     private long now() {
         return System.nanoTime();
     }
@@ -159,8 +217,7 @@ public class NetworkWatcherService {
         return confirmedPackets;
     }
 
-    @VisibleForTesting
-    SortedMap<Long, Set<Packet>> getTimeouts() {
+    public TimerWheel<Packet, Packet> getTimeouts() {
         return timeouts;
     }
 
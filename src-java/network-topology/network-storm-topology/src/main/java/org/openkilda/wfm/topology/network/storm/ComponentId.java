@@ -35,6 +35,7 @@ public enum ComponentId {
     BFD_PORT_HANDLER("bfd-port-handler"),
     UNI_ISL_HANDLER("uni-isl-handler"),
     ISL_HANDLER("isl-handler"),
+    BANDWIDTH_RECONCILE("bandwidth-reconcile-handler"),
 
     HISTORY_HANDLER("history-handler"),
 
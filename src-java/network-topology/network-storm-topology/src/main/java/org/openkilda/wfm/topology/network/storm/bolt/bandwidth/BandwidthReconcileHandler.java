@@ -0,0 +1,72 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.storm.bolt.bandwidth;
+
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.share.hubandspoke.CoordinatorSpout;
+import org.openkilda.wfm.topology.network.model.NetworkOptions;
+import org.openkilda.wfm.topology.network.service.NetworkBandwidthReconcileService;
+import org.openkilda.wfm.topology.network.storm.ComponentId;
+
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
+
+import java.util.Map;
+
+public class BandwidthReconcileHandler extends AbstractBolt {
+    public static final String BOLT_ID = ComponentId.BANDWIDTH_RECONCILE.toString();
+
+    private static final int METRICS_BUCKET_SECONDS = 60;
+
+    private final PersistenceManager persistenceManager;
+    private final NetworkOptions options;
+
+    private transient NetworkBandwidthReconcileService service;
+
+    public BandwidthReconcileHandler(PersistenceManager persistenceManager, NetworkOptions options) {
+        this.persistenceManager = persistenceManager;
+        this.options = options;
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        if (CoordinatorSpout.ID.equals(input.getSourceComponent())) {
+            service.tick();
+        } else {
+            unhandledInput(input);
+        }
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+        context.registerMetric("isl.bandwidth.drift", (IMetric) service::pullDriftCount, METRICS_BUCKET_SECONDS);
+    }
+
+    @Override
+    protected void init() {
+        service = new NetworkBandwidthReconcileService(persistenceManager, options.getBandwidthReconcileInterval());
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer streamManager) {
+        // no output
+    }
+}
@@ -19,6 +19,8 @@ import org.openkilda.messaging.floodlight.response.BfdSessionResponse;
 import org.openkilda.messaging.model.NoviBfdSession;
 import org.openkilda.model.FeatureToggles;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.cache.CachingRepositoryFactory;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.hubandspoke.TaskIdBasedKeyFactory;
@@ -46,11 +48,16 @@ import org.openkilda.wfm.topology.network.storm.bolt.uniisl.command.UniIslBfdUpD
 import org.openkilda.wfm.topology.network.storm.bolt.uniisl.command.UniIslCommand;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Map;
+
 public class BfdPortHandler extends AbstractBolt
         implements IBfdPortCarrier, IBfdGlobalToggleCarrier, ISpeakerBcastConsumer {
     public static final String BOLT_ID = ComponentId.BFD_PORT_HANDLER.toString();
@@ -68,8 +75,11 @@ public class BfdPortHandler extends AbstractBolt
     public static final Fields STREAM_UNIISL_FIELDS = new Fields(FIELD_ID_DATAPATH, FIELD_ID_PORT_NUMBER,
                                                                  FIELD_ID_COMMAND, FIELD_ID_CONTEXT);
 
+    private static final int METRICS_BUCKET_SECONDS = 60;
+
     private final PersistenceManager persistenceManager;
 
+    private transient CachingRepositoryFactory repositoryCache;
     private transient NetworkBfdPortService bfdPortService;
     private transient NetworkBfdGlobalToggleService globalToggleService;
     private transient TaskIdBasedKeyFactory keyFactory;
@@ -197,7 +207,14 @@ public class BfdPortHandler extends AbstractBolt
         bfdPortService.updateLinkStatus(endpoint, status);
     }
 
+    /**
+     * Passes the online mode of the switch to the BFD port. A cached switch is dropped once it is online, as it
+     * could reconnect from another address.
+     */
     public void processOnlineModeUpdate(Endpoint endpoint, boolean mode) {
+        if (mode && repositoryCache != null) {
+            repositoryCache.invalidateSwitch(endpoint.getDatapath());
+        }
         bfdPortService.updateOnlineMode(endpoint, mode);
     }
 
@@ -211,13 +228,29 @@ public class BfdPortHandler extends AbstractBolt
 
     @Override
     public void processFeatureTogglesUpdate(FeatureToggles toggles) {
+        if (repositoryCache != null) {
+            repositoryCache.invalidateFeatureToggles();
+        }
         globalToggleService.toggleUpdate(toggles);
     }
 
     // -- setup --
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+        if (repositoryCache != null) {
+            context.registerMetric("bfd.port.repository.cache", (IMetric) repositoryCache::pullStats,
+                    METRICS_BUCKET_SECONDS);
+        }
+    }
+
     @Override
     protected void init() {
+        RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
+        if (repositoryFactory instanceof CachingRepositoryFactory) {
+            repositoryCache = (CachingRepositoryFactory) repositoryFactory;
+        }
         bfdPortService = new NetworkBfdPortService(this, persistenceManager);
         globalToggleService = new NetworkBfdGlobalToggleService(this, persistenceManager);
         keyFactory = new TaskIdBasedKeyFactory(getTaskId());
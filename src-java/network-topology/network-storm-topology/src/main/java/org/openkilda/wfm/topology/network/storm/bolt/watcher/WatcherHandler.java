@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.network.storm.bolt.watcher;
 
 import org.openkilda.messaging.command.CommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.model.SwitchId;
@@ -37,11 +38,15 @@ import org.openkilda.wfm.topology.network.storm.bolt.speaker.SpeakerRouter;
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watchlist.WatchListHandler;
 
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Map;
+
 public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
     public static final String BOLT_ID = ComponentId.WATCHER.toString();
 
@@ -96,10 +101,16 @@ public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
         command.apply(this);
     }
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+        service.getTimeouts().registerMetrics(context, "watcher.timeouts");
+    }
+
     @Override
     protected void init() {
-        service = new NetworkWatcherService(this,
-                                            options.getDiscoveryPacketTtl(), getTaskId());
+        service = new NetworkWatcherService(this, options.getDiscoveryPacketTtl(), getTaskId(),
+                                            options.isDiscoveryBatchEnabled());
     }
 
     @Override
@@ -126,6 +137,12 @@ public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
         emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(switchId.toString(), discoveryRequest));
     }
 
+    @Override
+    public void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest) {
+        SwitchId switchId = discoveryRequest.getSwitchId();
+        emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(switchId.toString(), discoveryRequest));
+    }
+
     @Override
     public void clearDiscovery(Endpoint endpoint) {
         emit(getCurrentTuple(), makeDefaultTuple(new DecisionMakerClearCommand(endpoint)));
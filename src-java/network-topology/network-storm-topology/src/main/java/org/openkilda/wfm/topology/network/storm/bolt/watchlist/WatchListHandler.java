@@ -30,11 +30,15 @@ import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherComm
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherRemoveCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watchlist.command.WatchListCommand;
 
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Map;
+
 public class WatchListHandler extends AbstractBolt implements IWatchListCarrier {
     public static final String BOLT_ID = ComponentId.WATCH_LIST.toString();
 
@@ -74,6 +78,12 @@ public class WatchListHandler extends AbstractBolt implements IWatchListCarrier
         command.apply(this);
     }
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+        service.getTimeouts().registerMetrics(context, "watchlist.timeouts");
+    }
+
     @Override
     protected void init() {
         service = new NetworkWatchListService(this, options.getDiscoveryInterval());
@@ -0,0 +1,151 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionCallback;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NetworkBandwidthReconcileServiceTest {
+    private static final long INTERVAL = 10;
+
+    private final Switch switchA = Switch.builder().switchId(new SwitchId(1)).build();
+    private final Switch switchB = Switch.builder().switchId(new SwitchId(2)).build();
+
+    @Mock
+    private PersistenceManager persistenceManager;
+
+    @Mock
+    private TransactionManager transactionManager;
+
+    @Mock
+    private RepositoryFactory repositoryFactory;
+
+    @Mock
+    private IslRepository islRepository;
+
+    @Mock
+    private SwitchRepository switchRepository;
+
+    @Mock
+    private FlowPathRepository flowPathRepository;
+
+    @Before
+    public void setUp() {
+        when(persistenceManager.getTransactionManager()).thenReturn(transactionManager);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+
+        when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
+        when(repositoryFactory.createSwitchRepository()).thenReturn(switchRepository);
+        when(repositoryFactory.createFlowPathRepository()).thenReturn(flowPathRepository);
+    }
+
+    @Test
+    public void shouldFixDriftedIsl() {
+        doAnswer(invocation -> {
+            TransactionCallback<?, ?> tr = invocation.getArgument(0);
+            return tr.doInTransaction();
+        }).when(transactionManager).doInTransaction(Mockito.any(TransactionCallback.class));
+
+        Isl consistent = makeIsl(switchA, 1, switchB, 2, 600);
+        Isl drifted = makeIsl(switchB, 2, switchA, 1, 300);
+        when(islRepository.streamAll(anyInt())).thenAnswer(invocation -> Stream.of(consistent, drifted));
+        when(islRepository.findByEndpoints(switchA.getSwitchId(), 1, switchB.getSwitchId(), 2))
+                .thenReturn(Optional.of(consistent));
+        when(islRepository.findByEndpoints(switchB.getSwitchId(), 2, switchA.getSwitchId(), 1))
+                .thenReturn(Optional.of(drifted));
+        when(flowPathRepository.getUsedBandwidthBetweenEndpoints(any(), anyInt(), any(), anyInt()))
+                .thenReturn(400L);
+
+        NetworkBandwidthReconcileService service = new NetworkBandwidthReconcileService(persistenceManager, INTERVAL);
+        assertEquals(1, service.reconcile());
+
+        verify(switchRepository, times(2)).lockSwitches(any(), any());
+        verify(islRepository).updateAvailableBandwidth(switchB.getSwitchId(), 2, switchA.getSwitchId(), 1, 400L);
+        verify(islRepository, never())
+                .updateAvailableBandwidth(switchA.getSwitchId(), 1, switchB.getSwitchId(), 2, 400L);
+
+        assertEquals(1, service.pullDriftCount());
+        assertEquals(0, service.pullDriftCount());
+    }
+
+    @Test
+    public void shouldReconcileOncePerInterval() {
+        when(islRepository.streamAll(anyInt())).thenAnswer(invocation -> Stream.empty());
+
+        NetworkBandwidthReconcileService service = new NetworkBandwidthReconcileService(persistenceManager, INTERVAL);
+        service.tick(0);
+        service.tick(INTERVAL - 1);
+        verify(islRepository, never()).streamAll(anyInt());
+
+        service.tick(INTERVAL);
+        service.tick(INTERVAL + 1);
+        verify(islRepository, times(1)).streamAll(anyInt());
+
+        service.tick(2 * INTERVAL);
+        verify(islRepository, times(2)).streamAll(anyInt());
+    }
+
+    @Test
+    public void shouldNotReconcileIfDisabled() {
+        NetworkBandwidthReconcileService service = new NetworkBandwidthReconcileService(persistenceManager, 0);
+        service.tick(0);
+        service.tick(INTERVAL);
+        service.tick(2 * INTERVAL);
+
+        verify(islRepository, never()).streamAll(anyInt());
+        verify(islRepository, never()).updateAvailableBandwidth(any(), anyInt(), any(), anyInt(), anyLong());
+    }
+
+    private Isl makeIsl(Switch srcSwitch, int srcPort, Switch destSwitch, int destPort, long availableBandwidth) {
+        return Isl.builder()
+                .srcSwitch(srcSwitch)
+                .srcPort(srcPort)
+                .destSwitch(destSwitch)
+                .destPort(destPort)
+                .maxBandwidth(1000)
+                .availableBandwidth(availableBandwidth)
+                .build();
+    }
+}
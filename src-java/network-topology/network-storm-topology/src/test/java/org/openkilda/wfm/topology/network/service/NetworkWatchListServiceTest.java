@@ -16,10 +16,12 @@
 package org.openkilda.wfm.topology.network.service;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -29,9 +31,15 @@ import org.openkilda.wfm.share.model.Endpoint;
 
 import org.junit.Before;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @RunWith(MockitoJUnitRunner.class)
 public class NetworkWatchListServiceTest {
 
@@ -55,7 +63,7 @@ public class NetworkWatchListServiceTest {
         s.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(s.getEndpoints().size(), is(4));
-        assertThat(s.getTimeouts().size(), is(3));
+        assertThat(s.getTimeouts().size(), is(4));
 
         verify(carrier, times(4)).discoveryRequest(any(Endpoint.class), anyLong());
     }
@@ -75,7 +83,7 @@ public class NetworkWatchListServiceTest {
         s.removeWatch(Endpoint.of(new SwitchId(2), 1));
 
         assertThat(s.getEndpoints().size(), is(0));
-        assertThat(s.getTimeouts().size(), is(2));
+        assertThat(s.getTimeouts().size(), is(0));
 
         s.tick(100);
 
@@ -96,9 +104,60 @@ public class NetworkWatchListServiceTest {
         for (int i = 0; i <= 100; i++) {
             s.tick(i);
         }
-        verify(carrier, times(10)).discoveryRequest(eq(Endpoint.of(new SwitchId(1), 1)), anyLong());
-        verify(carrier, times(10)).discoveryRequest(eq(Endpoint.of(new SwitchId(1), 2)), anyLong());
-        verify(carrier, times(10)).discoveryRequest(eq(Endpoint.of(new SwitchId(2), 1)), anyLong());
-        verify(carrier, times(10)).discoveryRequest(eq(Endpoint.of(new SwitchId(2), 2)), anyLong());
+
+        Map<Endpoint, List<Long>> requests = captureRequests();
+        for (List<Long> times : requests.values()) {
+            assertTrue(times.size() >= 9);
+            long firstPeriod = times.get(1) - times.get(0);
+            assertTrue(5 < firstPeriod && firstPeriod <= 15);
+            for (int i = 2; i < times.size(); i++) {
+                assertThat(times.get(i) - times.get(i - 1), is(10L));
+            }
+        }
+    }
+
+    @org.junit.Test
+    public void shouldRequestEndpointsOfSwitchTogether() {
+        NetworkWatchListService s = new NetworkWatchListService(carrier, 1000);
+
+        for (int port = 1; port <= 20; port++) {
+            for (int dpid = 1; dpid <= 20; dpid++) {
+                s.addWatch(Endpoint.of(new SwitchId(dpid), port), port * 7);
+            }
+        }
+        // the first renewal of endpoints added at different times can fall into different periods
+        for (int i = 1; i < 2000; i++) {
+            s.tick(i);
+        }
+        reset(carrier);
+
+        for (int i = 2000; i < 4000; i++) {
+            s.tick(i);
+        }
+
+        Map<Endpoint, List<Long>> requests = captureRequests();
+        Map<SwitchId, List<Long>> switchRequests = new HashMap<>();
+        for (Map.Entry<Endpoint, List<Long>> entry : requests.entrySet()) {
+            List<Long> expected = switchRequests.putIfAbsent(entry.getKey().getDatapath(), entry.getValue());
+            if (expected != null) {
+                assertEquals(expected, entry.getValue());
+            }
+        }
+        assertThat(switchRequests.size(), is(20));
+        assertThat(switchRequests.values().stream().map(times -> times.get(0)).distinct().count() > 1,
+                is(true));
+    }
+
+    private Map<Endpoint, List<Long>> captureRequests() {
+        ArgumentCaptor<Endpoint> endpoints = ArgumentCaptor.forClass(Endpoint.class);
+        ArgumentCaptor<Long> times = ArgumentCaptor.forClass(Long.class);
+        verify(carrier, atLeastOnce()).discoveryRequest(endpoints.capture(), times.capture());
+
+        Map<Endpoint, List<Long>> requests = new HashMap<>();
+        for (int i = 0; i < endpoints.getAllValues().size(); i++) {
+            requests.computeIfAbsent(endpoints.getAllValues().get(i), key -> new ArrayList<>())
+                    .add(times.getAllValues().get(i));
+        }
+        return requests;
     }
 }
@@ -25,6 +25,7 @@ import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
@@ -37,6 +38,8 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
+
 @RunWith(MockitoJUnitRunner.class)
 public class NetworkWatcherServiceTest {
     private final Integer taskId = 0;
@@ -59,11 +62,55 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
 
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
     }
 
+    @Test
+    public void shouldBatchDiscoveryRequestsOfSwitch() {
+        NetworkWatcherService w = new NetworkWatcherService(carrier, 10, taskId, true);
+        w.addWatch(Endpoint.of(new SwitchId(1), 1), 1);
+        w.addWatch(Endpoint.of(new SwitchId(1), 2), 1);
+        w.addWatch(Endpoint.of(new SwitchId(2), 1), 1);
+        w.addWatch(Endpoint.of(new SwitchId(1), 3), 1);
+
+        verify(carrier, never()).sendDiscovery(any(DiscoverIslCommandData.class));
+        verify(carrier, never()).sendDiscovery(any(DiscoverIslBatchCommandData.class));
+
+        w.tick(2);
+
+        verify(carrier).sendDiscovery(new DiscoverIslBatchCommandData(new SwitchId(1), Arrays.asList(
+                new DiscoverIslCommandData(new SwitchId(1), 1, 0L),
+                new DiscoverIslCommandData(new SwitchId(1), 2, 1L),
+                new DiscoverIslCommandData(new SwitchId(1), 3, 3L))));
+        verify(carrier).sendDiscovery(new DiscoverIslCommandData(new SwitchId(2), 1, 2L));
+
+        w.tick(3);
+        verify(carrier, times(1)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
+        verify(carrier, times(1)).sendDiscovery(any(DiscoverIslCommandData.class));
+    }
+
+    @Test
+    public void shouldNotSendPendingDiscoveryOfRemovedWatch() {
+        NetworkWatcherService w = new NetworkWatcherService(carrier, 10, taskId, true);
+        w.addWatch(Endpoint.of(new SwitchId(1), 1), 1);
+        w.addWatch(Endpoint.of(new SwitchId(1), 2), 1);
+        w.addWatch(Endpoint.of(new SwitchId(1), 3), 1);
+        w.addWatch(Endpoint.of(new SwitchId(2), 1), 1);
+
+        w.removeWatch(Endpoint.of(new SwitchId(1), 2));
+        w.removeWatch(Endpoint.of(new SwitchId(2), 1));
+
+        w.tick(2);
+
+        verify(carrier).sendDiscovery(new DiscoverIslBatchCommandData(new SwitchId(1), Arrays.asList(
+                new DiscoverIslCommandData(new SwitchId(1), 1, 0L),
+                new DiscoverIslCommandData(new SwitchId(1), 3, 2L))));
+        verify(carrier, never()).sendDiscovery(any(DiscoverIslCommandData.class));
+        assertThat(w.getTimeouts().size(), is(2));
+    }
+
     @Test
     public void removeWatch() {
         NetworkWatcherService w = new NetworkWatcherService(carrier, 10, taskId);
@@ -89,6 +136,7 @@ public class NetworkWatcherServiceTest {
         verify(carrier).clearDiscovery(Endpoint.of(new SwitchId(2), 2));
 
         assertThat(w.getConfirmedPackets().size(), is(1));
+        assertThat(w.getTimeouts().size(), is(3));
         assertThat(w.getProducedPackets().size(), is(2));
 
         w.tick(100);
@@ -105,7 +153,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
@@ -134,7 +182,7 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
         verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
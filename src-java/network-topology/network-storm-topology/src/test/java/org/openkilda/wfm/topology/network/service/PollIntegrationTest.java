@@ -20,6 +20,7 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
@@ -174,6 +175,11 @@ public class PollIntegrationTest {
 
         public abstract void sendDiscovery(DiscoverIslCommandData discoveryRequest);
 
+        @Override
+        public void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest) {
+            discoveryRequest.getCommands().forEach(this::sendDiscovery);
+        }
+
         @Override
         public void clearDiscovery(Endpoint endpoint) {
             // TBD
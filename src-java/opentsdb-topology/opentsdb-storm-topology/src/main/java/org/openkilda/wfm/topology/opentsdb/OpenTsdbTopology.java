@@ -65,7 +65,8 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
                 .setNumTasks(openTsdbConfig.getDatapointParseBoltWorkers())
                 .shuffleGrouping(OTSDB_SPOUT_ID);
 
-        tb.setBolt(OTSDB_FILTER_BOLT_ID, new OpenTSDBFilterBolt(), openTsdbConfig.getFilterBoltExecutors())
+        OpenTSDBFilterBolt filterBolt = new OpenTSDBFilterBolt(openTsdbConfig.getMetricPrefix());
+        tb.setBolt(OTSDB_FILTER_BOLT_ID, filterBolt, openTsdbConfig.getFilterBoltExecutors())
                 .fieldsGrouping(OTSDB_PARSE_BOLT_ID, new Fields("hash"));
 
         OpenTsdbClient.Builder tsdbBuilder = OpenTsdbClient
@@ -80,7 +81,8 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
         openTsdbBolt.withBatchSize(openTsdbConfig.getBatchSize()).withFlushInterval(openTsdbConfig.getFlushInterval());
         tb.setBolt(OTSDB_BOLT_ID, openTsdbBolt, openTsdbConfig.getBoltExecutors())
                 .setNumTasks(openTsdbConfig.getBoltWorkers())
-                .shuffleGrouping(OTSDB_FILTER_BOLT_ID);
+                .shuffleGrouping(OTSDB_FILTER_BOLT_ID)
+                .shuffleGrouping(OTSDB_FILTER_BOLT_ID, OpenTSDBFilterBolt.STORAGE_METRICS_STREAM);
 
         return tb.createTopology();
     }
@@ -16,8 +16,10 @@
 package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.wfm.share.utils.MetricFormatter;
+import org.openkilda.wfm.topology.opentsdb.storage.DatapointStorage;
 
-import lombok.Value;
+import com.google.common.collect.ImmutableMap;
 import org.apache.storm.Config;
 import org.apache.storm.Constants;
 import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
@@ -27,10 +29,10 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
@@ -39,10 +41,11 @@ import java.util.stream.Stream;
 
 
 public class OpenTSDBFilterBolt extends BaseRichBolt {
+    public static final String STORAGE_METRICS_STREAM = "storage.metrics";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenTSDBFilterBolt.class);
-    private static final long MUTE_IF_NO_UPDATES_SECS = TimeUnit.MINUTES.toSeconds(10);
-    private static final long MUTE_IF_NO_UPDATES_MILLIS = TimeUnit.SECONDS.toMillis(MUTE_IF_NO_UPDATES_SECS);
+    private static final long MUTE_IF_NO_UPDATES_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long STORAGE_BUCKET_SECS = TimeUnit.MINUTES.toSeconds(1);
 
     private static final Fields DECLARED_FIELDS =
             new Fields(TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getMetricField(),
@@ -50,18 +53,28 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getValueField(),
                     TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTagsField());
 
-    private Map<DatapointKey, Datapoint> storage = new HashMap<>();
+    private final MetricFormatter metricFormatter;
+
+    private DatapointStorage storage;
+    private Map<String, String> storageMetricTags;
     private OutputCollector collector;
 
+    public OpenTSDBFilterBolt(String metricPrefix) {
+        this.metricFormatter = new MetricFormatter(metricPrefix);
+    }
+
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
         this.collector = collector;
+        this.storage = new DatapointStorage(MUTE_IF_NO_UPDATES_MILLIS,
+                TimeUnit.SECONDS.toMillis(STORAGE_BUCKET_SECS));
+        this.storageMetricTags = ImmutableMap.of("taskid", String.valueOf(context.getThisTaskId()));
     }
     
     @Override
     public Map<String, Object> getComponentConfiguration() {
         Config conf = new Config();
-        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, MUTE_IF_NO_UPDATES_SECS);
+        conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, STORAGE_BUCKET_SECS);
         return conf;
     }
 
@@ -70,14 +83,11 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
     public void execute(Tuple tuple) {
         
         if (isTickTuple(tuple)) {
-            // opentsdb using current epoch time (date +%s) in seconds
             long now  = System.currentTimeMillis();
-            storage.entrySet().removeIf(entry ->  now - entry.getValue().getTime() > MUTE_IF_NO_UPDATES_MILLIS);
-
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("storage after clean tulpe: {}", storage.toString());
-            }
+            int removed = storage.removeOutdated(now);
+            LOGGER.debug("removed {} outdated datapoint series, storage.size: {}", removed, storage.size());
 
+            emitStorageMetrics(now, removed);
             collector.ack(tuple);
             return;
         }
@@ -89,9 +99,7 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
 
         Datapoint datapoint = (Datapoint) tuple.getValueByField("datapoint");
 
-        if (isUpdateRequired(datapoint)) {
-            addDatapoint(datapoint);
-
+        if (storage.update(datapoint)) {
             List<Object> stream = Stream.of(datapoint.getMetric(), datapoint.getTime(), datapoint.getValue(),
                     datapoint.getTags()).collect(Collectors.toList());
 
@@ -106,36 +114,22 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(DECLARED_FIELDS);
+        declarer.declareStream(STORAGE_METRICS_STREAM, DECLARED_FIELDS);
     }
 
-    private void addDatapoint(Datapoint datapoint) {
-        LOGGER.debug("adding datapoint: {}", datapoint);
-        LOGGER.debug("storage.size: {}", storage.size());
-        storage.put(new DatapointKey(datapoint.getMetric(), datapoint.getTags()), datapoint);
-        if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("addDatapoint storage: {}", storage.toString());
-        }
+    private void emitStorageMetrics(long now, int removed) {
+        final Runtime runtime = Runtime.getRuntime();
+        emitStorageMetric("opentsdb.filter.series", now, storage.size());
+        emitStorageMetric("opentsdb.filter.capacity", now, storage.capacity());
+        emitStorageMetric("opentsdb.filter.expired", now, removed);
+        emitStorageMetric("opentsdb.filter.heap.used", now, runtime.totalMemory() - runtime.freeMemory());
     }
 
-    private boolean isUpdateRequired(Datapoint datapoint) {
-        boolean update = true;
-        Datapoint prevDatapoint = storage.get(new DatapointKey(datapoint.getMetric(), datapoint.getTags()));
-
-        if (prevDatapoint != null) {
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("prev: {} cur: {} equals: {} time_delta: {}",
-                        prevDatapoint,
-                        datapoint,
-                        prevDatapoint.getValue().equals(datapoint.getValue()),
-                        datapoint.getTime() - prevDatapoint.getTime()
-                );
-            }
-            update = !prevDatapoint.getValue().equals(datapoint.getValue())
-                    || datapoint.getTime() - prevDatapoint.getTime() >= MUTE_IF_NO_UPDATES_MILLIS;
-        }
-        return update;
+    private void emitStorageMetric(String metric, long time, long value) {
+        collector.emit(STORAGE_METRICS_STREAM,
+                new Values(metricFormatter.format(metric), time, value, storageMetricTags));
     }
-    
+
     private boolean isTickTuple(Tuple tuple) {
         String sourceComponent = tuple.getSourceComponent();
         String sourceStreamId = tuple.getSourceStreamId();
@@ -143,12 +137,4 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         return Constants.SYSTEM_COMPONENT_ID.equals(sourceComponent)
                 && Constants.SYSTEM_TICK_STREAM_ID.equals(sourceStreamId);
     }
-
-    @Value
-    private static class DatapointKey {
-
-        private String metric;
-
-        private Map<String, String> tags;
-    }
 }
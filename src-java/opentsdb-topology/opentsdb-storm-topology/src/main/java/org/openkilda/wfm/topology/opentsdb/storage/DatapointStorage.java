@@ -0,0 +1,227 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb.storage;
+
+import static java.lang.String.format;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Keeps the last emitted value of each datapoint series (a metric with a set of tags) in order to suppress unchanged
+ * values.
+ * <p/>
+ * Each series gets an integer id once, when it's first seen. Metric names and tags are interned at that moment, and
+ * incoming datapoints are looked up by their own tag maps, so no key objects are allocated per datapoint. Values and
+ * timestamps are kept in primitive arrays indexed by the series id.
+ * <p/>
+ * Series ids are also grouped into time buckets by the timestamp of their last value, so outdated series are found
+ * by walking the expired buckets only. A bucket may keep stale ids of series which were updated or removed after
+ * being added to it; they are skipped on expiry.
+ * <p/>
+ * Not thread-safe.
+ */
+public class DatapointStorage {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final long muteMillis;
+    private final long bucketMillis;
+
+    private final Interner<String> strings = Interners.newWeakInterner();
+    private final Map<String, Map<Map<String, String>, Integer>> index = new HashMap<>();
+    private final TreeMap<Long, IdList> buckets = new TreeMap<>();
+
+    private String[] metrics = new String[INITIAL_CAPACITY];
+    private Object[] tags = new Object[INITIAL_CAPACITY];
+    private long[] times = new long[INITIAL_CAPACITY];
+    private long[] values = new long[INITIAL_CAPACITY];
+    private final BitSet floatingValues = new BitSet(INITIAL_CAPACITY);
+
+    private final IdList freeIds = new IdList();
+    private int nextId;
+    private int size;
+
+    /**
+     * Creates a storage.
+     *
+     * @param muteMillis how long an unchanged value is suppressed, and a series is kept since its last update.
+     * @param bucketMillis the time span of an expiry bucket.
+     */
+    public DatapointStorage(long muteMillis, long bucketMillis) {
+        if (bucketMillis <= 0) {
+            throw new IllegalArgumentException(format("Invalid bucket time span %d", bucketMillis));
+        }
+        this.muteMillis = muteMillis;
+        this.bucketMillis = bucketMillis;
+    }
+
+    /**
+     * Checks whether the datapoint is to be emitted: its series is new, the value has changed or the mute period
+     * has passed since the last emitted value. If so, the datapoint becomes the last emitted value of the series.
+     */
+    public boolean update(Datapoint datapoint) {
+        Map<String, String> datapointTags = datapoint.getTags() != null ? datapoint.getTags() : Collections.emptyMap();
+        Number value = datapoint.getValue();
+        long time = datapoint.getTime();
+        boolean floating = value instanceof Double || value instanceof Float;
+        long valueBits = floating ? Double.doubleToLongBits(value.doubleValue()) : value.longValue();
+
+        Map<Map<String, String>, Integer> metricSeries = index.get(datapoint.getMetric());
+        Integer id = metricSeries != null ? metricSeries.get(datapointTags) : null;
+        if (id == null) {
+            int newId = add(datapoint.getMetric(), datapointTags);
+            store(newId, time, valueBits, floating);
+            addToBucket(newId, time);
+            return true;
+        }
+
+        if (values[id] == valueBits && floatingValues.get(id) == floating && time - times[id] < muteMillis) {
+            return false;
+        }
+        long previousTime = times[id];
+        store(id, time, valueBits, floating);
+        if (toBucket(previousTime) != toBucket(time)) {
+            addToBucket(id, time);
+        }
+        return true;
+    }
+
+    /**
+     * Removes series which were last updated more than the mute period before now.
+     *
+     * @return the number of removed series.
+     */
+    public int removeOutdated(long now) {
+        long deadline = now - muteMillis;
+        int removed = 0;
+        Iterator<Entry<Long, IdList>> iterator = buckets.headMap(toBucket(deadline), true).entrySet().iterator();
+        while (iterator.hasNext()) {
+            Entry<Long, IdList> entry = iterator.next();
+            long bucket = entry.getKey();
+            IdList ids = entry.getValue();
+            int kept = 0;
+            for (int i = 0; i < ids.size; i++) {
+                int id = ids.items[i];
+                if (metrics[id] == null || toBucket(times[id]) != bucket) {
+                    continue;
+                }
+                if (times[id] < deadline) {
+                    remove(id);
+                    removed++;
+                } else {
+                    ids.items[kept++] = id;
+                }
+            }
+            if (kept == 0) {
+                iterator.remove();
+            } else {
+                ids.size = kept;
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the number of series.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of series the arrays can hold without growing.
+     */
+    public int capacity() {
+        return times.length;
+    }
+
+    private int add(String metric, Map<String, String> datapointTags) {
+        int id = freeIds.size > 0 ? freeIds.items[--freeIds.size] : nextId++;
+        if (id >= times.length) {
+            grow();
+        }
+
+        String internedMetric = strings.intern(metric);
+        ImmutableMap.Builder<String, String> internedTags = ImmutableMap.builder();
+        datapointTags.forEach((key, value) -> internedTags.put(strings.intern(key), strings.intern(value)));
+        Map<String, String> canonicalTags = internedTags.build();
+
+        metrics[id] = internedMetric;
+        tags[id] = canonicalTags;
+        index.computeIfAbsent(internedMetric, key -> new HashMap<>()).put(canonicalTags, id);
+        size++;
+        return id;
+    }
+
+    private void remove(int id) {
+        Map<Map<String, String>, Integer> metricSeries = index.get(metrics[id]);
+        metricSeries.remove(tags[id]);
+        if (metricSeries.isEmpty()) {
+            index.remove(metrics[id]);
+        }
+
+        metrics[id] = null;
+        tags[id] = null;
+        freeIds.add(id);
+        size--;
+    }
+
+    private void store(int id, long time, long valueBits, boolean floating) {
+        times[id] = time;
+        values[id] = valueBits;
+        floatingValues.set(id, floating);
+    }
+
+    private void addToBucket(int id, long time) {
+        buckets.computeIfAbsent(toBucket(time), bucket -> new IdList()).add(id);
+    }
+
+    private long toBucket(long time) {
+        return Math.floorDiv(time, bucketMillis);
+    }
+
+    private void grow() {
+        int capacity = times.length + (times.length >> 1);
+        metrics = Arrays.copyOf(metrics, capacity);
+        tags = Arrays.copyOf(tags, capacity);
+        times = Arrays.copyOf(times, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    private static final class IdList {
+        private int[] items = new int[16];
+        private int size;
+
+        private void add(int id) {
+            if (size == items.length) {
+                items = Arrays.copyOf(items, size + (size >> 1));
+            }
+            items[size++] = id;
+        }
+    }
+}
@@ -36,6 +36,7 @@ import org.openkilda.messaging.info.InfoData;
 import org.openkilda.wfm.topology.opentsdb.bolts.OpenTSDBFilterBolt;
 
 import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.tuple.Tuple;
 import org.junit.Before;
 import org.junit.Test;
@@ -51,6 +52,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 @RunWith(MockitoJUnitRunner.class)
 public class OpenTSDBFilterBoltTest {
@@ -60,11 +62,14 @@ public class OpenTSDBFilterBoltTest {
     private static final Integer VALUE = 123;
 
     @InjectMocks
-    private OpenTSDBFilterBolt target = new OpenTSDBFilterBolt();
+    private OpenTSDBFilterBolt target = new OpenTSDBFilterBolt("kilda.");
 
     @Mock
     private OutputCollector outputCollector;
 
+    @Mock
+    private TopologyContext topologyContext;
+
     @Mock
     private Tuple tuple;
 
@@ -82,7 +87,7 @@ public class OpenTSDBFilterBoltTest {
     public void shouldEmitMessage() throws Exception {
         mockTuple();
 
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
         target.execute(tuple);
 
         verify(outputCollector).emit(argumentCaptor.capture());
@@ -100,7 +105,7 @@ public class OpenTSDBFilterBoltTest {
     public void shouldEmitMessageOnlyOnce() throws Exception {
         mockTuple();
 
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
         target.execute(tuple);
         target.execute(tuple);
 
@@ -112,7 +117,7 @@ public class OpenTSDBFilterBoltTest {
     public void shouldEmitMessageOnlyOnceBecauseOfInterval() throws Exception {
         mockTuple();
 
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
         target.execute(tuple);
 
         mockTuple(TIMESTAMP + TimeUnit.MINUTES.toMillis(10) - 1);
@@ -126,7 +131,7 @@ public class OpenTSDBFilterBoltTest {
     public void shouldEmitBothMessagesBecauseOfInterval() throws Exception {
         mockTuple();
 
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
         target.execute(tuple);
 
         mockTuple(TIMESTAMP + TimeUnit.MINUTES.toMillis(10) + 1);
@@ -139,7 +144,7 @@ public class OpenTSDBFilterBoltTest {
     @Test
     public void shouldEmitBothMessagesIfHashcodeConflicts() throws Exception {
         // given
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
 
         Datapoint infoData1 = new Datapoint("1", TIMESTAMP, singletonMap("key",  "a"), VALUE);
         Datapoint infoData2 = new Datapoint("2", TIMESTAMP, singletonMap("key",  "\u0040"), VALUE);
@@ -161,7 +166,7 @@ public class OpenTSDBFilterBoltTest {
     @Test
     public void shouldEmitAfterTickCleanup() throws Exception {
         // given
-        target.prepare(Collections.emptyMap(), null, outputCollector);
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
 
         when(tuple.contains(eq("datapoint"))).thenReturn(true);
 
@@ -191,6 +196,40 @@ public class OpenTSDBFilterBoltTest {
         verify(outputCollector, times(4)).ack(any(Tuple.class));
     }
 
+    @Test
+    public void shouldEmitStorageMetricsOnTick() throws Exception {
+        // given
+        target.prepare(Collections.emptyMap(), topologyContext, outputCollector);
+
+        when(tuple.contains(eq("datapoint"))).thenReturn(true);
+
+        final long now = System.currentTimeMillis();
+        Datapoint outdated = new Datapoint("1", now - TimeUnit.MINUTES.toMillis(10) - 1, singletonMap("key", "a"),
+                VALUE);
+        when(tuple.getValueByField(eq("datapoint"))).thenReturn(outdated);
+        target.execute(tuple);
+
+        Datapoint actual = new Datapoint("2", now, singletonMap("key", "a"), VALUE);
+        when(tuple.getValueByField(eq("datapoint"))).thenReturn(actual);
+        target.execute(tuple);
+
+        // when
+        Tuple tickTuple = mock(Tuple.class);
+        when(tickTuple.getSourceComponent()).thenReturn(SYSTEM_COMPONENT_ID);
+        when(tickTuple.getSourceStreamId()).thenReturn(SYSTEM_TICK_STREAM_ID);
+        target.execute(tickTuple);
+
+        // then
+        verify(outputCollector, times(4)).emit(eq(OpenTSDBFilterBolt.STORAGE_METRICS_STREAM),
+                argumentCaptor.capture());
+        Map<Object, Object> metrics = argumentCaptor.getAllValues().stream()
+                .collect(Collectors.toMap(values -> values.get(0), values -> values.get(2)));
+        assertEquals(1L, metrics.get("kilda.opentsdb.filter.series"));
+        assertEquals(1L, metrics.get("kilda.opentsdb.filter.expired"));
+        assertTrue(metrics.containsKey("kilda.opentsdb.filter.capacity"));
+        assertTrue(metrics.containsKey("kilda.opentsdb.filter.heap.used"));
+    }
+
     private void mockTuple(long timestamp) throws Exception {
         InfoData infoData = new Datapoint(METRIC, timestamp, Collections.emptyMap(), VALUE);
         when(tuple.contains(eq("datapoint"))).thenReturn(true);
@@ -0,0 +1,113 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb.storage;
+
+import static java.util.Collections.singletonMap;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.Datapoint;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class DatapointStorageTest {
+    private static final long MUTE_MILLIS = TimeUnit.MINUTES.toMillis(10);
+    private static final long BUCKET_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final long TIMESTAMP = 1_600_000_000_000L;
+
+    private final DatapointStorage storage = new DatapointStorage(MUTE_MILLIS, BUCKET_MILLIS);
+
+    @Test
+    public void shouldSuppressUnchangedValueWithinMutePeriod() {
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP, tags("a"), 1)));
+        assertFalse(storage.update(new Datapoint("metric", TIMESTAMP + MUTE_MILLIS - 1, tags("a"), 1)));
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP + MUTE_MILLIS, tags("a"), 1)));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void shouldEmitChangedValue() {
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP, tags("a"), 1)));
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP + 1, tags("a"), 2)));
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP + 2, tags("a"), 2.5)));
+        assertFalse(storage.update(new Datapoint("metric", TIMESTAMP + 3, tags("a"), 2.5)));
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP + 4, tags("a"), 2.0)));
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP + 5, tags("a"), 2)));
+    }
+
+    @Test
+    public void shouldDistinguishSeriesByMetricAndTags() {
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP, tags("a"), 1)));
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP, tags("b"), 1)));
+        assertTrue(storage.update(new Datapoint("other", TIMESTAMP, tags("a"), 1)));
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP, null, 1)));
+        assertEquals(4, storage.size());
+
+        Map<String, String> sameTags = new HashMap<>();
+        sameTags.put("key", "a");
+        assertFalse(storage.update(new Datapoint("metric", TIMESTAMP + 1, sameTags, 1)));
+        assertFalse(storage.update(new Datapoint("metric", TIMESTAMP + 1, new HashMap<>(), 1)));
+    }
+
+    @Test
+    public void shouldRemoveOutdatedSeries() {
+        storage.update(new Datapoint("metric", TIMESTAMP, tags("a"), 1));
+        storage.update(new Datapoint("metric", TIMESTAMP, tags("b"), 1));
+        storage.update(new Datapoint("metric", TIMESTAMP + BUCKET_MILLIS * 3, tags("c"), 1));
+        // Moves the series to a later bucket.
+        storage.update(new Datapoint("metric", TIMESTAMP + BUCKET_MILLIS * 2, tags("b"), 2));
+
+        assertEquals(0, storage.removeOutdated(TIMESTAMP + MUTE_MILLIS));
+        assertEquals(1, storage.removeOutdated(TIMESTAMP + MUTE_MILLIS + 1));
+        assertEquals(2, storage.size());
+
+        assertEquals(1, storage.removeOutdated(TIMESTAMP + BUCKET_MILLIS * 2 + MUTE_MILLIS + 1));
+        assertEquals(1, storage.size());
+        assertEquals(1, storage.removeOutdated(TIMESTAMP + BUCKET_MILLIS * 3 + MUTE_MILLIS + 1));
+        assertEquals(0, storage.size());
+
+        assertTrue(storage.update(new Datapoint("metric", TIMESTAMP + MUTE_MILLIS + 1, tags("a"), 1)));
+    }
+
+    @Test
+    public void shouldReuseIdsOfRemovedSeries() {
+        int count = storage.capacity() * 2;
+        for (int i = 0; i < count; i++) {
+            assertTrue(storage.update(new Datapoint("metric", TIMESTAMP, tags(String.valueOf(i)), i)));
+        }
+        final int capacity = storage.capacity();
+        assertEquals(count, storage.removeOutdated(TIMESTAMP + MUTE_MILLIS + 1));
+
+        long timestamp = TIMESTAMP + MUTE_MILLIS;
+        for (int i = 0; i < count; i++) {
+            assertTrue(storage.update(new Datapoint("other", timestamp, tags(String.valueOf(i)), i)));
+        }
+        assertEquals(count, storage.size());
+        assertEquals(capacity, storage.capacity());
+        for (int i = 0; i < count; i++) {
+            assertFalse(storage.update(new Datapoint("other", timestamp + 1, tags(String.valueOf(i)), i)));
+        }
+    }
+
+    private static Map<String, String> tags(String value) {
+        return singletonMap("key", value);
+    }
+}
@@ -201,9 +201,12 @@ public class PingTopology extends AbstractTopology<PingTopologyConfig> {
     }
 
     private void statsProducer(TopologyBuilder topology) {
-        StatsProducer bolt = new StatsProducer(topologyConfig.getMetricPrefix());
+        StatsProducer bolt = new StatsProducer(topologyConfig.getMetricPrefix(), topologyConfig.getStatsInterval());
+
+        Fields groupBy = new Fields(PeriodicResultManager.FIELD_ID_FLOW_ID);
         topology.setBolt(StatsProducer.BOLT_ID, bolt, scaleFactor)
-                .shuffleGrouping(PeriodicResultManager.BOLT_ID, PeriodicResultManager.STREAM_STATS_ID);
+                .allGrouping(TickDeduplicator.BOLT_ID)
+                .fieldsGrouping(PeriodicResultManager.BOLT_ID, PeriodicResultManager.STREAM_STATS_ID, groupBy);
     }
 
     private void failReporter(TopologyBuilder topology) {
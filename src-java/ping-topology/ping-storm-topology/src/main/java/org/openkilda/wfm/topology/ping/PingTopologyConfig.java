@@ -51,6 +51,10 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         return getPingConfig().getFailReset();
     }
 
+    default int getStatsInterval() {
+        return getPingConfig().getStatsInterval();
+    }
+
     default String getKafkaPingTopic() {
         return getKafkaTopics().getPingTopic();
     }
@@ -98,6 +102,10 @@ public interface PingTopologyConfig extends AbstractTopologyConfig {
         @Default("1800")
         int getFailReset();
 
+        @Key("stats.interval")
+        @Default("60")
+        int getStatsInterval();
+
         @Key("cache.expiry.sec")
         @Default("60")
         long getPeriodicPingCacheExpirySec();
@@ -29,7 +29,7 @@ public class PeriodicResultManager extends ResultManager {
 
     public static final String FIELD_ID_FLOW_ID = Utils.FLOW_ID;
 
-    public static final Fields STREAM_STATS_FIELDS = new Fields(FIELD_ID_PING, FIELD_ID_CONTEXT);
+    public static final Fields STREAM_STATS_FIELDS = new Fields(FIELD_ID_FLOW_ID, FIELD_ID_PING, FIELD_ID_CONTEXT);
     public static final String STREAM_STATS_ID = "stats";
 
     public static final Fields STREAM_FAIL_FIELDS = new Fields(FIELD_ID_FLOW_ID, FIELD_ID_PING, FIELD_ID_CONTEXT);
@@ -46,7 +46,7 @@ public class PeriodicResultManager extends ResultManager {
 
     @Override
     protected void handleResponse(Tuple input, PingContext pingContext) throws PipelineException {
-        Values output = new Values(pingContext, pullContext(input));
+        Values output = new Values(pingContext.getFlowId(), pingContext, pullContext(input));
         getOutput().emit(STREAM_STATS_ID, input, output);
     }
 
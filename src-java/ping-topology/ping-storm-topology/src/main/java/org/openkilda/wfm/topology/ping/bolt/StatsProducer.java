@@ -16,19 +16,25 @@
 package org.openkilda.wfm.topology.ping.bolt;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.model.FlowDirection;
 import org.openkilda.messaging.model.PingMeters;
 import org.openkilda.wfm.error.PipelineException;
+import org.openkilda.wfm.share.utils.LatencySketch;
 import org.openkilda.wfm.share.utils.MetricFormatter;
 import org.openkilda.wfm.topology.ping.model.PingContext;
 
+import lombok.Value;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 public class StatsProducer extends Abstract {
     public static final String BOLT_ID = ComponentId.STATS_PRODUCER.toString();
@@ -41,20 +47,77 @@ public class StatsProducer extends Abstract {
     public static final String SUCCESS_STATUS_TAG_VALUE = "success";
     public static final String ERROR_STATUS_TAG_VALUE = "error";
 
+    private final long statsInterval;
     private MetricFormatter metricFormatter;
 
-    public StatsProducer(String metricPrefix) {
+    private Map<SeriesKey, LatencySketch> latencySketches;
+    private long nextStatsTime;
+
+    public StatsProducer(String metricPrefix, int statsInterval) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
+        this.statsInterval = TimeUnit.SECONDS.toMillis(statsInterval);
+    }
+
+    @Override
+    protected void init() {
+        super.init();
+
+        latencySketches = new HashMap<>();
+        nextStatsTime = 0;
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
+        String component = input.getSourceComponent();
+
+        if (TickDeduplicator.BOLT_ID.equals(component)) {
+            handleTick(input);
+        } else if (PeriodicResultManager.BOLT_ID.equals(component)) {
+            handlePing(input);
+        } else {
+            unhandledInput(input);
+        }
+    }
+
+    private void handleTick(Tuple input) throws PipelineException {
+        final long now = input.getLongByField(MonotonicTick.FIELD_ID_TIME_MILLIS);
+        if (nextStatsTime == 0) {
+            nextStatsTime = now + statsInterval;
+            return;
+        }
+        if (now < nextStatsTime) {
+            return;
+        }
+        nextStatsTime = now + statsInterval;
+
+        for (Iterator<Entry<SeriesKey, LatencySketch>> iterator = latencySketches.entrySet().iterator();
+                iterator.hasNext(); ) {
+            Entry<SeriesKey, LatencySketch> entry = iterator.next();
+            LatencySketch sketch = entry.getValue();
+            if (sketch.isEmpty()) {
+                // no successful pings during the whole interval, the flow is gone or ping is disabled for it
+                iterator.remove();
+                continue;
+            }
+
+            produceLatencyStats(input, entry.getKey(), sketch, now);
+            sketch.reset();
+        }
+    }
+
+    private void handlePing(Tuple input) throws PipelineException {
         PingContext pingContext = pullPingContext(input);
 
         HashMap<String, String> tags = new HashMap<>();
         tags.put("flowid", pingContext.getFlowId());
 
         produceMetersStats(input, tags, pingContext);
+
+        if (pingContext.getError() == null && pingContext.getMeters() != null) {
+            latencySketches.computeIfAbsent(
+                    new SeriesKey(pingContext.getFlowId(), pingContext.getDirection()), key -> new LatencySketch())
+                    .record(pingContext.getMeters().getNetworkLatency());
+        }
     }
 
     private void produceMetersStats(Tuple input, Map<String, String> tags, PingContext pingContext)
@@ -70,6 +133,24 @@ public class StatsProducer extends Abstract {
         emit(input, datapoint);
     }
 
+    private void produceLatencyStats(Tuple input, SeriesKey series, LatencySketch sketch, long timestamp)
+            throws PipelineException {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("flowid", series.getFlowId());
+        tags.put("direction", series.getDirection().name().toLowerCase());
+
+        emitLatencyStat(input, "flow.latency.p50", sketch.getValueAtPercentile(50), tags, timestamp);
+        emitLatencyStat(input, "flow.latency.p90", sketch.getValueAtPercentile(90), tags, timestamp);
+        emitLatencyStat(input, "flow.latency.p99", sketch.getValueAtPercentile(99), tags, timestamp);
+        emitLatencyStat(input, "flow.latency.max", sketch.getMax(), tags, timestamp);
+        emitLatencyStat(input, "flow.latency.jitter", sketch.getJitter(), tags, timestamp);
+    }
+
+    private void emitLatencyStat(Tuple input, String metric, long value, Map<String, String> tags, long timestamp)
+            throws PipelineException {
+        emit(input, new Datapoint(metricFormatter.format(metric), timestamp, tags, value));
+    }
+
     private void emit(Tuple input, Datapoint datapoint) throws PipelineException {
         Values output = new Values(datapoint, pullContext(input));
         getOutput().emit(input, output);
@@ -79,4 +160,10 @@ public class StatsProducer extends Abstract {
     public void declareOutputFields(OutputFieldsDeclarer outputManager) {
         outputManager.declare(STREAM_FIELDS);
     }
+
+    @Value
+    private static class SeriesKey {
+        private String flowId;
+        private FlowDirection direction;
+    }
 }
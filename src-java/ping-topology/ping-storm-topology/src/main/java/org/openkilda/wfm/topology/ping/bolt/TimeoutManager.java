@@ -21,15 +21,18 @@ import org.openkilda.messaging.floodlight.response.PingResponse;
 import org.openkilda.messaging.model.Ping.Errors;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
-import org.openkilda.wfm.topology.ping.model.ExpirableMap;
+import org.openkilda.wfm.share.utils.TimerWheel;
 import org.openkilda.wfm.topology.ping.model.PingContext;
 import org.openkilda.wfm.topology.ping.model.TimeoutDescriptor;
 
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -45,9 +48,11 @@ public class TimeoutManager extends Abstract {
     public static final Fields STREAM_RESPONSE_FIELDS = new Fields(FIELD_ID_FLOW_ID, FIELD_ID_PING, FIELD_ID_CONTEXT);
     public static final String STREAM_RESPONSE_ID = "response";
 
+    private static final long TIMER_RESOLUTION_MS = 100;
+
     private final long pingTimeout;
 
-    private ExpirableMap<UUID, TimeoutDescriptor> pendingPings;
+    private TimerWheel<UUID, TimeoutDescriptor> pendingPings;
 
     public TimeoutManager(int pingTimeout) {
         this.pingTimeout = TimeUnit.SECONDS.toMillis(pingTimeout);
@@ -57,7 +62,13 @@ public class TimeoutManager extends Abstract {
     protected void init() {
         super.init();
 
-        pendingPings = new ExpirableMap<>();
+        pendingPings = new TimerWheel<>(TIMER_RESOLUTION_MS);
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+        pendingPings.registerMetrics(context, "ping.timeouts");
     }
 
     @Override
@@ -88,7 +99,7 @@ public class TimeoutManager extends Abstract {
     private void handleTimeTick(Tuple input) {
         final long now = input.getLongByField(MonotonicTick.FIELD_ID_TIME_MILLIS);
         log.debug("Pending ping queue size: {}", pendingPings.size());
-        for (TimeoutDescriptor descriptor : pendingPings.expire(now)) {
+        for (TimeoutDescriptor descriptor : pendingPings.advance(now)) {
             emitTimeout(input, descriptor, now);
         }
     }
@@ -105,11 +116,10 @@ public class TimeoutManager extends Abstract {
         PingResponse response = pullPingResponse(input);
         log.debug("Got ping response pingId={}", response.getPingId());
 
-        TimeoutDescriptor descriptor = pendingPings.remove(response.getPingId());
+        TimeoutDescriptor descriptor = pendingPings.cancel(response.getPingId());
         if (descriptor == null) {
             log.warn("There is no pending request matching ping response {}", response.getPingId());
         } else {
-            cancelTimeout(descriptor);
             emitResponse(input, descriptor, response);
         }
     }
@@ -123,11 +133,7 @@ public class TimeoutManager extends Abstract {
 
         long expireAt = System.currentTimeMillis() + timeout;
         TimeoutDescriptor descriptor = new TimeoutDescriptor(expireAt, pingContext, commandContext);
-        pendingPings.put(pingContext.getPingId(), descriptor);
-    }
-
-    private void cancelTimeout(TimeoutDescriptor descriptor) {
-        descriptor.setActive(false);
+        pendingPings.schedule(pingContext.getPingId(), descriptor, expireAt);
     }
 
     private void emitRequest(Tuple input, PingContext pingContext, CommandContext commandContext) {
@@ -19,6 +19,7 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.flow.InstallEgressFlow;
@@ -58,7 +59,15 @@ public class CommandBolt extends BaseRichBolt {
             CommandData data = command.getData();
             Commands switchCommand;
             SwitchId sw;
-            if (data instanceof DiscoverIslCommandData) {
+            if (data instanceof DiscoverIslBatchCommandData) {
+                // The simulated switch handles discovery of a single port, so the batch is split back.
+                for (DiscoverIslCommandData discoverIsl : ((DiscoverIslBatchCommandData) data).getCommands()) {
+                    collector.emit(SimulatorTopology.COMMAND_BOLT_STREAM, tuple,
+                            new Values(discoverIsl.getSwitchId(), Commands.DO_DISCOVER_ISL_COMMAND.name(),
+                                    discoverIsl));
+                }
+                return;
+            } else if (data instanceof DiscoverIslCommandData) {
                 switchCommand = Commands.DO_DISCOVER_ISL_COMMAND;
                 sw = ((DiscoverIslCommandData) data).getSwitchId();
             } else if (data instanceof DiscoverPathCommandData) {
@@ -0,0 +1,180 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import static java.lang.String.format;
+
+import java.util.Objects;
+
+/**
+ * Remembers the last emitted counters of stats entries, keyed by a switch and an entry id (a cookie or a port
+ * number), to skip entries whose counters haven't changed since they were emitted. Unchanged counters are still
+ * emitted once per heartbeat interval, so series of idle entries don't disappear.
+ * <p/>
+ * Entries are kept in an open addressing hash table over primitive arrays, the counters of an entry are stored
+ * in a row of a flat array. Besides the counters, an entry may keep a tag object, e.g. the flow the entry belongs to,
+ * which is compared by equals. Once per heartbeat interval, entries not emitted for two heartbeat intervals are purged.
+ * <p/>
+ * Not thread-safe.
+ */
+public class CounterDeltaFilter {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final int counterCount;
+    private final long heartbeatMillis;
+
+    private long[] switchIds;
+    private long[] entryIds;
+    private long[] emitTimes;
+    private long[] counters;
+    private Object[] tags;
+    private boolean[] used;
+    private int size;
+
+    private long latestTimestamp;
+    private long lastPurgeTimestamp;
+
+    public CounterDeltaFilter(int counterCount, long heartbeatMillis) {
+        if (counterCount <= 0 || heartbeatMillis <= 0) {
+            throw new IllegalArgumentException(
+                    format("Invalid counter count %d or heartbeat interval %d", counterCount, heartbeatMillis));
+        }
+        this.counterCount = counterCount;
+        this.heartbeatMillis = heartbeatMillis;
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Checks whether the entry is to be emitted: it is new, any of its counters has changed or the heartbeat
+     * interval has passed since it was emitted. If so, the counters become the last emitted ones.
+     */
+    public boolean update(long switchId, long entryId, long timestamp, long[] values) {
+        return update(switchId, entryId, timestamp, values, null);
+    }
+
+    /**
+     * Checks whether the entry is to be emitted, as {@link #update(long, long, long, long[])} does, also treating
+     * a change of the tag as a change of the entry. If so, the counters and the tag become the last emitted ones.
+     */
+    public boolean update(long switchId, long entryId, long timestamp, long[] values, Object tag) {
+        if (values.length != counterCount) {
+            throw new IllegalArgumentException(
+                    format("Expected %d counters, but got %d", counterCount, values.length));
+        }
+        purgeIfRequired(timestamp);
+
+        int slot = findSlot(switchId, entryId);
+        if (used[slot]) {
+            if (timestamp - emitTimes[slot] < heartbeatMillis && isEqual(slot, values)
+                    && Objects.equals(tags[slot], tag)) {
+                return false;
+            }
+        } else {
+            if (size + 1 > used.length * 3 / 4) {
+                rehash(used.length * 2, Long.MIN_VALUE);
+                slot = findSlot(switchId, entryId);
+            }
+            used[slot] = true;
+            switchIds[slot] = switchId;
+            entryIds[slot] = entryId;
+            size++;
+        }
+        emitTimes[slot] = timestamp;
+        System.arraycopy(values, 0, counters, slot * counterCount, counterCount);
+        tags[slot] = tag;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void purgeIfRequired(long timestamp) {
+        latestTimestamp = Math.max(latestTimestamp, timestamp);
+        if (lastPurgeTimestamp == 0) {
+            lastPurgeTimestamp = latestTimestamp;
+        } else if (latestTimestamp - lastPurgeTimestamp >= heartbeatMillis) {
+            rehash(used.length, latestTimestamp - 2 * heartbeatMillis + 1);
+            lastPurgeTimestamp = latestTimestamp;
+        }
+    }
+
+    private int findSlot(long switchId, long entryId) {
+        int mask = used.length - 1;
+        int slot = hash(switchId, entryId) & mask;
+        while (used[slot] && (switchIds[slot] != switchId || entryIds[slot] != entryId)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private boolean isEqual(int slot, long[] values) {
+        int offset = slot * counterCount;
+        for (int i = 0; i < counterCount; i++) {
+            if (counters[offset + i] != values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Moves entries emitted not earlier than minEmitTime into new arrays of the capacity.
+     */
+    private void rehash(int capacity, long minEmitTime) {
+        long[] oldSwitchIds = switchIds;
+        long[] oldEntryIds = entryIds;
+        long[] oldEmitTimes = emitTimes;
+        long[] oldCounters = counters;
+        Object[] oldTags = tags;
+        boolean[] oldUsed = used;
+
+        allocate(capacity);
+        for (int oldSlot = 0; oldSlot < oldUsed.length; oldSlot++) {
+            if (oldUsed[oldSlot] && oldEmitTimes[oldSlot] >= minEmitTime) {
+                int slot = findSlot(oldSwitchIds[oldSlot], oldEntryIds[oldSlot]);
+                used[slot] = true;
+                switchIds[slot] = oldSwitchIds[oldSlot];
+                entryIds[slot] = oldEntryIds[oldSlot];
+                emitTimes[slot] = oldEmitTimes[oldSlot];
+                System.arraycopy(oldCounters, oldSlot * counterCount, counters, slot * counterCount, counterCount);
+                tags[slot] = oldTags[oldSlot];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        switchIds = new long[capacity];
+        entryIds = new long[capacity];
+        emitTimes = new long[capacity];
+        counters = new long[capacity * counterCount];
+        tags = new Object[capacity];
+        used = new boolean[capacity];
+        size = 0;
+    }
+
+    private static int hash(long switchId, long entryId) {
+        // The finalizer of MurmurHash3, spreads sequential port numbers and cookies over the table.
+        long hash = switchId * 31 + entryId;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+}
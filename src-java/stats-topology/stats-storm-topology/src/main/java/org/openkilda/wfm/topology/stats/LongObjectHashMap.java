@@ -0,0 +1,167 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import java.util.Objects;
+
+/**
+ * Map from primitive long keys to objects: an open addressing hash table with linear probing over a pair of arrays,
+ * so neither keys are boxed nor entry objects are allocated. Null values are not allowed, a null value marks a free
+ * slot. Removal shifts the following entries of the probe sequence back instead of leaving tombstones.
+ * <p/>
+ * Not thread-safe.
+ */
+public class LongObjectHashMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    public LongObjectHashMap() {
+        this(MIN_CAPACITY);
+    }
+
+    public LongObjectHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Returns the value of the key, or null if there is no such key.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        return (V) values[findSlot(key)];
+    }
+
+    /**
+     * Associates the value with the key.
+     *
+     * @return the previous value of the key, or null if there was no such key.
+     */
+    public V put(long key, V value) {
+        Objects.requireNonNull(value, "Null values are not allowed");
+
+        int slot = findSlot(key);
+        V previous = valueAt(slot);
+        if (previous == null) {
+            if (size + 1 > values.length * 3 / 4) {
+                rehash(values.length * 2);
+                slot = findSlot(key);
+            }
+            keys[slot] = key;
+            size++;
+        }
+        values[slot] = value;
+        return previous;
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @return the removed value, or null if there was no such key.
+     */
+    public V remove(long key) {
+        int slot = findSlot(key);
+        V previous = valueAt(slot);
+        if (previous != null) {
+            shiftBack(slot);
+            size--;
+        }
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int findSlot(long key) {
+        int mask = values.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Fills the freed slot with the next entry of the probe sequence which may be moved there, and so on until a
+     * free slot is reached.
+     */
+    private void shiftBack(int freed) {
+        int mask = values.length - 1;
+        int gap = freed;
+        for (int slot = (gap + 1) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            int home = hash(keys[slot]) & mask;
+            // the entry may be moved if the gap is between its home slot and its current slot
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+        }
+        values[gap] = null;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+
+        allocate(capacity);
+        for (int oldSlot = 0; oldSlot < oldValues.length; oldSlot++) {
+            if (oldValues[oldSlot] != null) {
+                int slot = findSlot(oldKeys[oldSlot]);
+                keys[slot] = oldKeys[oldSlot];
+                values[slot] = oldValues[oldSlot];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(int slot) {
+        return (V) values[slot];
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 / 4 < expectedSize) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private static int hash(long key) {
+        // The finalizer of MurmurHash3, spreads sequential cookies and meter ids over the table.
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash;
+    }
+}
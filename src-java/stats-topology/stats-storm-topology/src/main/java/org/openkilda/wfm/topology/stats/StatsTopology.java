@@ -33,10 +33,11 @@ import static org.openkilda.wfm.topology.stats.StatsComponentType.TICK_BOLT;
 import static org.openkilda.wfm.topology.stats.StatsStreamType.CACHE_UPDATE;
 import static org.openkilda.wfm.topology.stats.StatsStreamType.GRPC_REQUEST;
 import static org.openkilda.wfm.topology.stats.StatsStreamType.STATS_REQUEST;
-import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.statsWithCacheFields;
 
 import org.openkilda.config.KafkaTopicsConfig;
+import org.openkilda.persistence.CachingPersistenceManager;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.repositories.cache.RepositoryCacheConfig;
 import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.topology.AbstractTopology;
@@ -63,8 +64,11 @@ import org.apache.storm.kafka.spout.KafkaSpoutConfig;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
+import java.util.concurrent.TimeUnit;
+
 public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
     public static final String STATS_FIELD = "stats";
+    public static final String SWITCH_ID_FIELD = "switch_id";
     public static final Fields statsFields = new Fields(STATS_FIELD, FIELD_ID_CONTEXT);
 
     public StatsTopology(LaunchEnvironment env) {
@@ -103,16 +107,21 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         inputSpeakerRequests(builder, parallelism);
         cacheSyncFilter(builder, parallelism);
 
-        // Cache bolt get data from NEO4J on start
+        // Flow stats and cache updates are partitioned by switch, each cache bolt instance loads flow paths of its
+        // switches from NEO4J on their first stats. Port stats are partitioned by switch as well, so the counters of
+        // a port are always tracked by the same metric bolt instance
         PersistenceManager persistenceManager =
                 PersistenceProvider.getInstance().createPersistenceManager(configurationProvider);
+        Fields switchIdField = new Fields(SWITCH_ID_FIELD);
         builder.setBolt(STATS_CACHE_BOLT.name(), new CacheBolt(persistenceManager), parallelism)
-                .allGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name())
-                .fieldsGrouping(statsOfsBolt, StatsStreamType.CACHE_DATA.toString(), statsFields);
+                .fieldsGrouping(STATS_CACHE_FILTER_BOLT.name(), CACHE_UPDATE.name(),
+                        new Fields(CacheFilterBolt.FieldsNames.SWITCH.name()))
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.CACHE_DATA.toString(), switchIdField);
 
         builder.setBolt(PORT_STATS_METRIC_GEN.name(),
-                new PortMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
-                .fieldsGrouping(statsOfsBolt, StatsStreamType.PORT_STATS.toString(), fieldMessage);
+                new PortMetricGenBolt(topologyConfig.getMetricPrefix(),
+                        topologyConfig.isDatapointBatchingEnabled(), getDeltaHeartbeatMillis()), parallelism)
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.PORT_STATS.toString(), switchIdField);
         builder.setBolt(METER_CFG_STATS_METRIC_GEN.name(),
                 new MeterConfigMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.METER_CONFIG_STATS.toString(), fieldMessage);
@@ -128,15 +137,20 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
 
         logger.debug("starting flow_stats_metric_gen");
         builder.setBolt(FLOW_STATS_METRIC_GEN.name(),
-                new FlowMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
-                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString(), statsWithCacheFields);
+                new FlowMetricGenBolt(topologyConfig.getMetricPrefix(),
+                        topologyConfig.isDatapointBatchingEnabled(), getDeltaHeartbeatMillis()), parallelism)
+                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.FLOW_STATS.toString(), switchIdField);
         builder.setBolt(METER_STATS_METRIC_GEN.name(),
-                new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
-                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.METER_STATS.toString(), statsWithCacheFields);
+                new MeterStatsMetricGenBolt(topologyConfig.getMetricPrefix(),
+                        topologyConfig.isDatapointBatchingEnabled()), parallelism)
+                .fieldsGrouping(STATS_CACHE_BOLT.name(), StatsStreamType.METER_STATS.toString(), switchIdField);
 
         builder.setBolt(TICK_BOLT.name(), new TickBolt(topologyConfig.getStatisticsRequestInterval()));
 
-        builder.setBolt(STATS_REQUESTER_BOLT.name(), new StatsRequesterBolt(persistenceManager), parallelism)
+        // The requester reads the feature toggles and active switches on each tick, these lookups are cached
+        PersistenceManager cachingPersistenceManager = CachingPersistenceManager.decorate(persistenceManager,
+                configurationProvider.getConfiguration(RepositoryCacheConfig.class));
+        builder.setBolt(STATS_REQUESTER_BOLT.name(), new StatsRequesterBolt(cachingPersistenceManager), parallelism)
                 .shuffleGrouping(TICK_BOLT.name());
 
         builder.setBolt(STATS_KILDA_SPEAKER_BOLT.name(), buildKafkaBolt(topologyConfig.getStatsRequestPrivTopic()))
@@ -157,6 +171,13 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         return builder.createTopology();
     }
 
+    private long getDeltaHeartbeatMillis() {
+        if (!topologyConfig.isDeltaSuppressionEnabled()) {
+            return 0;
+        }
+        return TimeUnit.SECONDS.toMillis(topologyConfig.getDeltaSuppressionHeartbeat());
+    }
+
     /**
      * Capture and decode speaker requests (kilda.speaker.flow).
      */
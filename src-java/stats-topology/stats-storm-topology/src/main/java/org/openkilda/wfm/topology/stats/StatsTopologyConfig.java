@@ -51,4 +51,22 @@ public interface StatsTopologyConfig extends AbstractTopologyConfig {
     @Key("statistics.interval")
     @Default("60")
     int getStatisticsRequestInterval();
+
+    /**
+     * Whether flow, port and meter datapoints of a stats message are sent to OpenTSDB topology as a single batch.
+     */
+    @Key("statistics.datapoint-batching.enabled")
+    @Default("false")
+    boolean isDatapointBatchingEnabled();
+
+    @Key("statistics.delta-suppression.enabled")
+    @Default("false")
+    boolean isDeltaSuppressionEnabled();
+
+    /**
+     * How often unchanged flow and port counters are emitted in the delta suppression mode, in seconds.
+     */
+    @Key("statistics.delta-suppression.heartbeat")
+    @Default("600")
+    int getDeltaSuppressionHeartbeat();
 }
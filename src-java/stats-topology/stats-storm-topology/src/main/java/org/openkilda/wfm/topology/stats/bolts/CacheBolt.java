@@ -20,28 +20,32 @@ import static org.openkilda.wfm.topology.stats.StatsComponentType.STATS_OFS_BOLT
 import static org.openkilda.wfm.topology.stats.StatsStreamType.FLOW_STATS;
 import static org.openkilda.wfm.topology.stats.StatsStreamType.METER_STATS;
 import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
+import static org.openkilda.wfm.topology.stats.StatsTopology.SWITCH_ID_FIELD;
 
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.MeterStatsData;
 import org.openkilda.messaging.info.stats.MeterStatsEntry;
-import org.openkilda.model.Flow;
-import org.openkilda.model.FlowPath;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.repositories.FlowRepository;
-import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.projection.FlowPathCookieAndMeter;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
+import org.openkilda.wfm.topology.stats.LongObjectHashMap;
 import org.openkilda.wfm.topology.stats.MeasurePoint;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.Commands;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.FieldsNames;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
@@ -50,17 +54,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.stream.Stream;
-
+import java.util.Set;
+
+/**
+ * Keeps cookie to flow and switch and meter to flow caches. Stats tuples are emitted along with the cache entries of
+ * their stats entries: an array of the same length as the stats entries list, with the entry of the i-th stats entry
+ * (or null if it is unknown) at index i. So the metric bolts don't need any lookups, and the emitted entries are
+ * references to the cached ones instead of copies.
+ * <p/>
+ * Flow stats and cache updates are partitioned by switch, so an instance caches only flow paths of its switches.
+ * They are loaded on the first stats or cache update of a switch: paths which start or end on the switch, or have
+ * a segment on it, so transit rules are resolved as well. Installs of later flows are applied by cache updates, which
+ * are emitted for every switch of the flow, including transit ones.
+ */
 public class CacheBolt extends AbstractBolt {
 
-    public static final String COOKIE_CACHE_FIELD = "cookie_cache";
-    public static final String METER_CACHE_FIELD = "meter_cache";
+    public static final String CACHE_ENTRIES_FIELD = "cache_entries";
 
     public static final Fields statsWithCacheFields =
-            new Fields(STATS_FIELD, COOKIE_CACHE_FIELD, METER_CACHE_FIELD, FIELD_ID_CONTEXT);
+            new Fields(STATS_FIELD, SWITCH_ID_FIELD, CACHE_ENTRIES_FIELD, FIELD_ID_CONTEXT);
+
+    private static final int METRICS_BUCKET_SECONDS = 60;
     /**
      * The logger.
      */
@@ -73,62 +90,107 @@ public class CacheBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
 
     /**
-     * Cookie to flow and meter to flow maps.
+     * Cookie to flow and meter to flow maps. Meters are keyed by the switch first, as meter ids are unique only
+     * within a switch.
+     */
+    private transient LongObjectHashMap<CacheFlowEntry> cookieToFlow;
+    private transient Map<SwitchId, LongObjectHashMap<CacheFlowEntry>> switchAndMeterToFlow;
+    private transient Set<SwitchId> loadedSwitches;
+    private transient FlowPathRepository flowPathRepository;
+
+    private transient long hits;
+    private transient long misses;
+
+    /**
+     * Each flow id and switch name is referenced by several entries, keep a single instance of them.
      */
-    private Map<Long, CacheFlowEntry> cookieToFlow = new HashMap<>();
-    private Map<MeterCacheKey, CacheFlowEntry> switchAndMeterToFlow = new HashMap<>();
+    private transient Interner<String> interner;
 
     public CacheBolt(PersistenceManager persistenceManager) {
         this.persistenceManager = persistenceManager;
     }
 
-    private void initFlowCache(FlowRepository flowRepository) {
-        try {
-            flowRepository.findAll().stream()
-                    .flatMap(this::extractAllFlowPaths)
-                    .forEach(path -> {
-                        CacheFlowEntry entry = new CacheFlowEntry(
-                                path.getFlow().getFlowId(),
-                                path.getSrcSwitch().getSwitchId().toOtsdFormat(),
-                                path.getDestSwitch().getSwitchId().toOtsdFormat(),
-                                path.getCookie().getValue());
-
-                        cookieToFlow.put(path.getCookie().getValue(), entry);
-                        if (path.getMeterId() != null) {
-                            switchAndMeterToFlow.put(
-                                    new MeterCacheKey(
-                                            path.getSrcSwitch().getSwitchId(), path.getMeterId().getValue()), entry);
-                        } else {
-                            log.warn("Flow {} has no meter ID", path.getFlow().getFlowId());
-                        }
-                    });
-            logger.debug("cookieToFlow cache: {}, switchAndMeterToFlow cache: {}", cookieToFlow, switchAndMeterToFlow);
-            logger.info("Stats Cache: Initialized");
-        } catch (Exception ex) {
-            logger.error("Error on initFlowCache", ex);
-        }
-    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void init() {
+        cookieToFlow = new LongObjectHashMap<>();
+        switchAndMeterToFlow = new HashMap<>();
+        loadedSwitches = new HashSet<>();
+        interner = Interners.newWeakInterner();
 
-    private Stream<FlowPath> extractAllFlowPaths(Flow flow) {
-        return Stream.concat(
-                Stream.of(flow.getForwardPath(), flow.getProtectedForwardPath()).filter(Objects::nonNull).peek(p -> {
-                    p.setSrcSwitch(flow.getSrcSwitch());
-                    p.setDestSwitch(flow.getDestSwitch());
-                }),
-                Stream.of(flow.getReversePath(), flow.getProtectedReversePath()).filter(Objects::nonNull).peek(p -> {
-                    p.setSrcSwitch(flow.getDestSwitch());
-                    p.setDestSwitch(flow.getSrcSwitch());
-                })
-        );
+        flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
     }
 
     /**
-     * {@inheritDoc}
+     * Registers storm metrics of the cache: hits and misses of stats entries, number of loaded switches and cached
+     * cookies. The metrics are per task, i.e. per shard of switches.
      */
     @Override
-    public void init() {
-        RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
-        initFlowCache(repositoryFactory.createFlowRepository());
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        context.registerMetric("stats.cache.hits", (IMetric) () -> {
+            long value = hits;
+            hits = 0;
+            return value;
+        }, METRICS_BUCKET_SECONDS);
+        context.registerMetric("stats.cache.misses", (IMetric) () -> {
+            long value = misses;
+            misses = 0;
+            return value;
+        }, METRICS_BUCKET_SECONDS);
+        context.registerMetric("stats.cache.switches", (IMetric) loadedSwitches::size, METRICS_BUCKET_SECONDS);
+        context.registerMetric("stats.cache.cookies", (IMetric) cookieToFlow::size, METRICS_BUCKET_SECONDS);
+    }
+
+    private void ensureSwitchLoaded(SwitchId switchId) {
+        if (!loadedSwitches.add(switchId)) {
+            return;
+        }
+
+        try {
+            // only cookies and meters are read, no flow path entities are built
+            int count = 0;
+            for (FlowPathCookieAndMeter path
+                    : flowPathRepository.findCookieAndMeterByEndpointSwitchIncludeProtected(switchId)) {
+                addFlowPath(path, switchId);
+                count++;
+            }
+            for (FlowPathCookieAndMeter path : flowPathRepository.findCookieAndMeterBySegmentSwitch(switchId)) {
+                addFlowPath(path, switchId);
+                count++;
+            }
+            logger.info("Stats Cache: loaded {} flow paths of switch {}, cookies: {}", count, switchId,
+                    cookieToFlow.size());
+        } catch (Exception ex) {
+            // try again on the next stats of the switch
+            loadedSwitches.remove(switchId);
+            logger.error("Error on loading flow paths of switch {}", switchId, ex);
+        }
+    }
+
+    private void addFlowPath(FlowPathCookieAndMeter path, SwitchId switchId) {
+        long cookie = path.getCookie().getValue();
+        SwitchId srcSwitchId = path.getSrcSwitchId();
+        CacheFlowEntry entry = new CacheFlowEntry(
+                interner.intern(path.getFlowId()),
+                interner.intern(srcSwitchId.toOtsdFormat()),
+                interner.intern(path.getDestSwitchId().toOtsdFormat()),
+                cookie);
+
+        cookieToFlow.put(cookie, entry);
+        if (!srcSwitchId.equals(switchId)) {
+            // meters are installed on the ingress switch only
+            return;
+        }
+        if (path.getMeterId() != null) {
+            switchAndMeterToFlow.computeIfAbsent(switchId, key -> new LongObjectHashMap<>())
+                    .put(path.getMeterId().getValue(), entry);
+        } else {
+            log.warn("Flow {} has no meter ID", path.getFlowId());
+        }
     }
 
     /**
@@ -147,24 +209,22 @@ public class CacheBolt extends AbstractBolt {
 
     private void handleGetDataFromCache(Tuple tuple) throws PipelineException {
         InfoData data = pullValue(tuple, STATS_FIELD, InfoData.class);
-        Map<Long, CacheFlowEntry> cookieDataCache = null;
-        Map<MeterCacheKey, CacheFlowEntry> meterDataCache = null;
+        CacheFlowEntry[] cacheEntries;
         String streamId;
 
         if (data instanceof FlowStatsData) {
             streamId = FLOW_STATS.name();
-            cookieDataCache = createCookieToFlowCache((FlowStatsData) data);
-            logger.debug("execute:cookieDataCache: {}", cookieDataCache);
+            cacheEntries = lookupCookieEntries((FlowStatsData) data);
         } else if (data instanceof MeterStatsData) {
             streamId = METER_STATS.name();
-            meterDataCache = createSwitchAndMeterToFlowCache((MeterStatsData) data);
-            logger.debug("execute:meterDataCache: {}", meterDataCache);
+            cacheEntries = lookupMeterEntries((MeterStatsData) data);
         } else {
             unhandledInput(tuple);
             return;
         }
 
-        Values values = new Values(data, cookieDataCache, meterDataCache, getCommandContext());
+        Values values = new Values(data, pullValue(tuple, SWITCH_ID_FIELD, SwitchId.class), cacheEntries,
+                getCommandContext());
         getOutput().emit(streamId, tuple, values);
     }
 
@@ -177,48 +237,83 @@ public class CacheBolt extends AbstractBolt {
         Commands command = (Commands) tuple.getValueByField(FieldsNames.COMMAND.name());
         MeasurePoint measurePoint = (MeasurePoint) tuple.getValueByField(FieldsNames.MEASURE_POINT.name());
 
+        updateCache(command, flow, switchId, cookie, meterId, measurePoint);
+    }
+
+    /**
+     * Applies a cache update of a flow rule installed on or removed from the switch. Updates of transit rules have
+     * no measure point.
+     */
+    @VisibleForTesting
+    void updateCache(Commands command, String flow, SwitchId switchId, Long cookie, Long meterId,
+                     MeasurePoint measurePoint) {
+        // the update is applied on top of the loaded paths, so it isn't lost when the switch is loaded later
+        ensureSwitchLoaded(switchId);
+
         switch (command) {
             case UPDATE:
-                updateCookieFlowCache(cookie, flow, switchId, measurePoint);
-                updateSwitchMeterFlowCache(cookie, meterId, flow, switchId);
+                updateCookieFlowCache(cookie, interner.intern(flow), switchId, measurePoint);
+                updateSwitchMeterFlowCache(cookie, meterId, interner.intern(flow), switchId);
                 break;
             case REMOVE:
                 cookieToFlow.remove(cookie);
-                switchAndMeterToFlow.remove(new MeterCacheKey(switchId, meterId));
+                removeSwitchMeterFlowCache(meterId, switchId);
                 break;
             default:
                 logger.error("invalid command");
                 break;
         }
 
-        logger.debug("updated cookieToFlow: {}", cookieToFlow);
+        logger.debug("updated cookieToFlow, cookies: {}", cookieToFlow.size());
     }
 
     @VisibleForTesting
-    Map<Long, CacheFlowEntry> createCookieToFlowCache(FlowStatsData data) {
-        Map<Long, CacheFlowEntry> cache = new HashMap<>();
+    CacheFlowEntry[] lookupCookieEntries(FlowStatsData data) {
+        ensureSwitchLoaded(data.getSwitchId());
 
-        for (FlowStatsEntry entry : data.getStats()) {
-            if (cookieToFlow.containsKey(entry.getCookie())) {
-                CacheFlowEntry cacheFlowEntry = cookieToFlow.get(entry.getCookie());
-                cache.put(entry.getCookie(), cacheFlowEntry);
-            }
+        List<FlowStatsEntry> stats = data.getStats();
+        CacheFlowEntry[] entries = new CacheFlowEntry[stats.size()];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = cookieToFlow.get(stats.get(i).getCookie());
         }
-        return cache;
+        countHits(entries);
+        return entries;
     }
 
     @VisibleForTesting
-    Map<MeterCacheKey, CacheFlowEntry> createSwitchAndMeterToFlowCache(MeterStatsData data) {
-        Map<MeterCacheKey, CacheFlowEntry> cache = new HashMap<>();
-
-        for (MeterStatsEntry entry : data.getStats()) {
-            MeterCacheKey key = new MeterCacheKey(data.getSwitchId(), entry.getMeterId());
-            if (switchAndMeterToFlow.containsKey(key)) {
-                CacheFlowEntry cacheEntry = switchAndMeterToFlow.get(key);
-                cache.put(key, cacheEntry);
+    CacheFlowEntry[] lookupMeterEntries(MeterStatsData data) {
+        ensureSwitchLoaded(data.getSwitchId());
+
+        List<MeterStatsEntry> stats = data.getStats();
+        CacheFlowEntry[] entries = new CacheFlowEntry[stats.size()];
+        LongObjectHashMap<CacheFlowEntry> switchMeters = switchAndMeterToFlow.get(data.getSwitchId());
+        if (switchMeters != null) {
+            for (int i = 0; i < entries.length; i++) {
+                entries[i] = switchMeters.get(stats.get(i).getMeterId());
+            }
+        }
+        countHits(entries);
+        return entries;
+    }
+
+    private void countHits(CacheFlowEntry[] entries) {
+        for (CacheFlowEntry entry : entries) {
+            if (entry != null) {
+                hits++;
+            } else {
+                misses++;
             }
         }
-        return cache;
+    }
+
+    @VisibleForTesting
+    long getHits() {
+        return hits;
+    }
+
+    @VisibleForTesting
+    long getMisses() {
+        return misses;
     }
 
     /**
@@ -232,20 +327,41 @@ public class CacheBolt extends AbstractBolt {
 
     private void updateCookieFlowCache(
             Long cookie, String flowId, SwitchId switchId, MeasurePoint measurePoint) {
-        CacheFlowEntry current = cookieToFlow.getOrDefault(cookie, new CacheFlowEntry(flowId, cookie));
-        CacheFlowEntry replacement = current.replaceSwitch(switchId.toOtsdFormat(), measurePoint);
+        CacheFlowEntry current = cookieToFlow.get(cookie);
+        if (current == null) {
+            current = new CacheFlowEntry(flowId, cookie);
+        }
+        if (measurePoint == null) {
+            // transit segment, the flow is known but there is no ingress or egress switch to record
+            cookieToFlow.put(cookie, current);
+            return;
+        }
+        CacheFlowEntry replacement = current.replaceSwitch(interner.intern(switchId.toOtsdFormat()), measurePoint);
         cookieToFlow.put(cookie, replacement);
-
     }
 
     private void updateSwitchMeterFlowCache(Long cookie, Long meterId, String flowId, SwitchId switchId) {
-        MeterCacheKey key = new MeterCacheKey(switchId, meterId);
-        CacheFlowEntry current = switchAndMeterToFlow.get(key);
+        if (meterId == null) {
+            return;
+        }
+        LongObjectHashMap<CacheFlowEntry> switchMeters = switchAndMeterToFlow.computeIfAbsent(
+                switchId, key -> new LongObjectHashMap<>());
+        CacheFlowEntry current = switchMeters.get(meterId);
 
         if (current == null) {
-            switchAndMeterToFlow.put(key, new CacheFlowEntry(flowId, cookie));
+            switchMeters.put(meterId, new CacheFlowEntry(flowId, cookie));
         } else {
-            switchAndMeterToFlow.put(key, current.replaceCookie(cookie));
+            switchMeters.put(meterId, current.replaceCookie(cookie));
+        }
+    }
+
+    private void removeSwitchMeterFlowCache(Long meterId, SwitchId switchId) {
+        LongObjectHashMap<CacheFlowEntry> switchMeters = switchAndMeterToFlow.get(switchId);
+        if (meterId != null && switchMeters != null) {
+            switchMeters.remove(meterId);
+            if (switchMeters.isEmpty()) {
+                switchAndMeterToFlow.remove(switchId);
+            }
         }
     }
 }
@@ -22,6 +22,7 @@ import org.openkilda.floodlight.api.request.EgressFlowSegmentInstallRequest;
 import org.openkilda.floodlight.api.request.FlowSegmentRequest;
 import org.openkilda.floodlight.api.request.IngressFlowSegmentInstallRequest;
 import org.openkilda.floodlight.api.request.OneSwitchFlowInstallRequest;
+import org.openkilda.floodlight.api.request.TransitFlowSegmentInstallRequest;
 import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.BaseMessage;
 import org.openkilda.messaging.command.CommandData;
@@ -30,6 +31,7 @@ import org.openkilda.messaging.command.flow.BaseFlow;
 import org.openkilda.messaging.command.flow.InstallEgressFlow;
 import org.openkilda.messaging.command.flow.InstallIngressFlow;
 import org.openkilda.messaging.command.flow.InstallOneSwitchFlow;
+import org.openkilda.messaging.command.flow.InstallTransitFlow;
 import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.model.Cookie;
 import org.openkilda.model.MeterConfig;
@@ -147,6 +149,10 @@ public class CacheFilterBolt extends BaseRichBolt {
                 logMatchedRecord(command);
                 emitUpdateIngress(tuple, command, command.getMeterId());
                 emitUpdateEgress(tuple, command);
+            } else if (data instanceof InstallTransitFlow) {
+                InstallTransitFlow command = (InstallTransitFlow) data;
+                logMatchedRecord(command);
+                emitUpdateTransit(tuple, command);
             } else if (data instanceof RemoveFlow) {
                 RemoveFlow command = (RemoveFlow) data;
                 logMatchedRecord(command);
@@ -178,6 +184,10 @@ public class CacheFilterBolt extends BaseRichBolt {
         } else if (rawRequest instanceof EgressFlowSegmentInstallRequest) {
             logMatchedRecord(rawRequest);
             emit(input, Commands.UPDATE, MeasurePoint.EGRESS, rawRequest);
+        } else if (rawRequest instanceof TransitFlowSegmentInstallRequest) {
+            // transit rules have no measure point, but their raw stats are tagged with the flow id
+            logMatchedRecord(rawRequest);
+            emit(input, Commands.UPDATE, null, rawRequest);
         } else if (rawRequest.isRemoveRequest()) {
             logMatchedRecord(rawRequest);
             emitRemove(input, rawRequest);
@@ -192,6 +202,10 @@ public class CacheFilterBolt extends BaseRichBolt {
         emit(input, Commands.UPDATE, command, null, MeasurePoint.EGRESS);
     }
 
+    private void emitUpdateTransit(Tuple input, BaseFlow command) {
+        emit(input, Commands.UPDATE, command, null, null);
+    }
+
     private void emitRemove(Tuple tuple, BaseFlow command) {
         emit(tuple, Commands.REMOVE, command, null, null);
     }
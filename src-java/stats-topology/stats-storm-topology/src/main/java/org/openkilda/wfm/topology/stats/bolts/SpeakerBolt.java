@@ -64,20 +64,20 @@ public class SpeakerBolt extends AbstractBolt {
         final InfoData data = infoMessage.getData();
         if (data instanceof PortStatsData) {
             logger.debug("Port stats message: {}", infoMessage);
-            emitWithContext(PORT_STATS_STREAM, tuple, new Values(infoMessage));
+            emitWithContext(PORT_STATS_STREAM, tuple, new Values(infoMessage, ((PortStatsData) data).getSwitchId()));
         } else if (data instanceof MeterConfigStatsData) {
             logger.debug("Meter config stats message: {}", infoMessage);
             emitWithContext(METER_CFG_STATS_STREAM, tuple, new Values(infoMessage));
         } else if (data instanceof MeterStatsData) {
             logger.debug("Meter stats message: {}", infoMessage);
-            emitWithContext(CACHE_STREAM, tuple, new Values(data));
+            emitWithContext(CACHE_STREAM, tuple, new Values(data, ((MeterStatsData) data).getSwitchId()));
         } else if (data instanceof FlowStatsData) {
             logger.debug("Flow stats message: {}", infoMessage);
             ImmutablePair<FlowStatsData, FlowStatsData> splitData =
                     splitSystemRuleStatsAndFlowStats((FlowStatsData) data);
 
             emitWithContext(SYSTEM_RULES_STATS_STREAM, tuple, new Values(splitData.getKey()));
-            emitWithContext(CACHE_STREAM, tuple, new Values(splitData.getValue()));
+            emitWithContext(CACHE_STREAM, tuple, new Values(splitData.getValue(), splitData.getValue().getSwitchId()));
         } else if (data instanceof SwitchTableStatsData) {
             logger.debug("Table stats message: {}", infoMessage);
             emitWithContext(TABLE_STATS_STREAM, tuple, new Values(data));
@@ -113,11 +113,13 @@ public class SpeakerBolt extends AbstractBolt {
     @Override
     public void declareOutputFields(OutputFieldsDeclarer outputFieldsDeclarer) {
         Fields fields = new Fields(MessageKafkaTranslator.FIELD_ID_PAYLOAD, FIELD_ID_CONTEXT);
-        outputFieldsDeclarer.declareStream(PORT_STATS_STREAM, fields);
+        outputFieldsDeclarer.declareStream(PORT_STATS_STREAM, new Fields(
+                MessageKafkaTranslator.FIELD_ID_PAYLOAD, StatsTopology.SWITCH_ID_FIELD, FIELD_ID_CONTEXT));
         outputFieldsDeclarer.declareStream(METER_CFG_STATS_STREAM, fields);
 
         Fields statsFields = new Fields(StatsTopology.STATS_FIELD, FIELD_ID_CONTEXT);
-        outputFieldsDeclarer.declareStream(CACHE_STREAM, statsFields);
+        outputFieldsDeclarer.declareStream(CACHE_STREAM,
+                new Fields(StatsTopology.STATS_FIELD, StatsTopology.SWITCH_ID_FIELD, FIELD_ID_CONTEXT));
         outputFieldsDeclarer.declareStream(SYSTEM_RULES_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(TABLE_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(PACKET_IN_OUT_STATS_STREAM, statsFields);
@@ -25,13 +25,18 @@ import org.openkilda.model.FeatureToggles;
 import org.openkilda.model.Switch;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FeatureTogglesRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.persistence.repositories.cache.CachingRepositoryFactory;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.kafka.MessageDeserializer;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 
 import com.google.common.collect.ImmutableList;
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
@@ -40,9 +45,11 @@ import org.apache.storm.tuple.Values;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 
 public class StatsRequesterBolt extends AbstractBolt {
+    private static final int METRICS_BUCKET_SECONDS = 60;
 
     private final PersistenceManager persistenceManager;
     private transient SwitchRepository switchRepository;
@@ -54,6 +61,17 @@ public class StatsRequesterBolt extends AbstractBolt {
 
     private MessageDeserializer deserializer = new MessageDeserializer();
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
+        if (repositoryFactory instanceof CachingRepositoryFactory) {
+            context.registerMetric("stats.requester.repository.cache",
+                    (IMetric) ((CachingRepositoryFactory) repositoryFactory)::pullStats, METRICS_BUCKET_SECONDS);
+        }
+    }
+
     @Override
     protected void init() {
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
@@ -0,0 +1,94 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static java.lang.String.format;
+
+import org.openkilda.messaging.info.DatapointBatch;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects datapoints of the same time into a {@link DatapointBatch}. Metric names and tag sets are added to the
+ * batch dictionaries once. The builder is reused: {@link #build()} clears it for the next batch.
+ * <p/>
+ * Not thread-safe.
+ */
+class DatapointBatchBuilder {
+    private final Map<String, Integer> metricIndex = new HashMap<>();
+    private final Map<Map<String, String>, Integer> tagIndex = new HashMap<>();
+    private final List<String> metrics = new ArrayList<>();
+    private final List<Map<String, String>> tags = new ArrayList<>();
+    private final List<Number> values = new ArrayList<>();
+    private int[] metricIds = new int[64];
+    private int[] tagIds = new int[64];
+    private long time;
+
+    /**
+     * Adds the datapoint. The time must be the same for all datapoints of a batch.
+     */
+    void add(String metric, long timestamp, Number value, Map<String, String> tag) {
+        if (values.isEmpty()) {
+            time = timestamp;
+        } else if (time != timestamp) {
+            throw new IllegalArgumentException(format(
+                    "Datapoint time %d differs from the batch time %d", timestamp, time));
+        }
+
+        int index = values.size();
+        if (index == metricIds.length) {
+            metricIds = Arrays.copyOf(metricIds, index * 2);
+            tagIds = Arrays.copyOf(tagIds, index * 2);
+        }
+        metricIds[index] = metricIndex.computeIfAbsent(metric, key -> {
+            metrics.add(key);
+            return metrics.size() - 1;
+        });
+        tagIds[index] = tagIndex.computeIfAbsent(tag, key -> {
+            tags.add(key);
+            return tags.size() - 1;
+        });
+        values.add(value);
+    }
+
+    boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    long getTime() {
+        return time;
+    }
+
+    /**
+     * Builds the batch of added datapoints and clears the builder.
+     */
+    DatapointBatch build() {
+        int size = values.size();
+        final DatapointBatch batch = new DatapointBatch(time, new ArrayList<>(metrics), new ArrayList<>(tags),
+                Arrays.copyOf(metricIds, size), Arrays.copyOf(tagIds, size), new ArrayList<>(values));
+
+        metricIndex.clear();
+        tagIndex.clear();
+        metrics.clear();
+        tags.clear();
+        values.clear();
+        return batch;
+    }
+}
@@ -17,18 +17,20 @@ package org.openkilda.wfm.topology.stats.metrics;
 
 import static org.openkilda.model.Cookie.isMaskedAsFlowCookie;
 import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
-import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.COOKIE_CACHE_FIELD;
+import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.CACHE_ENTRIES_FIELD;
 
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
+import org.openkilda.wfm.topology.stats.CounterDeltaFilter;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
 
 import org.apache.storm.tuple.Tuple;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -37,27 +39,72 @@ import javax.annotation.Nullable;
  * The type Flow metric gen bolt.
  */
 public class FlowMetricGenBolt extends MetricGenBolt {
+    private static final int COUNTER_COUNT = 5;
+
+    private final long deltaHeartbeatMillis;
+
+    private transient CounterDeltaFilter deltaFilter;
+    private transient long[] counters;
+
+    /**
+     * Creates the bolt.
+     *
+     * @param batchDatapoints whether to emit datapoints of an input tuple as a single batch.
+     * @param deltaHeartbeatMillis if positive, counters of a flow entry are emitted only when they change, or once
+     *                             per this interval.
+     */
+    public FlowMetricGenBolt(String metricPrefix, boolean batchDatapoints, long deltaHeartbeatMillis) {
+        super(metricPrefix, batchDatapoints);
+        this.deltaHeartbeatMillis = deltaHeartbeatMillis;
+    }
 
-    public FlowMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    @Override
+    protected void init() {
+        super.init();
+        if (deltaHeartbeatMillis > 0) {
+            deltaFilter = new CounterDeltaFilter(COUNTER_COUNT, deltaHeartbeatMillis);
+            counters = new long[COUNTER_COUNT];
+        }
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
-        Map<Long, CacheFlowEntry> dataCache = (Map<Long, CacheFlowEntry>) input.getValueByField(COOKIE_CACHE_FIELD);
-        log.debug("dataCache in FlowMetricGenBolt {}", dataCache);
+        // the cache entry of the i-th stats entry is at index i
+        CacheFlowEntry[] cacheEntries = (CacheFlowEntry[]) input.getValueByField(CACHE_ENTRIES_FIELD);
 
         FlowStatsData data = (FlowStatsData) input.getValueByField(STATS_FIELD);
         long timestamp = pullContext(input).getCreateTime();
         SwitchId switchId = data.getSwitchId();
+        String switchName = switchId.toOtsdFormat();
+
+        List<FlowStatsEntry> stats = data.getStats();
+        for (int i = 0; i < stats.size(); i++) {
+            FlowStatsEntry entry = stats.get(i);
+            @Nullable CacheFlowEntry flowEntry = cacheEntries[i];
+            if (isChanged(entry, timestamp, switchId, flowEntry)) {
+                emit(entry, timestamp, switchId, switchName, flowEntry);
+            }
+        }
+    }
 
-        for (FlowStatsEntry entry : data.getStats()) {
-            @Nullable CacheFlowEntry flowEntry = dataCache.get(entry.getCookie());
-            emit(entry, timestamp, switchId, flowEntry);
+    /**
+     * Besides the counters, compares the tags of the entry metrics: the match fields and the flow the cookie belongs
+     * to (by its id and endpoints).
+     */
+    private boolean isChanged(FlowStatsEntry entry, long timestamp, SwitchId switchId,
+                              @Nullable CacheFlowEntry flowEntry) {
+        if (deltaFilter == null) {
+            return true;
         }
+        counters[0] = entry.getPacketCount();
+        counters[1] = entry.getByteCount();
+        counters[2] = entry.getTableId();
+        counters[3] = entry.getInPort();
+        counters[4] = entry.getOutPort();
+        return deltaFilter.update(switchId.toLong(), entry.getCookie(), timestamp, counters, flowEntry);
     }
 
-    private void emit(FlowStatsEntry entry, long timestamp, @Nonnull SwitchId switchId,
+    private void emit(FlowStatsEntry entry, long timestamp, @Nonnull SwitchId switchId, String switchName,
                       @Nullable CacheFlowEntry flowEntry) throws FlowCookieException {
         String flowId = "unknown";
         if (flowEntry != null) {
@@ -72,19 +119,19 @@ public class FlowMetricGenBolt extends MetricGenBolt {
             }
         }
 
-        emitAnySwitchMetrics(entry, timestamp, switchId, flowId);
+        emitAnySwitchMetrics(entry, timestamp, switchName, flowId);
 
         if (flowEntry != null) {
             Map<String, String> flowTags = makeFlowTags(entry, flowEntry.getFlowId());
 
             boolean isMatch = false;
             if (isMaskedAsFlowCookie(entry.getCookie())
-                    && switchId.toOtsdFormat().equals(flowEntry.getIngressSwitch())) {
+                    && switchName.equals(flowEntry.getIngressSwitch())) {
                 emitIngressMetrics(entry, timestamp, flowTags);
                 isMatch = true;
             }
             if (isMaskedAsFlowCookie(entry.getCookie())
-                    && switchId.toOtsdFormat().equals(flowEntry.getEgressSwitch())) {
+                    && switchName.equals(flowEntry.getEgressSwitch())) {
                 emitEgressMetrics(entry, timestamp, flowTags);
                 isMatch = true;
             }
@@ -97,10 +144,10 @@ public class FlowMetricGenBolt extends MetricGenBolt {
         }
     }
 
-    private void emitAnySwitchMetrics(FlowStatsEntry entry, long timestamp, SwitchId switchId, String flowId)
+    private void emitAnySwitchMetrics(FlowStatsEntry entry, long timestamp, String switchName, String flowId)
             throws FlowCookieException {
         Map<String, String> tags = new HashMap<>();
-        tags.put("switchid", switchId.toOtsdFormat());
+        tags.put("switchid", switchName);
         tags.put("cookie", String.valueOf(entry.getCookie()));
         tags.put("tableid", String.valueOf(entry.getTableId()));
         tags.put("outPort", String.valueOf(entry.getOutPort()));
@@ -18,7 +18,7 @@ package org.openkilda.wfm.topology.stats.metrics;
 import static org.openkilda.model.Cookie.createCookieForDefaultRule;
 import static org.openkilda.model.MeterId.isMeterIdOfDefaultRule;
 import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
-import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.METER_CACHE_FIELD;
+import static org.openkilda.wfm.topology.stats.bolts.CacheBolt.CACHE_ENTRIES_FIELD;
 
 import org.openkilda.messaging.info.stats.MeterStatsData;
 import org.openkilda.messaging.info.stats.MeterStatsEntry;
@@ -26,12 +26,12 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.tuple.Tuple;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
 
@@ -40,8 +40,8 @@ public class MeterStatsMetricGenBolt extends MetricGenBolt {
 
     public static final String UNKNOWN = "unknown";
 
-    public MeterStatsMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    public MeterStatsMetricGenBolt(String metricPrefix, boolean batchDatapoints) {
+        super(metricPrefix, batchDatapoints);
     }
 
     @Override
@@ -50,16 +50,15 @@ public class MeterStatsMetricGenBolt extends MetricGenBolt {
 
         log.debug("Received meter statistics: {}.", data);
 
-        @SuppressWarnings("unchecked")
-        Map<MeterCacheKey, CacheFlowEntry> meterCache =
-                (Map<MeterCacheKey, CacheFlowEntry>) input.getValueByField(METER_CACHE_FIELD);
+        // the cache entry of the i-th stats entry is at index i
+        CacheFlowEntry[] cacheEntries = (CacheFlowEntry[]) input.getValueByField(CACHE_ENTRIES_FIELD);
 
         long timestamp = getCommandContext().getCreateTime();
 
         SwitchId switchId = data.getSwitchId();
-        for (MeterStatsEntry entry : data.getStats()) {
-            @Nullable CacheFlowEntry flowEntry = meterCache.get(new MeterCacheKey(switchId, entry.getMeterId()));
-            emit(entry, timestamp, switchId, flowEntry);
+        List<MeterStatsEntry> stats = data.getStats();
+        for (int i = 0; i < stats.size(); i++) {
+            emit(stats.get(i), timestamp, switchId, cacheEntries[i]);
         }
     }
 
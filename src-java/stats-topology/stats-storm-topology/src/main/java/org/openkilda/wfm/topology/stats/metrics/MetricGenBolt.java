@@ -17,6 +17,7 @@ package org.openkilda.wfm.topology.stats.metrics;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.share.utils.MetricFormatter;
@@ -24,32 +25,72 @@ import org.openkilda.wfm.topology.AbstractTopology;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Base class of bolts which produce OpenTSDB datapoints. In the batched mode, all datapoints produced from an input
+ * tuple are emitted as a single {@link org.openkilda.messaging.info.DatapointBatch} message.
+ */
 public abstract class MetricGenBolt extends AbstractBolt {
 
     private MetricFormatter metricFormatter;
+    private final boolean batchDatapoints;
+
+    private transient DatapointBatchBuilder batchBuilder;
 
     public MetricGenBolt(String metricPrefix) {
+        this(metricPrefix, false);
+    }
+
+    public MetricGenBolt(String metricPrefix, boolean batchDatapoints) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
+        this.batchDatapoints = batchDatapoints;
     }
 
     protected static List<Object> tuple(String metric, long timestamp, Number value, Map<String, String> tag)
             throws JsonEncodeException {
-        Datapoint datapoint = new Datapoint(metric, timestamp, tag, value);
+        return tuple(new Datapoint(metric, timestamp, tag, value));
+    }
+
+    protected static List<Object> tuple(InfoData data) throws JsonEncodeException {
         String json;
         try {
-            json = Utils.MAPPER.writeValueAsString(datapoint);
+            json = Utils.MAPPER.writeValueAsString(data);
         } catch (JsonProcessingException e) {
-            throw new JsonEncodeException(datapoint, e);
+            throw new JsonEncodeException(data, e);
         }
         return Collections.singletonList(json);
     }
 
+    @Override
+    protected void init() {
+        if (batchDatapoints) {
+            batchBuilder = new DatapointBatchBuilder();
+        }
+    }
+
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
+        try {
+            super.dispatch(input);
+        } finally {
+            flushDatapoints();
+        }
+    }
+
     void emitMetric(String metric, long timestamp, Number value, Map<String, String> tag) {
+        if (batchBuilder != null) {
+            if (!batchBuilder.isEmpty() && batchBuilder.getTime() != timestamp) {
+                flushDatapoints();
+            }
+            batchBuilder.add(metricFormatter.format(metric), timestamp, value, tag);
+            return;
+        }
+
         try {
             getOutput().emit(tuple(metricFormatter.format(metric), timestamp, value, tag));
         } catch (JsonEncodeException e) {
@@ -57,6 +98,17 @@ public abstract class MetricGenBolt extends AbstractBolt {
         }
     }
 
+    private void flushDatapoints() {
+        if (batchBuilder == null || batchBuilder.isEmpty()) {
+            return;
+        }
+        try {
+            getOutput().emit(tuple(batchBuilder.build()));
+        } catch (JsonEncodeException e) {
+            log.error("Error during serialization of datapoint batch", e);
+        }
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
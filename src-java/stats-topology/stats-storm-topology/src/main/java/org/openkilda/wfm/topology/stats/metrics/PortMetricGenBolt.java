@@ -21,6 +21,7 @@ import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.stats.PortStatsData;
 import org.openkilda.messaging.info.stats.PortStatsEntry;
 import org.openkilda.model.SwitchId;
+import org.openkilda.wfm.topology.stats.CounterDeltaFilter;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.storm.tuple.Tuple;
@@ -28,9 +29,32 @@ import org.apache.storm.tuple.Tuple;
 import java.util.Map;
 
 public class PortMetricGenBolt extends MetricGenBolt {
+    private static final int COUNTER_COUNT = 12;
 
-    public PortMetricGenBolt(String metricPrefix) {
-        super(metricPrefix);
+    private final long deltaHeartbeatMillis;
+
+    private transient CounterDeltaFilter deltaFilter;
+    private transient long[] counters;
+
+    /**
+     * Creates the bolt.
+     *
+     * @param batchDatapoints whether to emit datapoints of an input tuple as a single batch.
+     * @param deltaHeartbeatMillis if positive, counters of a port are emitted only when they change, or once per
+     *                             this interval.
+     */
+    public PortMetricGenBolt(String metricPrefix, boolean batchDatapoints, long deltaHeartbeatMillis) {
+        super(metricPrefix, batchDatapoints);
+        this.deltaHeartbeatMillis = deltaHeartbeatMillis;
+    }
+
+    @Override
+    protected void init() {
+        super.init();
+        if (deltaHeartbeatMillis > 0) {
+            deltaFilter = new CounterDeltaFilter(COUNTER_COUNT, deltaHeartbeatMillis);
+            counters = new long[COUNTER_COUNT];
+        }
     }
 
     @Override
@@ -40,8 +64,29 @@ public class PortMetricGenBolt extends MetricGenBolt {
         long timestamp = message.getTimestamp();
 
         for (PortStatsEntry entry : data.getStats()) {
-            emit(entry, timestamp, data.getSwitchId());
+            if (isChanged(entry, timestamp, data.getSwitchId())) {
+                emit(entry, timestamp, data.getSwitchId());
+            }
+        }
+    }
+
+    private boolean isChanged(PortStatsEntry entry, long timestamp, SwitchId switchId) {
+        if (deltaFilter == null) {
+            return true;
         }
+        counters[0] = entry.getRxPackets();
+        counters[1] = entry.getTxPackets();
+        counters[2] = entry.getRxBytes();
+        counters[3] = entry.getTxBytes();
+        counters[4] = entry.getRxDropped();
+        counters[5] = entry.getTxDropped();
+        counters[6] = entry.getRxErrors();
+        counters[7] = entry.getTxErrors();
+        counters[8] = entry.getRxFrameErr();
+        counters[9] = entry.getRxOverErr();
+        counters[10] = entry.getRxCrcErr();
+        counters[11] = entry.getCollisions();
+        return deltaFilter.update(switchId.toLong(), entry.getPortNo(), timestamp, counters);
     }
 
     private void emit(PortStatsEntry entry, long timestamp, SwitchId switchId) {
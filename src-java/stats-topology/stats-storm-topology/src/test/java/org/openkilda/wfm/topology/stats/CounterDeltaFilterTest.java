@@ -0,0 +1,104 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class CounterDeltaFilterTest {
+    private static final long HEARTBEAT = TimeUnit.MINUTES.toMillis(10);
+    private static final long INTERVAL = TimeUnit.MINUTES.toMillis(1);
+    private static final long TIMESTAMP = 1_600_000_000_000L;
+    private static final long SWITCH_ID = 0x00000000223d5a04L;
+
+    private final CounterDeltaFilter filter = new CounterDeltaFilter(2, HEARTBEAT);
+
+    @Test
+    public void shouldSkipUnchangedCountersUntilHeartbeat() {
+        assertTrue(filter.update(SWITCH_ID, 1, TIMESTAMP, new long[] {10, 100}));
+        for (long time = TIMESTAMP + INTERVAL; time < TIMESTAMP + HEARTBEAT; time += INTERVAL) {
+            assertFalse(filter.update(SWITCH_ID, 1, time, new long[] {10, 100}));
+        }
+        assertTrue(filter.update(SWITCH_ID, 1, TIMESTAMP + HEARTBEAT, new long[] {10, 100}));
+        assertFalse(filter.update(SWITCH_ID, 1, TIMESTAMP + HEARTBEAT + INTERVAL, new long[] {10, 100}));
+    }
+
+    @Test
+    public void shouldEmitChangedCounters() {
+        assertTrue(filter.update(SWITCH_ID, 1, TIMESTAMP, new long[] {10, 100}));
+        assertTrue(filter.update(SWITCH_ID, 1, TIMESTAMP + INTERVAL, new long[] {11, 100}));
+        assertTrue(filter.update(SWITCH_ID, 1, TIMESTAMP + INTERVAL * 2, new long[] {11, 101}));
+        assertFalse(filter.update(SWITCH_ID, 1, TIMESTAMP + INTERVAL * 3, new long[] {11, 101}));
+    }
+
+    @Test
+    public void shouldEmitChangedTag() {
+        assertTrue(filter.update(SWITCH_ID, 1, TIMESTAMP, new long[] {10, 100}, new CacheFlowEntry("flow", 1L)));
+        assertFalse(filter.update(SWITCH_ID, 1, TIMESTAMP + INTERVAL, new long[] {10, 100},
+                new CacheFlowEntry("flow", 1L)));
+        assertTrue(filter.update(SWITCH_ID, 1, TIMESTAMP + INTERVAL * 2, new long[] {10, 100},
+                new CacheFlowEntry("flow", "ingress", null, 1L)));
+        assertTrue(filter.update(SWITCH_ID, 1, TIMESTAMP + INTERVAL * 3, new long[] {10, 100}));
+        assertFalse(filter.update(SWITCH_ID, 1, TIMESTAMP + INTERVAL * 4, new long[] {10, 100}));
+    }
+
+    @Test
+    public void shouldDistinguishSwitchesAndEntries() {
+        assertTrue(filter.update(SWITCH_ID, 1, TIMESTAMP, new long[] {10, 100}));
+        assertTrue(filter.update(SWITCH_ID, 2, TIMESTAMP, new long[] {10, 100}));
+        assertTrue(filter.update(SWITCH_ID + 1, 1, TIMESTAMP, new long[] {10, 100}));
+        assertEquals(3, filter.size());
+
+        assertFalse(filter.update(SWITCH_ID, 1, TIMESTAMP + INTERVAL, new long[] {10, 100}));
+        assertFalse(filter.update(SWITCH_ID, 2, TIMESTAMP + INTERVAL, new long[] {10, 100}));
+        assertFalse(filter.update(SWITCH_ID + 1, 1, TIMESTAMP + INTERVAL, new long[] {10, 100}));
+    }
+
+    @Test
+    public void shouldKeepEntriesOnGrowth() {
+        int count = 10_000;
+        for (int port = 0; port < count; port++) {
+            assertTrue(filter.update(SWITCH_ID, port, TIMESTAMP, new long[] {port, port * 2}));
+        }
+        assertEquals(count, filter.size());
+        for (int port = 0; port < count; port++) {
+            assertFalse(filter.update(SWITCH_ID, port, TIMESTAMP + INTERVAL, new long[] {port, port * 2}));
+        }
+    }
+
+    @Test
+    public void shouldPurgeEntriesNotSeenForTwoHeartbeats() {
+        filter.update(SWITCH_ID, 1, TIMESTAMP, new long[] {10, 100});
+        filter.update(SWITCH_ID, 2, TIMESTAMP, new long[] {10, 100});
+
+        for (long time = TIMESTAMP + INTERVAL; time <= TIMESTAMP + HEARTBEAT * 2 + INTERVAL; time += INTERVAL) {
+            filter.update(SWITCH_ID, 1, time, new long[] {10, 100});
+        }
+
+        assertEquals(1, filter.size());
+        assertTrue(filter.update(SWITCH_ID, 2, TIMESTAMP + HEARTBEAT * 2 + INTERVAL, new long[] {10, 100}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldFailOnWrongCounterCount() {
+        filter.update(SWITCH_ID, 1, TIMESTAMP, new long[] {10});
+    }
+}
@@ -0,0 +1,96 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongObjectHashMapTest {
+    private final LongObjectHashMap<String> map = new LongObjectHashMap<>();
+
+    @Test
+    public void shouldPutGetAndReplace() {
+        assertNull(map.put(1, "a"));
+        assertNull(map.put(-1, "b"));
+        assertNull(map.put(0, "c"));
+        assertEquals("a", map.put(1, "d"));
+
+        assertEquals("d", map.get(1));
+        assertEquals("b", map.get(-1));
+        assertEquals("c", map.get(0));
+        assertNull(map.get(2));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void shouldRemove() {
+        map.put(1, "a");
+        map.put(2, "b");
+
+        assertEquals("a", map.remove(1));
+        assertNull(map.remove(1));
+        assertNull(map.get(1));
+        assertEquals("b", map.get(2));
+        assertEquals(1, map.size());
+
+        assertEquals("b", map.remove(2));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void shouldKeepEntriesOnGrowth() {
+        int count = 10_000;
+        for (long key = 0; key < count; key++) {
+            map.put(key << 32, String.valueOf(key));
+        }
+        assertEquals(count, map.size());
+        for (long key = 0; key < count; key++) {
+            assertEquals(String.valueOf(key), map.get(key << 32));
+        }
+    }
+
+    @Test
+    public void shouldMatchHashMapOnRandomOperations() {
+        // a narrow key range produces long probe sequences, so removals have to shift entries back
+        Random random = new Random(42);
+        Map<Long, String> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(200);
+            if (random.nextBoolean()) {
+                String value = String.valueOf(i);
+                assertEquals(expected.put(key, value), map.put(key, value));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (long key = 0; key < 200; key++) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldRejectNullValues() {
+        map.put(1, null);
+    }
+}
@@ -16,6 +16,9 @@
 package org.openkilda.wfm.topology.stats.bolts;
 
 import static java.util.Arrays.asList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.messaging.info.stats.FlowStatsData;
@@ -30,10 +33,11 @@ import org.openkilda.model.PathId;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.PersistenceManager;
-import org.openkilda.persistence.repositories.FlowRepository;
+import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.projection.FlowPathCookieAndMeter;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
+import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.Commands;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -41,9 +45,10 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
-import java.util.Collections;
-import java.util.Map;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CacheBoltTest {
@@ -52,6 +57,7 @@ public class CacheBoltTest {
     private static final Long PROTECTED_FORWARD_PATH_COOKIE = 2L;
     private static final Long REVERSE_PATH_COOKIE = 3L;
     private static final Long PROTECTED_REVERSE_PATH_COOKIE = 4L;
+    private static final Long TRANSIT_PATH_COOKIE = 5L;
 
     private static final Long FORWARD_METER_ID = MeterId.MIN_FLOW_METER_ID + 1L;
     private static final Long PROTECTED_FORWARD_METER_ID = MeterId.MIN_FLOW_METER_ID + 2L;
@@ -60,71 +66,136 @@ public class CacheBoltTest {
 
     private static final SwitchId SRC_SWITCH_ID = new SwitchId(1L);
     private static final SwitchId DST_SWITCH_ID = new SwitchId(2L);
+    private static final SwitchId TRANSIT_SWITCH_ID = new SwitchId(3L);
 
     @Mock
     private PersistenceManager persistenceManager;
     @Mock
     private RepositoryFactory repositoryFactory;
     @Mock
-    private FlowRepository flowRepository;
+    private FlowPathRepository flowPathRepository;
 
     @Test
     public void cacheBoltInitCookieTest() {
         Flow flow = getFlow();
-        when(flowRepository.findAll()).thenReturn(Collections.singletonList(flow));
-        when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
-        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+        CacheBolt cacheBolt = createCacheBolt(flow);
 
-        CacheBolt cacheBolt = new CacheBolt(persistenceManager);
-        cacheBolt.init();
+        CacheFlowEntry[] srcCache = cacheBolt.lookupCookieEntries(getFlowStatsDataSrcSwitch());
 
-        Map<Long, CacheFlowEntry> srcCache = cacheBolt.createCookieToFlowCache(getFlowStatsDataSrcSwitch());
+        Assert.assertEquals(2, srcCache.length);
+        assertCacheEntry(flow, srcCache[0], FORWARD_PATH_COOKIE);
+        assertCacheEntry(flow, srcCache[1], PROTECTED_FORWARD_PATH_COOKIE);
+        Assert.assertEquals(SRC_SWITCH_ID.toOtsdFormat(), srcCache[0].getIngressSwitch());
+        Assert.assertEquals(DST_SWITCH_ID.toOtsdFormat(), srcCache[0].getEgressSwitch());
 
-        Assert.assertEquals(2, srcCache.size());
-        assertCookieCache(flow, srcCache, FORWARD_PATH_COOKIE);
-        assertCookieCache(flow, srcCache, PROTECTED_FORWARD_PATH_COOKIE);
+        CacheFlowEntry[] dstCache = cacheBolt.lookupCookieEntries(getFlowStatsDataDstSwitch());
 
-        Map<Long, CacheFlowEntry> dstCache = cacheBolt.createCookieToFlowCache(getFlowStatsDataDstSwitch());
-
-        Assert.assertEquals(2, dstCache.size());
-        assertCookieCache(flow, dstCache, REVERSE_PATH_COOKIE);
-        assertCookieCache(flow, dstCache, PROTECTED_REVERSE_PATH_COOKIE);
+        Assert.assertEquals(2, dstCache.length);
+        assertCacheEntry(flow, dstCache[0], REVERSE_PATH_COOKIE);
+        assertCacheEntry(flow, dstCache[1], PROTECTED_REVERSE_PATH_COOKIE);
+        Assert.assertEquals(DST_SWITCH_ID.toOtsdFormat(), dstCache[0].getIngressSwitch());
+        Assert.assertEquals(SRC_SWITCH_ID.toOtsdFormat(), dstCache[0].getEgressSwitch());
     }
 
     @Test
     public void cacheBoltInitMeterTest() {
         Flow flow = getFlow();
-        when(flowRepository.findAll()).thenReturn(Collections.singletonList(flow));
-        when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
-        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+        CacheBolt cacheBolt = createCacheBolt(flow);
 
-        CacheBolt cacheBolt = new CacheBolt(persistenceManager);
-        cacheBolt.init();
+        CacheFlowEntry[] srcCache = cacheBolt.lookupMeterEntries(getMeterStatsDataSrcSwitch());
+
+        Assert.assertEquals(2, srcCache.length);
+        assertCacheEntry(flow, srcCache[0], FORWARD_PATH_COOKIE);
+        assertCacheEntry(flow, srcCache[1], PROTECTED_FORWARD_PATH_COOKIE);
+
+        CacheFlowEntry[] dstCache = cacheBolt.lookupMeterEntries(getMeterStatsDataDstSwitch());
 
-        Map<MeterCacheKey, CacheFlowEntry> srcCache = cacheBolt.createSwitchAndMeterToFlowCache(
-                getMeterStatsDataSrcSwitch());
+        Assert.assertEquals(2, dstCache.length);
+        assertCacheEntry(flow, dstCache[0], REVERSE_PATH_COOKIE);
+        assertCacheEntry(flow, dstCache[1], PROTECTED_REVERSE_PATH_COOKIE);
+    }
 
-        Assert.assertEquals(2, srcCache.size());
-        assertMeterCache(flow, SRC_SWITCH_ID, srcCache, FORWARD_METER_ID, FORWARD_PATH_COOKIE);
-        assertMeterCache(flow, SRC_SWITCH_ID, srcCache, PROTECTED_FORWARD_METER_ID, PROTECTED_FORWARD_PATH_COOKIE);
+    @Test
+    public void cacheBoltUnknownEntriesTest() {
+        Flow flow = getFlow();
+        CacheBolt cacheBolt = createCacheBolt(flow);
 
-        Map<MeterCacheKey, CacheFlowEntry> dstCache = cacheBolt.createSwitchAndMeterToFlowCache(
-                getMeterStatsDataDstSwitch());
-        Assert.assertEquals(2, dstCache.size());
+        CacheFlowEntry[] cookieCache = cacheBolt.lookupCookieEntries(new FlowStatsData(SRC_SWITCH_ID, asList(
+                new FlowStatsEntry(0, 100L, 0, 0, 0, 0),
+                new FlowStatsEntry(0, FORWARD_PATH_COOKIE, 0, 0, 0, 0))));
 
-        assertMeterCache(flow, DST_SWITCH_ID, dstCache, REVERSE_METER_ID, REVERSE_PATH_COOKIE);
-        assertMeterCache(flow, DST_SWITCH_ID, dstCache, PROTECTED_REVERSE_METER_ID, PROTECTED_REVERSE_PATH_COOKIE);
+        Assert.assertEquals(2, cookieCache.length);
+        Assert.assertNull(cookieCache[0]);
+        assertCacheEntry(flow, cookieCache[1], FORWARD_PATH_COOKIE);
+
+        // meter ids are unique only within a switch
+        CacheFlowEntry[] meterCache = cacheBolt.lookupMeterEntries(new MeterStatsData(DST_SWITCH_ID, asList(
+                new MeterStatsEntry(FORWARD_METER_ID, 0, 0),
+                new MeterStatsEntry(REVERSE_METER_ID, 0, 0))));
+
+        Assert.assertEquals(2, meterCache.length);
+        Assert.assertNull(meterCache[0]);
+        assertCacheEntry(flow, meterCache[1], REVERSE_PATH_COOKIE);
     }
 
-    private void assertCookieCache(Flow flow, Map<Long, CacheFlowEntry> cookieToFlowCache, Long cookie) {
-        CacheFlowEntry entry = cookieToFlowCache.get(cookie);
-        Assert.assertEquals(flow.getFlowId(), entry.getFlowId());
-        Assert.assertEquals(cookie, entry.getCookie());
+    @Test
+    public void cacheBoltLoadsSwitchOnceAndCountsHitsTest() {
+        Flow flow = getFlow();
+        CacheBolt cacheBolt = createCacheBolt(flow);
+
+        cacheBolt.lookupCookieEntries(getFlowStatsDataSrcSwitch());
+        cacheBolt.lookupMeterEntries(getMeterStatsDataSrcSwitch());
+        cacheBolt.lookupCookieEntries(new FlowStatsData(SRC_SWITCH_ID, asList(
+                new FlowStatsEntry(0, 100L, 0, 0, 0, 0))));
+
+        verify(flowPathRepository, times(1)).findCookieAndMeterByEndpointSwitchIncludeProtected(SRC_SWITCH_ID);
+        verify(flowPathRepository, times(1)).findCookieAndMeterBySegmentSwitch(SRC_SWITCH_ID);
+        verify(flowPathRepository, times(0)).findCookieAndMeterByEndpointSwitchIncludeProtected(DST_SWITCH_ID);
+        Assert.assertEquals(4, cacheBolt.getHits());
+        Assert.assertEquals(1, cacheBolt.getMisses());
+    }
+
+    @Test
+    public void cacheBoltAppliesTransitUpdateOfLoadedSwitchTest() {
+        Flow flow = getFlow();
+        CacheBolt cacheBolt = createCacheBolt(flow);
+        FlowStatsData transitStats = new FlowStatsData(TRANSIT_SWITCH_ID, asList(
+                new FlowStatsEntry(0, TRANSIT_PATH_COOKIE, 0, 0, 0, 0)));
+
+        // the transit switch is loaded before the flow is created
+        Assert.assertNull(cacheBolt.lookupCookieEntries(transitStats)[0]);
+
+        cacheBolt.updateCache(Commands.UPDATE, flow.getFlowId(), TRANSIT_SWITCH_ID, TRANSIT_PATH_COOKIE, null, null);
+
+        CacheFlowEntry[] transitCache = cacheBolt.lookupCookieEntries(transitStats);
+        assertCacheEntry(flow, transitCache[0], TRANSIT_PATH_COOKIE);
+        Assert.assertNull(transitCache[0].getIngressSwitch());
+        Assert.assertNull(transitCache[0].getEgressSwitch());
+
+        cacheBolt.updateCache(Commands.REMOVE, flow.getFlowId(), TRANSIT_SWITCH_ID, TRANSIT_PATH_COOKIE, null, null);
+
+        Assert.assertNull(cacheBolt.lookupCookieEntries(transitStats)[0]);
+    }
+
+    private CacheBolt createCacheBolt(Flow flow) {
+        List<FlowPathCookieAndMeter> paths = Stream.of(flow.getForwardPath(), flow.getProtectedForwardPath(),
+                flow.getReversePath(), flow.getProtectedReversePath())
+                .map(path -> new FlowPathCookieAndMeter(flow.getFlowId(), path.getPathId(),
+                        path.getSrcSwitch().getSwitchId(), path.getDestSwitch().getSwitchId(), path.getCookie(),
+                        path.getMeterId()))
+                .collect(Collectors.toList());
+        when(flowPathRepository.findCookieAndMeterByEndpointSwitchIncludeProtected(any(SwitchId.class)))
+                .thenReturn(paths);
+        when(repositoryFactory.createFlowPathRepository()).thenReturn(flowPathRepository);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+
+        CacheBolt cacheBolt = new CacheBolt(persistenceManager);
+        cacheBolt.init();
+        return cacheBolt;
     }
 
-    private void assertMeterCache(Flow flow, SwitchId switchId, Map<MeterCacheKey, CacheFlowEntry> cache,
-                                  Long meterId, Long cookie) {
-        CacheFlowEntry entry = cache.get(new MeterCacheKey(switchId, meterId));
+    private void assertCacheEntry(Flow flow, CacheFlowEntry entry, Long cookie) {
+        Assert.assertNotNull(entry);
         Assert.assertEquals(flow.getFlowId(), entry.getFlowId());
         Assert.assertEquals(cookie, entry.getCookie());
     }
@@ -0,0 +1,80 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DatapointBatchBuilderTest {
+    private static final long TIME = 1_600_000_000_000L;
+
+    private final DatapointBatchBuilder builder = new DatapointBatchBuilder();
+
+    @Test
+    public void shouldShareDictionaries() {
+        Map<String, String> tags = ImmutableMap.of("flowid", "flow-1", "direction", "forward");
+        builder.add("flow.packets", TIME, 1, tags);
+        builder.add("flow.bytes", TIME, 2, tags);
+        builder.add("flow.packets", TIME, 3, new HashMap<>(tags));
+        builder.add("flow.packets", TIME, 4, ImmutableMap.of("flowid", "flow-2", "direction", "forward"));
+
+        DatapointBatch batch = builder.build();
+
+        assertEquals(TIME, batch.getTime());
+        assertEquals(Arrays.asList("flow.packets", "flow.bytes"), batch.getMetrics());
+        assertEquals(2, batch.getTags().size());
+        assertArrayEquals(new int[] {0, 1, 0, 0}, batch.getMetricIds());
+        assertArrayEquals(new int[] {0, 0, 0, 1}, batch.getTagIds());
+        assertEquals(Arrays.asList(1, 2, 3, 4), batch.getValues());
+    }
+
+    @Test
+    public void shouldBeReusable() {
+        List<Datapoint> expected = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Map<String, String> tags = ImmutableMap.of("port", String.valueOf(i % 10));
+            builder.add("switch.rx-bytes", TIME, i, tags);
+            expected.add(new Datapoint("switch.rx-bytes", TIME, tags, i));
+        }
+        assertEquals(expected, builder.build().toDatapoints());
+        assertTrue(builder.isEmpty());
+
+        Map<String, String> tags = ImmutableMap.of("port", "1");
+        builder.add("switch.tx-bytes", TIME + 1, 5, tags);
+        DatapointBatch batch = builder.build();
+        assertEquals(TIME + 1, batch.getTime());
+        assertEquals(Arrays.asList(new Datapoint("switch.tx-bytes", TIME + 1, tags, 5)), batch.toDatapoints());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotMixTimes() {
+        builder.add("switch.rx-bytes", TIME, 1, ImmutableMap.of());
+        builder.add("switch.rx-bytes", TIME + 1, 1, ImmutableMap.of());
+    }
+}